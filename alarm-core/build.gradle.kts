@@ -0,0 +1,33 @@
+// [새로운 모듈] 안드로이드 프레임워크에 의존하지 않는 알람 핵심 로직입니다.
+// 알람 모델(Alarm), 반복 요일 계산(DayMask), 다음 울림 시각 계산(TriggerCalculator),
+// Direct Boot 미러의 레코드 형식(AlarmRecordCodec)을 담고 있어, 에뮬레이터 없이 JVM에서 테스트하고
+// :benchmark 모듈에서 측정할 수 있습니다.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    // Room은 다른 모듈의 엔티티를 클래스 파일에서 읽으므로, 생성자 매개변수 이름을 필드와 맞출 수 있도록 함께 기록합니다.
+    options.compilerArgs.add("-parameters")
+}
+
+dependencies {
+    // Alarm은 Room 엔티티입니다. room-common은 어노테이션만 담긴 JVM 라이브러리라 안드로이드 없이도 컴파일됩니다.
+    api("androidx.room:room-common:2.6.1")
+
+    testImplementation(libs.junit)
+}
+
+// [추가] 공휴일 텍스트(holidays-KR.txt)를 고친 뒤 실행해, 앱이 읽는 이진 파일(holidays-KR.bin)을 다시 만듭니다.
+// 두 파일이 어긋나면 HolidayCalendarTest가 실패합니다.
+tasks.register<JavaExec>("compileHolidays") {
+    val dir = "src/main/resources/com/example/alarm"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.alarm.HolidayDatasetCompiler")
+    args(file("$dir/holidays-KR.txt"), file("$dir/holidays-KR.bin"))
+}
@@ -1,11 +1,13 @@
 package com.example.alarm;
 
 import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
 import androidx.room.Entity;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * [기존 주석, 내용 추가] 데이터베이스의 'alarms' 테이블과 직접 매핑되는 클래스입니다.
@@ -52,6 +54,18 @@ public class Alarm {
     @ColumnInfo(name = "is_weather_tts_enabled")
     private boolean isWeatherTtsEnabled;
 
+    // [추가] 반복 알람이 공휴일({@link HolidayCalendar})에는 울리지 않도록 합니다. 생성자에 넣지 않고 Room은 setter로 채웁니다.
+    @ColumnInfo(name = "skip_holidays")
+    private boolean skipHolidays;
+
+    // [추가] 요일 반복 대신 쓰는 반복 규칙({@link RecurrenceRule#encode()}). 없으면 RecurrenceRule.NONE(0)입니다.
+    @ColumnInfo(name = "recurrence")
+    private long recurrence;
+
+    // [추가] 교대 근무 순환. 있으면 요일 반복과 반복 규칙 대신 이것으로 울리는 날과 시각을 정합니다.
+    @Embedded(prefix = "shift_")
+    private ShiftPattern shiftPattern = ShiftPattern.NONE;
+
 
     // [새로운 내용] 수정 모드에서 DB 데이터를 불러올 때 Room 라이브러리가 사용하는 생성자입니다.
     // isWeatherTtsEnabled 필드를 포함하도록 수정되었습니다.
@@ -116,6 +130,12 @@ public class Alarm {
     public boolean isSaturdayEnabled() { return isSaturdayEnabled; }
     public boolean isSundayEnabled() { return isSundayEnabled; }
     public boolean isWeatherTtsEnabled() { return isWeatherTtsEnabled; }
+    public boolean isSkipHolidays() { return skipHolidays; }
+    public void setSkipHolidays(boolean skipHolidays) { this.skipHolidays = skipHolidays; }
+    public long getRecurrence() { return recurrence; }
+    public void setRecurrence(long recurrence) { this.recurrence = recurrence; }
+    public ShiftPattern getShiftPattern() { return shiftPattern; }
+    public void setShiftPattern(ShiftPattern shiftPattern) { this.shiftPattern = shiftPattern != null ? shiftPattern : ShiftPattern.NONE; }
 
     // --- [새로운 헬퍼 메소드] UI 표시를 위한 데이터 가공 --- //
 
@@ -138,9 +158,44 @@ public class Alarm {
 
     /**
      * [새로운 메소드] 반복 요일이 하나라도 설정되어 있는지 확인합니다.
+     * [수정] 반복 규칙({@link RecurrenceRule})이나 교대 패턴({@link ShiftPattern})이 있어도 반복 알람입니다.
      * @return 요일 반복이 하나라도 켜져 있으면 true, 아니면 false
      */
     public boolean isRepeating() {
-        return isSundayEnabled || isMondayEnabled || isTuesdayEnabled || isWednesdayEnabled || isThursdayEnabled || isFridayEnabled || isSaturdayEnabled;
+        return recurrence != RecurrenceRule.NONE || !shiftPattern.isEmpty() || isSundayEnabled || isMondayEnabled || isTuesdayEnabled || isWednesdayEnabled || isThursdayEnabled || isFridayEnabled || isSaturdayEnabled;
+    }
+
+    /**
+     * [추가] 알람 설정 화면에서 고치지 않는 반복 규칙을 source에서 이어받습니다.
+     * 화면은 입력값으로 알람을 새로 만들어 저장하므로, 이어받지 않으면 수정할 때마다 규칙이 지워집니다.
+     * [수정] 교대 패턴도 같은 이유로 이어받습니다.
+     */
+    public void copyRulesFrom(Alarm source) {
+        recurrence = source.recurrence;
+        shiftPattern = source.shiftPattern;
+    }
+
+    /**
+     * [추가] 두 알람의 '내용'(ID를 제외하고 화면에 표시되거나 울림에 영향을 주는 모든 속성)이 같은지 비교합니다.
+     * 목록 화면의 DiffUtil(AlarmAdapter.AlarmDiff)이 사용합니다.
+     */
+    public boolean hasSameContent(Alarm other) {
+        return hour == other.hour &&
+               minute == other.minute &&
+               isEnabled == other.isEnabled &&
+               Objects.equals(name, other.name) &&
+               isVibrationEnabled == other.isVibrationEnabled &&
+               Objects.equals(soundUri, other.soundUri) &&
+               isMondayEnabled == other.isMondayEnabled &&
+               isTuesdayEnabled == other.isTuesdayEnabled &&
+               isWednesdayEnabled == other.isWednesdayEnabled &&
+               isThursdayEnabled == other.isThursdayEnabled &&
+               isFridayEnabled == other.isFridayEnabled &&
+               isSaturdayEnabled == other.isSaturdayEnabled &&
+               isSundayEnabled == other.isSundayEnabled &&
+               isWeatherTtsEnabled == other.isWeatherTtsEnabled &&
+               skipHolidays == other.skipHolidays &&
+               recurrence == other.recurrence &&
+               shiftPattern.equals(other.shiftPattern);
     }
 }
@@ -0,0 +1,84 @@
+package com.example.alarm;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] 반복 알람의 특정 날짜 하나에 대한 예외입니다. 'alarm_exceptions' 테이블과 매핑됩니다.
+ *  - 건너뛰기: 그날은 울리지 않습니다. ("다음 주 월요일은 건너뛰기")
+ *  - 시각 바꾸기: 그날만 다른 시각에 울립니다. ("14일은 7시 대신 7시 30분")
+ *
+ * 알람 행은 고치지 않으며, 알람을 지우면 예외도 함께 지워집니다. (ON DELETE CASCADE)
+ * 날짜는 기기 시간대의 달력 날짜를 yyyyMMdd 정수로 저장합니다. (예: 20250314) 숫자 순서가 날짜 순서와 같습니다.
+ */
+@Entity(tableName = "alarm_exceptions",
+        primaryKeys = {"alarm_id", "date"},
+        foreignKeys = @ForeignKey(entity = Alarm.class, parentColumns = "id", childColumns = "alarm_id",
+                onDelete = ForeignKey.CASCADE),
+        // 지난 예외를 날짜로 지울 때 전체 스캔하지 않도록 합니다. (alarm_id 조회는 기본 키로 충분합니다.)
+        indices = @Index("date"))
+public class AlarmException {
+
+    /** override_minute 값이 이것이면 그날은 건너뜁니다. */
+    public static final int SKIP = -1;
+
+    @ColumnInfo(name = "alarm_id")
+    private final int alarmId;
+
+    @ColumnInfo(name = "date")
+    private final int date;
+
+    /** 그날 울릴 시각(0시부터 분). 건너뛰면 {@link #SKIP} */
+    @ColumnInfo(name = "override_minute")
+    private final int overrideMinute;
+
+    public AlarmException(int alarmId, int date, int overrideMinute) {
+        this.alarmId = alarmId;
+        this.date = date;
+        this.overrideMinute = overrideMinute;
+    }
+
+    public static AlarmException skip(int alarmId, int date) {
+        return new AlarmException(alarmId, date, SKIP);
+    }
+
+    public static AlarmException override(int alarmId, int date, int hour, int minute) {
+        return new AlarmException(alarmId, date, hour * 60 + minute);
+    }
+
+    public int getAlarmId() {
+        return alarmId;
+    }
+
+    public int getDate() {
+        return date;
+    }
+
+    public int getOverrideMinute() {
+        return overrideMinute;
+    }
+
+    public boolean isSkip() {
+        return overrideMinute == SKIP;
+    }
+
+    /**
+     * @param month Calendar의 월 상수 (0 = 1월)
+     * @return yyyyMMdd
+     */
+    public static int dateKey(int year, int month, int dayOfMonth) {
+        return year * 10_000 + (month + 1) * 100 + dayOfMonth;
+    }
+
+    /** 그 순간의 zone 기준 달력 날짜 (yyyyMMdd) */
+    public static int dateKey(long millis, TimeZone zone) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.setTimeInMillis(millis);
+        return dateKey(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.alarm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * [새로운 클래스] 알람별 예외({@link AlarmException})를 날짜 순으로 정렬된 배열에 담아 둔 불변 색인입니다.
+ * 다음 울림 시각을 계산할 때 후보 날짜마다 이진 탐색 한 번(O(log n))으로 예외를 찾으므로, 예외가 많아도
+ * 반복 알람 계산이 느려지지 않습니다. 예외가 없는 알람은 빈 {@link Entries#NONE}을 공유합니다.
+ */
+public final class AlarmExceptionIndex {
+
+    public static final AlarmExceptionIndex EMPTY = new AlarmExceptionIndex(Collections.emptyMap());
+
+    private final Map<Integer, Entries> byAlarm;
+
+    private AlarmExceptionIndex(Map<Integer, Entries> byAlarm) {
+        this.byAlarm = byAlarm;
+    }
+
+    public static AlarmExceptionIndex of(List<AlarmException> exceptions) {
+        if (exceptions.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Integer, List<AlarmException>> grouped = new HashMap<>();
+        for (AlarmException exception : exceptions) {
+            grouped.computeIfAbsent(exception.getAlarmId(), id -> new ArrayList<>()).add(exception);
+        }
+        Map<Integer, Entries> byAlarm = new HashMap<>(grouped.size() * 2);
+        for (Map.Entry<Integer, List<AlarmException>> group : grouped.entrySet()) {
+            List<AlarmException> sorted = group.getValue();
+            sorted.sort(Comparator.comparingInt(AlarmException::getDate));
+            int[] dates = new int[sorted.size()];
+            int[] minutes = new int[sorted.size()];
+            for (int i = 0; i < dates.length; i++) {
+                dates[i] = sorted.get(i).getDate();
+                minutes[i] = sorted.get(i).getOverrideMinute();
+            }
+            byAlarm.put(group.getKey(), new Entries(dates, minutes));
+        }
+        return new AlarmExceptionIndex(byAlarm);
+    }
+
+    public Entries forAlarm(int alarmId) {
+        Entries entries = byAlarm.get(alarmId);
+        return entries != null ? entries : Entries.NONE;
+    }
+
+    /**
+     * @return 이 색인과 other 사이에 예외가 달라진 알람 ID. 다시 예약해야 하는 알람입니다.
+     */
+    public Set<Integer> changedAlarmIds(AlarmExceptionIndex other) {
+        Set<Integer> changed = new HashSet<>();
+        for (Map.Entry<Integer, Entries> entry : byAlarm.entrySet()) {
+            if (!entry.getValue().equals(other.forAlarm(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (Integer alarmId : other.byAlarm.keySet()) {
+            if (!byAlarm.containsKey(alarmId)) {
+                changed.add(alarmId);
+            }
+        }
+        return changed;
+    }
+
+    /** 알람 하나의 예외. 날짜(yyyyMMdd) 오름차순 배열과 같은 위치의 시각 배열 */
+    public static final class Entries {
+        public static final Entries NONE = new Entries(new int[0], new int[0]);
+
+        private final int[] dates;
+        private final int[] minutes;
+
+        Entries(int[] dates, int[] minutes) {
+            this.dates = dates;
+            this.minutes = minutes;
+        }
+
+        public boolean isEmpty() {
+            return dates.length == 0;
+        }
+
+        public int size() {
+            return dates.length;
+        }
+
+        /** [추가] date(yyyyMMdd) 이후(그날 포함)의 예외 개수. 날짜 순이므로 뒤쪽의 이 개수만큼이 해당합니다. */
+        int countFrom(int date) {
+            int i = Arrays.binarySearch(dates, date);
+            return dates.length - (i >= 0 ? i : -i - 1);
+        }
+
+        int dateAt(int i) {
+            return dates[i];
+        }
+
+        int minuteAt(int i) {
+            return minutes[i];
+        }
+
+        /**
+         * @param date yyyyMMdd
+         * @param defaultMinute 예외가 없을 때 돌려줄 시각 (0시부터 분)
+         * @return 그날 울릴 시각(분). 건너뛰면 {@link AlarmException#SKIP}
+         */
+        public int minuteOfDay(int date, int defaultMinute) {
+            int i = Arrays.binarySearch(dates, date);
+            return i >= 0 ? minutes[i] : defaultMinute;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entries)) {
+                return false;
+            }
+            Entries other = (Entries) o;
+            return Arrays.equals(dates, other.dates) && Arrays.equals(minutes, other.minutes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(dates) + Arrays.hashCode(minutes);
+        }
+    }
+}
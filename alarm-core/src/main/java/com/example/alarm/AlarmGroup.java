@@ -0,0 +1,35 @@
+package com.example.alarm;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * [새로운 클래스] 함께 켜고 끄는 알람 묶음(프로필)입니다. (예: "평일", "휴가", "야간 근무") 'alarm_groups' 테이블과 매핑됩니다.
+ *
+ * 어떤 알람이 어느 그룹에 속하는지는 {@link AlarmGroupMember}('alarm_group_members' 연결 테이블)에 두므로,
+ * 알람 하나가 여러 그룹에 속할 수 있고 알람 행은 그대로입니다.
+ * 그룹으로 전환하면 그 그룹의 알람은 켜지고, 다른 그룹에만 속한 알람은 꺼집니다. 어느 그룹에도 없는 알람은 그대로 둡니다.
+ */
+@Entity(tableName = "alarm_groups")
+public class AlarmGroup {
+
+    @PrimaryKey(autoGenerate = true)
+    private final int id;
+
+    @ColumnInfo(name = "name")
+    private final String name;
+
+    public AlarmGroup(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.alarm;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * [새로운 클래스] 알람과 {@link AlarmGroup}을 잇는 'alarm_group_members' 연결 테이블의 행입니다.
+ * 그룹이나 알람을 지우면 함께 지워집니다. (ON DELETE CASCADE)
+ */
+@Entity(tableName = "alarm_group_members",
+        primaryKeys = {"group_id", "alarm_id"},
+        foreignKeys = {
+                @ForeignKey(entity = AlarmGroup.class, parentColumns = "id", childColumns = "group_id",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = Alarm.class, parentColumns = "id", childColumns = "alarm_id",
+                        onDelete = ForeignKey.CASCADE)},
+        // 그룹의 알람은 기본 키 (group_id, alarm_id)로 찾고, 알람이 지워질 때의 CASCADE는 이 인덱스로 찾습니다.
+        indices = @Index("alarm_id"))
+public class AlarmGroupMember {
+
+    @ColumnInfo(name = "group_id")
+    private final int groupId;
+
+    @ColumnInfo(name = "alarm_id")
+    private final int alarmId;
+
+    public AlarmGroupMember(int groupId, int alarmId) {
+        this.groupId = groupId;
+        this.alarmId = alarmId;
+    }
+
+    public int getGroupId() {
+        return groupId;
+    }
+
+    public int getAlarmId() {
+        return alarmId;
+    }
+}
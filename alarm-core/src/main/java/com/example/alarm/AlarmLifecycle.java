@@ -0,0 +1,78 @@
+package com.example.alarm;
+
+import java.util.TimeZone;
+import java.util.function.Supplier;
+
+/**
+ * [새로운 클래스] 알람의 예약 → 울림 → 다음 예약 흐름을 결정합니다.
+ * 실제 예약은 {@link Timer}에 맡기므로, 앱에서는 AlarmManager(AlarmScheduler)와, 시뮬레이터에서는 가상 시간 대기열과 함께 씁니다.
+ * 시각은 주입받은 {@link Clock}에서만 읽습니다.
+ */
+public final class AlarmLifecycle {
+
+    /**
+     * 정확한 시각에 알람을 울려 주는 쪽. 알람 ID마다 예약은 하나뿐이며, 다시 예약하면 이전 예약을 대신합니다.
+     */
+    public interface Timer {
+        void setExact(int alarmId, long triggerAtMillis);
+
+        void cancel(int alarmId);
+    }
+
+    private final Clock clock;
+    private final TimeZone zone;
+    private final Timer timer;
+    private final Supplier<AlarmExceptionIndex> exceptions;
+
+    public AlarmLifecycle(Clock clock, TimeZone zone, Timer timer) {
+        this(clock, zone, timer, () -> AlarmExceptionIndex.EMPTY);
+    }
+
+    /**
+     * [추가] 날짜별 예외를 반영해 다음 회차를 계산합니다.
+     * @param exceptions 예외 색인. 예외가 바뀌면 새 색인으로 바뀌므로 계산할 때마다 가져옵니다.
+     */
+    public AlarmLifecycle(Clock clock, TimeZone zone, Timer timer, Supplier<AlarmExceptionIndex> exceptions) {
+        this.clock = clock;
+        this.zone = zone;
+        this.timer = timer;
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * 지금 시각 이후 가장 가까운 울림 시각으로 예약합니다.
+     * @return 예약한 시각 (밀리초)
+     */
+    public long schedule(Alarm alarm) {
+        long triggerAtMillis = nextTrigger(alarm, clock.currentTimeMillis());
+        timer.setExact(alarm.getId(), triggerAtMillis);
+        return triggerAtMillis;
+    }
+
+    public void cancel(Alarm alarm) {
+        timer.cancel(alarm.getId());
+    }
+
+    /**
+     * 알람이 울린 뒤의 처리를 합니다. 반복 알람은 다음 회차를 예약하고, 한 번만 울리는 알람은 끕니다.
+     *
+     * 다음 회차는 "지금"과 "방금 울린 예약 시각" 중 늦은 쪽 이후에서 찾습니다. 울린 직후 네트워크 시각 보정으로 시계가
+     * 뒤로 가면 지금 시각이 예약 시각보다 앞설 수 있는데, 지금 시각만 보면 방금 울린 회차를 다시 예약해 두 번 울립니다.
+     *
+     * @param firedTriggerAtMillis 방금 울린 예약 시각. 모르면 0
+     * @return 알람을 껐으면 true. 호출한 쪽이 바뀐 알람을 저장해야 합니다.
+     */
+    public boolean onFired(Alarm alarm, long firedTriggerAtMillis) {
+        if (!alarm.isRepeating()) {
+            alarm.setEnabled(false);
+            return true;
+        }
+        long from = Math.max(clock.currentTimeMillis(), firedTriggerAtMillis);
+        timer.setExact(alarm.getId(), nextTrigger(alarm, from));
+        return false;
+    }
+
+    private long nextTrigger(Alarm alarm, long fromMillis) {
+        return TriggerCalculator.nextTriggerMillis(alarm, fromMillis, zone, exceptions.get().forAlarm(alarm.getId()));
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.alarm;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] AlarmManager 대신 가상 시간의 우선순위 큐를 써서, 알람의 예약 → 울림 → 다음 예약을 몇 달치 빠르게 돌려 봅니다.
+ * 앱과 같은 {@link AlarmLifecycle}과 {@link TriggerCalculator}를 쓰고, 시계만 가상 시계로 바꿉니다.
+ *
+ * 끝나면 실제로 울린 기록을 java.time으로 따로 계산한 "울려야 하는 시각" 목록과 비교해 빠진 울림과 중복 울림을 셉니다.
+ * 기대 목록의 서머타임 규칙: 봄에 건너뛰는 시각은 그만큼 뒤로 밀리고, 가을에 두 번 오는 시각은 두 번째(표준시)에 울립니다.
+ *
+ * 현실의 방해 요소를 두 가지 흉내 낼 수 있습니다.
+ *  - 전달 지연: 방송이 예약 시각보다 0 ~ maxDeliveryDelayMillis 늦게 도착합니다. (Doze, 바쁜 시스템)
+ *  - 시계 되돌림: clockStepBackPercent% 확률로, 울린 직후 시계가 0 ~ maxClockStepBackMillis만큼 뒤로 보정된 상태에서
+ *    다음 예약을 계산합니다. (네트워크 시각 보정)
+ */
+public final class AlarmLifecycleSimulator {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // 실패 메시지에 남길 문제 사례 수
+    private static final int MAX_SAMPLES = 20;
+
+    private final TimeZone zone;
+    private final long seed;
+    private final long maxDeliveryDelayMillis;
+    private final int clockStepBackPercent;
+    private final long maxClockStepBackMillis;
+
+    /** 방해 요소 없이 예약 시각에 정확히 울리는 시뮬레이터 */
+    public AlarmLifecycleSimulator(TimeZone zone, long seed) {
+        this(zone, seed, 0, 0, 0);
+    }
+
+    public AlarmLifecycleSimulator(TimeZone zone, long seed, long maxDeliveryDelayMillis,
+                                   int clockStepBackPercent, long maxClockStepBackMillis) {
+        this.zone = zone;
+        this.seed = seed;
+        this.maxDeliveryDelayMillis = maxDeliveryDelayMillis;
+        this.clockStepBackPercent = clockStepBackPercent;
+        this.maxClockStepBackMillis = maxClockStepBackMillis;
+    }
+
+    /**
+     * startMillis에 켜져 있는 알람을 모두 예약하고, days일 동안 울림과 다음 예약을 반복합니다. 넘긴 알람 목록은 바꾸지 않습니다.
+     */
+    public Result run(List<Alarm> alarms, long startMillis, int days) {
+        long endMillis = startMillis + days * DAY_MILLIS;
+        Random random = new Random(seed);
+        VirtualClock clock = new VirtualClock(startMillis);
+        VirtualAlarmManager alarmManager = new VirtualAlarmManager();
+        AlarmLifecycle lifecycle = new AlarmLifecycle(clock, zone, alarmManager);
+
+        // 시뮬레이션 중의 "데이터베이스". 한 번만 울리는 알람은 울린 뒤 꺼집니다.
+        Map<Integer, Alarm> store = new HashMap<>(alarms.size() * 2);
+        Map<Integer, List<Long>> fired = new HashMap<>(alarms.size() * 2);
+        Result result = new Result(alarms.size(), days);
+
+        long start = System.nanoTime();
+        for (Alarm alarm : alarms) {
+            Alarm copy = copy(alarm);
+            store.put(copy.getId(), copy);
+            if (copy.isEnabled()) {
+                lifecycle.schedule(copy);
+            }
+        }
+        Pending due;
+        while ((due = alarmManager.pollUntil(endMillis)) != null) {
+            long receivedAt = due.triggerAtMillis + randomUpTo(random, maxDeliveryDelayMillis);
+            if (clockStepBackPercent > 0 && random.nextInt(100) < clockStepBackPercent) {
+                receivedAt -= randomUpTo(random, maxClockStepBackMillis);
+            }
+            clock.set(receivedAt);
+            result.fires++;
+            fired.computeIfAbsent(due.alarmId, id -> new ArrayList<>()).add(due.triggerAtMillis);
+
+            Alarm alarm = store.get(due.alarmId);
+            if (alarm == null || !alarm.isEnabled()) {
+                // 꺼진 알람이 울렸습니다. 비교 단계에서 기대하지 않은 울림으로 셉니다.
+                continue;
+            }
+            lifecycle.onFired(alarm, due.triggerAtMillis);
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        result.reschedules = alarmManager.setCount;
+
+        for (Alarm alarm : alarms) {
+            List<Long> actual = fired.getOrDefault(alarm.getId(), Collections.emptyList());
+            List<Long> expected = alarm.isEnabled()
+                    ? expectedTriggers(alarm, startMillis, endMillis) : Collections.emptyList();
+            compare(alarm.getId(), expected, actual, result);
+        }
+        return result;
+    }
+
+    /**
+     * TriggerCalculator(Calendar)와 독립적으로, 하루씩 넘기며 (startMillis, endMillis] 안의 울림 시각을 구합니다.
+     */
+    List<Long> expectedTriggers(Alarm alarm, long startMillis, long endMillis) {
+        ZoneId zoneId = zone.toZoneId();
+        int dayMask = DayMask.of(alarm);
+        LocalTime time = LocalTime.of(alarm.getHour(), alarm.getMinute());
+        LocalDate last = Instant.ofEpochMilli(endMillis).atZone(zoneId).toLocalDate();
+        List<Long> triggers = new ArrayList<>();
+        for (LocalDate day = Instant.ofEpochMilli(startMillis).atZone(zoneId).toLocalDate();
+             !day.isAfter(last); day = day.plusDays(1)) {
+            if (dayMask != DayMask.NONE && !DayMask.contains(dayMask, calendarDayOfWeek(day.getDayOfWeek()))) {
+                continue;
+            }
+            long at = ZonedDateTime.of(day, time, zoneId).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+            if (at <= startMillis || at > endMillis) {
+                continue;
+            }
+            triggers.add(at);
+            if (dayMask == DayMask.NONE) {
+                break;
+            }
+        }
+        return triggers;
+    }
+
+    private static void compare(int alarmId, List<Long> expected, List<Long> actual, Result result) {
+        List<Long> sorted = new ArrayList<>(actual);
+        Collections.sort(sorted);
+        int e = 0;
+        long lastMatched = Long.MIN_VALUE;
+        for (long at : sorted) {
+            while (e < expected.size() && expected.get(e) < at) {
+                result.problem("missed", alarmId, expected.get(e));
+                result.missed++;
+                e++;
+            }
+            if (e < expected.size() && expected.get(e) == at) {
+                lastMatched = at;
+                e++;
+            } else if (at == lastMatched) {
+                result.problem("duplicate", alarmId, at);
+                result.duplicates++;
+            } else {
+                result.problem("unexpected", alarmId, at);
+                result.unexpected++;
+            }
+        }
+        for (; e < expected.size(); e++) {
+            result.problem("missed", alarmId, expected.get(e));
+            result.missed++;
+        }
+    }
+
+    private static int calendarDayOfWeek(DayOfWeek dayOfWeek) {
+        // java.time은 월요일(1) ~ 일요일(7), Calendar는 일요일(1) ~ 토요일(7)입니다.
+        return dayOfWeek.getValue() % 7 + 1;
+    }
+
+    private static long randomUpTo(Random random, long maxMillis) {
+        return maxMillis > 0 ? (long) (random.nextDouble() * (maxMillis + 1)) : 0;
+    }
+
+    private static Alarm copy(Alarm a) {
+        Alarm copy = new Alarm(a.getId(), a.getName(), a.getHour(), a.getMinute(), a.isEnabled(), a.isVibrationEnabled(),
+                a.getSoundUri(), a.isMondayEnabled(), a.isTuesdayEnabled(), a.isWednesdayEnabled(),
+                a.isThursdayEnabled(), a.isFridayEnabled(), a.isSaturdayEnabled(), a.isSundayEnabled(),
+                a.isWeatherTtsEnabled());
+        copy.setSkipHolidays(a.isSkipHolidays());
+        copy.setRecurrence(a.getRecurrence());
+        copy.setShiftPattern(a.getShiftPattern());
+        return copy;
+    }
+
+    /** 시뮬레이션 결과. 지표 이름은 {@link StressReport} 규칙을 따릅니다. */
+    public static final class Result {
+        public final int alarmCount;
+        public final int simulatedDays;
+        public long fires;
+        /** 처음 예약을 포함한 예약 호출 수 */
+        public long reschedules;
+        public long missed;
+        public long duplicates;
+        /** 기대 목록에 없는 시각에 울린 수 (꺼진 알람이 울린 경우 포함) */
+        public long unexpected;
+        public long elapsedNanos;
+        public final List<String> samples = new ArrayList<>();
+
+        Result(int alarmCount, int simulatedDays) {
+            this.alarmCount = alarmCount;
+            this.simulatedDays = simulatedDays;
+        }
+
+        public boolean isClean() {
+            return missed == 0 && duplicates == 0 && unexpected == 0;
+        }
+
+        public double firesPerSecond() {
+            return elapsedNanos > 0 ? fires * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        public void writeTo(StressReport.Tier tier) {
+            tier.put("simulated_days_count", simulatedDays)
+                    .put("fires_count", fires)
+                    .put("reschedules_count", reschedules)
+                    .put("missed_count", missed)
+                    .put("duplicate_count", duplicates)
+                    .put("unexpected_count", unexpected)
+                    .putMillis("run_ms", elapsedNanos)
+                    .put("fires_per_second_count", Math.round(firesPerSecond()));
+        }
+
+        private void problem(String kind, int alarmId, long triggerAtMillis) {
+            if (samples.size() < MAX_SAMPLES) {
+                samples.add(kind + " id=" + alarmId + " at=" + Instant.ofEpochMilli(triggerAtMillis));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "alarms=%d days=%d fires=%d reschedules=%d missed=%d duplicates=%d unexpected=%d "
+                            + "elapsed=%.1fms fires/s=%.0f samples=%s",
+                    alarmCount, simulatedDays, fires, reschedules, missed, duplicates, unexpected,
+                    elapsedNanos / 1_000_000.0, firesPerSecond(), samples);
+        }
+    }
+
+    private static final class VirtualClock implements Clock {
+        private long nowMillis;
+
+        VirtualClock(long startMillis) {
+            this.nowMillis = startMillis;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return nowMillis;
+        }
+
+        void set(long millis) {
+            nowMillis = millis;
+        }
+    }
+
+    private static final class Pending implements Comparable<Pending> {
+        final int alarmId;
+        final long triggerAtMillis;
+        final long sequence;
+
+        Pending(int alarmId, long triggerAtMillis, long sequence) {
+            this.alarmId = alarmId;
+            this.triggerAtMillis = triggerAtMillis;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int byTime = Long.compare(triggerAtMillis, other.triggerAtMillis);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * AlarmManager처럼 알람 ID마다 예약을 하나만 유지합니다. 바뀌거나 취소된 예약은 큐에서 바로 빼지 않고,
+     * 꺼낼 때 현재 예약과 다르면 버립니다.
+     */
+    private static final class VirtualAlarmManager implements AlarmLifecycle.Timer {
+        private final PriorityQueue<Pending> queue = new PriorityQueue<>();
+        private final Map<Integer, Pending> current = new HashMap<>();
+        private long sequence;
+        long setCount;
+
+        @Override
+        public void setExact(int alarmId, long triggerAtMillis) {
+            Pending pending = new Pending(alarmId, triggerAtMillis, sequence++);
+            current.put(alarmId, pending);
+            queue.add(pending);
+            setCount++;
+        }
+
+        @Override
+        public void cancel(int alarmId) {
+            current.remove(alarmId);
+        }
+
+        /** @return endMillis까지 울릴 다음 예약. 없으면 null */
+        Pending pollUntil(long endMillis) {
+            Pending head;
+            while ((head = queue.peek()) != null) {
+                if (current.get(head.alarmId) != head) {
+                    queue.poll();
+                    continue;
+                }
+                if (head.triggerAtMillis > endMillis) {
+                    return null;
+                }
+                queue.poll();
+                current.remove(head.alarmId);
+                return head;
+            }
+            return null;
+        }
+    }
+}
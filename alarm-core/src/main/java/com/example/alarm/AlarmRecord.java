@@ -0,0 +1,67 @@
+package com.example.alarm;
+
+import java.util.Calendar;
+
+/**
+ * [새로운 클래스] Direct Boot 미러 파일의 레코드 하나를 나타내는 불변 객체입니다. ({@link AlarmRecordCodec})
+ * (기존 DirectBootAlarmMirror.Entry)
+ */
+public final class AlarmRecord {
+    public final int alarmId;
+    public final int hour;
+    public final int minute;
+    public final int dayMask;
+    public final boolean vibrationEnabled;
+    public final boolean weatherTtsEnabled;
+    public final boolean skipHolidays;
+    public final long triggerAtMillis;
+    public final String name;
+    public final String soundUri;
+    /** 반복 규칙 ({@link RecurrenceRule#encode()}) */
+    public final long recurrence;
+    /** 교대 패턴. 없으면 {@link ShiftPattern#NONE} */
+    public final ShiftPattern shiftPattern;
+
+    AlarmRecord(int alarmId, int hour, int minute, int dayMask, boolean vibrationEnabled, boolean weatherTtsEnabled,
+                boolean skipHolidays, long triggerAtMillis, String name, String soundUri,
+                long recurrence, ShiftPattern shiftPattern) {
+        this.alarmId = alarmId;
+        this.hour = hour;
+        this.minute = minute;
+        this.dayMask = dayMask;
+        this.vibrationEnabled = vibrationEnabled;
+        this.weatherTtsEnabled = weatherTtsEnabled;
+        this.skipHolidays = skipHolidays;
+        this.triggerAtMillis = triggerAtMillis;
+        this.name = name;
+        this.soundUri = soundUri;
+        this.recurrence = recurrence;
+        this.shiftPattern = shiftPattern;
+    }
+
+    public boolean isRepeating() {
+        return dayMask != DayMask.NONE || recurrence != RecurrenceRule.NONE || !shiftPattern.isEmpty();
+    }
+
+    /**
+     * 레코드를 AlarmScheduler와 AlarmReceiver가 그대로 사용할 수 있는 Alarm 객체로 변환합니다.
+     * @param includeSoundUri false면 알람음 URI를 비워 기본 알람음으로 울리게 합니다.
+     *                        (잠금 해제 전에는 사용자가 고른 파일의 ContentProvider에 접근할 수 없을 수 있습니다.)
+     */
+    public Alarm toAlarm(boolean includeSoundUri) {
+        Alarm alarm = new Alarm(alarmId, name, hour, minute, true, vibrationEnabled,
+                includeSoundUri ? soundUri : null,
+                DayMask.contains(dayMask, Calendar.MONDAY),
+                DayMask.contains(dayMask, Calendar.TUESDAY),
+                DayMask.contains(dayMask, Calendar.WEDNESDAY),
+                DayMask.contains(dayMask, Calendar.THURSDAY),
+                DayMask.contains(dayMask, Calendar.FRIDAY),
+                DayMask.contains(dayMask, Calendar.SATURDAY),
+                DayMask.contains(dayMask, Calendar.SUNDAY),
+                weatherTtsEnabled);
+        alarm.setSkipHolidays(skipHolidays);
+        alarm.setRecurrence(recurrence);
+        alarm.setShiftPattern(shiftPattern);
+        return alarm;
+    }
+}
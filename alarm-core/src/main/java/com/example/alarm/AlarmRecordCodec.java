@@ -0,0 +1,251 @@
+package com.example.alarm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] Direct Boot 미러 파일({@code DirectBootAlarmMirror})의 고정 길이 레코드 형식을 읽고 씁니다.
+ * 파일 입출력과 메모리 매핑은 미러가 맡고, 이 클래스는 ByteBuffer만 다루므로 JVM에서 테스트하고 측정할 수 있습니다.
+ *
+ * 형식 (Little Endian):
+ *  - 헤더 (24바이트): magic(int) | version(int) | count(int) | exceptionCount(int) | writtenAt(long)
+ *  - 레코드 (RECORD_SIZE 바이트씩 count개):
+ *    id(int) | hour(byte) | minute(byte) | dayMask(byte) | flags(byte) | triggerAt(long)
+ *    | nameLength(short) | name(NAME_BYTES) | soundUriLength(short) | soundUri(SOUND_URI_BYTES)
+ *    | shiftAnchorDay(int) | shiftCycleLength(int) | shiftCycle(long) | shiftMinutes(long) | recurrence(long)
+ *  - 예외 (EXCEPTION_SIZE 바이트씩 exceptionCount개): alarmId(int) | date(int) | overrideMinute(int)
+ *
+ * [수정] 버전 2에서 알람음 칸의 마지막 8바이트를 반복 규칙({@link RecurrenceRule})에 씁니다. 레코드 길이와 다른 칸의
+ * 위치는 그대로이므로 버전 1 파일도 읽을 수 있습니다. (반복 규칙 없음으로 읽습니다.) 그 전에 알람음 URI가 그 8바이트까지
+ * 썼더라도 길이가 앞에 있으므로 URI는 그대로 읽힙니다.
+ * [수정] 버전 3에서 같은 방법으로 알람음 칸의 24바이트를 교대 패턴({@link ShiftPattern})에 씁니다.
+ * [수정] 버전 4에서 레코드 뒤에 아직 지나지 않은 날짜별 예외({@link AlarmException})를 붙이고, 개수는 헤더의 예비 칸에
+ * 씁니다. 레코드의 다음 울림 시각도 예외를 반영해 계산합니다. 잠금 해제 전에는 DB의 예외를 읽을 수 없으므로,
+ * 부팅 시점이 기록 시점보다 늦어도 이 예외로 다시 계산할 수 있게 합니다. 이전 판의 예비 칸은 0이므로 예외 없음으로 읽습니다.
+ */
+public final class AlarmRecordCodec {
+
+    // "ALM1" - 파일 형식을 식별하기 위한 값입니다.
+    static final int MAGIC = 0x414C4D31;
+    static final int VERSION = 4;
+    // 이 버전부터 레코드에 반복 규칙이 있습니다.
+    private static final int VERSION_RECURRENCE = 2;
+    // 이 버전부터 레코드에 교대 패턴이 있습니다.
+    private static final int VERSION_SHIFT = 3;
+    // 이 버전부터 레코드 뒤에 날짜별 예외가 있습니다.
+    private static final int VERSION_EXCEPTIONS = 4;
+
+    public static final int HEADER_SIZE = 24;
+    public static final int NAME_BYTES = 62;
+    public static final int SOUND_URI_BYTES = 270;
+    public static final int RECORD_SIZE = 16 + 2 + NAME_BYTES + 2 + SOUND_URI_BYTES + 24 + 8; // 384 바이트
+    public static final int EXCEPTION_SIZE = 12;
+
+    private static final int OFFSET_COUNT = 8;
+    private static final int OFFSET_EXCEPTION_COUNT = 12;
+
+    private static final int OFFSET_ID = 0;
+    private static final int OFFSET_HOUR = 4;
+    private static final int OFFSET_MINUTE = 5;
+    private static final int OFFSET_DAY_MASK = 6;
+    private static final int OFFSET_FLAGS = 7;
+    private static final int OFFSET_TRIGGER_AT = 8;
+    private static final int OFFSET_NAME = 16;
+    private static final int OFFSET_SOUND_URI = OFFSET_NAME + 2 + NAME_BYTES;
+    private static final int OFFSET_SHIFT = OFFSET_SOUND_URI + 2 + SOUND_URI_BYTES;
+    private static final int OFFSET_RECURRENCE = OFFSET_SHIFT + 24;
+
+    static final int FLAG_VIBRATION = 1;
+    static final int FLAG_WEATHER_TTS = 1 << 1;
+    // [추가] 이전 판의 파일에서는 0이므로 VERSION을 올리지 않아도 그대로 읽힙니다.
+    static final int FLAG_SKIP_HOLIDAYS = 1 << 2;
+
+    private AlarmRecordCodec() {
+    }
+
+    /**
+     * 알람 목록을 헤더와 레코드로 인코딩합니다. 각 레코드의 다음 울림 시각은 nowMillis 기준으로 계산합니다.
+     * @return 읽을 수 있도록 flip 된 버퍼
+     */
+    public static ByteBuffer encode(List<Alarm> alarms, long nowMillis, TimeZone zone) {
+        return encode(alarms, nowMillis, zone, AlarmExceptionIndex.EMPTY);
+    }
+
+    /**
+     * [추가] 날짜별 예외를 반영해 인코딩합니다. 다음 울림 시각은 예외를 적용해 계산하고, nowMillis의 날짜부터의
+     * 예외는 레코드 뒤에 함께 기록합니다. (지난 예외는 다시 계산할 때 쓸모가 없으므로 뺍니다.)
+     * @return 읽을 수 있도록 flip 된 버퍼
+     */
+    public static ByteBuffer encode(List<Alarm> alarms, long nowMillis, TimeZone zone, AlarmExceptionIndex exceptions) {
+        int today = AlarmException.dateKey(nowMillis, zone);
+        int exceptionCount = 0;
+        for (Alarm alarm : alarms) {
+            exceptionCount += exceptions.forAlarm(alarm.getId()).countFrom(today);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + RECORD_SIZE * alarms.size() + EXCEPTION_SIZE * exceptionCount)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(alarms.size()).putInt(exceptionCount).putLong(nowMillis);
+        for (Alarm alarm : alarms) {
+            writeRecord(buffer, alarm,
+                    TriggerCalculator.nextTriggerMillis(alarm, nowMillis, zone, exceptions.forAlarm(alarm.getId())));
+        }
+        for (Alarm alarm : alarms) {
+            AlarmExceptionIndex.Entries entries = exceptions.forAlarm(alarm.getId());
+            for (int i = entries.size() - entries.countFrom(today); i < entries.size(); i++) {
+                buffer.putInt(alarm.getId()).putInt(entries.dateAt(i)).putInt(entries.minuteAt(i));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 헤더와 길이가 이 형식에 맞는지 확인합니다. 버퍼의 바이트 순서를 Little Endian으로 맞춥니다.
+     */
+    public static boolean isValid(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer.capacity() >= HEADER_SIZE
+                && buffer.getInt(0) == MAGIC
+                && buffer.getInt(4) >= 1 && buffer.getInt(4) <= VERSION
+                // [추가] 손상된 파일의 음수 개수는 읽을 때 예외(음수 용량, 음수 위치)가 나므로 여기서 거절합니다.
+                && buffer.getInt(OFFSET_COUNT) >= 0 && exceptionCount(buffer) >= 0
+                && buffer.capacity() >= HEADER_SIZE + (long) buffer.getInt(OFFSET_COUNT) * RECORD_SIZE
+                        + (long) exceptionCount(buffer) * EXCEPTION_SIZE;
+    }
+
+    /** {@link #isValid}로 확인한 버퍼의 모든 레코드를 읽습니다. */
+    public static List<AlarmRecord> readAll(ByteBuffer buffer) {
+        int count = buffer.getInt(OFFSET_COUNT);
+        List<AlarmRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(readRecord(buffer, HEADER_SIZE + i * RECORD_SIZE));
+        }
+        return records;
+    }
+
+    /**
+     * [추가] {@link #isValid}로 확인한 버퍼에 기록된 날짜별 예외를 읽습니다. 버전 4 이전 파일이면 비어 있습니다.
+     */
+    public static AlarmExceptionIndex readExceptions(ByteBuffer buffer) {
+        int count = exceptionCount(buffer);
+        List<AlarmException> exceptions = new ArrayList<>(count);
+        int position = HEADER_SIZE + buffer.getInt(OFFSET_COUNT) * RECORD_SIZE;
+        for (int i = 0; i < count; i++, position += EXCEPTION_SIZE) {
+            exceptions.add(new AlarmException(buffer.getInt(position), buffer.getInt(position + 4), buffer.getInt(position + 8)));
+        }
+        return AlarmExceptionIndex.of(exceptions);
+    }
+
+    private static int exceptionCount(ByteBuffer buffer) {
+        return buffer.getInt(4) >= VERSION_EXCEPTIONS ? buffer.getInt(OFFSET_EXCEPTION_COUNT) : 0;
+    }
+
+    /**
+     * 특정 알람 ID의 레코드만 찾습니다. 레코드 길이가 고정되어 있으므로 전체를 해석하지 않고 ID만 비교합니다.
+     * @return 해당 알람의 레코드. 없으면 null
+     */
+    public static AlarmRecord find(ByteBuffer buffer, int alarmId) {
+        int count = buffer.getInt(OFFSET_COUNT);
+        for (int i = 0; i < count; i++) {
+            int position = HEADER_SIZE + i * RECORD_SIZE;
+            if (buffer.getInt(position + OFFSET_ID) == alarmId) {
+                return readRecord(buffer, position);
+            }
+        }
+        return null;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, Alarm alarm, long triggerAtMillis) {
+        int start = buffer.position();
+        int flags = (alarm.isVibrationEnabled() ? FLAG_VIBRATION : 0)
+                | (alarm.isWeatherTtsEnabled() ? FLAG_WEATHER_TTS : 0)
+                | (alarm.isSkipHolidays() ? FLAG_SKIP_HOLIDAYS : 0);
+        buffer.putInt(alarm.getId())
+                .put((byte) alarm.getHour())
+                .put((byte) alarm.getMinute())
+                .put((byte) DayMask.of(alarm))
+                .put((byte) flags)
+                .putLong(triggerAtMillis);
+        putString(buffer, truncateUtf8(alarm.getName(), NAME_BYTES), NAME_BYTES);
+        // 알람음 URI는 잘리면 쓸모가 없으므로, 칸에 들어가지 않으면 기록하지 않고 기본 알람음을 사용합니다.
+        byte[] soundUri = alarm.getSoundUri() != null ? alarm.getSoundUri().getBytes(StandardCharsets.UTF_8) : null;
+        putString(buffer, soundUri != null && soundUri.length <= SOUND_URI_BYTES ? soundUri : null, SOUND_URI_BYTES);
+        ShiftPattern shift = alarm.getShiftPattern();
+        buffer.putInt(shift.getAnchorDay()).putInt(shift.getCycleLength()).putLong(shift.getCycle()).putLong(shift.getMinutes());
+        buffer.putLong(alarm.getRecurrence());
+        buffer.position(start + RECORD_SIZE);
+    }
+
+    private static AlarmRecord readRecord(ByteBuffer buffer, int position) {
+        int dayMask = buffer.get(position + OFFSET_DAY_MASK);
+        int flags = buffer.get(position + OFFSET_FLAGS);
+        return new AlarmRecord(
+                buffer.getInt(position + OFFSET_ID),
+                buffer.get(position + OFFSET_HOUR),
+                buffer.get(position + OFFSET_MINUTE),
+                dayMask,
+                (flags & FLAG_VIBRATION) != 0,
+                (flags & FLAG_WEATHER_TTS) != 0,
+                (flags & FLAG_SKIP_HOLIDAYS) != 0,
+                buffer.getLong(position + OFFSET_TRIGGER_AT),
+                getString(buffer, position + OFFSET_NAME),
+                getString(buffer, position + OFFSET_SOUND_URI),
+                buffer.getInt(4) >= VERSION_RECURRENCE ? buffer.getLong(position + OFFSET_RECURRENCE) : RecurrenceRule.NONE,
+                buffer.getInt(4) >= VERSION_SHIFT ? readShift(buffer, position + OFFSET_SHIFT) : ShiftPattern.NONE);
+    }
+
+    private static ShiftPattern readShift(ByteBuffer buffer, int position) {
+        int cycleLength = buffer.getInt(position + 4);
+        if (cycleLength == 0) {
+            return ShiftPattern.NONE;
+        }
+        return new ShiftPattern(buffer.getInt(position), cycleLength, buffer.getLong(position + 8), buffer.getLong(position + 16));
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value, int capacity) {
+        int start = buffer.position();
+        if (value == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) value.length).put(value);
+        }
+        buffer.position(start + 2 + capacity);
+    }
+
+    private static String getString(ByteBuffer buffer, int position) {
+        int length = buffer.getShort(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 문자열을 UTF-8로 인코딩하되, maxBytes를 넘으면 글자가 깨지지 않는 경계에서 자릅니다.
+     */
+    static byte[] truncateUtf8(String value, int maxBytes) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return bytes;
+        }
+        int end = maxBytes;
+        // UTF-8의 연속 바이트(10xxxxxx)에서 자르지 않도록 글자의 시작 바이트까지 되돌아갑니다.
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        byte[] truncated = new byte[end];
+        System.arraycopy(bytes, 0, truncated, 0, end);
+        return truncated;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.alarm;
+
+/**
+ * [새로운 인터페이스] 현재 시각을 제공하는 추상화입니다.
+ * System.currentTimeMillis()를 직접 부르는 대신 이 인터페이스를 주입받으면,
+ * 테스트에서 가짜 시계로 시간을 자유롭게 움직일 수 있습니다.
+ */
+public interface Clock {
+
+    /** 실제 시스템 시계 */
+    Clock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * @return 현재 시각 (1970-01-01 UTC 기준 밀리초)
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,68 @@
+package com.example.alarm;
+
+import java.util.Calendar;
+
+/**
+ * [새로운 클래스] 반복 요일을 7비트 마스크로 다루는 계산 모음입니다.
+ * bit 0 = 일요일 ... bit 6 = 토요일 (Calendar의 요일 상수 - 1). Direct Boot 미러 파일도 같은 배치를 사용합니다.
+ *
+ * 요일별로 boolean 값을 하나씩 확인하는 대신 비트 연산으로 "다음 반복 요일까지 며칠"을 바로 구합니다.
+ */
+public final class DayMask {
+
+    /** 반복 없음 */
+    public static final int NONE = 0;
+    /** 매일 */
+    public static final int EVERY_DAY = 0x7F;
+
+    private DayMask() {
+    }
+
+    /**
+     * @param calendarDay Calendar의 요일 상수 (Calendar.SUNDAY=1 ... Calendar.SATURDAY=7)
+     */
+    public static int bit(int calendarDay) {
+        return 1 << (calendarDay - 1);
+    }
+
+    public static boolean contains(int mask, int calendarDay) {
+        return calendarDay >= Calendar.SUNDAY && calendarDay <= Calendar.SATURDAY && (mask & bit(calendarDay)) != 0;
+    }
+
+    /**
+     * 알람의 요일별 설정을 마스크로 변환합니다.
+     */
+    public static int of(Alarm alarm) {
+        return (alarm.isSundayEnabled() ? bit(Calendar.SUNDAY) : 0)
+                | (alarm.isMondayEnabled() ? bit(Calendar.MONDAY) : 0)
+                | (alarm.isTuesdayEnabled() ? bit(Calendar.TUESDAY) : 0)
+                | (alarm.isWednesdayEnabled() ? bit(Calendar.WEDNESDAY) : 0)
+                | (alarm.isThursdayEnabled() ? bit(Calendar.THURSDAY) : 0)
+                | (alarm.isFridayEnabled() ? bit(Calendar.FRIDAY) : 0)
+                | (alarm.isSaturdayEnabled() ? bit(Calendar.SATURDAY) : 0);
+    }
+
+    /**
+     * 오늘부터 다음 반복 요일까지 며칠 남았는지 구합니다.
+     * @param mask 반복 요일 마스크 (NONE이 아니어야 합니다)
+     * @param today 오늘의 Calendar 요일 상수
+     * @param includeToday 오늘도 후보로 볼지 여부. 오늘 알람 시각이 이미 지났으면 false를 넘깁니다.
+     * @return 0~7. 오늘만 선택되어 있고 includeToday가 false이면 다음 주 같은 요일인 7
+     */
+    public static int daysUntilNext(int mask, int today, boolean includeToday) {
+        mask &= EVERY_DAY;
+        if (mask == NONE) {
+            throw new IllegalArgumentException("반복 요일이 없습니다.");
+        }
+        // 오늘이 bit 0에 오도록 7비트 안에서 회전시키면, 가장 낮은 1비트의 위치가 곧 남은 일수입니다.
+        int shift = today - 1;
+        int rotated = ((mask >>> shift) | (mask << (7 - shift))) & EVERY_DAY;
+        if (!includeToday) {
+            rotated &= ~1;
+            if (rotated == 0) {
+                return 7;
+            }
+        }
+        return Integer.numberOfTrailingZeros(rotated);
+    }
+}
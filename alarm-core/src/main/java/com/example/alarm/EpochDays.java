@@ -0,0 +1,63 @@
+package com.example.alarm;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] 날짜를 1970-01-01부터 센 날수(epoch day)로 다루는 정수 계산 모음입니다.
+ * 반복 규칙({@link RecurrenceRule})이 날짜를 하루씩 넘기지 않고 바로 건너뛸 수 있도록, Calendar 대신 산술로 변환합니다.
+ * (minSdk 24에서는 java.time을 쓸 수 없습니다.) 그레고리력만 다룹니다.
+ */
+final class EpochDays {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private EpochDays() {
+    }
+
+    /**
+     * @param month Calendar의 월 상수 (0 = 1월). 범위를 넘으면 이웃한 해로 넘어갑니다.
+     * @param dayOfMonth 달의 날수를 넘으면 다음 달로 넘어갑니다.
+     */
+    static int of(int year, int month, int dayOfMonth) {
+        year += Math.floorDiv(month, 12);
+        month = Math.floorMod(month, 12) + 1;
+        // 3월을 한 해의 시작으로 보면 윤날(2월 29일)이 해의 끝에 오므로 달마다 날수를 더하는 식이 단순해집니다.
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468 + dayOfMonth - 1;
+    }
+
+    /** 그 순간의 zone 기준 날짜 */
+    static int of(long millis, TimeZone zone) {
+        return (int) Math.floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY);
+    }
+
+    /** @return yyyyMMdd ({@link AlarmException#dateKey(int, int, int)}와 같은 형식) */
+    static int toDateKey(int epochDay) {
+        int days = epochDay + 719_468;
+        int era = Math.floorDiv(days, 146_097);
+        int dayOfEra = days - era * 146_097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int dayOfMonth = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10_000 + month * 100 + dayOfMonth;
+    }
+
+    /** @return Calendar의 요일 상수 (Calendar.SUNDAY=1 ... Calendar.SATURDAY=7) */
+    static int dayOfWeek(int epochDay) {
+        // 1970-01-01은 목요일입니다.
+        return Math.floorMod(epochDay + 4, 7) + Calendar.SUNDAY;
+    }
+
+    /** @return 1부터 시작하는 그해의 날 ({@link Calendar#DAY_OF_YEAR}) */
+    static int dayOfYear(int epochDay) {
+        return epochDay - of(toDateKey(epochDay) / 10_000, 0, 1) + 1;
+    }
+}
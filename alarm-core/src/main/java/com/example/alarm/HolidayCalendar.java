@@ -0,0 +1,123 @@
+package com.example.alarm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Calendar;
+
+/**
+ * [새로운 클래스] 공휴일 달력. 해마다 1년의 날(day of year)을 비트 하나로 나타낸 비트셋(366비트 = long 6개)으로,
+ * 어느 날이 공휴일인지 배열 위치 계산 한 번으로 확인합니다. 인터넷 연결 없이 앱에 들어 있는 데이터만 씁니다.
+ *
+ * 데이터는 사람이 고치는 텍스트(holidays-KR.txt)를 {@link HolidayDatasetCompiler}로 미리 바꿔 둔 이진 파일
+ * (holidays-KR.bin)입니다. 버퍼를 복사하지 않고 그대로 읽으므로, 메모리 매핑한 파일도 넘길 수 있습니다.
+ *
+ * 형식 (Little Endian):
+ *  - 헤더 (16바이트): magic(int) | version(int) | firstYear(int) | yearCount(int)
+ *  - 해마다 YEAR_BYTES 바이트: long 6개. 1월 1일이 0번 비트입니다.
+ */
+public final class HolidayCalendar {
+
+    // "HOL1" - 파일 형식을 식별하기 위한 값입니다.
+    static final int MAGIC = 0x484F4C31;
+    static final int HEADER_SIZE = 16;
+    static final int WORDS_PER_YEAR = 6;
+    static final int YEAR_BYTES = WORDS_PER_YEAR * 8;
+
+    /** 공휴일이 하나도 없는 달력. 공휴일을 건너뛰지 않는 알람에 씁니다. */
+    public static final HolidayCalendar NONE = new HolidayCalendar(emptyDataset(), 0, 0, 0);
+
+    private final ByteBuffer data;
+    private final int version;
+    private final int firstYear;
+    private final int yearCount;
+
+    private HolidayCalendar(ByteBuffer data, int version, int firstYear, int yearCount) {
+        this.data = data;
+        this.version = version;
+        this.firstYear = firstYear;
+        this.yearCount = yearCount;
+    }
+
+    /**
+     * 앱에 들어 있는 대한민국 공휴일. 처음 부를 때 한 번만 읽습니다. (약 350바이트)
+     * 잠금 해제 전(Direct Boot)에도 읽을 수 있습니다.
+     */
+    public static HolidayCalendar korea() {
+        return KoreaHolder.INSTANCE;
+    }
+
+    /**
+     * 이진 데이터에서 달력을 만듭니다. 버퍼의 현재 위치부터 읽으며, 이후에도 버퍼 내용을 그대로 참조합니다.
+     * @throws IllegalArgumentException 형식이 맞지 않거나 길이가 모자라면
+     */
+    public static HolidayCalendar read(ByteBuffer buffer) {
+        ByteBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (data.remaining() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("공휴일 데이터 형식이 아닙니다.");
+        }
+        int yearCount = data.getInt(12);
+        if (yearCount < 0 || data.remaining() < HEADER_SIZE + (long) yearCount * YEAR_BYTES) {
+            throw new IllegalArgumentException("공휴일 데이터가 잘렸습니다: " + yearCount + "년");
+        }
+        return new HolidayCalendar(data, data.getInt(4), data.getInt(8), yearCount);
+    }
+
+    /** 데이터 판. 임시공휴일처럼 데이터가 바뀔 때마다 올라갑니다. */
+    public int getVersion() {
+        return version;
+    }
+
+    /** 이 달력에 데이터가 있는 해인지. 없는 해는 모든 날을 평일로 봅니다. */
+    public boolean covers(int year) {
+        return year >= firstYear && year < firstYear + yearCount;
+    }
+
+    /**
+     * @param dayOfYear 1부터 시작하는 그해의 날 ({@link Calendar#DAY_OF_YEAR})
+     */
+    public boolean isHoliday(int year, int dayOfYear) {
+        if (!covers(year) || dayOfYear < 1 || dayOfYear > 366) {
+            return false;
+        }
+        int bit = dayOfYear - 1;
+        long word = data.getLong(HEADER_SIZE + (year - firstYear) * YEAR_BYTES + (bit >>> 6) * 8);
+        return (word & (1L << bit)) != 0;
+    }
+
+    /** 달력이 가리키는 날짜(시간대 포함)가 공휴일인지 확인합니다. */
+    public boolean isHoliday(Calendar date) {
+        return isHoliday(date.get(Calendar.YEAR), date.get(Calendar.DAY_OF_YEAR));
+    }
+
+    private static ByteBuffer emptyDataset() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(0).putInt(0).putInt(0);
+        buffer.flip();
+        return buffer;
+    }
+
+    static HolidayCalendar fromResource(String name) {
+        try (InputStream in = HolidayCalendar.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("공휴일 데이터가 없습니다: " + name);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            byte[] chunk = new byte[512];
+            for (int read; (read = in.read(chunk)) != -1; ) {
+                bytes.write(chunk, 0, read);
+            }
+            return read(ByteBuffer.wrap(bytes.toByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 처음 korea()를 부를 때 클래스가 초기화되며 한 번만 읽습니다.
+    private static final class KoreaHolder {
+        static final HolidayCalendar INSTANCE = fromResource("holidays-KR.bin");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.alarm;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] 공휴일 텍스트 데이터를 {@link HolidayCalendar}의 이진 형식으로 바꿉니다.
+ * 빌드 도구로만 쓰며(./gradlew :alarm-core:compileHolidays), 앱에서는 바꿔 둔 결과만 읽습니다.
+ *
+ * 텍스트 형식 ('#'로 시작하는 줄과 빈 줄은 건너뜁니다):
+ * <pre>
+ * version 1
+ * years 2024 2030
+ * 2024-01-01 신정
+ * </pre>
+ * 날짜 뒤의 이름은 사람이 읽기 위한 것이라 저장하지 않습니다.
+ */
+final class HolidayDatasetCompiler {
+
+    private HolidayDatasetCompiler() {
+    }
+
+    /**
+     * @return 읽을 수 있도록 flip 된 버퍼
+     * @throws IllegalArgumentException 형식이 맞지 않거나 날짜가 years 범위를 벗어나면 (줄 번호 포함)
+     */
+    static ByteBuffer compile(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.setLenient(false);
+        int version = -1;
+        int firstYear = 0;
+        long[] words = null;
+        String line;
+        for (int lineNumber = 1; (line = reader.readLine()) != null; lineNumber++) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            try {
+                if (fields[0].equals("version")) {
+                    version = Integer.parseInt(fields[1]);
+                } else if (fields[0].equals("years")) {
+                    firstYear = Integer.parseInt(fields[1]);
+                    int lastYear = Integer.parseInt(fields[2]);
+                    words = new long[(lastYear - firstYear + 1) * HolidayCalendar.WORDS_PER_YEAR];
+                } else {
+                    if (words == null) {
+                        throw new IllegalArgumentException("날짜보다 years가 먼저 와야 합니다.");
+                    }
+                    String[] date = fields[0].split("-");
+                    calendar.clear();
+                    calendar.set(Integer.parseInt(date[0]), Integer.parseInt(date[1]) - 1, Integer.parseInt(date[2]));
+                    int year = calendar.get(Calendar.YEAR);
+                    int bit = calendar.get(Calendar.DAY_OF_YEAR) - 1;
+                    int index = (year - firstYear) * HolidayCalendar.WORDS_PER_YEAR + (bit >>> 6);
+                    if (year < firstYear || index >= words.length) {
+                        throw new IllegalArgumentException("years 범위 밖의 날짜입니다.");
+                    }
+                    words[index] |= 1L << bit;
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(lineNumber + "번째 줄을 읽을 수 없습니다: " + line, e);
+            }
+        }
+        if (version < 0 || words == null) {
+            throw new IllegalArgumentException("version과 years가 필요합니다.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HolidayCalendar.HEADER_SIZE + words.length * 8)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(HolidayCalendar.MAGIC).putInt(version).putInt(firstYear)
+                .putInt(words.length / HolidayCalendar.WORDS_PER_YEAR);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /** 사용법: HolidayDatasetCompiler &lt;입력 텍스트&gt; &lt;출력 파일&gt; */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("사용법: HolidayDatasetCompiler <holidays.txt> <holidays.bin>");
+            System.exit(2);
+        }
+        ByteBuffer compiled;
+        try (Reader in = new InputStreamReader(new FileInputStream(args[0]), StandardCharsets.UTF_8)) {
+            compiled = compile(in);
+        }
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            out.write(compiled.array(), 0, compiled.limit());
+        }
+    }
+}
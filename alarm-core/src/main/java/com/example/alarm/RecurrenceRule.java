@@ -0,0 +1,249 @@
+package com.example.alarm;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] 요일 반복만으로 나타낼 수 없는 반복 규칙입니다.
+ *  - N일마다 ({@link #everyNDays})
+ *  - N주마다 정한 요일 ({@link #weekly}, 예: 격주 월·수)
+ *  - 매달 N번째(또는 마지막) 무슨 요일 ({@link #nthWeekdayOfMonth})
+ *  - 매달 마지막 평일 ({@link #lastBusinessDayOfMonth})
+ *
+ * 'alarms' 테이블에는 long 하나로 저장합니다. ({@link #encode()}, 반복 규칙이 없으면 {@link #NONE})
+ * {@link #decode}가 필요한 값을 미리 계산해 두므로, {@link #nextOnOrAfter}는 날짜를 하루씩 넘기지 않고
+ * 산술로 다음 날짜를 구합니다. (규칙마다 정해진 횟수 안에서 끝납니다.)
+ *
+ * 인코딩 (비트):
+ *  0-3 kind | 4-15 interval | 16-22 dayMask({@link DayMask}) | 24-27 nth | 32-63 시작 날짜(epoch day)
+ */
+public final class RecurrenceRule {
+
+    /** 반복 규칙 없음. 알람의 요일 반복을 그대로 씁니다. */
+    public static final long NONE = 0;
+    /** {@link #nthWeekdayOfMonth}에서 그달의 마지막 요일 */
+    public static final int LAST = -1;
+    /** interval의 최댓값 (12비트) */
+    public static final int MAX_INTERVAL = 0xFFF;
+
+    static final int KIND_EVERY_N_DAYS = 1;
+    static final int KIND_WEEKLY = 2;
+    static final int KIND_NTH_WEEKDAY = 3;
+    static final int KIND_LAST_BUSINESS_DAY = 4;
+
+    private final int kind;
+    private final int interval;
+    private final int dayMask;
+    private final int nth;
+    private final int startEpochDay;
+    // [주석] 아래는 인코딩하지 않고 decode할 때 계산해 두는 값입니다.
+    private final int startWeek;
+    private final int dayOfWeek;
+
+    private RecurrenceRule(int kind, int interval, int dayMask, int nth, int startEpochDay) {
+        this.kind = kind;
+        this.interval = interval;
+        this.dayMask = dayMask;
+        this.nth = nth;
+        this.startEpochDay = startEpochDay;
+        // 주는 일요일부터 시작합니다. (DayMask와 같은 배치)
+        this.startWeek = startEpochDay - (EpochDays.dayOfWeek(startEpochDay) - Calendar.SUNDAY);
+        this.dayOfWeek = Integer.numberOfTrailingZeros(dayMask) + Calendar.SUNDAY;
+    }
+
+    /**
+     * @param days 며칠마다 (1~{@link #MAX_INTERVAL})
+     * @param startEpochDay 처음 울리는 날
+     */
+    public static RecurrenceRule everyNDays(int days, int startEpochDay) {
+        checkInterval(days);
+        return new RecurrenceRule(KIND_EVERY_N_DAYS, days, DayMask.NONE, 0, startEpochDay);
+    }
+
+    /**
+     * @param weeks 몇 주마다 (1~{@link #MAX_INTERVAL}). 2면 격주입니다.
+     * @param dayMask 울리는 요일 ({@link DayMask})
+     * @param startEpochDay 이날이 속한 주가 첫 주가 되며, 이날 전에는 울리지 않습니다.
+     */
+    public static RecurrenceRule weekly(int weeks, int dayMask, int startEpochDay) {
+        checkInterval(weeks);
+        if ((dayMask & DayMask.EVERY_DAY) == DayMask.NONE || (dayMask & ~DayMask.EVERY_DAY) != 0) {
+            throw new IllegalArgumentException("반복 요일이 올바르지 않습니다: " + dayMask);
+        }
+        return new RecurrenceRule(KIND_WEEKLY, weeks, dayMask, 0, startEpochDay);
+    }
+
+    /**
+     * @param nth 1~5번째 또는 {@link #LAST}. 5번째 요일이 없는 달은 건너뜁니다.
+     * @param calendarDay Calendar의 요일 상수
+     */
+    public static RecurrenceRule nthWeekdayOfMonth(int nth, int calendarDay) {
+        if ((nth < 1 || nth > 5) && nth != LAST) {
+            throw new IllegalArgumentException("몇 번째 요일인지 올바르지 않습니다: " + nth);
+        }
+        if (calendarDay < Calendar.SUNDAY || calendarDay > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("요일이 올바르지 않습니다: " + calendarDay);
+        }
+        return new RecurrenceRule(KIND_NTH_WEEKDAY, 1, DayMask.bit(calendarDay), nth, 0);
+    }
+
+    /** 매달 마지막 평일(월~금). 공휴일은 보지 않으며, 필요하면 알람의 공휴일 건너뛰기와 함께 씁니다. */
+    public static RecurrenceRule lastBusinessDayOfMonth() {
+        return new RecurrenceRule(KIND_LAST_BUSINESS_DAY, 1, DayMask.NONE, 0, 0);
+    }
+
+    /** 요일 반복 알람을 같은 방식으로 계산하기 위한 매주 규칙 */
+    static RecurrenceRule everyWeek(int dayMask) {
+        return new RecurrenceRule(KIND_WEEKLY, 1, dayMask, 0, 0);
+    }
+
+    /**
+     * @throws IllegalArgumentException 알 수 없는 규칙이거나 {@link #NONE}이면
+     */
+    public static RecurrenceRule decode(long encoded) {
+        int kind = (int) (encoded & 0xF);
+        int interval = (int) (encoded >>> 4) & MAX_INTERVAL;
+        int dayMask = (int) (encoded >>> 16) & DayMask.EVERY_DAY;
+        int nth = (int) (encoded >>> 24) & 0xF;
+        int startEpochDay = (int) (encoded >>> 32);
+        switch (kind) {
+            case KIND_EVERY_N_DAYS:
+                return everyNDays(interval, startEpochDay);
+            case KIND_WEEKLY:
+                return weekly(interval, dayMask, startEpochDay);
+            case KIND_NTH_WEEKDAY:
+                return nthWeekdayOfMonth(nth == 0xF ? LAST : nth, Integer.numberOfTrailingZeros(dayMask) + Calendar.SUNDAY);
+            case KIND_LAST_BUSINESS_DAY:
+                return lastBusinessDayOfMonth();
+            default:
+                throw new IllegalArgumentException("알 수 없는 반복 규칙입니다: " + Long.toHexString(encoded));
+        }
+    }
+
+    public long encode() {
+        return kind
+                | (long) interval << 4
+                | (long) dayMask << 16
+                | (long) (nth & 0xF) << 24
+                | (long) startEpochDay << 32;
+    }
+
+    /** 그날 울리는지. 날짜를 하나씩 확인하는 테스트와 벤치마크의 기준으로도 씁니다. */
+    public boolean matches(int epochDay) {
+        switch (kind) {
+            case KIND_EVERY_N_DAYS:
+                return epochDay >= startEpochDay && (epochDay - startEpochDay) % interval == 0;
+            case KIND_WEEKLY:
+                return epochDay >= startEpochDay
+                        && ((epochDay - startWeek) / 7) % interval == 0
+                        && DayMask.contains(dayMask, EpochDays.dayOfWeek(epochDay));
+            case KIND_NTH_WEEKDAY: {
+                int date = EpochDays.toDateKey(epochDay);
+                return nthWeekdayIn(date / 10_000, date / 100 % 100 - 1) == epochDay;
+            }
+            default: {
+                int date = EpochDays.toDateKey(epochDay);
+                return lastBusinessDayIn(date / 10_000, date / 100 % 100 - 1) == epochDay;
+            }
+        }
+    }
+
+    /**
+     * epochDay와 같거나 그 뒤에 오는 첫 번째 날짜를 구합니다.
+     * N일마다는 나눗셈 한 번, N주마다는 많아야 두 주, 매달 규칙은 많아야 몇 달(5번째 요일은 1년에 네 번 이상 있습니다)만 봅니다.
+     */
+    public int nextOnOrAfter(int epochDay) {
+        switch (kind) {
+            case KIND_EVERY_N_DAYS: {
+                if (epochDay <= startEpochDay) {
+                    return startEpochDay;
+                }
+                int passed = (epochDay - startEpochDay) % interval;
+                return passed == 0 ? epochDay : epochDay + interval - passed;
+            }
+            case KIND_WEEKLY: {
+                int from = Math.max(epochDay, startEpochDay);
+                int week = (from - startWeek) / 7;
+                if (week % interval == 0) {
+                    int fromDayOfWeek = EpochDays.dayOfWeek(from);
+                    int days = DayMask.daysUntilNext(dayMask, fromDayOfWeek, true);
+                    // 토요일을 넘기면 다음 주이므로, 다음으로 울리는 주에서 다시 찾습니다.
+                    if (fromDayOfWeek + days <= Calendar.SATURDAY) {
+                        return from + days;
+                    }
+                }
+                int nextWeek = week + interval - week % interval;
+                return startWeek + nextWeek * 7 + DayMask.daysUntilNext(dayMask, Calendar.SUNDAY, true);
+            }
+            case KIND_NTH_WEEKDAY:
+            case KIND_LAST_BUSINESS_DAY: {
+                int date = EpochDays.toDateKey(epochDay);
+                int year = date / 10_000;
+                int month = date / 100 % 100 - 1;
+                while (true) {
+                    int candidate = kind == KIND_NTH_WEEKDAY ? nthWeekdayIn(year, month) : lastBusinessDayIn(year, month);
+                    if (candidate >= epochDay) {
+                        return candidate;
+                    }
+                    month++;
+                }
+            }
+            default:
+                throw new IllegalStateException("알 수 없는 반복 규칙입니다: " + kind);
+        }
+    }
+
+    /**
+     * 기준 시각 뒤에 처음 울리는 시각을 구합니다. 시:분은 그날의 벽시계 시각으로 해석합니다. ({@link TriggerCalculator})
+     */
+    public long nextAfter(long instantMillis, int hour, int minute, TimeZone zone) {
+        Calendar calendar = Calendar.getInstance(zone);
+        int day = nextOnOrAfter(EpochDays.of(instantMillis, zone));
+        while (true) {
+            int date = EpochDays.toDateKey(day);
+            long triggerAt = TriggerCalculator.wallClockMillis(calendar, date / 10_000, date / 100 % 100 - 1,
+                    date % 100, hour, minute);
+            // 오늘 날짜이지만 시각이 이미 지났으면 다음 날짜를 봅니다. (다음 날짜부터는 항상 뒤입니다.)
+            if (triggerAt > instantMillis) {
+                return triggerAt;
+            }
+            day = nextOnOrAfter(day + 1);
+        }
+    }
+
+    // 없으면(5번째 요일이 없는 달) Integer.MIN_VALUE
+    private int nthWeekdayIn(int year, int month) {
+        if (nth == LAST) {
+            int lastDay = EpochDays.of(year, month + 1, 1) - 1;
+            return lastDay - Math.floorMod(EpochDays.dayOfWeek(lastDay) - dayOfWeek, 7);
+        }
+        int firstDay = EpochDays.of(year, month, 1);
+        int candidate = firstDay + Math.floorMod(dayOfWeek - EpochDays.dayOfWeek(firstDay), 7) + (nth - 1) * 7;
+        return candidate < EpochDays.of(year, month + 1, 1) ? candidate : Integer.MIN_VALUE;
+    }
+
+    private static int lastBusinessDayIn(int year, int month) {
+        int lastDay = EpochDays.of(year, month + 1, 1) - 1;
+        int dayOfWeek = EpochDays.dayOfWeek(lastDay);
+        if (dayOfWeek == Calendar.SATURDAY) {
+            return lastDay - 1;
+        }
+        return dayOfWeek == Calendar.SUNDAY ? lastDay - 2 : lastDay;
+    }
+
+    private static void checkInterval(int interval) {
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("반복 간격이 올바르지 않습니다: " + interval);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RecurrenceRule && ((RecurrenceRule) o).encode() == encode();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(encode());
+    }
+}
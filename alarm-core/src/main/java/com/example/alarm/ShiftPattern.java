@@ -0,0 +1,163 @@
+package com.example.alarm;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Ignore;
+
+/**
+ * [새로운 클래스] 교대 근무의 순환 패턴입니다. (예: 4일 근무 4일 휴무, 주간 3일·야간 3일·휴무 3일)
+ *  - 기준일: 순환의 첫째 날 (epoch day)
+ *  - 순환: 날마다의 근무 종류 (최대 {@link #MAX_CYCLE_DAYS}일, 종류는 최대 {@link #MAX_DAY_TYPES}가지)
+ *  - 종류별 시각: 그 종류의 날에 울릴 시각. 휴무처럼 울리지 않는 종류는 {@link #OFF}
+ *
+ * 알람 행에 함께 저장하므로({@link Alarm#getShiftPattern()}, 'shift_' 컬럼들) 몇 년짜리 순환도 행 하나와 예약 하나입니다.
+ * 다음 울리는 날은 오늘이 순환의 몇째 날인지에서 바로 구합니다. (날짜를 하루씩 넘기지 않습니다.)
+ *
+ * 저장 형식: cycle은 날마다 2비트(0번 날이 가장 낮은 비트), minutes는 종류마다 12비트(시각 + 1, 0이면 OFF)입니다.
+ */
+public final class ShiftPattern {
+
+    public static final int MAX_CYCLE_DAYS = 32;
+    public static final int MAX_DAY_TYPES = 4;
+    /** 그 종류의 날에는 울리지 않습니다. */
+    public static final int OFF = -1;
+
+    /** 교대 패턴 없음. 알람의 요일 반복이나 반복 규칙을 그대로 씁니다. */
+    public static final ShiftPattern NONE = new ShiftPattern(0, 0, 0, 0);
+
+    @ColumnInfo(name = "anchor_day")
+    private final int anchorDay;
+
+    /** 0이면 패턴 없음 */
+    @ColumnInfo(name = "cycle_length")
+    private final int cycleLength;
+
+    @ColumnInfo(name = "cycle")
+    private final long cycle;
+
+    @ColumnInfo(name = "minutes")
+    private final long minutes;
+
+    // 순환의 날 중 울리는 날의 비트. 저장하지 않고 만들 때 계산해 둡니다.
+    @Ignore
+    private final long ringingDays;
+
+    public ShiftPattern(int anchorDay, int cycleLength, long cycle, long minutes) {
+        this.anchorDay = anchorDay;
+        this.cycleLength = cycleLength;
+        this.cycle = cycle;
+        this.minutes = minutes;
+        long ringing = 0;
+        for (int position = 0; position < cycleLength; position++) {
+            if (typeMinute(typeAt(position)) != OFF) {
+                ringing |= 1L << position;
+            }
+        }
+        this.ringingDays = ringing;
+    }
+
+    /**
+     * @param anchorDay dayTypes[0]에 해당하는 날 (epoch day)
+     * @param dayTypes 순환 안의 날마다의 근무 종류 (0 ~ typeMinutes.length - 1)
+     * @param typeMinutes 종류마다 울릴 시각(0시부터 분) 또는 {@link #OFF}
+     * @throws IllegalArgumentException 범위를 벗어나거나 울리는 날이 하루도 없으면
+     */
+    public static ShiftPattern of(int anchorDay, int[] dayTypes, int[] typeMinutes) {
+        if (dayTypes.length < 1 || dayTypes.length > MAX_CYCLE_DAYS) {
+            throw new IllegalArgumentException("순환은 1~" + MAX_CYCLE_DAYS + "일이어야 합니다: " + dayTypes.length);
+        }
+        if (typeMinutes.length < 1 || typeMinutes.length > MAX_DAY_TYPES) {
+            throw new IllegalArgumentException("근무 종류는 1~" + MAX_DAY_TYPES + "가지여야 합니다: " + typeMinutes.length);
+        }
+        long minutes = 0;
+        for (int type = 0; type < typeMinutes.length; type++) {
+            int minute = typeMinutes[type];
+            if (minute != OFF && (minute < 0 || minute >= 24 * 60)) {
+                throw new IllegalArgumentException("시각이 올바르지 않습니다: " + minute);
+            }
+            minutes |= (long) (minute + 1) << (type * 12);
+        }
+        long cycle = 0;
+        for (int position = 0; position < dayTypes.length; position++) {
+            if (dayTypes[position] < 0 || dayTypes[position] >= typeMinutes.length) {
+                throw new IllegalArgumentException("근무 종류가 올바르지 않습니다: " + dayTypes[position]);
+            }
+            cycle |= (long) dayTypes[position] << (position * 2);
+        }
+        ShiftPattern pattern = new ShiftPattern(anchorDay, dayTypes.length, cycle, minutes);
+        if (pattern.ringingDays == 0) {
+            throw new IllegalArgumentException("울리는 날이 없습니다.");
+        }
+        return pattern;
+    }
+
+    public boolean isEmpty() {
+        return cycleLength == 0;
+    }
+
+    public int getAnchorDay() {
+        return anchorDay;
+    }
+
+    public int getCycleLength() {
+        return cycleLength;
+    }
+
+    public long getCycle() {
+        return cycle;
+    }
+
+    public long getMinutes() {
+        return minutes;
+    }
+
+    /** 그날의 근무 종류 */
+    public int dayType(int epochDay) {
+        return typeAt(position(epochDay));
+    }
+
+    /** 그날 울릴 시각(0시부터 분). 울리지 않는 날이면 {@link #OFF} */
+    public int minuteOfDay(int epochDay) {
+        return typeMinute(dayType(epochDay));
+    }
+
+    /**
+     * epochDay와 같거나 그 뒤에 처음 울리는 날. 순환을 한 바퀴 회전시킨 비트에서 가장 낮은 1비트를 찾으므로,
+     * 순환 길이와 관계없이 한 번에 구합니다. (DayMask.daysUntilNext와 같은 방법)
+     */
+    public int nextOnOrAfter(int epochDay) {
+        if (ringingDays == 0) {
+            throw new IllegalStateException("울리는 날이 없습니다.");
+        }
+        int position = position(epochDay);
+        long all = (1L << cycleLength) - 1;
+        long rotated = ((ringingDays >>> position) | (ringingDays << (cycleLength - position))) & all;
+        return epochDay + Long.numberOfTrailingZeros(rotated);
+    }
+
+    private int position(int epochDay) {
+        return Math.floorMod(epochDay - anchorDay, cycleLength);
+    }
+
+    private int typeAt(int position) {
+        return (int) (cycle >>> (position * 2)) & 0x3;
+    }
+
+    private int typeMinute(int type) {
+        return (int) (minutes >>> (type * 12) & 0xFFF) - 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ShiftPattern)) {
+            return false;
+        }
+        ShiftPattern other = (ShiftPattern) o;
+        return anchorDay == other.anchorDay && cycleLength == other.cycleLength
+                && cycle == other.cycle && minutes == other.minutes;
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * (31 * anchorDay + cycleLength) + Long.hashCode(cycle)) * 31 + Long.hashCode(minutes);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.alarm;
+
+/**
+ * [새로운 클래스] 다시 울림(스누즈)을 처리합니다.
+ *
+ * 미룰 때마다 alarms 행을 고치고 AlarmScheduler로 전체 예약을 다시 계산하는 대신, 상태는 {@link Store}에 한 줄만 쓰고
+ * "지금 + 미룰 시간"에 {@link AlarmLifecycle.Timer}로 한 번 예약합니다. 앱에서는 알람 예약과 겹치지 않는
+ * PendingIntent 요청 코드를 쓰는 Timer(SnoozeScheduler)를 넘깁니다.
+ *
+ * 상태가 저장소에 있으므로 프로세스가 죽었다 살아나도 횟수가 유지되고, 재부팅 후에는 {@link #restore}로 다시 예약합니다.
+ */
+public final class SnoozeEngine {
+
+    /** 재부팅 등으로 이보다 오래 늦어진 다시 울림은 버립니다. */
+    static final long STALE_AFTER_MILLIS = 60 * 60_000L;
+
+    /** 알람 ID별 다시 울림 상태 저장소 */
+    public interface Store {
+        SnoozeState get(int alarmId);
+
+        void put(SnoozeState state);
+
+        void remove(int alarmId);
+
+        /** 저장된 모든 상태. 돌면서 remove를 불러도 되도록 복사본을 돌려줍니다. */
+        Iterable<SnoozeState> getAll();
+    }
+
+    private final Clock clock;
+    private final SnoozePolicy policy;
+    private final Store store;
+    private final AlarmLifecycle.Timer timer;
+
+    public SnoozeEngine(Clock clock, SnoozePolicy policy, Store store, AlarmLifecycle.Timer timer) {
+        this.clock = clock;
+        this.policy = policy;
+        this.store = store;
+        this.timer = timer;
+    }
+
+    public SnoozePolicy getPolicy() {
+        return policy;
+    }
+
+    /** 이번 회차에서 한 번 더 미룰 수 있는지 */
+    public boolean canSnooze(int alarmId) {
+        SnoozeState state = store.get(alarmId);
+        return (state != null ? state.count : 0) < policy.maxCount;
+    }
+
+    /**
+     * 지금부터 정해진 시간 뒤에 다시 울리도록 예약합니다.
+     * @return 새 상태. 최대 횟수를 넘었으면 예약하지 않고 null
+     */
+    public SnoozeState snooze(int alarmId) {
+        SnoozeState previous = store.get(alarmId);
+        int count = (previous != null ? previous.count : 0) + 1;
+        if (count > policy.maxCount) {
+            return null;
+        }
+        SnoozeState state = new SnoozeState(alarmId, count, clock.currentTimeMillis() + policy.durationMillis());
+        // 저장을 먼저 합니다. 예약 직후 프로세스가 죽어도 울릴 때 상태를 찾을 수 있습니다.
+        store.put(state);
+        timer.setExact(alarmId, state.triggerAtMillis);
+        return state;
+    }
+
+    /**
+     * 다시 울림 예약이 울렸습니다. 예약은 끝났지만 횟수는 남겨, 다음에 미룰 때 이어서 셉니다.
+     * @return 저장된 상태가 없으면 (이미 끄거나 알람을 지운 경우) null
+     */
+    public SnoozeState onSnoozeFired(int alarmId) {
+        SnoozeState state = store.get(alarmId);
+        if (state == null) {
+            return null;
+        }
+        SnoozeState fired = new SnoozeState(alarmId, state.count, SnoozeState.NOT_PENDING);
+        store.put(fired);
+        return fired;
+    }
+
+    /**
+     * 사용자가 알람을 끄거나 알람 자체를 끄고 지웠습니다. 남은 예약과 횟수를 모두 지웁니다.
+     * 알람의 정규 회차가 울렸을 때도 불러, 이전 회차의 다시 울림을 정리하고 횟수를 처음부터 셉니다.
+     */
+    public void dismiss(int alarmId) {
+        if (store.get(alarmId) == null) {
+            return;
+        }
+        timer.cancel(alarmId);
+        store.remove(alarmId);
+    }
+
+    /**
+     * 재부팅 후 저장된 다시 울림을 다시 예약합니다. 꺼져 있는 동안 지나간 것은 바로 울리고,
+     * {@link #STALE_AFTER_MILLIS}보다 오래 지난 것은 버립니다.
+     * @return 다시 예약한 수
+     */
+    public int restore() {
+        long now = clock.currentTimeMillis();
+        int restored = 0;
+        for (SnoozeState state : store.getAll()) {
+            if (!state.isPending()) {
+                continue;
+            }
+            if (now - state.triggerAtMillis > STALE_AFTER_MILLIS) {
+                store.remove(state.alarmId);
+                continue;
+            }
+            timer.setExact(state.alarmId, Math.max(state.triggerAtMillis, now));
+            restored++;
+        }
+        return restored;
+    }
+}
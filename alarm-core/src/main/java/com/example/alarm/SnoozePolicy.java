@@ -0,0 +1,29 @@
+package com.example.alarm;
+
+/**
+ * [새로운 클래스] 다시 울림(스누즈) 설정. 몇 분 뒤에 다시 울릴지와, 한 회차에서 최대 몇 번까지 미룰 수 있는지를 정합니다.
+ */
+public final class SnoozePolicy {
+
+    /** 기본값: 5분씩 최대 3번 */
+    public static final SnoozePolicy DEFAULT = new SnoozePolicy(5, 3);
+
+    public final int durationMinutes;
+    public final int maxCount;
+
+    /**
+     * @param durationMinutes 1분 이상
+     * @param maxCount 0이면 다시 울림을 쓰지 않습니다.
+     */
+    public SnoozePolicy(int durationMinutes, int maxCount) {
+        if (durationMinutes < 1 || maxCount < 0) {
+            throw new IllegalArgumentException("잘못된 다시 울림 설정: " + durationMinutes + "분, " + maxCount + "번");
+        }
+        this.durationMinutes = durationMinutes;
+        this.maxCount = maxCount;
+    }
+
+    public long durationMillis() {
+        return durationMinutes * 60_000L;
+    }
+}
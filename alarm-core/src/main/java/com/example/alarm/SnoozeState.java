@@ -0,0 +1,50 @@
+package com.example.alarm;
+
+/**
+ * [새로운 클래스] 알람 하나의 다시 울림 상태. alarms 테이블과 따로, 작은 키-값 저장소에 한 줄로 저장합니다. ({@link #encode})
+ */
+public final class SnoozeState {
+
+    /** 다시 울림 예약이 없음 (이미 울렸거나 아직 미루지 않음) */
+    public static final long NOT_PENDING = 0;
+
+    public final int alarmId;
+    /** 이번 회차에서 미룬 횟수 */
+    public final int count;
+    /** 다시 울릴 시각. 예약이 없으면 {@link #NOT_PENDING} */
+    public final long triggerAtMillis;
+
+    public SnoozeState(int alarmId, int count, long triggerAtMillis) {
+        this.alarmId = alarmId;
+        this.count = count;
+        this.triggerAtMillis = triggerAtMillis;
+    }
+
+    public boolean isPending() {
+        return triggerAtMillis != NOT_PENDING;
+    }
+
+    /** @return "횟수:다시 울릴 시각" */
+    public String encode() {
+        return count + ":" + triggerAtMillis;
+    }
+
+    /**
+     * @return 형식이 맞지 않으면 null
+     */
+    public static SnoozeState decode(int alarmId, String value) {
+        if (value == null) {
+            return null;
+        }
+        int colon = value.indexOf(':');
+        if (colon <= 0) {
+            return null;
+        }
+        try {
+            return new SnoozeState(alarmId, Integer.parseInt(value.substring(0, colon)),
+                    Long.parseLong(value.substring(colon + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.alarm;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * [새로운 클래스] 규모 테스트 결과를 기계가 읽을 수 있는 JSON으로 남깁니다. CI에서 이전 결과와 비교해 회귀를 찾는 데 씁니다.
+ *
+ * 형식:
+ * <pre>
+ * {"suite":"alarm_scale","seed":42,"tiers":[{"alarms":1000,"metrics":{"list_load_ms":12.5,"db_file_bytes":98304}}, ...]}
+ * </pre>
+ * 지표 이름은 단위를 접미사로 붙입니다. (_ms, _bytes, _count)
+ */
+public final class StressReport {
+
+    private final String suite;
+    private final long seed;
+    private final List<Tier> tiers = new ArrayList<>();
+
+    public StressReport(String suite, long seed) {
+        this.suite = suite;
+        this.seed = seed;
+    }
+
+    /** 알람 수 하나(규모 단계)에 대한 결과를 추가합니다. */
+    public Tier tier(int alarmCount) {
+        Tier tier = new Tier(alarmCount);
+        tiers.add(tier);
+        return tier;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"suite\":").append(quote(suite)).append(",\"seed\":").append(seed).append(",\"tiers\":[");
+        for (int i = 0; i < tiers.size(); i++) {
+            Tier tier = tiers.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"alarms\":").append(tier.alarmCount).append(",\"metrics\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> metric : tier.metrics.entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                json.append(quote(metric.getKey())).append(':').append(metric.getValue());
+            }
+            json.append("}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 이름을 바꿔, 읽는 쪽이 항상 완전한 파일만 보도록 합니다.
+     */
+    public void writeTo(File file) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("폴더를 만들 수 없습니다: " + dir);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            out.write(toJson());
+            out.write('\n');
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("파일을 교체할 수 없습니다: " + file);
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /** 규모 단계 하나의 지표들. 넣은 순서대로 기록합니다. */
+    public static final class Tier {
+        final int alarmCount;
+        final Map<String, String> metrics = new LinkedHashMap<>();
+
+        Tier(int alarmCount) {
+            this.alarmCount = alarmCount;
+        }
+
+        public Tier put(String name, long value) {
+            metrics.put(name, Long.toString(value));
+            return this;
+        }
+
+        /** 걸린 시간을 밀리초(소수점 셋째 자리까지)로 기록합니다. */
+        public Tier putMillis(String name, long nanos) {
+            metrics.put(name, String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.alarm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * [새로운 클래스] 규모 테스트와 벤치마크에서 사용할 가짜 알람 목록을 만듭니다. 시드가 같으면 항상 같은 목록이 나옵니다.
+ *
+ * 실제 사용자의 알람과 비슷한 분포를 따릅니다.
+ *  - 시각: 60%가 아침(05~09시), 15%가 낮, 25%가 저녁과 밤. 분은 정각과 30분이 많고 5분 단위가 그다음입니다.
+ *  - 반복: 평일 40%, 한 번만 25%, 주말 10%, 매일 10%, 그 밖의 요일 조합 15%
+ *  - 이름: 30%는 이름 없음. 5%는 미러 레코드 칸(62바이트)보다 긴 이름
+ *  - 알람음: 55%는 기본 알람음, 나머지는 MediaStore/문서 제공자 URI. 5%는 미러 칸(302바이트)보다 긴 URI
+ *  - 켜짐 75%, 진동 65%, 날씨 안내 15%(주로 아침 알람)
+ */
+public final class SyntheticAlarms {
+
+    private static final String[] NAMES = {
+            "출근", "기상", "운동", "약 먹기", "회의 준비", "아이 등원", "낮잠", "점심 약속", "분리수거", "영양제",
+            "Wake up", "Gym", "Standup",
+    };
+    private static final String LONG_NAME = "매주 월요일 팀 회의 전에 보고서 초안을 다시 확인하고 자료를 올리기";
+    private static final String MEDIA_URI = "content://media/external/audio/media/";
+    private static final String DOCUMENT_URI = "content://com.android.providers.media.documents/document/audio%3A";
+
+    private static final int WEEKDAYS = DayMask.EVERY_DAY & ~0b1000001;
+    private static final int WEEKEND = 0b1000001;
+
+    private SyntheticAlarms() {
+    }
+
+    /**
+     * @return ID가 1부터 count까지인 알람 목록
+     */
+    public static List<Alarm> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Alarm> alarms = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            alarms.add(next(id, random));
+        }
+        return alarms;
+    }
+
+    private static Alarm next(int id, Random random) {
+        int hour = hour(random);
+        int minute = minute(random);
+        int days = days(random);
+        boolean morning = hour >= 5 && hour <= 9;
+        return new Alarm(id, name(random), hour, minute,
+                random.nextInt(100) < 75,
+                random.nextInt(100) < 65,
+                soundUri(random),
+                (days & (1 << 1)) != 0,
+                (days & (1 << 2)) != 0,
+                (days & (1 << 3)) != 0,
+                (days & (1 << 4)) != 0,
+                (days & (1 << 5)) != 0,
+                (days & (1 << 6)) != 0,
+                (days & 1) != 0,
+                random.nextInt(100) < (morning ? 22 : 5));
+    }
+
+    private static int hour(Random random) {
+        int bucket = random.nextInt(100);
+        if (bucket < 60) {
+            // 아침은 6~7시에 몰려 있습니다.
+            int[] morning = {5, 6, 6, 6, 7, 7, 7, 7, 8, 8, 9};
+            return morning[random.nextInt(morning.length)];
+        }
+        if (bucket < 75) {
+            return 10 + random.nextInt(8);
+        }
+        // 18시부터 자정(0시)까지
+        return (18 + random.nextInt(7)) % 24;
+    }
+
+    private static int minute(Random random) {
+        int bucket = random.nextInt(100);
+        if (bucket < 40) {
+            return 0;
+        }
+        if (bucket < 60) {
+            return 30;
+        }
+        if (bucket < 85) {
+            return random.nextInt(12) * 5;
+        }
+        return random.nextInt(60);
+    }
+
+    private static int days(Random random) {
+        int bucket = random.nextInt(100);
+        if (bucket < 40) {
+            return WEEKDAYS;
+        }
+        if (bucket < 65) {
+            return DayMask.NONE;
+        }
+        if (bucket < 75) {
+            return WEEKEND;
+        }
+        if (bucket < 85) {
+            return DayMask.EVERY_DAY;
+        }
+        return random.nextInt(DayMask.EVERY_DAY) + 1;
+    }
+
+    private static String name(Random random) {
+        int bucket = random.nextInt(100);
+        if (bucket < 30) {
+            return null;
+        }
+        if (bucket < 35) {
+            return LONG_NAME;
+        }
+        String name = NAMES[random.nextInt(NAMES.length)];
+        return random.nextInt(4) == 0 ? name + " " + (random.nextInt(9) + 2) : name;
+    }
+
+    private static String soundUri(Random random) {
+        int bucket = random.nextInt(100);
+        if (bucket < 55) {
+            return null;
+        }
+        if (bucket < 85) {
+            return MEDIA_URI + random.nextInt(100_000);
+        }
+        if (bucket < 95) {
+            return DOCUMENT_URI + random.nextInt(100_000);
+        }
+        StringBuilder uri = new StringBuilder(DOCUMENT_URI);
+        while (uri.length() <= AlarmRecordCodec.SOUND_URI_BYTES) {
+            uri.append("%2Fmusic%2Fringtones%2F").append(random.nextInt(1_000));
+        }
+        return uri.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.alarm;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] 알람이 다음에 울릴 시각을 계산합니다. (기존 AlarmScheduler.calculateNextTriggerTime의 계산 부분)
+ *
+ * 시각은 항상 알람의 시/분(벽시계 시각) 기준으로 맞추므로, 서머타임이 바뀌는 날에도 같은 "시:분"에 울립니다.
+ * 안드로이드 API를 쓰지 않으므로 JVM 테스트와 벤치마크에서 그대로 사용할 수 있습니다.
+ */
+public final class TriggerCalculator {
+
+    // 그날의 예외가 없음을 나타냅니다. (AlarmException.SKIP, 0~1439와 겹치지 않는 값)
+    private static final int NO_EXCEPTION = Integer.MIN_VALUE;
+
+    private TriggerCalculator() {
+    }
+
+    /**
+     * @param nowMillis 기준 시각 (밀리초)
+     * @param zone 알람 시각을 해석할 시간대. 앱에서는 기기의 기본 시간대를 사용합니다.
+     * @return 다음 알람 시각 (밀리초). 반복 알람이면 가장 가까운 반복 요일(반복 규칙이 있으면 규칙의 다음 날짜), 아니면 오늘 또는 내일
+     */
+    public static long nextTriggerMillis(Alarm alarm, long nowMillis, TimeZone zone) {
+        return nextTriggerMillis(alarm, nowMillis, zone, AlarmExceptionIndex.Entries.NONE);
+    }
+
+    /**
+     * [추가] 날짜별 예외(건너뛰기, 시각 바꾸기)를 반영해 다음 울림 시각을 구합니다. 예외는 반복 알람에만 적용합니다.
+     * 반복하는 날짜를 차례로 보며 날짜마다 예외를 이진 탐색하므로, 건너뛴 날 수만큼만 더 돌고 끝납니다.
+     * [수정] 공휴일을 건너뛰는 알람은 앱에 들어 있는 대한민국 공휴일({@link HolidayCalendar#korea()})을 봅니다.
+     * @param exceptions 이 알람의 예외 ({@link AlarmExceptionIndex#forAlarm})
+     */
+    public static long nextTriggerMillis(Alarm alarm, long nowMillis, TimeZone zone, AlarmExceptionIndex.Entries exceptions) {
+        return nextTriggerMillis(alarm, nowMillis, zone, exceptions,
+                alarm.isSkipHolidays() ? HolidayCalendar.korea() : HolidayCalendar.NONE);
+    }
+
+    /**
+     * [추가] 예외와 공휴일을 함께 반영합니다. 공휴일인 날도 그날의 예외가 있으면 예외를 따릅니다.
+     * (사용자가 그날만 따로 시각을 정했다면 울리고 싶은 것이므로)
+     * @param holidays 공휴일 달력. 알람의 {@link Alarm#isSkipHolidays()}가 켜져 있을 때만 보며, 날마다 비트 하나만 확인합니다.
+     */
+    public static long nextTriggerMillis(Alarm alarm, long nowMillis, TimeZone zone,
+                                         AlarmExceptionIndex.Entries exceptions, HolidayCalendar holidays) {
+        int dayMask = DayMask.of(alarm);
+        ShiftPattern shift = alarm.getShiftPattern();
+        boolean skipHolidays = alarm.isSkipHolidays() && holidays != HolidayCalendar.NONE;
+        boolean plain = exceptions.isEmpty() && !skipHolidays;
+        if (shift.isEmpty() && alarm.getRecurrence() == RecurrenceRule.NONE && (dayMask == DayMask.NONE || plain)) {
+            return nextTriggerMillis(alarm.getHour(), alarm.getMinute(), dayMask, nowMillis, zone);
+        }
+        // [수정] 요일 반복도 매주 규칙으로 바꿔, 반복 규칙이 있는 알람과 같은 방법으로 날짜를 건너뜁니다.
+        // [수정] 교대 패턴이 있으면 울리는 날과 그날의 시각을 패턴에서 가져옵니다.
+        RecurrenceRule rule = !shift.isEmpty() ? null
+                : alarm.getRecurrence() != RecurrenceRule.NONE
+                ? RecurrenceRule.decode(alarm.getRecurrence()) : RecurrenceRule.everyWeek(dayMask);
+        if (rule != null && plain) {
+            return rule.nextAfter(nowMillis, alarm.getHour(), alarm.getMinute(), zone);
+        }
+        int defaultMinute = alarm.getHour() * 60 + alarm.getMinute();
+        Calendar calendar = Calendar.getInstance(zone);
+        int today = EpochDays.of(nowMillis, zone);
+        int day = rule != null ? rule.nextOnOrAfter(today) : shift.nextOnOrAfter(today);
+        while (true) {
+            int date = EpochDays.toDateKey(day);
+            int minute = exceptions.minuteOfDay(date, NO_EXCEPTION);
+            if (minute == NO_EXCEPTION) {
+                minute = skipHolidays && holidays.isHoliday(date / 10_000, EpochDays.dayOfYear(day))
+                        ? AlarmException.SKIP : rule != null ? defaultMinute : shift.minuteOfDay(day);
+            }
+            if (minute != AlarmException.SKIP) {
+                long triggerAt = wallClockMillis(calendar, date / 10_000, date / 100 % 100 - 1, date % 100,
+                        minute / 60, minute % 60);
+                if (triggerAt > nowMillis) {
+                    return triggerAt;
+                }
+            }
+            day = rule != null ? rule.nextOnOrAfter(day + 1) : shift.nextOnOrAfter(day + 1);
+        }
+    }
+
+    /**
+     * @param dayMask 반복 요일 마스크({@link DayMask}). 반복하지 않으면 {@link DayMask#NONE}
+     */
+    public static long nextTriggerMillis(int hour, int minute, int dayMask, long nowMillis, TimeZone zone) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.setTimeInMillis(nowMillis);
+        int year = calendar.get(Calendar.YEAR);
+        int month = calendar.get(Calendar.MONTH);
+        int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+        int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+        long today = wallClockMillis(calendar, year, month, dayOfMonth, hour, minute);
+
+        // 설정한 시각이 지금이거나 이미 지났으면 오늘은 울릴 수 없습니다.
+        boolean isTimePassed = today <= nowMillis;
+        int days;
+        if (dayMask == DayMask.NONE) {
+            days = isTimePassed ? 1 : 0;
+        } else {
+            days = DayMask.daysUntilNext(dayMask, dayOfWeek, !isTimePassed);
+        }
+        if (days == 0) {
+            return today;
+        }
+        // [수정] 날짜만 옮긴 뒤 그날의 시:분을 새로 해석합니다. 오늘 시각을 만든 Calendar에 날짜를 더하면
+        // 서머타임 전환일에 보정된 시각(예: 없는 02:30 → 03:30)이 다음 날로 이어지거나, 가을에 같은 날 두 번 울립니다.
+        return wallClockMillis(calendar, year, month, dayOfMonth + days, hour, minute);
+    }
+
+    /**
+     * 그날의 시:분(벽시계 시각)을 밀리초로 바꿉니다. 봄에 건너뛰는 시각은 그만큼 뒤로 밀리고,
+     * 가을에 두 번 오는 시각은 두 번째(표준시)로 해석됩니다. (Calendar의 기본 동작)
+     * @param dayOfMonth 달의 날수를 넘으면 다음 달로 넘어갑니다.
+     */
+    static long wallClockMillis(Calendar calendar, int year, int month, int dayOfMonth, int hour, int minute) {
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth, hour, minute, 0);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 예외 색인의 조회와 변경 감지, 그리고 예외를 반영한 다음 울림 시각을 하루씩 넘겨 찾는 단순한 방법과 비교합니다.
+ */
+public class AlarmExceptionIndexTest {
+
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+
+    @Test
+    public void minuteOfDay_findsSkipsAndOverrides() {
+        AlarmExceptionIndex index = AlarmExceptionIndex.of(Arrays.asList(
+                AlarmException.override(1, 20250314, 7, 30),
+                AlarmException.skip(1, 20250310),
+                AlarmException.skip(2, 20250310)));
+        AlarmExceptionIndex.Entries entries = index.forAlarm(1);
+
+        assertEquals(2, entries.size());
+        assertEquals(AlarmException.SKIP, entries.minuteOfDay(20250310, 420));
+        assertEquals(450, entries.minuteOfDay(20250314, 420));
+        assertEquals(420, entries.minuteOfDay(20250311, 420));
+        assertSame(AlarmExceptionIndex.Entries.NONE, index.forAlarm(3));
+    }
+
+    @Test
+    public void changedAlarmIds_reportsAddedRemovedAndEdited() {
+        AlarmExceptionIndex before = AlarmExceptionIndex.of(Arrays.asList(
+                AlarmException.skip(1, 20250310), AlarmException.skip(2, 20250310), AlarmException.skip(3, 20250310)));
+        AlarmExceptionIndex after = AlarmExceptionIndex.of(Arrays.asList(
+                AlarmException.skip(1, 20250310), AlarmException.override(2, 20250310, 8, 0),
+                AlarmException.skip(4, 20250311)));
+
+        assertEquals(new HashSet<>(Arrays.asList(2, 3, 4)), after.changedAlarmIds(before));
+        assertTrue(AlarmExceptionIndex.EMPTY.changedAlarmIds(AlarmExceptionIndex.of(Collections.emptyList())).isEmpty());
+    }
+
+    @Test
+    public void skipNextMonday_movesToTheFollowingMonday() {
+        Alarm mondays = alarm(7, 0, DayMask.bit(Calendar.MONDAY));
+        long saturday = at(2025, Calendar.MARCH, 8, 9, 0);
+        AlarmExceptionIndex.Entries skip = AlarmExceptionIndex.of(
+                Collections.singletonList(AlarmException.skip(1, 20250310))).forAlarm(1);
+
+        assertEquals(at(2025, Calendar.MARCH, 17, 7, 0),
+                TriggerCalculator.nextTriggerMillis(mondays, saturday, SEOUL, skip));
+    }
+
+    @Test
+    public void override_laterTheSameDay_stillRingsToday() {
+        Alarm everyDay = alarm(7, 0, DayMask.EVERY_DAY);
+        long tenPastSeven = at(2025, Calendar.MARCH, 14, 7, 10);
+        AlarmExceptionIndex.Entries later = AlarmExceptionIndex.of(
+                Collections.singletonList(AlarmException.override(1, 20250314, 7, 30))).forAlarm(1);
+
+        assertEquals(at(2025, Calendar.MARCH, 14, 7, 30),
+                TriggerCalculator.nextTriggerMillis(everyDay, tenPastSeven, SEOUL, later));
+    }
+
+    @Test
+    public void matchesDayByDaySearch_withRandomExceptions() {
+        Random random = new Random(42);
+        long base = at(2025, Calendar.JANUARY, 1, 0, 0);
+        for (int i = 0; i < 2_000; i++) {
+            Alarm alarm = alarm(random.nextInt(24), random.nextInt(60), random.nextInt(DayMask.EVERY_DAY) + 1);
+            long now = base + (long) random.nextInt(300 * 24 * 60) * 60_000L;
+            List<AlarmException> exceptions = new ArrayList<>();
+            for (int e = random.nextInt(40); e > 0; e--) {
+                int date = AlarmException.dateKey(now + (long) random.nextInt(60) * 24 * 60 * 60_000L, SEOUL);
+                exceptions.add(random.nextBoolean() ? AlarmException.skip(1, date)
+                        : AlarmException.override(1, date, random.nextInt(24), random.nextInt(60)));
+            }
+            AlarmExceptionIndex.Entries entries = AlarmExceptionIndex.of(exceptions).forAlarm(1);
+
+            assertEquals("alarm=" + alarm + " now=" + now + " exceptions=" + exceptions.size(),
+                    searchDayByDay(alarm, now, entries),
+                    TriggerCalculator.nextTriggerMillis(alarm, now, SEOUL, entries));
+        }
+    }
+
+    // 오늘부터 하루씩 넘기며, 반복 요일이고 건너뛰지 않으며 지금 이후인 첫 시각을 찾습니다.
+    private static long searchDayByDay(Alarm alarm, long now, AlarmExceptionIndex.Entries entries) {
+        Calendar day = Calendar.getInstance(SEOUL);
+        day.setTimeInMillis(now);
+        for (int i = 0; ; i++) {
+            Calendar candidate = Calendar.getInstance(SEOUL);
+            candidate.clear();
+            candidate.set(day.get(Calendar.YEAR), day.get(Calendar.MONTH), day.get(Calendar.DAY_OF_MONTH) + i, 12, 0);
+            if (!DayMask.contains(DayMask.of(alarm), candidate.get(Calendar.DAY_OF_WEEK))) {
+                continue;
+            }
+            int date = AlarmException.dateKey(candidate.get(Calendar.YEAR), candidate.get(Calendar.MONTH),
+                    candidate.get(Calendar.DAY_OF_MONTH));
+            int minute = entries.minuteOfDay(date, alarm.getHour() * 60 + alarm.getMinute());
+            if (minute == AlarmException.SKIP) {
+                continue;
+            }
+            candidate.set(Calendar.HOUR_OF_DAY, minute / 60);
+            candidate.set(Calendar.MINUTE, minute % 60);
+            if (candidate.getTimeInMillis() > now) {
+                return candidate.getTimeInMillis();
+            }
+        }
+    }
+
+    private static Alarm alarm(int hour, int minute, int mask) {
+        return new Alarm(1, null, hour, minute, true, false, null,
+                DayMask.contains(mask, Calendar.MONDAY), DayMask.contains(mask, Calendar.TUESDAY),
+                DayMask.contains(mask, Calendar.WEDNESDAY), DayMask.contains(mask, Calendar.THURSDAY),
+                DayMask.contains(mask, Calendar.FRIDAY), DayMask.contains(mask, Calendar.SATURDAY),
+                DayMask.contains(mask, Calendar.SUNDAY), false);
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(SEOUL);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
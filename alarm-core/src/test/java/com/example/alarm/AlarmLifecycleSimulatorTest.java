@@ -0,0 +1,111 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 합성 알람 수천 개를 몇 달 동안 가상 시간으로 돌려, 서머타임 전환과 전달 지연, 시계 보정 속에서도
+ * 모든 회차가 정확히 한 번씩 울리는지 확인합니다.
+ */
+public class AlarmLifecycleSimulatorTest {
+
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+    private static final long SEED = 42;
+
+    @Test
+    public void thousandsOfAlarms_acrossBothDstTransitions_fireExactlyOnce() {
+        List<Alarm> alarms = SyntheticAlarms.generate(3_000, SEED);
+        // 2025-02-01부터 300일: 3월 9일(봄)과 11월 2일(가을) 서머타임 전환을 모두 지납니다.
+        long start = at(NEW_YORK, 2025, Calendar.FEBRUARY, 1, 0, 0);
+
+        AlarmLifecycleSimulator.Result result = new AlarmLifecycleSimulator(NEW_YORK, SEED).run(alarms, start, 300);
+
+        assertTrue(result.toString(), result.isClean());
+        assertTrue(result.toString(), result.fires > 300_000);
+    }
+
+    @Test
+    public void lateDeliveryAndClockStepBack_doNotDuplicateOrSkip() {
+        List<Alarm> alarms = SyntheticAlarms.generate(2_000, SEED);
+        long start = at(SEOUL, 2025, Calendar.JANUARY, 1, 0, 0);
+        // 최대 1분 늦게 도착하고, 10%는 울린 직후 시계가 최대 5분 뒤로 보정됩니다.
+        AlarmLifecycleSimulator simulator = new AlarmLifecycleSimulator(SEOUL, SEED, 60_000, 10, 5 * 60_000);
+
+        AlarmLifecycleSimulator.Result result = simulator.run(alarms, start, 120);
+
+        assertTrue(result.toString(), result.isClean());
+    }
+
+    @Test
+    public void dstEdgeTimes_followTheDocumentedRule() {
+        // 02:30은 봄 전환일에 없는 시각이고, 01:30은 가을 전환일에 두 번 옵니다.
+        Alarm skipped = alarm(1, 2, 30, true);
+        Alarm repeated = alarm(2, 1, 30, true);
+        AlarmLifecycleSimulator simulator = new AlarmLifecycleSimulator(NEW_YORK, SEED);
+        long start = at(NEW_YORK, 2025, Calendar.MARCH, 1, 0, 0);
+
+        AlarmLifecycleSimulator.Result result = simulator.run(Arrays.asList(skipped, repeated), start, 300);
+
+        assertTrue(result.toString(), result.isClean());
+        assertEquals(600, result.fires);
+        List<Long> spring = simulator.expectedTriggers(skipped,
+                at(NEW_YORK, 2025, Calendar.MARCH, 9, 0, 0), at(NEW_YORK, 2025, Calendar.MARCH, 9, 12, 0));
+        assertEquals(Collections.singletonList(at(NEW_YORK, 2025, Calendar.MARCH, 9, 3, 30)), spring);
+    }
+
+    @Test
+    public void oneShotAlarm_firesOnceAndIsDisabled() {
+        AlarmLifecycleSimulator.Result result = new AlarmLifecycleSimulator(SEOUL, SEED)
+                .run(Collections.singletonList(alarm(1, 7, 0, false)), at(SEOUL, 2025, Calendar.JANUARY, 1, 8, 0), 30);
+
+        assertTrue(result.toString(), result.isClean());
+        assertEquals(1, result.fires);
+        assertEquals(1, result.reschedules);
+    }
+
+    @Test
+    public void disabledAlarms_neverFire() {
+        Alarm alarm = alarm(1, 7, 0, true);
+        alarm.setEnabled(false);
+
+        AlarmLifecycleSimulator.Result result = new AlarmLifecycleSimulator(SEOUL, SEED)
+                .run(Collections.singletonList(alarm), at(SEOUL, 2025, Calendar.JANUARY, 1, 0, 0), 30);
+
+        assertTrue(result.toString(), result.isClean());
+        assertEquals(0, result.fires);
+    }
+
+    @Test
+    public void result_writesStressMetrics() {
+        AlarmLifecycleSimulator.Result result = new AlarmLifecycleSimulator(SEOUL, SEED)
+                .run(SyntheticAlarms.generate(10, SEED), at(SEOUL, 2025, Calendar.JANUARY, 1, 0, 0), 7);
+        StressReport report = new StressReport("alarm_lifecycle", SEED);
+
+        result.writeTo(report.tier(10));
+
+        String json = report.toJson();
+        assertTrue(json, json.contains("\"fires_count\":" + result.fires));
+        assertTrue(json, json.contains("\"duplicate_count\":0"));
+    }
+
+    private static Alarm alarm(int id, int hour, int minute, boolean everyDay) {
+        return new Alarm(id, null, hour, minute, true, false, null,
+                everyDay, everyDay, everyDay, everyDay, everyDay, everyDay, everyDay, false);
+    }
+
+    private static long at(TimeZone zone, int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * AlarmLifecycle의 예약과 울린 뒤 처리를 가짜 시계와 기록용 Timer로 확인합니다.
+ */
+public class AlarmLifecycleTest {
+
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+
+    private long nowMillis;
+    private final List<long[]> scheduled = new ArrayList<>();
+    private final List<Integer> cancelled = new ArrayList<>();
+    private final AlarmLifecycle lifecycle = new AlarmLifecycle(() -> nowMillis, SEOUL, new AlarmLifecycle.Timer() {
+        @Override
+        public void setExact(int alarmId, long triggerAtMillis) {
+            scheduled.add(new long[]{alarmId, triggerAtMillis});
+        }
+
+        @Override
+        public void cancel(int alarmId) {
+            cancelled.add(alarmId);
+        }
+    });
+
+    @Test
+    public void schedule_readsTheInjectedClock() {
+        nowMillis = at(2024, Calendar.MARCH, 4, 8, 0); // 월요일
+        long triggerAt = lifecycle.schedule(alarm(7, 30, true));
+
+        assertEquals(at(2024, Calendar.MARCH, 5, 7, 30), triggerAt);
+        assertEquals(1, scheduled.size());
+        assertEquals(7, scheduled.get(0)[0]);
+        assertEquals(triggerAt, scheduled.get(0)[1]);
+    }
+
+    @Test
+    public void onFired_repeatingAlarm_schedulesTheNextDay() {
+        long firedAt = at(2024, Calendar.MARCH, 4, 7, 30);
+        nowMillis = firedAt + 2_000;
+        Alarm alarm = alarm(7, 30, true);
+
+        assertFalse(lifecycle.onFired(alarm, firedAt));
+        assertTrue(alarm.isEnabled());
+        assertEquals(at(2024, Calendar.MARCH, 5, 7, 30), scheduled.get(0)[1]);
+    }
+
+    @Test
+    public void onFired_clockSteppedBack_doesNotRescheduleTheSameTrigger() {
+        long firedAt = at(2024, Calendar.MARCH, 4, 7, 30);
+        // 울린 직후 시계가 3초 뒤로 보정되었습니다. 지금 시각만 보면 07:30이 아직 오지 않았습니다.
+        nowMillis = firedAt - 3_000;
+
+        lifecycle.onFired(alarm(7, 30, true), firedAt);
+
+        assertEquals(at(2024, Calendar.MARCH, 5, 7, 30), scheduled.get(0)[1]);
+    }
+
+    @Test
+    public void onFired_oneShotAlarm_isDisabledWithoutRescheduling() {
+        long firedAt = at(2024, Calendar.MARCH, 4, 7, 30);
+        nowMillis = firedAt;
+        Alarm alarm = alarm(7, 30, false);
+
+        assertTrue(lifecycle.onFired(alarm, firedAt));
+        assertFalse(alarm.isEnabled());
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    public void cancel_passesTheAlarmId() {
+        lifecycle.cancel(alarm(7, 30, false));
+
+        assertEquals(1, cancelled.size());
+        assertEquals(7, (int) cancelled.get(0));
+    }
+
+    private static Alarm alarm(int hour, int minute, boolean everyDay) {
+        return new Alarm(7, null, hour, minute, true, false, null,
+                everyDay, everyDay, everyDay, everyDay, everyDay, everyDay, everyDay, false);
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(SEOUL);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
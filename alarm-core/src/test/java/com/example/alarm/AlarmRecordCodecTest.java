@@ -0,0 +1,162 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Direct Boot 미러의 레코드 형식을 인코딩한 뒤 다시 읽어 같은 알람이 되는지 확인합니다.
+ */
+public class AlarmRecordCodecTest {
+
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+    private static final long NOW = 1_709_500_000_000L;
+
+    @Test
+    public void roundTrip_keepsAlarmFieldsAndTriggerTime() {
+        Alarm weekday = alarm(3, "출근", 6, 40, "content://media/external/audio/media/12", true);
+        weekday.setSkipHolidays(true);
+        Alarm oneShot = alarm(9, null, 23, 5, null, false);
+
+        ByteBuffer buffer = AlarmRecordCodec.encode(Arrays.asList(weekday, oneShot), NOW, SEOUL);
+
+        assertTrue(AlarmRecordCodec.isValid(buffer));
+        assertEquals(AlarmRecordCodec.HEADER_SIZE + 2 * AlarmRecordCodec.RECORD_SIZE, buffer.remaining());
+        List<AlarmRecord> records = AlarmRecordCodec.readAll(buffer);
+        assertEquals(2, records.size());
+
+        AlarmRecord first = records.get(0);
+        assertEquals(3, first.alarmId);
+        assertEquals("출근", first.name);
+        assertTrue(first.isRepeating());
+        assertTrue(first.vibrationEnabled);
+        assertTrue(first.skipHolidays);
+        assertEquals(TriggerCalculator.nextTriggerMillis(weekday, NOW, SEOUL), first.triggerAtMillis);
+        assertTrue(weekday.hasSameContent(first.toAlarm(true)));
+        assertNull(first.toAlarm(false).getSoundUri());
+
+        AlarmRecord second = AlarmRecordCodec.find(buffer, 9);
+        assertNull(second.name);
+        assertFalse(second.isRepeating());
+        assertFalse(second.skipHolidays);
+        assertNull(AlarmRecordCodec.find(buffer, 100));
+    }
+
+    @Test
+    public void recurrence_isStoredFromVersionTwo() {
+        Alarm everyThreeDays = alarm(4, "물 주기", 8, 0, null, false);
+        everyThreeDays.setRecurrence(RecurrenceRule.everyNDays(3, 20_000).encode());
+
+        ByteBuffer buffer = AlarmRecordCodec.encode(Arrays.asList(everyThreeDays), NOW, SEOUL);
+        AlarmRecord record = AlarmRecordCodec.readAll(buffer).get(0);
+        assertTrue(record.isRepeating());
+        assertTrue(everyThreeDays.hasSameContent(record.toAlarm(true)));
+
+        // 버전 1 파일에는 반복 규칙 칸이 없으므로 규칙 없음으로 읽습니다.
+        buffer.putInt(4, 1);
+        assertTrue(AlarmRecordCodec.isValid(buffer));
+        assertEquals(RecurrenceRule.NONE, AlarmRecordCodec.readAll(buffer).get(0).recurrence);
+    }
+
+    @Test
+    public void shiftPattern_isStoredFromVersionThree() {
+        Alarm shift = alarm(5, "교대", 6, 0, null, false);
+        shift.setShiftPattern(ShiftPattern.of(20_000, new int[]{0, 0, 1, 1, 2, 2}, new int[]{360, 1080, ShiftPattern.OFF}));
+
+        ByteBuffer buffer = AlarmRecordCodec.encode(Arrays.asList(shift), NOW, SEOUL);
+        AlarmRecord record = AlarmRecordCodec.readAll(buffer).get(0);
+        assertTrue(record.isRepeating());
+        assertEquals(shift.getShiftPattern(), record.shiftPattern);
+        assertTrue(shift.hasSameContent(record.toAlarm(true)));
+        assertEquals(TriggerCalculator.nextTriggerMillis(shift, NOW, SEOUL), record.triggerAtMillis);
+
+        buffer.putInt(4, 2);
+        assertEquals(ShiftPattern.NONE, AlarmRecordCodec.readAll(buffer).get(0).shiftPattern);
+    }
+
+    @Test
+    public void exceptions_areAppliedAndStoredFromVersionFour() {
+        Alarm weekday = alarm(3, "출근", 6, 40, null, true);
+        Alarm other = alarm(8, "기타", 9, 0, null, false);
+        int today = AlarmException.dateKey(NOW, SEOUL); // 2024-03-04 (월) 06:06
+        AlarmExceptionIndex exceptions = AlarmExceptionIndex.of(new ArrayList<>(Arrays.asList(
+                AlarmException.skip(3, 20240301), // 이미 지난 예외는 기록하지 않습니다.
+                AlarmException.skip(3, today),
+                AlarmException.override(3, 20240306, 7, 30))));
+
+        ByteBuffer buffer = AlarmRecordCodec.encode(Arrays.asList(weekday, other), NOW, SEOUL, exceptions);
+
+        assertTrue(AlarmRecordCodec.isValid(buffer));
+        assertEquals(AlarmRecordCodec.HEADER_SIZE + 2 * AlarmRecordCodec.RECORD_SIZE + 2 * AlarmRecordCodec.EXCEPTION_SIZE,
+                buffer.remaining());
+        AlarmExceptionIndex.Entries stored = AlarmRecordCodec.readExceptions(buffer).forAlarm(3);
+        assertEquals(AlarmExceptionIndex.of(new ArrayList<>(Arrays.asList(
+                AlarmException.skip(3, today), AlarmException.override(3, 20240306, 7, 30)))).forAlarm(3), stored);
+        assertTrue(AlarmRecordCodec.readExceptions(buffer).forAlarm(8).isEmpty());
+
+        // 오늘을 건너뛰었으므로 다음 울림은 내일 06:40이고, 읽은 예외로 다시 계산해도 같아야 합니다.
+        long trigger = AlarmRecordCodec.find(buffer, 3).triggerAtMillis;
+        assertEquals(TriggerCalculator.nextTriggerMillis(weekday, NOW, SEOUL, exceptions.forAlarm(3)), trigger);
+        assertEquals(TriggerCalculator.nextTriggerMillis(weekday, NOW, SEOUL, stored), trigger);
+        assertTrue(trigger > TriggerCalculator.nextTriggerMillis(weekday, NOW, SEOUL));
+        assertEquals(today + 1, AlarmException.dateKey(trigger, SEOUL));
+
+        // 버전 3 파일의 예비 칸은 예외 개수로 읽지 않습니다.
+        buffer.putInt(4, 3);
+        assertTrue(AlarmRecordCodec.readExceptions(buffer).forAlarm(3).isEmpty());
+    }
+
+    @Test
+    public void longName_isTruncatedOnCharacterBoundary() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            name.append("알람");
+        }
+
+        ByteBuffer buffer = AlarmRecordCodec.encode(
+                Arrays.asList(alarm(1, name.toString(), 7, 0, null, false)), NOW, SEOUL);
+
+        String stored = AlarmRecordCodec.readAll(buffer).get(0).name;
+        assertTrue(name.toString().startsWith(stored));
+        assertEquals(20, stored.length()); // 한글은 UTF-8로 3바이트이므로 62바이트 칸에 20글자
+    }
+
+    @Test
+    public void truncatedBuffer_isInvalid() {
+        ByteBuffer buffer = AlarmRecordCodec.encode(
+                Arrays.asList(alarm(1, "a", 7, 0, null, false)), NOW, SEOUL);
+        ByteBuffer truncated = ByteBuffer.allocate(buffer.remaining() - 1);
+        truncated.put(buffer.array(), 0, truncated.capacity());
+
+        assertFalse(AlarmRecordCodec.isValid(truncated));
+        assertFalse(AlarmRecordCodec.isValid(ByteBuffer.allocate(4)));
+    }
+
+    @Test
+    public void negativeCounts_areInvalid() {
+        ByteBuffer buffer = AlarmRecordCodec.encode(
+                Arrays.asList(alarm(1, "a", 7, 0, null, false)), NOW, SEOUL);
+        assertTrue(AlarmRecordCodec.isValid(buffer));
+
+        buffer.putInt(8, -1); // 레코드 개수
+        assertFalse(AlarmRecordCodec.isValid(buffer));
+
+        buffer.putInt(8, 1);
+        buffer.putInt(12, -1); // 예외 개수 (버전 4)
+        assertFalse(AlarmRecordCodec.isValid(buffer));
+    }
+
+    private static Alarm alarm(int id, String name, int hour, int minute, String soundUri, boolean weekdays) {
+        return new Alarm(id, name, hour, minute, true, weekdays, soundUri,
+                weekdays, weekdays, weekdays, weekdays, weekdays, false, false, false);
+    }
+}
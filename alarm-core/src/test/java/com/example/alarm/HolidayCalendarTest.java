@@ -0,0 +1,134 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 앱에 들어 있는 대한민국 공휴일 데이터와 비트셋 형식을 확인합니다. 음력 공휴일은 해마다 양력 날짜가 바뀌므로 따로 봅니다.
+ */
+public class HolidayCalendarTest {
+
+    private static final HolidayCalendar KOREA = HolidayCalendar.korea();
+
+    // {연도, 설날(월, 일), 부처님오신날(월, 일), 추석(월, 일)} - 양력
+    private static final int[][] LUNAR_HOLIDAYS = {
+            {2024, 2, 10, 5, 15, 9, 17},
+            {2025, 1, 29, 5, 5, 10, 6},
+            {2026, 2, 17, 5, 24, 9, 25},
+            {2027, 2, 7, 5, 13, 9, 15},
+            {2028, 1, 27, 5, 2, 10, 3},
+            {2029, 2, 13, 5, 20, 9, 22},
+            {2030, 2, 3, 5, 9, 9, 12},
+    };
+
+    @Test
+    public void lunarHolidays_includeTheDayBeforeAndAfter() {
+        for (int[] row : LUNAR_HOLIDAYS) {
+            int year = row[0];
+            // 설날과 추석은 전날과 다음 날까지 사흘 연휴입니다.
+            for (int offset = -1; offset <= 1; offset++) {
+                assertTrue(year + " 설날 " + offset, isHoliday(year, row[1], row[2] + offset));
+                assertTrue(year + " 추석 " + offset, isHoliday(year, row[5], row[6] + offset));
+            }
+            assertTrue(year + " 부처님오신날", isHoliday(year, row[3], row[4]));
+        }
+    }
+
+    @Test
+    public void substituteHolidays_followSundayAndOverlappingHolidays() {
+        assertTrue(isHoliday(2024, 2, 12));  // 설날 연휴가 일요일과 겹침
+        assertTrue(isHoliday(2025, 10, 8));  // 추석 연휴(10-05)가 일요일과 겹침
+        assertTrue(isHoliday(2028, 10, 5));  // 추석과 개천절이 같은 날
+        assertTrue(isHoliday(2025, 5, 6));   // 어린이날과 부처님오신날이 같은 날
+        assertTrue(isHoliday(2026, 5, 25));  // 부처님오신날이 일요일
+        assertTrue(isHoliday(2027, 12, 27)); // 성탄절이 토요일
+        // 설날·추석 연휴는 토요일과 겹쳐도 대체공휴일이 없습니다.
+        assertFalse(isHoliday(2026, 9, 28));
+    }
+
+    @Test
+    public void ordinaryDaysAndUncoveredYears_areNotHolidays() {
+        assertFalse(isHoliday(2025, 10, 10));
+        assertFalse(isHoliday(2026, 7, 17)); // 제헌절은 공휴일이 아닙니다.
+        assertTrue(KOREA.covers(2030));
+        assertFalse(KOREA.covers(2031));
+        assertFalse(isHoliday(2031, 1, 1));
+        assertFalse(HolidayCalendar.NONE.isHoliday(2025, 1));
+    }
+
+    @Test
+    public void bundledBinary_matchesTextSource() throws IOException {
+        ByteBuffer compiled;
+        try (Reader source = new InputStreamReader(
+                HolidayCalendar.class.getResourceAsStream("holidays-KR.txt"), StandardCharsets.UTF_8)) {
+            compiled = HolidayDatasetCompiler.compile(source);
+        }
+        byte[] expected = new byte[compiled.remaining()];
+        compiled.get(expected);
+
+        assertArrayEquals("holidays-KR.txt를 고친 뒤 compileHolidays를 실행하세요.", expected, resourceBytes("holidays-KR.bin"));
+        assertEquals(1, KOREA.getVersion());
+    }
+
+    @Test
+    public void compile_setsOneBitPerDayOfYear() throws IOException {
+        HolidayCalendar calendar = HolidayCalendar.read(HolidayDatasetCompiler.compile(new StringReader(
+                "version 3\nyears 2024 2025\n# 주석\n2024-12-31 윤년의 마지막 날\n2025-01-01 다음 해 첫날\n")));
+
+        assertEquals(3, calendar.getVersion());
+        assertTrue(calendar.isHoliday(2024, 366));
+        assertTrue(calendar.isHoliday(2025, 1));
+        assertFalse(calendar.isHoliday(2024, 365));
+        assertFalse(calendar.isHoliday(2024, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compile_rejectsDateOutsideYears() throws IOException {
+        HolidayDatasetCompiler.compile(new StringReader("version 1\nyears 2024 2024\n2025-01-01 범위 밖\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_rejectsTruncatedData() throws IOException {
+        ByteBuffer compiled = HolidayDatasetCompiler.compile(new StringReader("version 1\nyears 2024 2025\n"));
+        compiled.limit(compiled.limit() - 1);
+        HolidayCalendar.read(compiled);
+    }
+
+    private static boolean isHoliday(int year, int month, int dayOfMonth) {
+        return KOREA.isHoliday(date(year, month, dayOfMonth));
+    }
+
+    // month는 1부터 시작합니다. 달의 날수를 넘거나 모자라면 이웃한 달로 넘어갑니다.
+    private static Calendar date(int year, int month, int dayOfMonth) {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("Asia/Seoul"));
+        calendar.clear();
+        calendar.set(year, month - 1, dayOfMonth, 12, 0);
+        return calendar;
+    }
+
+    private static byte[] resourceBytes(String name) throws IOException {
+        try (InputStream in = HolidayCalendar.class.getResourceAsStream(name)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[512];
+            for (int read; (read = in.read(chunk)) != -1; ) {
+                bytes.write(chunk, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 반복 규칙의 다음 날짜 계산을, 무작위 규칙과 날짜에 대해 하루씩 넘겨 보는 단순한 방법과 비교합니다.
+ * (같은 시드로 언제나 같은 경우를 봅니다.)
+ */
+public class RecurrenceRuleTest {
+
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    // 2025-01-01
+    private static final int BASE_DAY = EpochDays.of(2025, Calendar.JANUARY, 1);
+
+    @Test
+    public void epochDays_matchCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(UTC);
+        calendar.clear();
+        calendar.set(1900, Calendar.JANUARY, 1);
+        for (int day = EpochDays.of(1900, Calendar.JANUARY, 1); day <= EpochDays.of(2100, Calendar.DECEMBER, 31); day++) {
+            assertEquals(calendar.getTimeInMillis(), day * 86_400_000L);
+            int year = calendar.get(Calendar.YEAR);
+            int month = calendar.get(Calendar.MONTH);
+            int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+            assertEquals(AlarmException.dateKey(year, month, dayOfMonth), EpochDays.toDateKey(day));
+            assertEquals(day, EpochDays.of(year, month, dayOfMonth));
+            assertEquals(calendar.get(Calendar.DAY_OF_WEEK), EpochDays.dayOfWeek(day));
+            assertEquals(calendar.get(Calendar.DAY_OF_YEAR), EpochDays.dayOfYear(day));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void nextOnOrAfter_matchesDayByDayStepping_forRandomRules() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            RecurrenceRule rule = randomRule(random);
+            int from = BASE_DAY + random.nextInt(3 * 366) - 366;
+            int expected = from;
+            while (!rule.matches(expected)) {
+                expected++;
+            }
+            assertEquals(Long.toHexString(rule.encode()) + " from " + from, expected, rule.nextOnOrAfter(from));
+        }
+    }
+
+    @Test
+    public void encode_roundTripsThroughDecode() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            RecurrenceRule rule = randomRule(random);
+            long encoded = rule.encode();
+            assertTrue(encoded != RecurrenceRule.NONE);
+            assertEquals(rule, RecurrenceRule.decode(encoded));
+            assertEquals(encoded, RecurrenceRule.decode(encoded).encode());
+        }
+    }
+
+    @Test
+    public void monthlyRules_pickTheRightDay() {
+        // 2025-05-31은 토요일이므로 5월의 마지막 평일은 30일(금)입니다.
+        assertEquals(EpochDays.of(2025, Calendar.MAY, 30),
+                RecurrenceRule.lastBusinessDayOfMonth().nextOnOrAfter(EpochDays.of(2025, Calendar.MAY, 1)));
+        // 2025년 다섯 번째 금요일은 1월 31일 다음이 5월 30일입니다.
+        RecurrenceRule fifthFriday = RecurrenceRule.nthWeekdayOfMonth(5, Calendar.FRIDAY);
+        assertEquals(EpochDays.of(2025, Calendar.MAY, 30), fifthFriday.nextOnOrAfter(EpochDays.of(2025, Calendar.FEBRUARY, 1)));
+        // 2025-12의 마지막 일요일은 28일, 그다음은 2026-01-25입니다.
+        RecurrenceRule lastSunday = RecurrenceRule.nthWeekdayOfMonth(RecurrenceRule.LAST, Calendar.SUNDAY);
+        assertEquals(EpochDays.of(2026, Calendar.JANUARY, 25), lastSunday.nextOnOrAfter(EpochDays.of(2025, Calendar.DECEMBER, 29)));
+    }
+
+    @Test
+    public void everyOtherWeek_startsFromTheWeekOfTheStartDate() {
+        // 2025-03-05(수)부터 격주 월·수. 그 주의 월요일(3일)은 시작 전이라 울리지 않습니다.
+        int mondayAndWednesday = DayMask.bit(Calendar.MONDAY) | DayMask.bit(Calendar.WEDNESDAY);
+        RecurrenceRule rule = RecurrenceRule.weekly(2, mondayAndWednesday, EpochDays.of(2025, Calendar.MARCH, 5));
+
+        assertEquals(EpochDays.of(2025, Calendar.MARCH, 5), rule.nextOnOrAfter(EpochDays.of(2025, Calendar.MARCH, 1)));
+        assertEquals(EpochDays.of(2025, Calendar.MARCH, 17), rule.nextOnOrAfter(EpochDays.of(2025, Calendar.MARCH, 6)));
+        assertFalse(rule.matches(EpochDays.of(2025, Calendar.MARCH, 10)));
+    }
+
+    @Test
+    public void alarmWithRule_isRepeatingAndUsesTheRuleForItsTriggers() {
+        Alarm alarm = new Alarm(1, null, 6, 30, true, false, null,
+                false, false, false, false, false, false, false, false);
+        alarm.setRecurrence(RecurrenceRule.everyNDays(3, EpochDays.of(2025, Calendar.MARCH, 1)).encode());
+        long now = at(2025, Calendar.MARCH, 4, 7, 0);
+
+        assertTrue(alarm.isRepeating());
+        assertEquals(at(2025, Calendar.MARCH, 7, 6, 30), TriggerCalculator.nextTriggerMillis(alarm, now, SEOUL));
+
+        // 예외로 7일을 건너뛰면 그다음 회차인 10일입니다.
+        AlarmExceptionIndex.Entries skip = AlarmExceptionIndex.of(Collections.singletonList(
+                AlarmException.skip(1, AlarmException.dateKey(2025, Calendar.MARCH, 7)))).forAlarm(1);
+        assertEquals(at(2025, Calendar.MARCH, 10, 6, 30), TriggerCalculator.nextTriggerMillis(alarm, now, SEOUL, skip));
+    }
+
+    @Test
+    public void editedAlarm_keepsTheRuleOfTheLoadedAlarm() {
+        Alarm loaded = new Alarm(1, "물 주기", 6, 30, true, false, null,
+                false, false, false, false, false, false, false, false);
+        loaded.setRecurrence(RecurrenceRule.everyNDays(3, EpochDays.of(2025, Calendar.MARCH, 1)).encode());
+
+        // 설정 화면처럼 입력값으로 알람을 새로 만들어 시각만 바꿉니다.
+        Alarm edited = new Alarm(1, "물 주기", 7, 0, true, false, null,
+                false, false, false, false, false, false, false, false);
+        edited.copyRulesFrom(loaded);
+
+        assertEquals(loaded.getRecurrence(), edited.getRecurrence());
+        assertTrue(edited.isRepeating());
+        assertEquals(at(2025, Calendar.MARCH, 7, 7, 0),
+                TriggerCalculator.nextTriggerMillis(edited, at(2025, Calendar.MARCH, 4, 7, 0), SEOUL));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_rejectsUnknownKind() {
+        RecurrenceRule.decode(0xEL);
+    }
+
+    static RecurrenceRule randomRule(Random random) {
+        int start = BASE_DAY + random.nextInt(2 * 366) - 366;
+        switch (random.nextInt(4)) {
+            case 0:
+                return RecurrenceRule.everyNDays(1 + random.nextInt(60), start);
+            case 1:
+                return RecurrenceRule.weekly(1 + random.nextInt(8), 1 + random.nextInt(DayMask.EVERY_DAY), start);
+            case 2:
+                int nth = random.nextInt(6);
+                return RecurrenceRule.nthWeekdayOfMonth(nth == 0 ? RecurrenceRule.LAST : nth, 1 + random.nextInt(7));
+            default:
+                return RecurrenceRule.lastBusinessDayOfMonth();
+        }
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(SEOUL);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
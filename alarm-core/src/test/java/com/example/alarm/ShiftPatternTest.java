@@ -0,0 +1,126 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 교대 패턴의 다음 울림 날짜와 시각을 확인합니다. 다음 날짜는 무작위 패턴에 대해 하루씩 넘겨 보는 방법과 비교합니다.
+ */
+public class ShiftPatternTest {
+
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+    private static final int DAY = 0;
+    private static final int NIGHT = 1;
+    private static final int REST = 2;
+
+    @Test
+    public void threeDaysThreeNightsThreeOff_usesTheTimeOfEachDayType() {
+        // 2025-03-03(월)부터 주간 3일(06:00), 야간 3일(18:00), 휴무 3일
+        ShiftPattern pattern = ShiftPattern.of(EpochDays.of(2025, Calendar.MARCH, 3),
+                new int[]{DAY, DAY, DAY, NIGHT, NIGHT, NIGHT, REST, REST, REST},
+                new int[]{6 * 60, 18 * 60, ShiftPattern.OFF});
+        Alarm alarm = alarm(pattern);
+
+        assertTrue(alarm.isRepeating());
+        // 3일째 주간 근무가 끝난 뒤에는 다음 날(6일) 야간 18:00
+        assertEquals(at(2025, Calendar.MARCH, 6, 18, 0),
+                TriggerCalculator.nextTriggerMillis(alarm, at(2025, Calendar.MARCH, 5, 7, 0), SEOUL));
+        // 야간 마지막 날(8일) 뒤에는 휴무 사흘을 건너뛰어 12일 주간 06:00
+        assertEquals(at(2025, Calendar.MARCH, 12, 6, 0),
+                TriggerCalculator.nextTriggerMillis(alarm, at(2025, Calendar.MARCH, 8, 19, 0), SEOUL));
+    }
+
+    @Test
+    public void yearsAfterTheAnchor_isComputedFromTheCyclePosition() {
+        // 4일 근무 4일 휴무. 8일 순환이므로 기준일에서 8의 배수만큼 지난 날은 다시 근무 첫날입니다.
+        int anchor = EpochDays.of(2025, Calendar.JANUARY, 1);
+        ShiftPattern pattern = ShiftPattern.of(anchor, new int[]{0, 0, 0, 0, 1, 1, 1, 1}, new int[]{7 * 60, ShiftPattern.OFF});
+        int restDayYearsLater = anchor + 8 * 500 + 5;
+
+        assertEquals(anchor + 8 * 501, pattern.nextOnOrAfter(restDayYearsLater));
+        assertEquals(1, pattern.dayType(restDayYearsLater));
+        // 기준일보다 앞선 날도 같은 순환을 따릅니다.
+        assertEquals(anchor - 8, pattern.nextOnOrAfter(anchor - 11));
+    }
+
+    @Test
+    public void nextOnOrAfter_matchesDayByDayStepping_forRandomPatterns() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            int length = 1 + random.nextInt(ShiftPattern.MAX_CYCLE_DAYS);
+            int types = 1 + random.nextInt(ShiftPattern.MAX_DAY_TYPES);
+            int[] typeMinutes = new int[types];
+            for (int t = 0; t < types; t++) {
+                typeMinutes[t] = random.nextBoolean() ? ShiftPattern.OFF : random.nextInt(24 * 60);
+            }
+            typeMinutes[random.nextInt(types)] = random.nextInt(24 * 60);
+            int[] dayTypes = new int[length];
+            for (int d = 0; d < length; d++) {
+                dayTypes[d] = random.nextInt(types);
+            }
+            if (allOff(dayTypes, typeMinutes)) {
+                continue;
+            }
+            ShiftPattern pattern = ShiftPattern.of(20_000 + random.nextInt(1000), dayTypes, typeMinutes);
+            int from = 20_000 + random.nextInt(3000) - 1000;
+
+            int expected = from;
+            while (pattern.minuteOfDay(expected) == ShiftPattern.OFF) {
+                expected++;
+            }
+            assertEquals(expected, pattern.nextOnOrAfter(from));
+            assertEquals(pattern, new ShiftPattern(pattern.getAnchorDay(), pattern.getCycleLength(),
+                    pattern.getCycle(), pattern.getMinutes()));
+        }
+    }
+
+    @Test
+    public void editedAlarm_keepsThePatternOfTheLoadedAlarm() {
+        ShiftPattern pattern = ShiftPattern.of(EpochDays.of(2025, Calendar.MARCH, 3),
+                new int[]{DAY, DAY, NIGHT, NIGHT, REST, REST}, new int[]{6 * 60, 18 * 60, ShiftPattern.OFF});
+        Alarm loaded = alarm(pattern);
+
+        // 설정 화면처럼 입력값으로 알람을 새로 만들어 이름만 바꿉니다.
+        Alarm edited = new Alarm(1, "교대 근무", 6, 0, true, false, null,
+                false, false, false, false, false, false, false, false);
+        edited.copyRulesFrom(loaded);
+
+        assertEquals(pattern, edited.getShiftPattern());
+        assertEquals(TriggerCalculator.nextTriggerMillis(loaded, at(2025, Calendar.MARCH, 4, 7, 0), SEOUL),
+                TriggerCalculator.nextTriggerMillis(edited, at(2025, Calendar.MARCH, 4, 7, 0), SEOUL));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_rejectsPatternThatNeverRings() {
+        ShiftPattern.of(0, new int[]{0, 0}, new int[]{ShiftPattern.OFF});
+    }
+
+    private static boolean allOff(int[] dayTypes, int[] typeMinutes) {
+        for (int type : dayTypes) {
+            if (typeMinutes[type] != ShiftPattern.OFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Alarm alarm(ShiftPattern pattern) {
+        Alarm alarm = new Alarm(1, "교대", 6, 0, true, false, null,
+                false, false, false, false, false, false, false, false);
+        alarm.setShiftPattern(pattern);
+        return alarm;
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(SEOUL);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 다시 울림의 횟수 제한, 정리, 프로세스 재시작/재부팅 후 복구를 메모리 저장소와 기록용 Timer로 확인합니다.
+ */
+public class SnoozeEngineTest {
+
+    private static final int ALARM_ID = 7;
+    private static final long START = 1_700_000_000_000L;
+
+    private long nowMillis = START;
+    private final MemoryStore store = new MemoryStore();
+    private final Map<Integer, Long> scheduled = new HashMap<>();
+    private final AlarmLifecycle.Timer timer = new AlarmLifecycle.Timer() {
+        @Override
+        public void setExact(int alarmId, long triggerAtMillis) {
+            scheduled.put(alarmId, triggerAtMillis);
+        }
+
+        @Override
+        public void cancel(int alarmId) {
+            scheduled.remove(alarmId);
+        }
+    };
+
+    @Test
+    public void snooze_schedulesAfterTheDurationAndCountsUpToTheMaximum() {
+        SnoozeEngine engine = engine(new SnoozePolicy(5, 2));
+
+        SnoozeState first = engine.snooze(ALARM_ID);
+        assertEquals(1, first.count);
+        assertEquals(START + 5 * 60_000L, (long) scheduled.get(ALARM_ID));
+
+        nowMillis = first.triggerAtMillis;
+        engine.onSnoozeFired(ALARM_ID);
+        assertTrue(engine.canSnooze(ALARM_ID));
+        assertEquals(2, engine.snooze(ALARM_ID).count);
+
+        engine.onSnoozeFired(ALARM_ID);
+        assertFalse(engine.canSnooze(ALARM_ID));
+        assertNull(engine.snooze(ALARM_ID));
+    }
+
+    @Test
+    public void dismiss_cancelsAndResetsTheCount() {
+        SnoozeEngine engine = engine(new SnoozePolicy(5, 1));
+        engine.snooze(ALARM_ID);
+
+        engine.dismiss(ALARM_ID);
+
+        assertTrue(scheduled.isEmpty());
+        assertNull(store.get(ALARM_ID));
+        assertTrue(engine.canSnooze(ALARM_ID));
+    }
+
+    @Test
+    public void newEngineOverTheSameStore_keepsTheCount() {
+        engine(new SnoozePolicy(5, 2)).snooze(ALARM_ID);
+
+        // 프로세스가 죽은 뒤 새로 만든 엔진
+        SnoozeEngine restarted = engine(new SnoozePolicy(5, 2));
+        restarted.onSnoozeFired(ALARM_ID);
+
+        assertEquals(2, restarted.snooze(ALARM_ID).count);
+        assertFalse(restarted.canSnooze(ALARM_ID));
+    }
+
+    @Test
+    public void restore_reschedulesPendingAndDropsStale() {
+        SnoozeEngine engine = engine(new SnoozePolicy(10, 3));
+        engine.snooze(1);
+        engine.snooze(2);
+        engine.snooze(3);
+        engine.onSnoozeFired(3);
+        scheduled.clear(); // 재부팅으로 AlarmManager 예약이 사라졌습니다.
+
+        // 알람 1의 예약 시각(START+10분)과 2의 예약 시각 사이에 켜졌다고 봅니다.
+        store.put(new SnoozeState(2, 1, START - SnoozeEngine.STALE_AFTER_MILLIS - 1));
+        nowMillis = START + 15 * 60_000L;
+
+        assertEquals(1, engine.restore());
+        // 꺼져 있는 동안 지난 다시 울림은 바로 울립니다.
+        assertEquals(nowMillis, (long) scheduled.get(1));
+        assertNull(store.get(2));
+        assertFalse(scheduled.containsKey(3));
+    }
+
+    @Test
+    public void stateEncoding_roundTripsAndRejectsGarbage() {
+        SnoozeState state = new SnoozeState(ALARM_ID, 2, START);
+
+        SnoozeState decoded = SnoozeState.decode(ALARM_ID, state.encode());
+
+        assertEquals(2, decoded.count);
+        assertEquals(START, decoded.triggerAtMillis);
+        assertNull(SnoozeState.decode(ALARM_ID, "x:1"));
+        assertNull(SnoozeState.decode(ALARM_ID, "12"));
+        assertNull(SnoozeState.decode(ALARM_ID, null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void policy_rejectsZeroDuration() {
+        new SnoozePolicy(0, 3);
+    }
+
+    private SnoozeEngine engine(SnoozePolicy policy) {
+        return new SnoozeEngine(() -> nowMillis, policy, store, timer);
+    }
+
+    private static final class MemoryStore implements SnoozeEngine.Store {
+        private final Map<Integer, SnoozeState> states = new HashMap<>();
+
+        @Override
+        public SnoozeState get(int alarmId) {
+            return states.get(alarmId);
+        }
+
+        @Override
+        public void put(SnoozeState state) {
+            states.put(state.alarmId, state);
+        }
+
+        @Override
+        public void remove(int alarmId) {
+            states.remove(alarmId);
+        }
+
+        @Override
+        public List<SnoozeState> getAll() {
+            return new ArrayList<>(states.values());
+        }
+    }
+}
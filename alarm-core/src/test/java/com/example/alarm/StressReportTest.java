@@ -0,0 +1,46 @@
+package com.example.alarm;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * 규모 테스트 보고서의 JSON 형식과 파일 쓰기를 확인합니다.
+ */
+public class StressReportTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void toJson_keepsTierAndMetricOrder() {
+        StressReport report = new StressReport("alarm_scale", 42);
+        report.tier(1000).putMillis("list_load_ms", 12_345_678).put("db_file_bytes", 98_304);
+        report.tier(10_000).put("db_file_bytes", 983_040);
+
+        assertEquals("{\"suite\":\"alarm_scale\",\"seed\":42,\"tiers\":["
+                        + "{\"alarms\":1000,\"metrics\":{\"list_load_ms\":12.346,\"db_file_bytes\":98304}},"
+                        + "{\"alarms\":10000,\"metrics\":{\"db_file_bytes\":983040}}]}",
+                report.toJson());
+    }
+
+    @Test
+    public void writeTo_replacesFileWithoutLeavingTemp() throws Exception {
+        File out = new File(folder.getRoot(), "stress/report.json");
+        StressReport report = new StressReport("a \"quoted\" suite", 1);
+
+        report.writeTo(out);
+        report.writeTo(out);
+
+        String json = new String(Files.readAllBytes(out.toPath()), StandardCharsets.UTF_8);
+        assertEquals("{\"suite\":\"a \\\"quoted\\\" suite\",\"seed\":1,\"tiers\":[]}\n", json);
+        assertFalse(new File(out.getPath() + ".tmp").exists());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 합성 알람이 시드에 따라 항상 같게 나오고, 문서에 적은 분포를 대략 따르는지 확인합니다.
+ */
+public class SyntheticAlarmsTest {
+
+    @Test
+    public void sameSeed_generatesSameAlarms() {
+        List<Alarm> first = SyntheticAlarms.generate(500, 7);
+        List<Alarm> second = SyntheticAlarms.generate(500, 7);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(i + 1, first.get(i).getId());
+            assertTrue(first.get(i).hasSameContent(second.get(i)));
+        }
+    }
+
+    @Test
+    public void distribution_isCloseToRealUsage() {
+        List<Alarm> alarms = SyntheticAlarms.generate(20_000, 42);
+        int morning = 0, oneShot = 0, enabled = 0, weather = 0, longName = 0, longUri = 0;
+        for (Alarm alarm : alarms) {
+            assertTrue(alarm.getHour() >= 0 && alarm.getHour() < 24);
+            assertTrue(alarm.getMinute() >= 0 && alarm.getMinute() < 60);
+            if (alarm.getHour() >= 5 && alarm.getHour() <= 9) morning++;
+            if (!alarm.isRepeating()) oneShot++;
+            if (alarm.isEnabled()) enabled++;
+            if (alarm.isWeatherTtsEnabled()) weather++;
+            if (alarm.getName() != null
+                    && alarm.getName().getBytes(StandardCharsets.UTF_8).length > AlarmRecordCodec.NAME_BYTES) longName++;
+            if (alarm.getSoundUri() != null && alarm.getSoundUri().length() > AlarmRecordCodec.SOUND_URI_BYTES) longUri++;
+        }
+        assertShare("아침", 0.60, morning, alarms.size());
+        assertShare("한 번만", 0.25, oneShot, alarms.size());
+        assertShare("켜짐", 0.75, enabled, alarms.size());
+        assertShare("날씨 안내", 0.15, weather, alarms.size());
+        assertShare("긴 이름", 0.05, longName, alarms.size());
+        assertShare("긴 알람음 URI", 0.05, longUri, alarms.size());
+    }
+
+    private static void assertShare(String what, double expected, int count, int total) {
+        double share = (double) count / total;
+        assertEquals(what + " 비율", expected, share, 0.02);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * DayMask의 비트 계산과 TriggerCalculator의 다음 울림 시각을, 하루씩 넘겨 보며 찾는 단순한 방법과 비교합니다.
+ */
+public class TriggerCalculatorTest {
+
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    @Test
+    public void daysUntilNext_rotatesFromToday() {
+        int weekdays = DayMask.EVERY_DAY & ~DayMask.bit(Calendar.SATURDAY) & ~DayMask.bit(Calendar.SUNDAY);
+
+        assertEquals(0, DayMask.daysUntilNext(weekdays, Calendar.MONDAY, true));
+        assertEquals(1, DayMask.daysUntilNext(weekdays, Calendar.MONDAY, false));
+        assertEquals(3, DayMask.daysUntilNext(weekdays, Calendar.FRIDAY, false));
+        assertEquals(2, DayMask.daysUntilNext(weekdays, Calendar.SATURDAY, true));
+        assertEquals(7, DayMask.daysUntilNext(DayMask.bit(Calendar.WEDNESDAY), Calendar.WEDNESDAY, false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void daysUntilNext_rejectsEmptyMask() {
+        DayMask.daysUntilNext(DayMask.NONE, Calendar.MONDAY, true);
+    }
+
+    @Test
+    public void oneShotAlarm_ringsTodayOrTomorrow() {
+        long now = at(SEOUL, 2024, Calendar.MARCH, 4, 7, 0);
+
+        assertEquals(at(SEOUL, 2024, Calendar.MARCH, 4, 7, 30),
+                TriggerCalculator.nextTriggerMillis(7, 30, DayMask.NONE, now, SEOUL));
+        // 지금과 같은 시각이면 이미 지난 것으로 보고 내일 울립니다.
+        assertEquals(at(SEOUL, 2024, Calendar.MARCH, 5, 7, 0),
+                TriggerCalculator.nextTriggerMillis(7, 0, DayMask.NONE, now, SEOUL));
+    }
+
+    @Test
+    public void repeatingAlarm_keepsWallClockTimeAcrossDaylightSavingChange() {
+        // 2024-03-10(일) 새벽 2시에 미국 동부가 서머타임으로 바뀝니다.
+        long saturdayEvening = at(NEW_YORK, 2024, Calendar.MARCH, 9, 22, 0);
+        int monday = DayMask.bit(Calendar.MONDAY);
+
+        assertEquals(at(NEW_YORK, 2024, Calendar.MARCH, 11, 6, 30),
+                TriggerCalculator.nextTriggerMillis(6, 30, monday, saturdayEvening, NEW_YORK));
+    }
+
+    @Test
+    public void dstTransitionDay_doesNotCarryTheShiftedTimeIntoTheNextDay() {
+        // 봄: 2025-03-09에는 02:30이 없어 03:30에 울리고, 다음 날은 다시 02:30입니다.
+        long springFired = at(NEW_YORK, 2025, Calendar.MARCH, 8, 2, 30);
+        long spring = TriggerCalculator.nextTriggerMillis(2, 30, DayMask.EVERY_DAY, springFired, NEW_YORK);
+        assertEquals(at(NEW_YORK, 2025, Calendar.MARCH, 9, 3, 30), spring);
+        assertEquals(at(NEW_YORK, 2025, Calendar.MARCH, 10, 2, 30),
+                TriggerCalculator.nextTriggerMillis(2, 30, DayMask.EVERY_DAY, spring, NEW_YORK));
+
+        // 가을: 2025-11-02에는 01:30이 두 번 옵니다. 한 번만 울리고 다음 날로 넘어가야 합니다.
+        long fallFired = TriggerCalculator.nextTriggerMillis(1, 30, DayMask.EVERY_DAY,
+                at(NEW_YORK, 2025, Calendar.NOVEMBER, 1, 1, 30), NEW_YORK);
+        assertEquals(at(NEW_YORK, 2025, Calendar.NOVEMBER, 3, 1, 30),
+                TriggerCalculator.nextTriggerMillis(1, 30, DayMask.EVERY_DAY, fallFired, NEW_YORK));
+    }
+
+    @Test
+    public void matchesDayByDaySearch_forRandomAlarms() {
+        Random random = new Random(42);
+        long base = at(SEOUL, 2024, Calendar.JANUARY, 1, 0, 0);
+        for (int i = 0; i < 5_000; i++) {
+            int hour = random.nextInt(24);
+            int minute = random.nextInt(60);
+            int mask = random.nextInt(4) == 0 ? DayMask.NONE : random.nextInt(DayMask.EVERY_DAY) + 1;
+            long now = base + (long) random.nextInt(366 * 24 * 60) * 60_000L + random.nextInt(60_000);
+
+            assertEquals("hour=" + hour + " minute=" + minute + " mask=" + mask + " now=" + now,
+                    searchDayByDay(hour, minute, mask, now, SEOUL),
+                    TriggerCalculator.nextTriggerMillis(hour, minute, mask, now, SEOUL));
+        }
+    }
+
+    @Test
+    public void alarmOverload_usesAlarmDays() {
+        Alarm weekendAlarm = new Alarm("주말", 9, 0, true, false, null,
+                false, false, false, false, false, true, true, false);
+        long wednesday = at(SEOUL, 2024, Calendar.MARCH, 6, 12, 0);
+
+        assertEquals(DayMask.bit(Calendar.SATURDAY) | DayMask.bit(Calendar.SUNDAY), DayMask.of(weekendAlarm));
+        assertEquals(at(SEOUL, 2024, Calendar.MARCH, 9, 9, 0),
+                TriggerCalculator.nextTriggerMillis(weekendAlarm, wednesday, SEOUL));
+    }
+
+    @Test
+    public void skipHolidays_passesOverChuseokAndItsSubstituteHoliday() {
+        // 2025-10-03(금) 개천절, 10-05~07 추석 연휴, 10-08 대체공휴일, 10-09 한글날이 이어집니다.
+        Alarm weekdays = new Alarm(1, null, 7, 0, true, false, null,
+                true, true, true, true, true, false, false, false);
+        long thursdayMorning = at(SEOUL, 2025, Calendar.OCTOBER, 2, 8, 0);
+
+        assertEquals(at(SEOUL, 2025, Calendar.OCTOBER, 3, 7, 0),
+                TriggerCalculator.nextTriggerMillis(weekdays, thursdayMorning, SEOUL));
+        weekdays.setSkipHolidays(true);
+        assertEquals(at(SEOUL, 2025, Calendar.OCTOBER, 10, 7, 0),
+                TriggerCalculator.nextTriggerMillis(weekdays, thursdayMorning, SEOUL));
+
+        // 그날만 시각을 바꾼 예외가 있으면 공휴일이어도 예외를 따릅니다.
+        AlarmExceptionIndex.Entries override = AlarmExceptionIndex.of(Collections.singletonList(
+                AlarmException.override(1, AlarmException.dateKey(2025, Calendar.OCTOBER, 7), 9, 0)))
+                .forAlarm(1);
+        assertEquals(at(SEOUL, 2025, Calendar.OCTOBER, 7, 9, 0),
+                TriggerCalculator.nextTriggerMillis(weekdays, thursdayMorning, SEOUL, override));
+    }
+
+    // 오늘부터 하루씩 넘기며 조건에 맞는 첫 날을 찾습니다. (기존 AlarmScheduler의 계산 방식과 같은 결과)
+    private static long searchDayByDay(int hour, int minute, int mask, long now, TimeZone zone) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.HOUR_OF_DAY, hour);
+        calendar.set(Calendar.MINUTE, minute);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        while (calendar.getTimeInMillis() <= now
+                || (mask != DayMask.NONE && !DayMask.contains(mask, calendar.get(Calendar.DAY_OF_WEEK)))) {
+            calendar.add(Calendar.DAY_OF_YEAR, 1);
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    private static long at(TimeZone zone, int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
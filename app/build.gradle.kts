@@ -50,17 +50,25 @@ android {
     buildFeatures {
         buildConfig = true
     }
+    testOptions {
+        // 로컬 단위 테스트에서 android.util.Log 등 안드로이드 API를 호출해도 예외 대신 기본값을 돌려주도록 합니다.
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
     val roomVersion = "2.6.1"
 
+    // [추가] 알람 모델과 다음 울림 시각 계산 등 안드로이드에 의존하지 않는 로직
+    implementation(project(":alarm-core"))
+
     implementation("androidx.room:room-runtime:$roomVersion")
     annotationProcessor("androidx.room:room-compiler:$roomVersion")
     implementation("androidx.room:room-ktx:$roomVersion")
 
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
     implementation("com.squareup.retrofit2:converter-gson:2.9.0")
+    implementation("com.squareup.okhttp3:okhttp:4.12.0")
     implementation("com.google.android.gms:play-services-location:21.2.0")
 
     implementation(libs.appcompat)
@@ -69,6 +77,7 @@ dependencies {
     implementation(libs.constraintlayout)
     implementation(libs.recyclerview)
     testImplementation(libs.junit)
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
@@ -0,0 +1,226 @@
+package com.example.alarm;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 합성 알람({@link SyntheticAlarms}) 1천/1만/10만 개로 데이터베이스를 채우고, 단계마다 주요 경로의 비용을 잽니다.
+ *  - fill: 빈 DB에 모두 삽입 (한 트랜잭션)
+ *  - list_load: 목록 화면과 같은 쿼리로 전체 목록 읽기
+ *  - diff: 알람 하나를 끈 뒤 목록 화면의 DiffUtil 계산 (AlarmAdapter.AlarmDiff 사용)
+ *  - bulk_disable / bulk_enable: 모든 알람을 한 번에 끄고 켜기
+ *  - reschedule: 켜진 알람 전체의 다음 울림 시각 계산과 Direct Boot 미러 레코드 인코딩
+ *  - profile_switch: 알람 {@value #PROFILE_SIZE}개짜리 그룹 둘 사이의 프로필 전환 (한 트랜잭션 + 바뀐 알람의 다음 울림 시각 계산)
+ *    같은 수의 알람을 하나씩 update()하는 경우(profile_toggle_each)와 함께 남기며,
+ *    전환은 {@value #PROFILE_SWITCH_BUDGET_MS}ms 안에 끝나야 합니다.
+ *  - db_file_bytes: DB 파일과 WAL 파일 크기
+ *
+ * 결과는 앱 외부 파일 폴더의 stress/alarm-scale.json({@link StressReport})에 남습니다.
+ *   adb pull /sdcard/Android/data/com.example.alarm/files/stress/alarm-scale.json
+ * 단계는 계측 인자로 줄일 수 있습니다. (예: -e stressTiers 1000,10000)
+ *
+ * AlarmManager는 앱당 예약 수가 제한되어 있어(약 500개) 실제 예약은 하지 않고, 예약 직전까지의 계산만 잽니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AlarmScaleStressTest {
+
+    private static final String TAG = "AlarmScaleStress";
+    private static final long SEED = 42;
+    private static final String DEFAULT_TIERS = "1000,10000,100000";
+    // AlarmManager의 앱당 예약 한도와 비슷한 크기의 프로필
+    private static final int PROFILE_SIZE = 500;
+    private static final long PROFILE_SWITCH_BUDGET_MS = 1_000;
+
+    @Test
+    public void scaleTiers() throws IOException {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        StressReport report = new StressReport("alarm_scale", SEED);
+        for (int tier : tiers()) {
+            runTier(context, tier, report.tier(tier));
+        }
+        File dir = context.getExternalFilesDir("stress");
+        File out = new File(dir != null ? dir : new File(context.getFilesDir(), "stress"), "alarm-scale.json");
+        report.writeTo(out);
+        Log.i(TAG, report.toJson());
+    }
+
+    private static void runTier(Context context, int count, StressReport.Tier result) {
+        String name = "stress-" + count + ".db";
+        context.deleteDatabase(name);
+        // 실제 앱과 같은 스키마를 쓰되, 앱의 DB(alarm_database)와 지표 래퍼는 건드리지 않도록 따로 엽니다.
+        AppDatabase db = Room.databaseBuilder(context, AppDatabase.class, name).build();
+        try {
+            AlarmDao dao = db.roomAlarmDao();
+            List<Alarm> alarms = SyntheticAlarms.generate(count, SEED);
+
+            long start = System.nanoTime();
+            dao.insertAll(alarms);
+            result.putMillis("fill_ms", System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<Alarm> loaded = dao.getAllAlarmsNonLive();
+            result.putMillis("list_load_ms", System.nanoTime() - start);
+            assertEquals(count, loaded.size());
+
+            // 목록 화면에서 알람 하나의 스위치를 누른 경우. loaded는 바뀌기 전 목록으로 남습니다.
+            Alarm toggled = copy(loaded.get(count / 2));
+            toggled.setEnabled(!toggled.isEnabled());
+            dao.update(toggled);
+            List<Alarm> reloaded = dao.getAllAlarmsNonLive();
+            start = System.nanoTime();
+            int changes = diffCount(loaded, reloaded);
+            result.putMillis("diff_ms", System.nanoTime() - start);
+            assertEquals(1, changes);
+            result.put("diff_changed_count", changes);
+
+            start = System.nanoTime();
+            dao.updateAll(withEnabled(reloaded, false));
+            result.putMillis("bulk_disable_ms", System.nanoTime() - start);
+            start = System.nanoTime();
+            dao.updateAll(withEnabled(reloaded, true));
+            result.putMillis("bulk_enable_ms", System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<Alarm> enabled = dao.getEnabledAlarmsNonLive();
+            long now = System.currentTimeMillis();
+            long latest = 0;
+            for (Alarm alarm : enabled) {
+                latest = Math.max(latest, AlarmScheduler.calculateNextTriggerTime(alarm, now));
+            }
+            int mirrorBytes = AlarmRecordCodec.encode(enabled, now, TimeZone.getDefault()).remaining();
+            result.putMillis("reschedule_ms", System.nanoTime() - start);
+            result.put("mirror_bytes", mirrorBytes);
+            assertEquals(count, enabled.size());
+            assertTrue(latest > now);
+
+            switchProfiles(db, enabled, result);
+
+            // WAL 내용을 DB 파일에 반영한 뒤 크기를 잽니다.
+            db.getOpenHelper().getWritableDatabase().query("PRAGMA wal_checkpoint(TRUNCATE)", new Object[0]).close();
+            File file = context.getDatabasePath(name);
+            result.put("db_file_bytes", file.length() + new File(file.getPath() + "-wal").length());
+        } finally {
+            db.close();
+            context.deleteDatabase(name);
+        }
+    }
+
+    /**
+     * 모두 켜진 알람 중 앞의 두 묶음으로 그룹 A, B를 만들고, A로 전환한 뒤 B로 전환하는 시간을 잽니다.
+     * B로 전환하면 B의 알람은 모두 켜지고 A의 알람은 모두 꺼집니다.
+     */
+    private static void switchProfiles(AppDatabase db, List<Alarm> enabled, StressReport.Tier result) {
+        int size = Math.min(PROFILE_SIZE, enabled.size() / 2);
+        AlarmGroupDao groups = db.alarmGroupDao();
+        int groupA = groups.createGroup("A", enabled.subList(0, size));
+        int groupB = groups.createGroup("B", enabled.subList(size, 2 * size));
+        assertEquals(size, groups.switchTo(groupA).getDisabled().size());
+
+        long start = System.nanoTime();
+        ProfileSwitch switched = groups.switchTo(groupB);
+        long now = System.currentTimeMillis();
+        for (Alarm alarm : switched.getEnabled()) {
+            AlarmScheduler.calculateNextTriggerTime(alarm, now);
+        }
+        long elapsed = System.nanoTime() - start;
+        result.putMillis("profile_switch_ms", elapsed);
+        result.put("profile_switch_changed", switched.size());
+        assertEquals(size, switched.getEnabled().size());
+        assertEquals(size, switched.getDisabled().size());
+        assertTrue("프로필 전환이 " + PROFILE_SWITCH_BUDGET_MS + "ms를 넘었습니다: " + elapsed / 1_000_000 + "ms",
+                elapsed < PROFILE_SWITCH_BUDGET_MS * 1_000_000);
+        // 이미 B이므로 다시 전환해도 바뀌는 알람이 없습니다.
+        assertEquals(0, groups.switchTo(groupB).size());
+
+        // 비교: 목록 화면에서 스위치를 하나씩 누르듯, B의 알람을 하나씩 끄는 경우
+        AlarmDao dao = db.roomAlarmDao();
+        start = System.nanoTime();
+        for (Alarm alarm : switched.getEnabled()) {
+            Alarm copy = copy(alarm);
+            copy.setEnabled(false);
+            dao.update(copy);
+        }
+        result.putMillis("profile_toggle_each_ms", System.nanoTime() - start);
+    }
+
+    private static int diffCount(List<Alarm> oldList, List<Alarm> newList) {
+        DiffUtil.ItemCallback<Alarm> itemCallback = new AlarmAdapter.AlarmDiff();
+        int[] changed = {0};
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldList.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newList.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areItemsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                boolean same = itemCallback.areContentsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+                if (!same) {
+                    changed[0]++;
+                }
+                return same;
+            }
+        });
+        return changed[0];
+    }
+
+    private static List<Alarm> withEnabled(List<Alarm> alarms, boolean enabled) {
+        List<Alarm> updated = new ArrayList<>(alarms.size());
+        for (Alarm alarm : alarms) {
+            Alarm copy = copy(alarm);
+            copy.setEnabled(enabled);
+            updated.add(copy);
+        }
+        return updated;
+    }
+
+    private static Alarm copy(Alarm a) {
+        Alarm copy = new Alarm(a.getId(), a.getName(), a.getHour(), a.getMinute(), a.isEnabled(), a.isVibrationEnabled(),
+                a.getSoundUri(), a.isMondayEnabled(), a.isTuesdayEnabled(), a.isWednesdayEnabled(),
+                a.isThursdayEnabled(), a.isFridayEnabled(), a.isSaturdayEnabled(), a.isSundayEnabled(),
+                a.isWeatherTtsEnabled());
+        copy.setSkipHolidays(a.isSkipHolidays());
+        copy.setRecurrence(a.getRecurrence());
+        copy.setShiftPattern(a.getShiftPattern());
+        return copy;
+    }
+
+    private static int[] tiers() {
+        Bundle arguments = InstrumentationRegistry.getArguments();
+        String value = arguments.getString("stressTiers", DEFAULT_TIERS);
+        String[] parts = value.split(",");
+        int[] tiers = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            tiers[i] = Integer.parseInt(parts[i].trim());
+        }
+        return tiers;
+    }
+}
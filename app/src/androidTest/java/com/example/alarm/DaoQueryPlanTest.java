@@ -0,0 +1,161 @@
+package com.example.alarm;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 버전 3 데이터베이스를 만들어 앱과 같은 마이그레이션으로 최신 스키마까지 올린 뒤, 모든 DAO 메소드를 실행하면서
+ * strict 모드의 {@link QueryPlanChecker}로 실제 SQLite 실행 계획을 검사합니다.
+ * 기준선({@link AppDatabase#ACCEPTED_FULL_SCANS})에 없는 테이블 전체 스캔이 새로 생기면 실패합니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DaoQueryPlanTest {
+
+    private static final String DB_NAME = "query-plan-test.db";
+
+    // strict 검사기가 던진 예외를 모읍니다. LiveData 쿼리는 Room의 백그라운드 스레드에서 실행되므로 그 자리에서 던지지 않습니다.
+    private final List<RuntimeException> fullScans = new CopyOnWriteArrayList<>();
+
+    private Context context;
+    private AppDatabase db;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        createVersion3Database();
+
+        Executor collecting = command -> {
+            try {
+                command.run();
+            } catch (QueryPlanChecker.FullScanException e) {
+                fullScans.add(e);
+            }
+        };
+        QueryPlanChecker checker = new QueryPlanChecker(QueryPlanChecker.fromDatabase(() -> db), collecting,
+                AppDatabase.ACCEPTED_FULL_SCANS, true, new MetricsRegistry());
+        SlowQueryLogger logger = new SlowQueryLogger(new MetricsRegistry(),
+                SlowQueryLogger.DEFAULT_THRESHOLD_MILLIS, checker);
+        db = Room.databaseBuilder(context, AppDatabase.class, DB_NAME)
+                .addMigrations(AppDatabase.MIGRATION_3_4, AppDatabase.MIGRATION_4_5, AppDatabase.MIGRATION_5_6,
+                        AppDatabase.MIGRATION_6_7, AppDatabase.MIGRATION_7_8, AppDatabase.MIGRATION_8_9,
+                        AppDatabase.MIGRATION_9_10, AppDatabase.MIGRATION_10_11)
+                .setQueryCallback(logger, Runnable::run)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        if (db != null) {
+            db.close();
+        }
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void checker_reportsFullScanOnMigratedSchema() {
+        // 검사기가 실제 실행 계획을 읽고 있는지 먼저 확인합니다. (hour 에는 인덱스가 없습니다.)
+        db.getOpenHelper().getWritableDatabase().query("SELECT * FROM alarms WHERE hour = 7").close();
+        assertEquals(1, fullScans.size());
+    }
+
+    @Test
+    public void everyDaoQuery_usesAnIndexOrIsInTheBaseline() throws Exception {
+        AlarmDao alarmDao = db.roomAlarmDao();
+        AlarmExceptionDao exceptionDao = db.alarmExceptionDao();
+        AlarmGroupDao groupDao = db.alarmGroupDao();
+
+        int first = (int) alarmDao.insert(alarm(7, 0, true));
+        alarmDao.insertAll(Arrays.asList(alarm(8, 0, false), alarm(9, 0, true)));
+        List<Alarm> all = alarmDao.getAllAlarmsNonLive();
+        assertEquals(3, all.size());
+        alarmDao.update(all.get(0));
+        alarmDao.updateAll(all);
+        alarmDao.getAlarmByIdNonLive(first);
+        alarmDao.getEnabledAlarmsNonLive();
+        alarmDao.getWeatherAlarmsNonLive();
+        await(alarmDao.getAllAlarms());
+        await(alarmDao.getAlarmById(first));
+
+        int today = 20250314;
+        exceptionDao.upsert(AlarmException.skip(first, today));
+        exceptionDao.upsert(AlarmException.override(first, today + 1, 7, 30));
+        exceptionDao.getAll();
+        await(exceptionDao.getForAlarm(first));
+        exceptionDao.delete(first, today);
+        exceptionDao.deleteBefore(today + 2);
+
+        int weekdays = groupDao.createGroup("평일", Collections.singletonList(all.get(0)));
+        int weekend = groupDao.createGroup("주말", Arrays.asList(all.get(1), all.get(2)));
+        await(groupDao.getAllGroups());
+        groupDao.getMembersToEnable(weekend);
+        groupDao.getOthersToDisable(weekend);
+        groupDao.enableMembers(weekdays);
+        groupDao.disableOthers(weekdays);
+        groupDao.switchTo(weekend);
+        groupDao.removeMember(weekend, all.get(2).getId());
+        groupDao.deleteGroup(new AlarmGroup(weekdays, "평일"));
+
+        alarmDao.delete(all.get(2));
+        alarmDao.deleteAllAlarms();
+
+        assertTrue(fullScans.toString(), fullScans.isEmpty());
+    }
+
+    /**
+     * 마이그레이션을 처음부터 거치도록, 요일 반복까지만 있던 버전 3의 'alarms' 테이블을 직접 만듭니다.
+     */
+    private void createVersion3Database() {
+        SQLiteDatabase legacy = context.openOrCreateDatabase(DB_NAME, Context.MODE_PRIVATE, null);
+        try {
+            legacy.execSQL("CREATE TABLE IF NOT EXISTS `alarms` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`hour` INTEGER NOT NULL, `minute` INTEGER NOT NULL, `is_enabled` INTEGER NOT NULL, "
+                    + "`is_vibration_enabled` INTEGER NOT NULL, `is_monday_enabled` INTEGER NOT NULL, "
+                    + "`is_tuesday_enabled` INTEGER NOT NULL, `is_wednesday_enabled` INTEGER NOT NULL, "
+                    + "`is_thursday_enabled` INTEGER NOT NULL, `is_friday_enabled` INTEGER NOT NULL, "
+                    + "`is_saturday_enabled` INTEGER NOT NULL, `is_sunday_enabled` INTEGER NOT NULL)");
+            legacy.setVersion(3);
+        } finally {
+            legacy.close();
+        }
+    }
+
+    private static Alarm alarm(int hour, int minute, boolean weekdays) {
+        return new Alarm(null, hour, minute, true, false, null,
+                weekdays, weekdays, weekdays, weekdays, weekdays, false, false, true);
+    }
+
+    /** LiveData 쿼리는 관찰할 때만 실행되므로, 메인 스레드에서 관찰해 첫 값을 받을 때까지 기다립니다. */
+    private static <T> void await(LiveData<T> liveData) throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(1);
+        Observer<T> observer = value -> received.countDown();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> liveData.observeForever(observer));
+        try {
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+        } finally {
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> liveData.removeObserver(observer));
+        }
+    }
+}
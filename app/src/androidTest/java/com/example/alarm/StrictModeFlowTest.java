@@ -0,0 +1,152 @@
+package com.example.alarm;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.os.StrictMode;
+import android.os.SystemClock;
+import android.widget.EditText;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * 메인 스레드에 {@link StrictModeGuard}를 켠 채로 알람 목록, 알람 추가/수정, 알람 울림 화면을 실제로 띄우고 조작합니다.
+ * 화면 흐름에 기준선에 없는 StrictMode 위반(메인 스레드 디스크 I/O, 닫지 않은 커서 등)이 생기면 tearDown에서 실패합니다.
+ *
+ * 위반을 리스너로 받으려면 API 28 이상이 필요하므로, 그보다 낮은 기기에서는 건너뜁니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StrictModeFlowTest {
+
+    // 이 테스트가 만든 알람을 찾아 지우기 위한 이름
+    private static final String TEST_ALARM_NAME = "StrictMode 흐름 테스트";
+
+    private final ExecutorService listenerExecutor = Executors.newSingleThreadExecutor();
+    private final StrictModeGuard.Recorder recorder = new StrictModeGuard.Recorder(new MetricsRegistry());
+
+    private Instrumentation instrumentation;
+    private Context context;
+    private StrictMode.ThreadPolicy previousThreadPolicy;
+    private StrictMode.VmPolicy previousVmPolicy;
+
+    @Before
+    public void setUp() {
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.P);
+        instrumentation = InstrumentationRegistry.getInstrumentation();
+        context = instrumentation.getTargetContext();
+        instrumentation.runOnMainSync(() -> {
+            previousThreadPolicy = StrictMode.getThreadPolicy();
+            previousVmPolicy = StrictMode.getVmPolicy();
+            StrictModeGuard.install(recorder, listenerExecutor);
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (previousThreadPolicy == null) {
+            return;
+        }
+        // 메인 스레드 위반은 처리 중이던 메시지가 끝난 뒤에 전달되므로, 메인 루퍼와 리스너 실행기를 모두 비운 뒤 확인합니다.
+        instrumentation.waitForIdleSync();
+        listenerExecutor.shutdown();
+        assertTrue(listenerExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        instrumentation.runOnMainSync(() -> {
+            StrictMode.setThreadPolicy(previousThreadPolicy);
+            StrictMode.setVmPolicy(previousVmPolicy);
+        });
+        deleteTestAlarms();
+
+        recorder.assertNoViolations();
+    }
+
+    @Test
+    public void mainActivity_listsAlarmsAndSurvivesRecreate() {
+        insertTestAlarm();
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            instrumentation.waitForIdleSync();
+            scenario.recreate();
+            instrumentation.waitForIdleSync();
+        }
+    }
+
+    @Test
+    public void setAlarmActivity_createsThenEditsAlarm() {
+        try (ActivityScenario<SetAlarmActivity> scenario = ActivityScenario.launch(SetAlarmActivity.class)) {
+            scenario.onActivity(activity -> {
+                EditText name = activity.findViewById(R.id.alarmNameEditText);
+                name.setText(TEST_ALARM_NAME);
+                activity.findViewById(R.id.saveButton).performClick();
+            });
+            instrumentation.waitForIdleSync();
+        }
+
+        Alarm saved = awaitTestAlarm();
+        Intent edit = new Intent(context, SetAlarmActivity.class)
+                .putExtra(MainActivity.ALARM_ID_EXTRA, saved.getId());
+        try (ActivityScenario<SetAlarmActivity> scenario = ActivityScenario.launch(edit)) {
+            instrumentation.waitForIdleSync();
+            scenario.onActivity(activity -> activity.findViewById(R.id.saveButton).performClick());
+            instrumentation.waitForIdleSync();
+        }
+    }
+
+    @Test
+    public void alarmRingingActivity_showsNameAndDismisses() {
+        int alarmId = insertTestAlarm();
+        Intent ringing = new Intent(context, AlarmRingingActivity.class)
+                .putExtra(MainActivity.ALARM_ID_EXTRA, alarmId)
+                .putExtra(AlarmRingingActivity.SNOOZE_MINUTES_EXTRA, 5);
+        try (ActivityScenario<AlarmRingingActivity> scenario = ActivityScenario.launch(ringing)) {
+            instrumentation.waitForIdleSync();
+            scenario.onActivity(activity -> activity.findViewById(R.id.dismissButton).performClick());
+            instrumentation.waitForIdleSync();
+        }
+    }
+
+    /** 테스트 스레드(메인 스레드가 아님)에서 알람을 하나 넣고 ID를 돌려줍니다. */
+    private int insertTestAlarm() {
+        Alarm alarm = new Alarm(TEST_ALARM_NAME, 7, 0, true, false, null,
+                true, true, true, true, true, false, false, false);
+        return (int) AppDatabase.getDatabase(context).alarmDao().insert(alarm);
+    }
+
+    /** 저장은 백그라운드에서 끝나므로, 테스트 알람이 DB에 나타날 때까지 기다립니다. */
+    private Alarm awaitTestAlarm() {
+        long deadline = SystemClock.uptimeMillis() + 5_000;
+        while (SystemClock.uptimeMillis() < deadline) {
+            for (Alarm alarm : AppDatabase.getDatabase(context).alarmDao().getAllAlarmsNonLive()) {
+                if (TEST_ALARM_NAME.equals(alarm.getName())) {
+                    return alarm;
+                }
+            }
+            SystemClock.sleep(50);
+        }
+        throw new AssertionError("저장한 알람을 찾지 못했습니다.");
+    }
+
+    private void deleteTestAlarms() {
+        AlarmDao alarmDao = AppDatabase.getDatabase(context).alarmDao();
+        AlarmScheduler scheduler = new AlarmScheduler(context);
+        for (Alarm alarm : alarmDao.getAllAlarmsNonLive()) {
+            if (TEST_ALARM_NAME.equals(alarm.getName())) {
+                scheduler.cancel(alarm);
+                alarmDao.delete(alarm);
+            }
+        }
+    }
+}
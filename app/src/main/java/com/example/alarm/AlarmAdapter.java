@@ -16,7 +16,6 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.StringJoiner;
 
 /**
@@ -111,6 +110,12 @@ public class AlarmAdapter extends ListAdapter<Alarm, AlarmAdapter.AlarmViewHolde
                 if (alarm.isThursdayEnabled()) joiner.add("목");
                 if (alarm.isFridayEnabled()) joiner.add("금");
                 if (alarm.isSaturdayEnabled()) joiner.add("토");
+                // [추가] 요일 대신 교대 패턴이나 반복 규칙으로 울리는 알람
+                if (!alarm.getShiftPattern().isEmpty()) {
+                    joiner.add("교대 " + alarm.getShiftPattern().getCycleLength() + "일 순환");
+                } else if (alarm.getRecurrence() != RecurrenceRule.NONE) {
+                    joiner.add("반복 규칙");
+                }
                 repeatDaysTextView.setText(joiner.toString());
             } else {
                 repeatDaysTextView.setVisibility(View.GONE);
@@ -200,23 +205,11 @@ public class AlarmAdapter extends ListAdapter<Alarm, AlarmAdapter.AlarmViewHolde
          * [기존 주석, 내용 추가] 두 아이템의 '내용'이 동일한지 확인하는 로직입니다.
          * [새로운 내용] 알람 이름과 날씨 TTS 설정을 포함하여, 화면에 표시되거나 데이터에 영향을 미치는
          * 모든 속성을 비교해야 정확한 UI 업데이트가 이루어집니다.
+         * [수정] 비교 항목은 alarm-core 모듈의 Alarm.hasSameContent()로 옮겨 JVM 벤치마크에서도 측정합니다.
          */
         @Override
         public boolean areContentsTheSame(@NonNull Alarm oldItem, @NonNull Alarm newItem) {
-            return oldItem.getHour() == newItem.getHour() &&
-                   oldItem.getMinute() == newItem.getMinute() &&
-                   oldItem.isEnabled() == newItem.isEnabled() &&
-                   Objects.equals(oldItem.getName(), newItem.getName()) && // 알람 이름 비교 추가
-                   oldItem.isVibrationEnabled() == newItem.isVibrationEnabled() &&
-                   Objects.equals(oldItem.getSoundUri(), newItem.getSoundUri()) &&
-                   oldItem.isMondayEnabled() == newItem.isMondayEnabled() &&
-                   oldItem.isTuesdayEnabled() == newItem.isTuesdayEnabled() &&
-                   oldItem.isWednesdayEnabled() == newItem.isWednesdayEnabled() &&
-                   oldItem.isThursdayEnabled() == newItem.isThursdayEnabled() &&
-                   oldItem.isFridayEnabled() == newItem.isFridayEnabled() &&
-                   oldItem.isSaturdayEnabled() == newItem.isSaturdayEnabled() &&
-                   oldItem.isSundayEnabled() == newItem.isSundayEnabled() &&
-                   oldItem.isWeatherTtsEnabled() == newItem.isWeatherTtsEnabled(); // 날씨 TTS 설정 비교 추가
+            return oldItem.hasSameContent(newItem);
         }
     }
 }
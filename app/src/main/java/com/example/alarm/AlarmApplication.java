@@ -0,0 +1,21 @@
+package com.example.alarm;
+
+import android.app.Application;
+
+/**
+ * [새로운 클래스] 앱 프로세스가 시작될 때 한 번 실행되는 초기화를 담당합니다.
+ * 디버그 빌드에서는 {@link StrictModeGuard}를 켜서 메인 스레드 I/O와 리소스 누수를 이벤트 로그와 지표에 남깁니다.
+ */
+public class AlarmApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        if (BuildConfig.DEBUG) {
+            StrictModeGuard.install(new StrictModeGuard.Recorder(MetricsRegistry.getInstance()),
+                    AppExecutors.getInstance().diskIO());
+        }
+        // [추가] 공휴일 데이터는 처음 쓸 때 APK에서 읽습니다. 알람 저장(메인 스레드)에서 처음 읽지 않도록 미리 읽어 둡니다.
+        AppExecutors.getInstance().diskIO().execute(HolidayCalendar::korea);
+    }
+}
@@ -20,6 +20,11 @@ import java.util.List;
 @Dao
 public interface AlarmDao {
 
+    // [추가] 아래 두 쿼리는 is_enabled 인덱스 없이 테이블 전체를 읽습니다. 알람은 많아야 수십 개라 인덱스보다 전체 스캔이 싸므로,
+    // 실행 계획 검사({@link QueryPlanChecker})의 기준선으로 허용합니다. 같은 문자열을 @Query와 기준선에서 함께 쓰기 위해 상수로 둡니다.
+    String ENABLED_ALARMS_QUERY = "SELECT * FROM alarms WHERE is_enabled = 1";
+    String WEATHER_ALARMS_QUERY = "SELECT * FROM alarms WHERE is_enabled = 1 AND is_weather_tts_enabled = 1";
+
     /**
      * [수정] 새로운 알람을 데이터베이스에 삽입(Insert)하고, 생성된 row ID를 반환합니다.
      *
@@ -38,6 +43,23 @@ public interface AlarmDao {
     @Update
     void update(Alarm alarm);
 
+    /**
+     * [추가] 여러 알람을 한 번에 삽입합니다. Room이 하나의 트랜잭션으로 묶어 실행하므로 하나씩 넣는 것보다 훨씬 빠릅니다.
+     * (규모 테스트에서 합성 알람을 채울 때 사용합니다.)
+     *
+     * @param alarms 삽입할 Alarm 객체 목록
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<Alarm> alarms);
+
+    /**
+     * [추가] 여러 알람을 한 번의 트랜잭션으로 업데이트합니다. (여러 알람을 한꺼번에 켜고 끌 때)
+     *
+     * @param alarms 업데이트할 Alarm 객체 목록
+     */
+    @Update
+    void updateAll(List<Alarm> alarms);
+
     /**
      * 특정 알람을 데이터베이스에서 삭제(Delete)합니다.
      * Room은 전달된 Alarm 객체의 Primary Key(id)를 사용하여 어떤 행을 삭제할지 결정합니다.
@@ -84,6 +106,33 @@ public interface AlarmDao {
     @Query("SELECT * FROM alarms WHERE id = :alarmId")
     Alarm getAlarmByIdNonLive(int alarmId);
 
+    /**
+     * [추가] 목록 화면과 같은 순서로 모든 알람을 즉시 가져옵니다. (Non-LiveData 버전)
+     *
+     * @return 시각 순으로 정렬된 모든 알람 객체 리스트
+     */
+    @Query("SELECT * FROM alarms ORDER BY hour ASC, minute ASC")
+    List<Alarm> getAllAlarmsNonLive();
+
+    /**
+     * [추가] 활성화된 알람 목록을 즉시 가져옵니다. (Non-LiveData 버전)
+     * Direct Boot 미러를 다시 쓰거나 부팅 후 알람을 다시 예약하는 등, 백그라운드 스레드에서
+     * 현재 켜져 있는 알람 전체가 필요할 때 사용합니다.
+     *
+     * @return 활성화된 알람 객체 리스트
+     */
+    @Query(ENABLED_ALARMS_QUERY)
+    List<Alarm> getEnabledAlarmsNonLive();
+
+    /**
+     * [추가] 날씨 TTS가 켜진 활성 알람 목록을 즉시 가져옵니다. (Non-LiveData 버전)
+     * 알람 전에 날씨를 미리 받아 둘 시점을 계산할 때 사용합니다.
+     *
+     * @return 날씨 TTS가 켜진 활성 알람 객체 리스트
+     */
+    @Query(WEATHER_ALARMS_QUERY)
+    List<Alarm> getWeatherAlarmsNonLive();
+
     /**
      * (개발용/선택사항) 데이터베이스의 모든 알람을 삭제합니다.
      * 앱을 테스트하는 동안 데이터를 쉽게 초기화하고 싶을 때 유용하게 사용할 수 있습니다.
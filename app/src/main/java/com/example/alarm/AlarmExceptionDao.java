@@ -0,0 +1,46 @@
+package com.example.alarm;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * [새로운 인터페이스] 'alarm_exceptions' 테이블(날짜별 건너뛰기/시각 바꾸기)에 접근하는 DAO 입니다.
+ * 다음 울림 계산은 이 테이블을 직접 읽지 않고, {@link AlarmExceptionRepository}가 만들어 둔 색인을 사용합니다.
+ */
+@Dao
+public interface AlarmExceptionDao {
+
+    /**
+     * 같은 알람, 같은 날짜의 예외가 있으면 바꿉니다. (한 날짜에는 예외가 하나뿐입니다.)
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(AlarmException exception);
+
+    @Query("DELETE FROM alarm_exceptions WHERE alarm_id = :alarmId AND date = :date")
+    void delete(int alarmId, int date);
+
+    /**
+     * 색인을 만들 때 전체를 읽습니다. WHERE 절이 없어 실행 계획 검사 대상이 아닙니다.
+     */
+    @Query("SELECT * FROM alarm_exceptions")
+    List<AlarmException> getAll();
+
+    /**
+     * 알람 하나의 예외를 날짜 순으로 가져옵니다. (기본 키 (alarm_id, date)로 찾습니다.)
+     */
+    @Query("SELECT * FROM alarm_exceptions WHERE alarm_id = :alarmId ORDER BY date ASC")
+    LiveData<List<AlarmException>> getForAlarm(int alarmId);
+
+    /**
+     * 지난 날짜의 예외를 지웁니다. (date 인덱스 사용)
+     * @param today yyyyMMdd. 이보다 앞선 날짜를 지웁니다.
+     * @return 지운 행 수
+     */
+    @Query("DELETE FROM alarm_exceptions WHERE date < :today")
+    int deleteBefore(int today);
+}
@@ -0,0 +1,118 @@
+package com.example.alarm;
+
+import android.content.Context;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] 날짜별 예외를 추가/삭제하고, 다음 울림 계산에 쓰는 {@link AlarmExceptionIndex}를 메모리에 들고 있습니다.
+ *
+ * 색인은 데이터베이스를 열 때와 'alarm_exceptions' 테이블이 바뀔 때마다 Room의 백그라운드 스레드에서 다시 만듭니다.
+ * ({@link AppDatabase}의 관찰자) 다시 만들 때는 지난 날짜의 예외를 먼저 지우고, 예외가 달라진 켜진 알람만 다시 예약합니다.
+ * 그래서 AlarmScheduler는 메인 스레드에서도 DB를 읽지 않고 예외를 반영할 수 있습니다.
+ */
+final class AlarmExceptionRepository {
+
+    private static final String TAG = "AlarmExceptionRepo";
+
+    private static volatile AlarmExceptionIndex index = AlarmExceptionIndex.EMPTY;
+    private static volatile boolean loaded;
+
+    // [추가] 지난 예외를 가를 '오늘'을 읽는 시계. 정적 저장소라 생성자 대신 이 필드로 바꿉니다.
+    @VisibleForTesting
+    static volatile Clock clock = Clock.SYSTEM;
+
+    private AlarmExceptionRepository() {
+    }
+
+    /** 지금 색인. 아직 읽지 않았으면 비어 있습니다. */
+    static AlarmExceptionIndex current() {
+        return index;
+    }
+
+    /**
+     * [추가] 잠금 해제 전(Direct Boot)에는 DB를 열 수 없으므로, 미러 파일에 함께 기록해 둔 예외를 색인으로 씁니다.
+     * DB에서 읽은 색인이 이미 있으면 그쪽이 최신이므로 무시합니다. 잠금 해제 뒤 DB에서 읽으면 그때 바뀐 알람만 다시 예약합니다.
+     */
+    static void useMirrored(AlarmExceptionIndex mirrored) {
+        if (!loaded) {
+            index = mirrored;
+        }
+    }
+
+    /**
+     * 아직 한 번도 읽지 않았으면 지금 읽습니다. 프로세스가 알람 방송으로 막 시작된 경우처럼,
+     * 비동기 로드를 기다리지 않고 바로 다음 회차를 계산해야 할 때 백그라운드 스레드에서 부릅니다.
+     */
+    static void ensureLoaded(Context appContext, AppDatabase db) {
+        if (!loaded) {
+            refresh(appContext, db);
+        }
+    }
+
+    /**
+     * 지난 예외를 지우고 색인을 다시 만든 뒤, 예외가 달라진 켜진 알람을 다시 예약합니다. 백그라운드 스레드에서 부릅니다.
+     */
+    static synchronized void refresh(Context appContext, AppDatabase db) {
+        AlarmExceptionDao dao = db.alarmExceptionDao();
+        Clock now = clock;
+        int pruned = dao.deleteBefore(today(now));
+        if (pruned > 0) {
+            AlarmLog.d(TAG, "지난 예외 {}개를 지웠습니다.", pruned);
+        }
+        AlarmExceptionIndex next = AlarmExceptionIndex.of(dao.getAll());
+        Set<Integer> changed = next.changedAlarmIds(index);
+        index = next;
+        loaded = true;
+        if (changed.isEmpty()) {
+            return;
+        }
+        AlarmScheduler scheduler = new AlarmScheduler(appContext, now);
+        for (int alarmId : changed) {
+            Alarm alarm = db.alarmDao().getAlarmByIdNonLive(alarmId);
+            if (alarm != null && alarm.isEnabled()) {
+                scheduler.reschedule(alarm);
+            }
+        }
+        AlarmLog.d(TAG, "예외가 바뀐 알람 {}개를 다시 예약했습니다.", changed.size());
+    }
+
+    /**
+     * [추가] 시계 기준 오늘 날짜 (yyyyMMdd). 이보다 앞선 날짜의 예외는 지납니다.
+     */
+    static int today(Clock clock) {
+        return AlarmException.dateKey(clock.currentTimeMillis(), TimeZone.getDefault());
+    }
+
+    /**
+     * 그날 알람을 건너뜁니다.
+     * @param date yyyyMMdd ({@link AlarmException#dateKey})
+     */
+    static void skip(Context context, int alarmId, int date) {
+        upsert(context, AlarmException.skip(alarmId, date));
+    }
+
+    /**
+     * 그날만 다른 시각에 울립니다.
+     */
+    static void override(Context context, int alarmId, int date, int hour, int minute) {
+        upsert(context, AlarmException.override(alarmId, date, hour, minute));
+    }
+
+    /**
+     * 그날의 예외를 없애 원래 시각으로 되돌립니다.
+     */
+    static void clear(Context context, int alarmId, int date) {
+        AppDatabase db = AppDatabase.getDatabase(context.getApplicationContext());
+        AppExecutors.getInstance().diskIO().execute(() -> db.alarmExceptionDao().delete(alarmId, date));
+    }
+
+    private static void upsert(Context context, AlarmException exception) {
+        AppDatabase db = AppDatabase.getDatabase(context.getApplicationContext());
+        // 바뀐 색인과 다시 예약은 테이블 관찰자가 이어서 처리합니다.
+        AppExecutors.getInstance().diskIO().execute(() -> db.alarmExceptionDao().upsert(exception));
+    }
+}
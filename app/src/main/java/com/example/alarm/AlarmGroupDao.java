@@ -0,0 +1,102 @@
+package com.example.alarm;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [새로운 인터페이스] 알람 그룹('alarm_groups')과 연결 테이블('alarm_group_members')에 접근하는 DAO 입니다.
+ *
+ * 프로필 전환({@link #switchTo})은 알람을 하나씩 고치지 않고 UPDATE 문 두 개로 끝내며, 전체가 한 트랜잭션이라
+ * 'alarms' 테이블 관찰자(Direct Boot 미러, 날씨 미리 받기)도 전환마다 한 번만 실행됩니다.
+ */
+@Dao
+public interface AlarmGroupDao {
+
+    // 그룹의 알람. 기본 키 (group_id, alarm_id)의 앞부분으로 찾습니다.
+    String MEMBER_IDS = "SELECT alarm_id FROM alarm_group_members WHERE group_id = :groupId";
+    // 그룹에 속한 꺼진 알람
+    String MEMBERS_TO_ENABLE = "is_enabled = 0 AND id IN (" + MEMBER_IDS + ")";
+    // 다른 그룹에만 속한 켜진 알람. 어느 그룹에도 없는 알람은 건드리지 않습니다.
+    // [수정] SQLite는 '!='에 인덱스를 쓰지 않아 연결 테이블 전체를 읽으므로, 두 범위로 나눠 기본 키로 찾습니다.
+    String OTHERS_TO_DISABLE = "is_enabled = 1"
+            + " AND id IN (SELECT alarm_id FROM alarm_group_members WHERE group_id < :groupId OR group_id > :groupId)"
+            + " AND id NOT IN (" + MEMBER_IDS + ")";
+
+    @Insert
+    long insertGroup(AlarmGroup group);
+
+    /** 이미 그룹에 있는 알람은 건너뜁니다. */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertMembers(List<AlarmGroupMember> members);
+
+    @Query("DELETE FROM alarm_group_members WHERE group_id = :groupId AND alarm_id = :alarmId")
+    void removeMember(int groupId, int alarmId);
+
+    /** 그룹을 지웁니다. 알람은 그대로 두고 연결만 지워집니다. */
+    @Delete
+    void deleteGroup(AlarmGroup group);
+
+    @Query("SELECT * FROM alarm_groups ORDER BY name ASC")
+    LiveData<List<AlarmGroup>> getAllGroups();
+
+    /**
+     * 그룹을 만들고 알람들을 넣습니다. (한 트랜잭션)
+     * @return 새 그룹의 ID
+     */
+    @Transaction
+    default int createGroup(String name, List<Alarm> alarms) {
+        int groupId = (int) insertGroup(new AlarmGroup(0, name));
+        List<AlarmGroupMember> members = new ArrayList<>(alarms.size());
+        for (Alarm alarm : alarms) {
+            members.add(new AlarmGroupMember(groupId, alarm.getId()));
+        }
+        insertMembers(members);
+        return groupId;
+    }
+
+    @Query("SELECT * FROM alarms WHERE " + MEMBERS_TO_ENABLE)
+    List<Alarm> getMembersToEnable(int groupId);
+
+    @Query("SELECT * FROM alarms WHERE " + OTHERS_TO_DISABLE)
+    List<Alarm> getOthersToDisable(int groupId);
+
+    @Query("UPDATE alarms SET is_enabled = 1 WHERE " + MEMBERS_TO_ENABLE)
+    int enableMembers(int groupId);
+
+    @Query("UPDATE alarms SET is_enabled = 0 WHERE " + OTHERS_TO_DISABLE)
+    int disableOthers(int groupId);
+
+    /**
+     * 그룹을 프로필로 켭니다. 그룹의 알람은 켜고, 다른 그룹에만 속한 알람은 끕니다.
+     * 바뀔 알람을 먼저 읽고 같은 조건의 UPDATE로 한꺼번에 고치므로, 읽은 목록이 곧 바뀐 행입니다. (한 트랜잭션)
+     * 예약은 하지 않으며, 호출한 쪽이 돌려받은 알람만 {@link AlarmScheduler#applyBatch}로 예약/취소합니다.
+     *
+     * @return 상태가 바뀐 알람. 이미 원하는 상태였던 알람은 빠집니다.
+     */
+    @Transaction
+    default ProfileSwitch switchTo(int groupId) {
+        List<Alarm> enabled = getMembersToEnable(groupId);
+        List<Alarm> disabled = getOthersToDisable(groupId);
+        if (!enabled.isEmpty()) {
+            enableMembers(groupId);
+        }
+        if (!disabled.isEmpty()) {
+            disableOthers(groupId);
+        }
+        for (Alarm alarm : enabled) {
+            alarm.setEnabled(true);
+        }
+        for (Alarm alarm : disabled) {
+            alarm.setEnabled(false);
+        }
+        return new ProfileSwitch(enabled, disabled);
+    }
+}
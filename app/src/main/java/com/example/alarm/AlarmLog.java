@@ -0,0 +1,275 @@
+package com.example.alarm;
+
+import android.util.Log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [새로운 클래스] 자주 불리는 경로(특히 알람이 울리는 경로)를 위한 로그 facade입니다.
+ *
+ * {@code Log.d(TAG, "알람 ID " + alarmId + ...)}는 로그가 걸러지더라도 문자열을 먼저 이어 붙입니다.
+ * 이 클래스는 "{}" 자리표시자가 들어간 템플릿과 인자를 따로 받아서, 실제로 출력할 때만 메시지를 만듭니다.
+ *
+ *  - 태그별 레벨: {@link #setLevel}로 태그마다 최소 레벨을 정할 수 있습니다. 기본값은 디버그 빌드에서 DEBUG, 릴리스 빌드에서 INFO이므로
+ *    릴리스 빌드에서는 d() 호출이 logcat에 아무것도 쓰지 않고 메시지도 만들지 않습니다.
+ *  - 최근 이벤트: 태그별 레벨과 관계없이 이벤트를 템플릿과 인자 그대로 잠금 없는 링 버퍼({@link EventRing})에 남깁니다.
+ *    알람이 울리지 않았다는 신고를 받았을 때 {@link #dump}로 직전 상황을 볼 수 있습니다. (디버그 화면에서 확인/내보내기)
+ *    [수정] 링 버퍼도 디버그 빌드에서만 DEBUG 이벤트를 남기고, 릴리스 빌드에서는 INFO 이상만 남깁니다. 그래서 릴리스 빌드의
+ *    d() 호출은 인자 배열을 만들거나 문자열로 바꾸지 않고 바로 돌아갑니다.
+ *
+ * 마지막 인자가 Throwable이고 자리표시자보다 인자가 많으면, 그 인자는 예외로 취급하여 스택 트레이스를 함께 남깁니다.
+ */
+public final class AlarmLog {
+
+    private static final String PLACEHOLDER = "{}";
+
+    /** 링 버퍼에 보관할 최근 이벤트 수 */
+    static final int RING_CAPACITY = 512;
+    /** 링 버퍼에 남길 최소 레벨. 태그별 레벨과 관계없이 적용됩니다. */
+    private static volatile int ringLevel = BuildConfig.DEBUG ? Log.DEBUG : Log.INFO;
+
+    private static final EventRing RING = new EventRing(RING_CAPACITY);
+
+    private static final ConcurrentHashMap<String, Integer> tagLevels = new ConcurrentHashMap<>();
+    private static volatile int defaultLevel = BuildConfig.DEBUG ? Log.DEBUG : Log.INFO;
+
+    private AlarmLog() {
+    }
+
+    /**
+     * 태그의 최소 레벨을 정합니다. 예를 들어 현장 기기에서 특정 태그만 자세히 보고 싶을 때 Log.DEBUG로 낮춥니다.
+     * @param level android.util.Log의 레벨 상수
+     */
+    public static void setLevel(String tag, int level) {
+        tagLevels.put(tag, level);
+    }
+
+    /** 태그별 레벨을 지우고 기본 레벨을 따르게 합니다. */
+    public static void clearLevel(String tag) {
+        tagLevels.remove(tag);
+    }
+
+    /** 태그별 레벨이 없는 태그에 적용할 기본 레벨을 정합니다. */
+    public static void setDefaultLevel(int level) {
+        defaultLevel = level;
+    }
+
+    /** [추가] 링 버퍼에 남길 최소 레벨을 정합니다. (테스트에서 릴리스 빌드의 동작을 확인할 때 씁니다.) */
+    static void setRingLevel(int level) {
+        ringLevel = level;
+    }
+
+    /**
+     * 해당 레벨의 로그가 logcat에 출력되는지 여부. 인자를 만드는 것 자체가 비쌀 때 먼저 확인합니다.
+     */
+    public static boolean isLoggable(String tag, int level) {
+        Integer tagLevel = tagLevels.get(tag);
+        return level >= (tagLevel != null ? tagLevel : defaultLevel);
+    }
+
+    public static void d(String tag, String message) {
+        log(Log.DEBUG, tag, message, null);
+    }
+
+    // [수정] 링 버퍼에도 logcat에도 남기지 않을 때는 인자 배열을 만들기 전에 돌아갑니다.
+    public static void d(String tag, String template, Object arg) {
+        if (isRecorded(tag, Log.DEBUG)) {
+            log(Log.DEBUG, tag, template, new Object[]{arg});
+        }
+    }
+
+    public static void d(String tag, String template, Object arg1, Object arg2) {
+        if (isRecorded(tag, Log.DEBUG)) {
+            log(Log.DEBUG, tag, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public static void d(String tag, String template, Object... args) {
+        log(Log.DEBUG, tag, template, args);
+    }
+
+    public static void i(String tag, String message) {
+        log(Log.INFO, tag, message, null);
+    }
+
+    public static void i(String tag, String template, Object arg) {
+        log(Log.INFO, tag, template, new Object[]{arg});
+    }
+
+    public static void i(String tag, String template, Object... args) {
+        log(Log.INFO, tag, template, args);
+    }
+
+    public static void w(String tag, String message) {
+        log(Log.WARN, tag, message, null);
+    }
+
+    public static void w(String tag, String template, Object arg) {
+        log(Log.WARN, tag, template, new Object[]{arg});
+    }
+
+    public static void w(String tag, String template, Object... args) {
+        log(Log.WARN, tag, template, args);
+    }
+
+    public static void e(String tag, String message) {
+        log(Log.ERROR, tag, message, null);
+    }
+
+    public static void e(String tag, String template, Object arg) {
+        log(Log.ERROR, tag, template, new Object[]{arg});
+    }
+
+    public static void e(String tag, String template, Object... args) {
+        log(Log.ERROR, tag, template, args);
+    }
+
+    private static boolean isRecorded(String tag, int level) {
+        return level >= ringLevel || isLoggable(tag, level);
+    }
+
+    private static void log(int level, String tag, String template, Object[] args) {
+        if (!isRecorded(tag, level)) {
+            return;
+        }
+        Throwable throwable = null;
+        if (args != null && args.length > 0 && args[args.length - 1] instanceof Throwable
+                && countPlaceholders(template) < args.length) {
+            throwable = (Throwable) args[args.length - 1];
+        }
+        if (level >= ringLevel) {
+            RING.record(System.currentTimeMillis(), level, tag, template, freeze(args), throwable);
+        }
+        if (!isLoggable(tag, level)) {
+            return;
+        }
+        String message = format(template, args);
+        if (throwable != null) {
+            message = message + '\n' + Log.getStackTraceString(throwable);
+        }
+        Log.println(level, tag, message);
+    }
+
+    /**
+     * 나중에 링 버퍼를 읽을 때 값이 바뀌어 있지 않도록, 불변이 아닌 인자는 지금 문자열로 바꿔 둡니다.
+     * 숫자, 문자열처럼 불변인 값은 그대로 둡니다.
+     */
+    private static Object[] freeze(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg != null && !(arg instanceof String || arg instanceof Number || arg instanceof Boolean
+                    || arg instanceof Character || arg instanceof Enum || arg instanceof Throwable)) {
+                args[i] = String.valueOf(arg);
+            }
+        }
+        return args;
+    }
+
+    private static int countPlaceholders(String template) {
+        int count = 0;
+        int index = template.indexOf(PLACEHOLDER);
+        while (index >= 0) {
+            count++;
+            index = template.indexOf(PLACEHOLDER, index + PLACEHOLDER.length());
+        }
+        return count;
+    }
+
+    /**
+     * 템플릿의 "{}"를 인자로 차례로 바꿉니다. 인자가 모자라면 남은 "{}"는 그대로 둡니다.
+     */
+    static String format(String template, Object[] args) {
+        if (args == null || args.length == 0) {
+            return template;
+        }
+        StringBuilder sb = new StringBuilder(template.length() + 16 * args.length);
+        int from = 0;
+        int argIndex = 0;
+        while (argIndex < args.length) {
+            int index = template.indexOf(PLACEHOLDER, from);
+            if (index < 0) {
+                break;
+            }
+            sb.append(template, from, index).append(args[argIndex++]);
+            from = index + PLACEHOLDER.length();
+        }
+        sb.append(template, from, template.length());
+        return sb.toString();
+    }
+
+    /**
+     * 링 버퍼의 최근 이벤트를 오래된 것부터 한 줄씩 씁니다. 예외가 있으면 스택 트레이스를 이어서 씁니다.
+     */
+    public static void dump(Writer out) throws IOException {
+        dump(RING.snapshot(), out);
+    }
+
+    static void dump(List<EventRing.Event> events, Writer out) throws IOException {
+        SimpleDateFormat timeFormat = new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US);
+        for (EventRing.Event event : events) {
+            out.write(timeFormat.format(new Date(event.timeMillis)) + " " + levelChar(event.level) + "/" + event.tag
+                    + " [" + event.threadName + "] " + event.message() + "\n");
+            if (event.throwable != null) {
+                StringWriter trace = new StringWriter();
+                event.throwable.printStackTrace(new PrintWriter(trace));
+                out.write(trace.toString());
+            }
+        }
+    }
+
+    /** 최근 이벤트를 문자열로 돌려줍니다. (디버그 화면용) */
+    public static String dumpToString() {
+        StringWriter writer = new StringWriter();
+        try {
+            dump(writer);
+        } catch (IOException e) {
+            // StringWriter는 IOException을 던지지 않습니다.
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 최근 이벤트를 파일로 씁니다. 파일을 쓰므로 백그라운드 스레드에서 호출해야 합니다.
+     */
+    public static void dumpTo(File file) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("폴더를 만들 수 없습니다: " + dir);
+        }
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            dump(out);
+        }
+    }
+
+    private static char levelChar(int level) {
+        switch (level) {
+            case Log.VERBOSE:
+                return 'V';
+            case Log.DEBUG:
+                return 'D';
+            case Log.INFO:
+                return 'I';
+            case Log.WARN:
+                return 'W';
+            default:
+                return 'E';
+        }
+    }
+}
@@ -16,17 +16,18 @@ import android.os.Build;
 import android.os.VibrationEffect;
 import android.os.Vibrator;
 import android.text.format.DateFormat;
-import android.util.Log;
 
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.core.app.ActivityCompat;
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
+import androidx.core.os.UserManagerCompat;
 
+import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * `AlarmManager`에 의해 예약된 시스템 알람(Broadcast)을 수신하는 클래스.
@@ -42,6 +43,16 @@ public class AlarmReceiver extends BroadcastReceiver {
     private static final String CUSTOM_SOUND_CHANNEL_ID = "alarm_channel_custom_sound";
     private static final String CUSTOM_SOUND_CHANNEL_NAME = "사용자 지정 알람";
 
+    // [추가] 알람 수신 처리 지표. path는 데이터베이스 경로(database)와 잠금 해제 전 미러 경로(direct_boot)를 구분합니다.
+    private static final String RECEIVED_METRIC = "alarm_receiver_received";
+    private static final String RECEIVED_HELP = "AlarmReceiver가 받은 알람 방송 수";
+    private static final String HANDLE_METRIC = "alarm_receiver_handle_duration_milliseconds";
+    private static final String HANDLE_HELP = "알람 방송을 받아 소리/화면/다음 예약까지 처리하는 데 걸린 시간";
+
+    // [추가] 지금 시각을 읽는 시계. 리시버는 시스템이 만들기 때문에 생성자 대신 이 필드로 바꿉니다.
+    @VisibleForTesting
+    static volatile Clock clock = Clock.SYSTEM;
+
     // [주석] 이 상수는 더 이상 사용하지 않으므로, 삭제하거나 주석 처리해도 무방합니다.
     // public static final String RINGING_ALARM_ID_EXTRA = "com.example.alarm.RINGING_ALARM_ID_EXTRA";
 
@@ -50,57 +61,150 @@ public class AlarmReceiver extends BroadcastReceiver {
      */
     @Override
     public void onReceive(Context context, Intent intent) {
-        Log.d(TAG, "알람 수신됨!");
+        AlarmLog.d(TAG, "알람 수신됨!");
 
         final int alarmId = intent.getIntExtra(MainActivity.ALARM_ID_EXTRA, -1);
         if (alarmId == -1) {
-            Log.w(TAG, "유효하지 않은 알람 ID(-1)를 수신하여 작업을 중단합니다.");
+            AlarmLog.w(TAG, "유효하지 않은 알람 ID(-1)를 수신하여 작업을 중단합니다.");
             return;
         }
+        final long firedTriggerAt = intent.getLongExtra(AlarmScheduler.EXTRA_TRIGGER_AT, 0);
+        // [추가] 다시 울림(스누즈) 방송이면 다음 회차 예약이나 비활성화는 하지 않습니다.
+        final boolean snoozeFired = SnoozeScheduler.ACTION_SNOOZE_FIRED.equals(intent.getAction());
+
+        // [추가] 재부팅 후 아직 잠금을 해제하지 않았다면 데이터베이스(CE 저장소)를 열 수 없습니다.
+        // 이 경우 기기 보호 저장소의 미러 파일만으로 알람을 울립니다.
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        if (!UserManagerCompat.isUserUnlocked(context)) {
+            metrics.counter(RECEIVED_METRIC, RECEIVED_HELP, "path", "direct_boot").inc();
+            long start = System.nanoTime();
+            // [수정] 미러 읽기와 다시 울림 저장소, AlarmManager 호출은 메인 스레드에서 하지 않습니다.
+            // goAsync()로 수신을 연장해, 처리가 끝나기 전에 프로세스가 정리되지 않도록 합니다.
+            final PendingResult pendingResult = goAsync();
+            AppExecutors.getInstance().wake().execute(() -> {
+                try {
+                    ringFromDirectBootMirror(context.createDeviceProtectedStorageContext(), alarmId, firedTriggerAt, snoozeFired);
+                    metrics.histogram(HANDLE_METRIC, HANDLE_HELP, "path", "direct_boot").recordSince(start);
+                } finally {
+                    pendingResult.finish();
+                }
+            });
+            return;
+        }
+        metrics.counter(RECEIVED_METRIC, RECEIVED_HELP, "path", "database").inc();
+        // 대기열에서 기다린 시간까지 포함하도록 실행기에 넘기기 전에 잽니다.
+        long receivedAt = System.nanoTime();
 
         // [기존 주석] 데이터베이스 작업은 메인 스레드에서 처리할 수 없으므로, 별도의 스레드에서 실행합니다.
-        ExecutorService executor = Executors.newSingleThreadExecutor();
-        executor.execute(() -> {
+        // [수정] 방송마다 스레드를 만들지 않고, 다른 작업에 밀리지 않는 알람 전용(wake) 풀에서 실행합니다.
+        AppExecutors.getInstance().wake().execute(() -> {
             AppDatabase db = AppDatabase.getDatabase(context.getApplicationContext());
             Alarm alarm = db.alarmDao().getAlarmByIdNonLive(alarmId);
 
-            if (alarm != null) {
+            SnoozeEngine snooze = SnoozeScheduler.engine(context, clock);
+            if (alarm != null && snoozeFired && snooze.onSnoozeFired(alarmId) == null) {
+                AlarmLog.d(TAG, "알람 ID {}의 다시 울림은 이미 정리되었습니다.", alarmId);
+            } else if (alarm != null && snoozeFired) {
+                handleCustomSoundAndVibration(context, alarm);
+                triggerAlarmScreen(context, alarm, snoozeMinutes(snooze, alarmId));
+            } else if (alarm != null) {
+                // 정규 회차가 울렸으므로 이전 회차의 다시 울림은 정리하고 횟수를 처음부터 셉니다.
+                snooze.dismiss(alarmId);
                 handleCustomSoundAndVibration(context, alarm);
-                triggerAlarmScreen(context, alarm);
+                triggerAlarmScreen(context, alarm, snoozeMinutes(snooze, alarmId));
 
-                if (alarm.isRepeating()) {
-                    Log.d(TAG, "알람 ID " + alarmId + "은(는) 반복 알람입니다. 다음 알람을 예약합니다.");
-                    AlarmScheduler alarmScheduler = new AlarmScheduler(context);
-                    alarmScheduler.schedule(alarm);
-                } else {
-                    Log.d(TAG, "알람 ID " + alarmId + "은(는) 단일 알람입니다. 알람을 비활성화합니다.");
-                    // [핵심 수정] Alarm 클래스의 isEnabled 필드가 private으로 변경되었으므로, 공개된 setter 메소드를 사용해야 합니다.
-                    alarm.setEnabled(false);
+                // [수정] 다음 회차 예약/비활성화 판단은 AlarmScheduler(alarm-core의 AlarmLifecycle)에 맡깁니다.
+                // [추가] 방송으로 프로세스가 막 시작되었으면 날짜별 예외 색인이 아직 없으므로 먼저 읽습니다.
+                AlarmExceptionRepository.ensureLoaded(context.getApplicationContext(), db);
+                if (new AlarmScheduler(context, clock).onAlarmFired(alarm, firedTriggerAt)) {
+                    AlarmLog.d(TAG, "알람 ID {}은(는) 단일 알람입니다. 알람을 비활성화합니다.", alarmId);
                     db.alarmDao().update(alarm);
+                } else {
+                    AlarmLog.d(TAG, "알람 ID {}은(는) 반복 알람입니다. 다음 알람을 예약했습니다.", alarmId);
                 }
 
             } else {
-                Log.w(TAG, "알람 ID " + alarmId + "에 해당하는 데이터를 데이터베이스에서 찾을 수 없습니다.");
+                AlarmLog.w(TAG, "알람 ID {}에 해당하는 데이터를 데이터베이스에서 찾을 수 없습니다.", alarmId);
+                snooze.dismiss(alarmId);
             }
+            metrics.histogram(HANDLE_METRIC, HANDLE_HELP, "path", "database").recordSince(receivedAt);
         });
-        executor.shutdown();
+    }
+
+    /**
+     * [추가] 잠금 해제 전(Direct Boot)에 알람을 울립니다. SQLite를 열지 않고 메모리 매핑된 미러 레코드만 사용합니다.
+     * 사용자가 고른 알람음 파일은 잠금 해제 전에 접근할 수 없을 수 있으므로 기본 알람음으로 울립니다.
+     * @param deviceContext 기기 보호 저장소 Context
+     * @param firedTriggerAt 이번 방송의 예약 시각. 모르면 0
+     * @param snoozeFired [추가] 다시 울림 방송이면 true
+     */
+    private void ringFromDirectBootMirror(Context deviceContext, int alarmId, long firedTriggerAt, boolean snoozeFired) {
+        SnoozeEngine snooze = SnoozeScheduler.engine(deviceContext, clock);
+        DirectBootAlarmMirror mirror = DirectBootAlarmMirror.get(deviceContext);
+        // [추가] 반복 알람의 다음 회차가 날짜별 예외를 따르도록 미러에 기록된 예외를 씁니다.
+        AlarmExceptionRepository.useMirrored(mirror.readExceptions());
+        AlarmRecord entry = mirror.find(alarmId);
+        if (snoozeFired) {
+            if (snooze.onSnoozeFired(alarmId) == null) {
+                return;
+            }
+            // 울린 단일 알람은 미러에서 빠지므로, 레코드가 없으면 이름 없이 기본 알람음으로 울립니다.
+            Alarm alarm = entry != null ? entry.toAlarm(false) : snoozeFallbackAlarm(alarmId);
+            handleCustomSoundAndVibration(deviceContext, alarm);
+            triggerAlarmScreen(deviceContext, alarm, snoozeMinutes(snooze, alarmId));
+            return;
+        }
+        if (entry == null) {
+            AlarmLog.w(TAG, "알람 ID {}에 해당하는 레코드를 Direct Boot 미러에서 찾을 수 없습니다.", alarmId);
+            return;
+        }
+        snooze.dismiss(alarmId);
+        Alarm alarm = entry.toAlarm(false);
+        handleCustomSoundAndVibration(deviceContext, alarm);
+        triggerAlarmScreen(deviceContext, alarm, snoozeMinutes(snooze, alarmId));
+
+        if (new AlarmScheduler(deviceContext, clock).onAlarmFired(alarm, firedTriggerAt)) {
+            DirectBootReceiver.recordOneShotFiredWhileLocked(deviceContext, alarmId);
+        }
+    }
+
+    /**
+     * [추가] 울림 화면에 보여 줄 다시 울림 시간(분). 더 미룰 수 없으면 0을 돌려주어 버튼을 숨깁니다.
+     */
+    private static int snoozeMinutes(SnoozeEngine snooze, int alarmId) {
+        return snooze.canSnooze(alarmId) ? snooze.getPolicy().durationMinutes : 0;
+    }
+
+    private static Alarm snoozeFallbackAlarm(int alarmId) {
+        Calendar now = Calendar.getInstance();
+        now.setTimeInMillis(clock.currentTimeMillis());
+        return new Alarm(alarmId, null, now.get(Calendar.HOUR_OF_DAY), now.get(Calendar.MINUTE), false, true, null,
+                false, false, false, false, false, false, false, false);
     }
 
     /**
      * [기존 주석] 알람 객체의 설정에 따라 '사용자 지정' 알람음과 '사용자 지정' 진동을 처리합니다.
      */
     private void handleCustomSoundAndVibration(Context context, Alarm alarm) {
+        Intent serviceIntent = new Intent(context, AlarmSoundService.class);
+        boolean startService = false;
         if (alarm.getSoundUri() != null && !alarm.getSoundUri().isEmpty()) {
-            Log.d(TAG, "사용자 지정 알람음이 있습니다. AlarmSoundService를 시작합니다. URI: " + alarm.getSoundUri());
-            Intent serviceIntent = new Intent(context, AlarmSoundService.class);
-            serviceIntent.putExtra("SOUND_URI", alarm.getSoundUri());
-            context.startService(serviceIntent);
+            AlarmLog.d(TAG, "사용자 지정 알람음이 있습니다. AlarmSoundService를 시작합니다. URI: {}", alarm.getSoundUri());
+            serviceIntent.putExtra(AlarmSoundService.EXTRA_SOUND_URI, alarm.getSoundUri());
+            startService = true;
         } else {
-            Log.d(TAG, "사용자 지정 알람음이 없습니다. 알림의 기본 소리를 사용합니다.");
+            AlarmLog.d(TAG, "사용자 지정 알람음이 없습니다. 알림의 기본 소리를 사용합니다.");
+        }
+        // [추가] 날씨 TTS 알람이면 안내 문장과, 미리 합성해 둔 음성 파일(있다면)을 함께 넘깁니다.
+        if (alarm.isWeatherTtsEnabled() && UserManagerCompat.isUserUnlocked(context)) {
+            startService |= putWeatherAnnouncement(context, serviceIntent);
+        }
+        if (startService) {
+            context.startService(serviceIntent);
         }
 
         if (alarm.isVibrationEnabled()) {
-            Log.d(TAG, "진동 옵션이 활성화되어 있습니다. 진동을 시작합니다.");
+            AlarmLog.d(TAG, "진동 옵션이 활성화되어 있습니다. 진동을 시작합니다.");
             Vibrator vibrator = (Vibrator) context.getSystemService(Context.VIBRATOR_SERVICE);
             if (vibrator != null && vibrator.hasVibrator()) {
                 long[] pattern = {500, 500};
@@ -113,22 +217,106 @@ public class AlarmReceiver extends BroadcastReceiver {
         }
     }
 
+    /**
+     * [추가] 미리 받아 둔 날씨로 안내 문장을 만들어 Intent에 넣습니다. 같은 문장을 미리 합성한 파일이 있으면
+     * 파일 경로도 넣어, 서비스가 TTS 엔진을 기다리지 않고 바로 재생하게 합니다.
+     * @return 안내할 내용이 있는지 여부
+     */
+    private static boolean putWeatherAnnouncement(Context context, Intent serviceIntent) {
+        WeatherResponse weather = loadRingWeather(context, false);
+        String text = weather != null ? WeatherAnnouncement.compose(weather) : null;
+        if (text == null) {
+            AlarmLog.d(TAG, "안내할 날씨 정보가 없습니다.");
+            return false;
+        }
+        serviceIntent.putExtra(AlarmSoundService.EXTRA_ANNOUNCEMENT_TEXT, text);
+        File audioFile = AnnouncementAudioCache.getInstance(context).get(text);
+        if (audioFile != null) {
+            serviceIntent.putExtra(AlarmSoundService.EXTRA_ANNOUNCEMENT_FILE, audioFile.getAbsolutePath());
+        } else {
+            AlarmLog.d(TAG, "미리 합성된 안내 음성이 없어 실시간 합성을 사용합니다.");
+        }
+        return true;
+    }
+
+    /**
+     * [추가] 알람이 울리는 지금 시각의 날씨를 로컬 캐시에서만 찾습니다. 미리 받아 둔 예보의 해당 칸을 먼저 쓰고,
+     * 예보가 없으면 마지막으로 받은 현재 날씨를 씁니다. (미리 합성한 안내 음성도 같은 순서로 만들어졌습니다.)
+     * @param requireRecent true이면 너무 오래된 데이터는 사용하지 않습니다.
+     * @return 사용할 수 있는 날씨가 없으면 null
+     */
+    @Nullable
+    private static WeatherResponse loadRingWeather(Context context, boolean requireRecent) {
+        long now = clock.currentTimeMillis();
+        LocationBucket bucket = WeatherPrefetchScheduler.resolvePrefetchBucket(context);
+        ForecastCache.CachedForecast forecast = bucket != null ? ForecastCache.getInstance(context).get(bucket) : null;
+        if (forecast != null && (!requireRecent || now - forecast.fetchedAtMillis <= ForecastCache.MAX_USABLE_AGE_MILLIS)) {
+            WeatherResponse weather = forecast.slab.weatherAt(now);
+            if (weather != null) {
+                return weather;
+            }
+        }
+        WeatherRepository.CachedWeather cached = WeatherRepository.getInstance(context).getLatestCachedWeather();
+        if (cached == null
+                || (requireRecent && now - cached.fetchedAtMillis > WeatherPrefetchPlanner.DEFAULT_POLICY.maxAgeMillis)) {
+            return null;
+        }
+        return cached.response;
+    }
+
+    /**
+     * [추가] {@link WeatherPrefetchJobService}가 미리 받아 둔 날씨로 짧은 요약 문장을 만듭니다.
+     * 알람이 울리는 순간에는 네트워크 요청을 하지 않으며, 너무 오래된 데이터는 사용하지 않습니다.
+     * [수정] 울림 화면에도 같은 날씨를 보여주기 위해, 날씨를 읽는 부분은 {@link #loadRingWeather}로 분리했습니다.
+     * @return "서울 맑음 21°C" 형태의 요약
+     */
+    private static String buildWeatherSummary(WeatherResponse response) {
+        StringBuilder summary = new StringBuilder();
+        if (response.getCityName() != null) {
+            summary.append(response.getCityName()).append(' ');
+        }
+        if (response.getWeather() != null && !response.getWeather().isEmpty()) {
+            summary.append(response.getWeather().get(0).getDescription()).append(' ');
+        }
+        if (response.getMainWeatherData() != null) {
+            summary.append(Math.round(response.getMainWeatherData().getTemperature())).append("°C");
+        }
+        return summary.toString().trim();
+    }
+
     /**
      * [기존 주석] 알림을 생성하고 표시합니다.
      */
-    private void triggerAlarmScreen(Context context, Alarm alarm) {
+    private void triggerAlarmScreen(Context context, Alarm alarm, int snoozeMinutes) {
         createNotificationChannels(context);
 
         final boolean hasCustomSound = alarm.getSoundUri() != null && !alarm.getSoundUri().isEmpty();
         final String channelId = hasCustomSound ? CUSTOM_SOUND_CHANNEL_ID : DEFAULT_SOUND_CHANNEL_ID;
-        Log.d(TAG, "사용할 알림 채널 ID: " + channelId);
+        AlarmLog.d(TAG, "사용할 알림 채널 ID: {}", channelId);
 
         Intent fullScreenIntent = new Intent(context, AlarmRingingActivity.class);
 
         // --- [기존 주석] --- //
         fullScreenIntent.putExtra(MainActivity.ALARM_ID_EXTRA, alarm.getId());
+        // [추가] 잠금 해제 전에는 울림 화면이 DB에서 이름을 읽을 수 없으므로, 이름을 함께 전달합니다.
+        fullScreenIntent.putExtra(AlarmRingingActivity.ALARM_NAME_EXTRA, alarm.getName());
+        // [추가] 0이면 다시 울림 버튼을 숨깁니다.
+        fullScreenIntent.putExtra(AlarmRingingActivity.SNOOZE_MINUTES_EXTRA, snoozeMinutes);
         // -------------------- //
 
+        // [추가] 날씨 TTS 알람이면, 미리 받아 둔 날씨(네트워크를 기다리지 않고 로컬 캐시만 읽습니다)를 알림과 울림 화면에 함께 보여줍니다.
+        String weatherSummary = null;
+        if (alarm.isWeatherTtsEnabled() && UserManagerCompat.isUserUnlocked(context)) {
+            WeatherResponse ringWeather = loadRingWeather(context, true);
+            if (ringWeather != null) {
+                weatherSummary = buildWeatherSummary(ringWeather);
+                fullScreenIntent.putExtra(AlarmRingingActivity.WEATHER_SUMMARY_EXTRA, weatherSummary);
+                if (ringWeather.getWeather() != null && !ringWeather.getWeather().isEmpty()) {
+                    fullScreenIntent.putExtra(AlarmRingingActivity.WEATHER_ICON_EXTRA, ringWeather.getWeather().get(0).getIcon());
+                }
+            }
+        }
+
         fullScreenIntent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
 
         PendingIntent fullScreenPendingIntent = PendingIntent.getActivity(context, alarm.getId(),
@@ -136,6 +324,9 @@ public class AlarmReceiver extends BroadcastReceiver {
 
         String timeToDisplay = formatTime(context, alarm.getHour(), alarm.getMinute());
         String notificationText = "현재 울리는 알람: " + timeToDisplay;
+        if (weatherSummary != null) {
+            notificationText += " · " + weatherSummary;
+        }
 
         NotificationCompat.Builder builder = new NotificationCompat.Builder(context, channelId)
                 .setSmallIcon(R.drawable.ic_alarm)
@@ -153,7 +344,7 @@ public class AlarmReceiver extends BroadcastReceiver {
         }
 
         notificationManager.notify(alarm.getId(), builder.build());
-        Log.d(TAG, "알람 ID " + alarm.getId() + "으로 전체 화면 알림을 성공적으로 표시했습니다.");
+        AlarmLog.d(TAG, "알람 ID {}으로 전체 화면 알림을 성공적으로 표시했습니다.", alarm.getId());
     }
 
     /**
@@ -7,14 +7,15 @@ import android.os.Build;
 import android.os.Bundle;
 import android.os.Vibrator;
 import android.text.TextUtils;
-import android.util.Log;
 import android.view.View;
 import android.view.WindowManager;
 import android.widget.Button;
+import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.os.UserManagerCompat;
 import androidx.lifecycle.ViewModelProvider;
 
 import java.text.SimpleDateFormat;
@@ -29,17 +30,27 @@ public class AlarmRingingActivity extends AppCompatActivity {
 
     private static final String TAG = "AlarmRingingActivity";
 
+    /** [추가] AlarmReceiver가 알람 이름을 함께 전달할 때 사용하는 키 값 */
+    public static final String ALARM_NAME_EXTRA = "com.example.alarm.ALARM_NAME_EXTRA";
+    /** [추가] 날씨 TTS 알람일 때 AlarmReceiver가 전달하는 날씨 요약 문장과 아이콘 코드의 키 값 */
+    public static final String WEATHER_SUMMARY_EXTRA = "com.example.alarm.WEATHER_SUMMARY_EXTRA";
+    public static final String WEATHER_ICON_EXTRA = "com.example.alarm.WEATHER_ICON_EXTRA";
+    /** [추가] 다시 울림 시간(분). 0이거나 없으면 더 미룰 수 없으므로 다시 울림 버튼을 숨깁니다. */
+    public static final String SNOOZE_MINUTES_EXTRA = "com.example.alarm.SNOOZE_MINUTES_EXTRA";
+
     private TextView currentTimeTextView;
     // [기존 주석] 알람 이름을 표시할 TextView를 멤버 변수로 선언합니다.
     private TextView alarmNameTextView;
     private Button dismissButton;
+    private Button snoozeButton;
+    private int alarmId = -1;
     private Vibrator vibrator;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_alarm_ringing);
-        Log.d(TAG, "알람 울림 화면 생성됨.");
+        AlarmLog.d(TAG, "알람 울림 화면 생성됨.");
 
         // --- [기존 주석] 1. 잠금화면 위로 Activity를 표시하기 위한 설정 --- //
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1) {
@@ -59,6 +70,7 @@ public class AlarmRingingActivity extends AppCompatActivity {
         // [기존 주석] XML 레이아웃의 ringing_alarm_name TextView를 코드와 연결합니다.
         alarmNameTextView = findViewById(R.id.ringing_alarm_name);
         dismissButton = findViewById(R.id.dismissButton);
+        snoozeButton = findViewById(R.id.snoozeButton);
         vibrator = (Vibrator) getSystemService(Context.VIBRATOR_SERVICE);
 
         // [기존 주석] 현재 시간을 TextView에 표시합니다.
@@ -67,12 +79,15 @@ public class AlarmRingingActivity extends AppCompatActivity {
 
         // --- [핵심 수정] 3. 알람 이름 처리 로직 최종 보강 --- //
         // [새로운 주석] AlarmReceiver로부터 전달받은 Intent에서 알람 ID를 가져옵니다.
-        int alarmId = getIntent().getIntExtra(MainActivity.ALARM_ID_EXTRA, -1);
+        alarmId = getIntent().getIntExtra(MainActivity.ALARM_ID_EXTRA, -1);
         // [새로운 디버깅 주석] Receiver로부터 어떤 알람 ID를 받았는지 확인하기 위해 Logcat에 명확히 기록합니다.
         // 이 로그를 통해 데이터 전달의 첫 단계가 성공했는지 바로 확인할 수 있습니다.
-        Log.d(TAG, "Intent로부터 전달받은 알람 ID: " + alarmId);
+        AlarmLog.d(TAG, "Intent로부터 전달받은 알람 ID: {}", alarmId);
 
-        if (alarmId != -1) {
+        if (alarmId != -1 && !UserManagerCompat.isUserUnlocked(this)) {
+            // [추가] 재부팅 후 잠금 해제 전에는 DB를 열 수 없으므로, Receiver가 미러에서 읽어 전달한 이름을 사용합니다.
+            displayAlarmName(getIntent().getStringExtra(ALARM_NAME_EXTRA));
+        } else if (alarmId != -1) {
             // [기존 주석] 유효한 ID가 있다면, ViewModel을 통해 데이터베이스에서 해당 알람 정보를 가져옵니다.
             AlarmViewModel alarmViewModel = new ViewModelProvider(this).get(AlarmViewModel.class);
             alarmViewModel.getAlarmById(alarmId).observe(this, alarm -> {
@@ -84,27 +99,42 @@ public class AlarmRingingActivity extends AppCompatActivity {
                 } else {
                     // [새로운 디버깅 주석] ID는 올바르게 전달받았지만, 데이터베이스에서 해당 ID의 알람을 찾지 못한 경우에 대한 로그입니다.
                     // 이 로그가 보인다면, 알람이 DB에서 삭제되었거나 다른 문제가 있음을 의미합니다.
-                    Log.w(TAG, "ID " + alarmId + "에 해당하는 알람을 DB에서 찾지 못했습니다.");
+                    AlarmLog.w(TAG, "ID {}에 해당하는 알람을 DB에서 찾지 못했습니다.", alarmId);
                 }
             });
         } else {
             // [새로운 예외 처리 주석] 애초에 유효하지 않은 ID(-1)를 전달받은 경우에 대한 처리입니다.
             // 이 경우, 알람 이름을 표시할 수 없으므로 TextView를 숨깁니다.
-            Log.w(TAG, "유효하지 않은 알람 ID(-1)를 전달받았습니다. 알람 이름을 표시할 수 없습니다.");
+            AlarmLog.w(TAG, "유효하지 않은 알람 ID(-1)를 전달받았습니다. 알람 이름을 표시할 수 없습니다.");
             displayAlarmName(null);
         }
 
+        // [추가] 날씨 TTS 알람이면 날씨 요약과 아이콘을 표시합니다.
+        displayWeather(getIntent().getStringExtra(WEATHER_SUMMARY_EXTRA), getIntent().getStringExtra(WEATHER_ICON_EXTRA));
+
         // --- [기존 주석] 4. "알람 해제" 버튼 클릭 리스너 설정 --- //
         dismissButton.setOnClickListener(v -> {
-            Log.d(TAG, "\'알람 해제\' 버튼 클릭됨.");
+            AlarmLog.d(TAG, "\'알람 해제\' 버튼 클릭됨.");
             dismissAlarm();
         });
 
+        // [추가] "N분 후 다시 알림" 버튼. 횟수를 다 썼거나 ID가 없으면 숨깁니다.
+        int snoozeMinutes = getIntent().getIntExtra(SNOOZE_MINUTES_EXTRA, 0);
+        if (alarmId != -1 && snoozeMinutes > 0) {
+            snoozeButton.setText(snoozeMinutes + "분 후 다시 알림");
+            snoozeButton.setOnClickListener(v -> {
+                AlarmLog.d(TAG, "\'다시 알림\' 버튼 클릭됨.");
+                snoozeAlarm();
+            });
+        } else {
+            snoozeButton.setVisibility(View.GONE);
+        }
+
         // --- [기존 주석] 5. 뒤로 가기 버튼 처리 --- //
         getOnBackPressedDispatcher().addCallback(this, new OnBackPressedCallback(true) {
             @Override
             public void handleOnBackPressed() {
-                Log.d(TAG, "뒤로가기 이벤트 감지됨. 알람 해제.");
+                AlarmLog.d(TAG, "뒤로가기 이벤트 감지됨. 알람 해제.");
                 dismissAlarm();
             }
         });
@@ -120,25 +150,67 @@ public class AlarmRingingActivity extends AppCompatActivity {
             // [기존 주석] 알람 이름이 있다면, TextView에 이름을 설정하고 화면에 보이도록 합니다.
             alarmNameTextView.setText(alarmName);
             alarmNameTextView.setVisibility(View.VISIBLE);
-            Log.d(TAG, "알람 이름 표시: " + alarmName);
+            AlarmLog.d(TAG, "알람 이름 표시: {}", alarmName);
         } else {
             // [기존 주석] 알람 이름이 없다면, TextView를 화면에서 완전히 숨겨 공간을 차지하지 않게 합니다.
             alarmNameTextView.setVisibility(View.GONE);
-            Log.d(TAG, "표시할 알람 이름이 없음.");
+            AlarmLog.d(TAG, "표시할 알람 이름이 없음.");
+        }
+    }
+
+    /**
+     * [추가] AlarmReceiver가 전달한 날씨 요약을 표시합니다. 아이콘은 {@link WeatherIconLoader}가 백그라운드에서 불러옵니다.
+     * 잠금 해제 전이거나 날씨 알람이 아니면 요약이 없으므로 둘 다 숨깁니다.
+     */
+    private void displayWeather(String summary, String iconCode) {
+        TextView summaryTextView = findViewById(R.id.ringing_weather_summary);
+        ImageView iconImageView = findViewById(R.id.ringing_weather_icon);
+        if (TextUtils.isEmpty(summary)) {
+            summaryTextView.setVisibility(View.GONE);
+            iconImageView.setVisibility(View.GONE);
+            return;
         }
+        summaryTextView.setText(summary);
+        summaryTextView.setVisibility(View.VISIBLE);
+        WeatherIconLoader.getInstance(this).load(iconCode, iconImageView);
     }
 
     /**
      * [기존 주석] 알람을 완전히 해제하는 메소드.
+     * [추가] 남은 다시 울림과 횟수도 정리합니다.
      */
     private void dismissAlarm() {
+        int id = alarmId;
+        if (id != -1) {
+            Context appContext = getApplicationContext();
+            AppExecutors.getInstance().diskIO().execute(() -> SnoozeScheduler.engine(appContext).dismiss(id));
+        }
+        stopRinging();
+    }
+
+    /**
+     * [추가] 소리와 진동을 멈추고, 정해진 시간 뒤에 다시 울리도록 예약합니다. alarms 행은 고치지 않습니다.
+     */
+    private void snoozeAlarm() {
+        int id = alarmId;
+        Context appContext = getApplicationContext();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            SnoozeState state = SnoozeScheduler.engine(appContext).snooze(id);
+            if (state == null) {
+                AlarmLog.w(TAG, "알람 ID {}은(는) 더 이상 다시 울림을 할 수 없습니다.", id);
+            }
+        });
+        stopRinging();
+    }
+
+    private void stopRinging() {
         Intent stopServiceIntent = new Intent(this, AlarmSoundService.class);
         stopService(stopServiceIntent);
-        Log.d(TAG, "AlarmSoundService 중지 명령 전송.");
+        AlarmLog.d(TAG, "AlarmSoundService 중지 명령 전송.");
 
         if (vibrator != null) {
             vibrator.cancel();
-            Log.d(TAG, "진동 중지.");
+            AlarmLog.d(TAG, "진동 중지.");
         }
 
         finish();
@@ -147,6 +219,6 @@ public class AlarmRingingActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        Log.d(TAG, "알람 울림 화면 소멸됨.");
+        AlarmLog.d(TAG, "알람 울림 화면 소멸됨.");
     }
 }
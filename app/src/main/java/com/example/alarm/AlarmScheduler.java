@@ -5,10 +5,10 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Build;
-import android.util.Log;
 import android.widget.Toast;
 
-import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
 
 /**
  * 시스템의 AlarmManager를 사용하여 실제 알람을 예약(schedule)하고 취소하는 역할을 담당하는 클래스.
@@ -16,12 +16,49 @@ import java.util.Calendar;
 public class AlarmScheduler {
 
     private static final String TAG = "AlarmScheduler";
+
+    // [추가] 이번 방송이 울리도록 예약된 시각. AlarmReceiver가 다음 회차를 계산할 때 씁니다. ({@link AlarmLifecycle#onFired})
+    static final String EXTRA_TRIGGER_AT = "com.example.alarm.EXTRA_TRIGGER_AT";
+
+    // [추가] 예약/취소에 걸린 시간 (AlarmManager 호출은 시스템 서비스로의 IPC라 기기 상태에 따라 느려질 수 있습니다.)
+    private static final String DURATION_METRIC = "alarm_scheduler_duration_milliseconds";
+    private static final String DURATION_HELP = "AlarmScheduler 예약/취소 호출 하나에 걸린 시간";
+    private static final MetricsRegistry.Histogram SCHEDULE_DURATION =
+            MetricsRegistry.getInstance().histogram(DURATION_METRIC, DURATION_HELP, "op", "schedule");
+    private static final MetricsRegistry.Histogram CANCEL_DURATION =
+            MetricsRegistry.getInstance().histogram(DURATION_METRIC, DURATION_HELP, "op", "cancel");
+    // [추가] 프로필 전환처럼 여러 알람을 한 번에 예약/취소한 전체 시간 ({@link #applyBatch})
+    private static final MetricsRegistry.Histogram BATCH_DURATION =
+            MetricsRegistry.getInstance().histogram(DURATION_METRIC, DURATION_HELP, "op", "batch");
+
     private final Context context;
     private final AlarmManager alarmManager;
+    private final Clock clock;
+    // [추가] 울린 뒤의 처리(다음 회차 예약 또는 비활성화)는 시뮬레이터와 같은 alarm-core 코드로 합니다.
+    private final AlarmLifecycle lifecycle;
 
     public AlarmScheduler(Context context) {
+        this(context, Clock.SYSTEM);
+    }
+
+    /**
+     * [추가] 시계를 주입받습니다. 지금 시각은 System.currentTimeMillis() 대신 이 시계에서만 읽습니다.
+     */
+    public AlarmScheduler(Context context, Clock clock) {
         this.context = context;
         this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        this.clock = clock;
+        this.lifecycle = new AlarmLifecycle(clock, TimeZone.getDefault(), new AlarmLifecycle.Timer() {
+            @Override
+            public void setExact(int alarmId, long triggerAtMillis) {
+                scheduleSingleAlarm(alarmId, triggerAtMillis, false);
+            }
+
+            @Override
+            public void cancel(int alarmId) {
+                cancelSingleAlarm(alarmId);
+            }
+        }, AlarmExceptionRepository::current);
     }
 
     /**
@@ -30,99 +67,65 @@ public class AlarmScheduler {
      * @param alarm 예약할 알람 객체. 시간, 활성화 여부, 그리고 이제 반복 요일 정보를 포함합니다.
      */
     public void schedule(Alarm alarm) {
+        schedule(alarm, true);
+    }
+
+    /**
+     * [추가] 사용자에게 Toast를 띄우지 않고 알람을 다시 예약합니다.
+     * BroadcastReceiver의 백그라운드 스레드나 부팅 직후처럼 UI가 없는 경로에서 사용합니다.
+     * (Looper가 없는 스레드에서 Toast를 띄우면 예외가 발생합니다.)
+     * @param alarm 다시 예약할 알람 객체
+     */
+    public void reschedule(Alarm alarm) {
+        schedule(alarm, false);
+    }
+
+    private void schedule(Alarm alarm, boolean notifyUser) {
         if (alarmManager == null) {
-            Log.e(TAG, "AlarmManager를 가져올 수 없습니다. 스케줄링을 중단합니다.");
+            AlarmLog.e(TAG, "AlarmManager를 가져올 수 없습니다. 스케줄링을 중단합니다.");
             return;
         }
-
-        // 알람이 울릴 시간을 나타내는 Calendar 객체를 생성합니다.
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, alarm.getHour());
-        calendar.set(Calendar.MINUTE, alarm.getMinute());
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-
-        // 1. 알람이 반복되는지 여부를 확인합니다.
-        if (alarm.isRepeating()) {
-            // --- 반복 알람 처리 로직 ---
-            scheduleRepeatingAlarm(alarm, calendar);
-        } else {
-            // --- 반복되지 않는 단일 알람 처리 로직 (기존 로직과 동일) ---
-            // 만약 설정한 시간이 현재 시간보다 이전이라면, 알람을 내일 날짜로 설정합니다.
-            if (calendar.getTimeInMillis() <= System.currentTimeMillis()) {
-                calendar.add(Calendar.DAY_OF_YEAR, 1);
-            }
-            scheduleSingleAlarm(alarm.getId(), calendar.getTimeInMillis());
+        long start = System.nanoTime();
+        try {
+            scheduleSingleAlarm(alarm.getId(), calculateNextTriggerTime(alarm, clock.currentTimeMillis()), notifyUser);
+        } finally {
+            SCHEDULE_DURATION.recordSince(start);
         }
     }
 
     /**
-     * [추가] 반복 알람을 스케줄링하는 새로운 메소드입니다.
-     * 오늘부터 시작하여, 사용자가 선택한 다음 반복 요일에 알람을 설정합니다.
-     * @param alarm 예약할 반복 알람 객체
-     * @param baseCalendar 사용자가 설정한 시간(시, 분) 정보가 담긴 Calendar 객체
+     * [추가] 울린 알람의 뒤처리를 합니다. 반복 알람은 다음 회차를 (Toast 없이) 예약하고, 한 번만 울리는 알람은 끕니다.
+     * @param firedTriggerAtMillis 이번 방송의 예약 시각 ({@link #EXTRA_TRIGGER_AT}). 모르면 0
+     * @return 알람을 껐으면 true. 호출한 쪽이 바뀐 알람을 저장해야 합니다.
      */
-    private void scheduleRepeatingAlarm(Alarm alarm, Calendar baseCalendar) {
-        // 오늘 요일을 Calendar 상수(일요일=1, 월요일=2, ...)로 가져옵니다.
-        int today = Calendar.getInstance().get(Calendar.DAY_OF_WEEK);
-        // 사용자가 설정한 알람 시간이 현재 시간보다 이전인지 여부를 확인합니다.
-        boolean isTimePassed = baseCalendar.getTimeInMillis() <= System.currentTimeMillis();
-
-        // 가장 가까운 다음 알람 요일을 찾기 위한 변수, -1은 아직 못찾았음을 의미합니다.
-        int nextAlarmDay = -1;
-
-        // 1. 가장 가까운 다음 알람 요일 찾기
-        // 오늘부터 시작하여 7일 동안 반복하며, 사용자가 선택한 가장 가까운 요일을 찾습니다.
-        for (int i = 0; i < 7; i++) {
-            int dayToFind = (today + i - 1) % 7 + 1; // 오늘, 내일, 모레... 순서로 요일을 확인 (1=일, 2=월, ...)
-
-            // 오늘이고 아직 시간이 지나지 않았다면, 오늘부터 확인합니다.
-            // 오늘인데 시간이 이미 지났다면, 내일부터 확인해야 하므로 i=0 (오늘) 경우는 건너뜁니다.
-            if (i == 0 && isTimePassed) {
-                continue;
-            }
-
-            // isDaySelected 메소드를 호출하여, 현재 확인 중인 요일(dayToFind)을 사용자가 선택했는지 확인합니다.
-            if (isDaySelected(alarm, dayToFind)) {
-                nextAlarmDay = dayToFind; // 찾았다! 해당 요일을 저장하고
-                baseCalendar.add(Calendar.DAY_OF_YEAR, i); // Calendar에 i일 만큼 더해서 날짜를 맞춘 뒤
-                break; // 반복문을 탈출합니다.
-            }
+    public boolean onAlarmFired(Alarm alarm, long firedTriggerAtMillis) {
+        if (!alarm.isRepeating()) {
+            return lifecycle.onFired(alarm, firedTriggerAtMillis);
         }
-
-        // 2. 만약 위 로직에서 다음 알람 요일을 찾지 못했다면 (예: 오늘 월요일, 선택된 요일도 월요일인데 시간이 지난 경우)
-        // 이 경우는 다음 주로 넘어가야 하므로, 가장 처음 선택된 요일을 다시 찾아서 7일을 더해줍니다.
-        if (nextAlarmDay == -1) {
-            for (int i = 0; i < 7; i++) {
-                int dayToFind = (today + i - 1) % 7 + 1;
-                if (isDaySelected(alarm, dayToFind)) {
-                    baseCalendar.add(Calendar.DAY_OF_YEAR, i + 7); // i일에 7일을 추가로 더해서 다음 주로 설정
-                    break;
-                }
-            }
+        if (alarmManager == null) {
+            AlarmLog.e(TAG, "AlarmManager를 가져올 수 없습니다. 스케줄링을 중단합니다.");
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            return lifecycle.onFired(alarm, firedTriggerAtMillis);
+        } finally {
+            SCHEDULE_DURATION.recordSince(start);
         }
-
-        // 3. 최종 계산된 시간에 알람을 예약합니다.
-        scheduleSingleAlarm(alarm.getId(), baseCalendar.getTimeInMillis());
     }
 
     /**
-     * [추가] 특정 요일 상수가 Alarm 객체에서 선택되었는지 확인하는 헬퍼 메소드입니다.
-     * @param alarm 확인할 알람 객체
-     * @param dayOfWeek Calendar의 요일 상수 (예: Calendar.MONDAY)
-     * @return 해당 요일이 선택되었으면 true, 아니면 false
+     * [추가] 알람이 다음에 울릴 시각을 계산합니다. AlarmManager에 접근하지 않는 순수 계산이므로
+     * 예약 외에도 Direct Boot 미러 등 '다음 울림 시각'이 필요한 곳에서 함께 사용합니다.
+     * [수정] 계산은 alarm-core 모듈의 {@link TriggerCalculator}로 옮겼습니다. 기기의 기본 시간대를 기준으로 합니다.
+     * [수정] 날짜별 예외(건너뛰기, 시각 바꾸기)는 {@link AlarmExceptionRepository}의 메모리 색인으로 반영합니다.
+     * @param alarm 계산할 알람 객체
+     * @param nowMillis 기준 시각 (밀리초)
+     * @return 다음 알람 시각 (밀리초)
      */
-    private boolean isDaySelected(Alarm alarm, int dayOfWeek) {
-        switch (dayOfWeek) {
-            case Calendar.MONDAY: return alarm.isMondayEnabled();
-            case Calendar.TUESDAY: return alarm.isTuesdayEnabled();
-            case Calendar.WEDNESDAY: return alarm.isWednesdayEnabled();
-            case Calendar.THURSDAY: return alarm.isThursdayEnabled();
-            case Calendar.FRIDAY: return alarm.isFridayEnabled();
-            case Calendar.SATURDAY: return alarm.isSaturdayEnabled();
-            case Calendar.SUNDAY: return alarm.isSundayEnabled();
-            default: return false;
-        }
+    static long calculateNextTriggerTime(Alarm alarm, long nowMillis) {
+        return TriggerCalculator.nextTriggerMillis(alarm, nowMillis, TimeZone.getDefault(),
+                AlarmExceptionRepository.current().forAlarm(alarm.getId()));
     }
 
     /**
@@ -130,22 +133,31 @@ public class AlarmScheduler {
      * Android 12 이상에서는 정확한 알람 예약 권한을 확인하는 로직이 추가되었습니다.
      * @param alarmId 예약할 알람의 고유 ID
      * @param triggerAtMillis 알람이 울릴 시간 (밀리초 단위)
+     * @param notifyUser Toast로 사용자에게 결과를 알릴지 여부
      */
-    private void scheduleSingleAlarm(int alarmId, long triggerAtMillis) {
-        PendingIntent pendingIntent = createPendingIntent(alarmId);
-
+    private void scheduleSingleAlarm(int alarmId, long triggerAtMillis, boolean notifyUser) {
         // [추가] Android 12 (API 31, S) 이상에서는 정확한 알람을 예약할 수 있는 권한이 있는지 확인해야 합니다.
         // 이 권한이 없으면 SecurityException이 발생하여 앱이 강제 종료됩니다.
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
             if (!alarmManager.canScheduleExactAlarms()) {
                 // 권한이 없는 경우, 사용자에게 알리고 스케줄링을 중단합니다.
                 // 실제 상용 앱에서는 사용자를 권한 설정 화면으로 안내하는 로직을 추가하는 것이 좋습니다.
-                Log.e(TAG, "정확한 알람을 예약할 수 있는 권한이 없습니다.");
-                Toast.makeText(context, "정확한 알람 권한이 필요합니다. 앱 설정에서 권한을 허용해주세요.", Toast.LENGTH_LONG).show();
+                AlarmLog.e(TAG, "정확한 알람을 예약할 수 있는 권한이 없습니다.");
+                if (notifyUser)
+                    Toast.makeText(context, "정확한 알람 권한이 필요합니다. 앱 설정에서 권한을 허용해주세요.", Toast.LENGTH_LONG).show();
                 return; // 여기서 실행을 중단하여 Exception을 방지합니다.
             }
         }
 
+        setExact(alarmId, triggerAtMillis);
+        if (notifyUser)
+            Toast.makeText(context, "알람이 예약되었습니다.", Toast.LENGTH_SHORT).show();
+    }
+
+    // [수정] 권한 확인이 끝난 뒤 AlarmManager에 등록하는 부분만 떼어 냈습니다. ({@link #applyBatch}에서도 사용)
+    private void setExact(int alarmId, long triggerAtMillis) {
+        PendingIntent pendingIntent = createPendingIntent(alarmId, triggerAtMillis);
+
         // 안드로이드 버전에 따라 정확한 알람을 설정하는 방법이 다릅니다.
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
             // Doze 모드에서도 알람이 울리도록 setExactAndAllowWhileIdle 사용
@@ -154,8 +166,7 @@ public class AlarmScheduler {
             alarmManager.setExact(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent);
         }
 
-        Log.d(TAG, "알람 ID " + alarmId + "이(가) " + triggerAtMillis + " 시간에 예약되었습니다.");
-        Toast.makeText(context, "알람이 예약되었습니다.", Toast.LENGTH_SHORT).show();
+        AlarmLog.d(TAG, "알람 ID {}이(가) {} 시간에 예약되었습니다.", alarmId, triggerAtMillis);
     }
 
     /**
@@ -164,24 +175,94 @@ public class AlarmScheduler {
      */
     public void cancel(Alarm alarm) {
         if (alarmManager == null) {
-            Log.e(TAG, "AlarmManager를 가져올 수 없습니다. 취소를 중단합니다.");
+            AlarmLog.e(TAG, "AlarmManager를 가져올 수 없습니다. 취소를 중단합니다.");
             return;
         }
-        PendingIntent pendingIntent = createPendingIntent(alarm.getId());
-        alarmManager.cancel(pendingIntent);
-        Log.d(TAG, "알람 ID " + alarm.getId() + "이(가) 취소되었습니다.");
+        long start = System.nanoTime();
+        try {
+            lifecycle.cancel(alarm);
+        } finally {
+            CANCEL_DURATION.recordSince(start);
+        }
+        // [추가] 알람을 끄거나 지우거나 고치면 남은 다시 울림도 함께 정리합니다. (저장소를 읽으므로 디스크 I/O 풀에서)
+        int alarmId = alarm.getId();
+        AppExecutors.getInstance().diskIO().execute(() -> SnoozeScheduler.engine(context, clock).dismiss(alarmId));
+    }
+
+    /**
+     * [추가] 여러 알람을 한 번에 예약하고 취소합니다. 프로필 전환({@link AlarmGroupDao#switchTo})처럼 상태가 바뀐 알람만 넘깁니다.
+     * 알람마다 schedule()/cancel()을 부르는 것과 달리, 정확한 알람 권한은 한 번만 확인하고 지금 시각도 한 번만 읽으며,
+     * Toast를 띄우지 않고, 남은 다시 울림 정리도 디스크 I/O 작업 하나로 묶습니다. 백그라운드 스레드에서 불러도 됩니다.
+     * [수정] 예약할 알람이 있는데 정확한 알람 권한이 없으면, 취소도 하지 않고 false를 돌려줍니다.
+     * 호출한 쪽은 DB에 저장한 상태를 되돌리거나 사용자에게 알려야 합니다.
+     * @param toSchedule 예약할(새로 켜진) 알람
+     * @param toCancel 취소할(새로 꺼진) 알람
+     * @return 모두 예약/취소했으면 true. AlarmManager가 없거나 권한이 없어 아무것도 하지 않았으면 false
+     */
+    public boolean applyBatch(List<Alarm> toSchedule, List<Alarm> toCancel) {
+        if (alarmManager == null) {
+            AlarmLog.e(TAG, "AlarmManager를 가져올 수 없습니다. 스케줄링을 중단합니다.");
+            return false;
+        }
+        if (!toSchedule.isEmpty() && !canScheduleExactAlarms()) {
+            AlarmLog.e(TAG, "정확한 알람을 예약할 수 있는 권한이 없어 {}개를 예약하지 못했습니다.", toSchedule.size());
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            for (Alarm alarm : toCancel) {
+                lifecycle.cancel(alarm);
+            }
+            long now = clock.currentTimeMillis();
+            for (Alarm alarm : toSchedule) {
+                setExact(alarm.getId(), calculateNextTriggerTime(alarm, now));
+            }
+        } finally {
+            BATCH_DURATION.recordSince(start);
+        }
+        if (!toCancel.isEmpty()) {
+            int[] alarmIds = new int[toCancel.size()];
+            for (int i = 0; i < alarmIds.length; i++) {
+                alarmIds[i] = toCancel.get(i).getId();
+            }
+            AppExecutors.getInstance().diskIO().execute(() -> {
+                SnoozeEngine engine = SnoozeScheduler.engine(context, clock);
+                for (int alarmId : alarmIds) {
+                    engine.dismiss(alarmId);
+                }
+            });
+        }
+        AlarmLog.d(TAG, "알람 {}개를 예약하고 {}개를 취소했습니다.", toSchedule.size(), toCancel.size());
+        return true;
+    }
+
+    /**
+     * [추가] 정확한 알람을 예약할 수 있는지 확인합니다. Android 12 (S) 미만은 권한이 필요 없습니다.
+     * DB를 먼저 바꾸는 일괄 작업(프로필 전환)은 바꾸기 전에 이것으로 확인합니다.
+     */
+    public boolean canScheduleExactAlarms() {
+        return alarmManager != null
+                && (Build.VERSION.SDK_INT < Build.VERSION_CODES.S || alarmManager.canScheduleExactAlarms());
+    }
+
+    private void cancelSingleAlarm(int alarmId) {
+        // PendingIntent는 extra를 비교하지 않으므로 예약 시각 없이 만들어도 같은 예약을 가리킵니다.
+        alarmManager.cancel(createPendingIntent(alarmId, 0));
+        AlarmLog.d(TAG, "알람 ID {}이(가) 취소되었습니다.", alarmId);
     }
 
     /**
      * 알람을 위한 PendingIntent를 생성합니다.
      * @param alarmId 알람의 고유 ID
+     * @param triggerAtMillis [추가] 예약 시각. 수신 측에 {@link #EXTRA_TRIGGER_AT}로 전달됩니다.
      * @return 생성된 PendingIntent
      */
-    private PendingIntent createPendingIntent(int alarmId) {
+    private PendingIntent createPendingIntent(int alarmId, long triggerAtMillis) {
         // AlarmReceiver에게 알람 이벤트를 전달할 Intent를 생성합니다.
         Intent intent = new Intent(context, AlarmReceiver.class);
         // 알람 ID를 Intent에 추가하여, 수신 측에서 어떤 알람이 울렸는지 식별할 수 있도록 합니다.
         intent.putExtra(MainActivity.ALARM_ID_EXTRA, alarmId);
+        intent.putExtra(EXTRA_TRIGGER_AT, triggerAtMillis);
 
         // 동일한 알람 ID에 대해서는 동일한 PendingIntent가 사용되도록 FLAG_UPDATE_CURRENT를 사용합니다.
         int flags = PendingIntent.FLAG_UPDATE_CURRENT;
@@ -2,31 +2,51 @@ package com.example.alarm;
 
 import android.app.Service;
 import android.content.Intent;
+import android.media.AudioAttributes;
 import android.media.MediaPlayer;
 import android.net.Uri;
+import android.os.Handler;
 import android.os.IBinder;
-import android.util.Log;
+import android.os.Looper;
+import android.speech.tts.TextToSpeech;
+import android.speech.tts.UtteranceProgressListener;
 
 import androidx.annotation.Nullable;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
 /**
  * 알람이 울릴 때 실제 음악을 백그라운드에서 재생하는 역할을 담당하는 Service 입니다.
  * Service는 Activity와 달리 화면(UI)이 없는 상태에서도 동작할 수 있는 앱 구성요소입니다.
  *
  * 이 Service는 AlarmReceiver에 의해 시작되며, 전달받은 음악 파일(URI)을 재생합니다.
+ * [추가] 날씨 TTS 알람이면 미리 합성된 날씨 안내를 먼저 재생하고, 파일이 없을 때만 실시간으로 합성합니다.
  */
 public class AlarmSoundService extends Service {
 
     private static final String TAG = "AlarmSoundService";
 
+    /** 알람음 URI를 전달할 때 사용하는 키 값 */
+    public static final String EXTRA_SOUND_URI = "SOUND_URI";
+    /** [추가] 미리 합성된 날씨 안내 음성 파일의 경로 */
+    public static final String EXTRA_ANNOUNCEMENT_FILE = "ANNOUNCEMENT_FILE";
+    /** [추가] 날씨 안내 문장. 미리 합성된 파일이 없을 때 실시간 합성에 사용합니다. */
+    public static final String EXTRA_ANNOUNCEMENT_TEXT = "ANNOUNCEMENT_TEXT";
+
     // 음악 재생을 위한 안드로이드의 핵심 클래스
     private MediaPlayer mediaPlayer;
+    // [추가] 미리 합성된 파일이 없을 때만 사용하는 실시간 TTS
+    private TextToSpeech textToSpeech;
+    // [추가] TTS 콜백(바인더 스레드)에서 재생 전환을 메인 스레드로 넘기기 위한 Handler
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     // Service가 생성될 때 한 번만 호출됩니다.
     @Override
     public void onCreate() {
         super.onCreate();
-        Log.d(TAG, "서비스 생성됨.");
+        AlarmLog.d(TAG, "서비스 생성됨.");
     }
 
     /**
@@ -40,26 +60,46 @@ public class AlarmSoundService extends Service {
      */
     @Override
     public int onStartCommand(Intent intent, int flags, int startId) {
-        Log.d(TAG, "서비스 시작됨.");
+        AlarmLog.d(TAG, "서비스 시작됨.");
 
         String soundUriString = null;
+        String announcementFile = null;
+        String announcementText = null;
         if (intent != null) {
             // AlarmReceiver로부터 전달받은 알람음 URI 문자열을 꺼냅니다.
-            soundUriString = intent.getStringExtra("SOUND_URI");
+            soundUriString = intent.getStringExtra(EXTRA_SOUND_URI);
+            // [추가] 날씨 TTS 알람이면 안내 음성 파일 경로와 안내 문장도 함께 전달됩니다.
+            announcementFile = intent.getStringExtra(EXTRA_ANNOUNCEMENT_FILE);
+            announcementText = intent.getStringExtra(EXTRA_ANNOUNCEMENT_TEXT);
+        }
+
+        // [추가] 안내가 있으면 안내를 먼저 재생하고, 끝난 뒤에 알람음을 재생합니다.
+        final String soundUriAfterAnnouncement = soundUriString;
+        if (announcementFile != null && new File(announcementFile).isFile()) {
+            playAnnouncementFile(announcementFile, announcementText, () -> playAlarmSound(soundUriAfterAnnouncement));
+        } else if (announcementText != null) {
+            speakLive(announcementText, () -> playAlarmSound(soundUriAfterAnnouncement));
+        } else {
+            playAlarmSound(soundUriString);
         }
 
+        // START_NOT_STICKY : 서비스가 강제로 종료되어도 시스템이 자동으로 재시작하지 않습니다.
+        // 알람은 정확한 시간에 한 번만 울리면 되므로, 이 설정이 적합합니다.
+        return START_NOT_STICKY;
+    }
+
+    /**
+     * [수정] 사용자가 고른 알람음을 반복 재생합니다. (기존 onStartCommand의 재생 로직을 분리했습니다.)
+     */
+    private void playAlarmSound(String soundUriString) {
         try {
             if (soundUriString != null) {
                 // 전달받은 URI 문자열이 있는 경우 (사용자가 알람음을 선택한 경우)
-                Log.d(TAG, "사용자 지정 알람음 재생: " + soundUriString);
+                AlarmLog.d(TAG, "사용자 지정 알람음 재생: {}", soundUriString);
                 Uri soundUri = Uri.parse(soundUriString);
 
                 // 만약 이전에 재생중인 음악이 있었다면, 깨끗이 정리하고 새로 시작합니다.
-                if (mediaPlayer != null && mediaPlayer.isPlaying()) {
-                    mediaPlayer.stop();
-                    mediaPlayer.release();
-                    mediaPlayer = null;
-                }
+                releaseMediaPlayer();
 
                 mediaPlayer = new MediaPlayer();
                 // 안드로이드 10 이상에서는 포그라운드 서비스 타입 명시가 권장되지만,
@@ -68,23 +108,92 @@ public class AlarmSoundService extends Service {
                 mediaPlayer.setLooping(true); // 음악을 무한 반복합니다.
                 mediaPlayer.prepareAsync(); // 비동기적으로 음악 파일을 준비합니다. (네트워크 스트리밍 등에서도 유용)
                 mediaPlayer.setOnPreparedListener(mp -> {
-                    Log.d(TAG, "음악 준비 완료. 재생 시작.");
+                    AlarmLog.d(TAG, "음악 준비 완료. 재생 시작.");
                     mp.start(); // 준비가 완료되면 재생을 시작합니다.
                 });
 
             } else {
                 // TODO: 사용자가 알람음을 선택하지 않은 경우, 기본 시스템 알람음을 재생하는 로직을 추가할 수 있습니다.
-                Log.d(TAG, "사용자 지정 알람음 없음. 기본 알람음 재생 필요.");
+                AlarmLog.d(TAG, "사용자 지정 알람음 없음. 기본 알람음 재생 필요.");
             }
         } catch (Exception e) {
-            Log.e(TAG, "알람음 재생 중 오류 발생", e);
+            AlarmLog.e(TAG, "알람음 재생 중 오류 발생", e);
             // 오류 발생 시, 서비스를 스스로 중지하여 리소스를 정리합니다.
             stopSelf();
         }
+    }
 
-        // START_NOT_STICKY : 서비스가 강제로 종료되어도 시스템이 자동으로 재시작하지 않습니다.
-        // 알람은 정확한 시간에 한 번만 울리면 되므로, 이 설정이 적합합니다.
-        return START_NOT_STICKY;
+    /**
+     * [추가] 미리 합성해 둔 날씨 안내 음성 파일을 한 번 재생합니다. 로컬 파일이므로 준비가 거의 즉시 끝납니다.
+     * 재생에 실패하면 실시간 합성으로 대신합니다.
+     */
+    private void playAnnouncementFile(String path, String fallbackText, Runnable onFinished) {
+        try {
+            releaseMediaPlayer();
+            mediaPlayer = new MediaPlayer();
+            mediaPlayer.setAudioAttributes(new AudioAttributes.Builder()
+                    .setUsage(AudioAttributes.USAGE_ALARM)
+                    .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                    .build());
+            mediaPlayer.setDataSource(path);
+            mediaPlayer.setOnCompletionListener(mp -> onFinished.run());
+            mediaPlayer.prepare();
+            mediaPlayer.start();
+            AlarmLog.d(TAG, "미리 합성된 날씨 안내 재생 시작.");
+        } catch (IOException | RuntimeException e) {
+            AlarmLog.w(TAG, "날씨 안내 파일을 재생하지 못해 실시간 합성으로 대신합니다.", e);
+            releaseMediaPlayer();
+            if (fallbackText != null) {
+                speakLive(fallbackText, onFinished);
+            } else {
+                onFinished.run();
+            }
+        }
+    }
+
+    /**
+     * [추가] 미리 합성된 파일이 없을 때만 사용하는 대비책입니다. TTS 엔진을 연결한 뒤 바로 읽어 줍니다.
+     * 엔진 연결에 몇 초가 걸릴 수 있으므로, 그동안 알람음은 아직 재생하지 않습니다.
+     */
+    private void speakLive(String text, Runnable onFinished) {
+        AlarmLog.d(TAG, "날씨 안내를 실시간으로 합성합니다.");
+        if (textToSpeech != null) {
+            textToSpeech.shutdown();
+        }
+        textToSpeech = new TextToSpeech(this, status -> {
+            if (status != TextToSpeech.SUCCESS || textToSpeech == null) {
+                AlarmLog.w(TAG, "TTS 엔진을 초기화하지 못했습니다.");
+                onFinished.run();
+                return;
+            }
+            textToSpeech.setLanguage(Locale.KOREAN);
+            textToSpeech.setOnUtteranceProgressListener(new UtteranceProgressListener() {
+                @Override
+                public void onStart(String utteranceId) {
+                }
+
+                @Override
+                public void onDone(String utteranceId) {
+                    mainHandler.post(onFinished);
+                }
+
+                @Override
+                public void onError(String utteranceId) {
+                    mainHandler.post(onFinished);
+                }
+            });
+            textToSpeech.speak(text, TextToSpeech.QUEUE_FLUSH, null, WeatherAnnouncement.hashOf(text));
+        });
+    }
+
+    private void releaseMediaPlayer() {
+        if (mediaPlayer != null) {
+            if (mediaPlayer.isPlaying()) {
+                mediaPlayer.stop();
+            }
+            mediaPlayer.release();
+            mediaPlayer = null;
+        }
     }
 
     /**
@@ -94,6 +203,12 @@ public class AlarmSoundService extends Service {
     @Override
     public void onDestroy() {
         super.onDestroy();
+        // [추가] 실시간 합성 중이었다면 TTS 엔진 연결을 끊습니다.
+        if (textToSpeech != null) {
+            textToSpeech.shutdown();
+            textToSpeech = null;
+        }
+        mainHandler.removeCallbacksAndMessages(null);
         if (mediaPlayer != null) {
             if (mediaPlayer.isPlaying()) {
                 mediaPlayer.stop();
@@ -101,7 +216,7 @@ public class AlarmSoundService extends Service {
             // MediaPlayer 객체가 사용하던 모든 리소스를 해제합니다.
             mediaPlayer.release();
             mediaPlayer = null;
-            Log.d(TAG, "서비스 소멸됨. MediaPlayer 리소스 해제 완료.");
+            AlarmLog.d(TAG, "서비스 소멸됨. MediaPlayer 리소스 해제 완료.");
         }
     }
 
@@ -6,9 +6,9 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 /**
  * UI(Activity/Fragment)를 위한 데이터를 제공하고, UI의 생명주기로부터 데이터를 보존하는 클래스.
@@ -22,6 +22,9 @@ import java.util.concurrent.Executors;
  */
 public class AlarmViewModel extends AndroidViewModel {
 
+    /** [추가] {@link #getSwitchedAlarmCount()}로 전달되는 값. 정확한 알람 권한이 없어 프로필을 바꾸지 않았습니다. */
+    public static final int SWITCH_DENIED = -1;
+
     // 데이터베이스에 접근하기 위한 DAO(Data Access Object)
     private final AlarmDao alarmDao;
 
@@ -33,8 +36,14 @@ public class AlarmViewModel extends AndroidViewModel {
     // MutableLiveData는 값을 변경할 수 있는 LiveData입니다.
     private final MutableLiveData<Long> newAlarmId = new MutableLiveData<>();
 
-    // 데이터베이스 I/O(입출력) 작업을 백그라운드 스레드에서 실행하기 위한 ExecutorService.
-    private final ExecutorService databaseWriteExecutor = Executors.newSingleThreadExecutor();
+    // [추가] 알람 그룹(프로필) 목록과, 프로필을 전환해 상태가 바뀐 알람 수
+    private final AlarmGroupDao alarmGroupDao;
+    private final LiveData<List<AlarmGroup>> allGroups;
+    private final MutableLiveData<Integer> switchedAlarmCount = new MutableLiveData<>();
+
+    // 데이터베이스 I/O(입출력) 작업을 백그라운드 스레드에서 실행하기 위한 Executor.
+    // [수정] ViewModel마다 스레드를 만들지 않고 앱 공용 디스크 I/O 풀을 사용합니다.
+    private final Executor databaseWriteExecutor = AppExecutors.getInstance().diskIO();
 
     public AlarmViewModel(@NonNull Application application) {
         super(application);
@@ -44,6 +53,8 @@ public class AlarmViewModel extends AndroidViewModel {
         this.alarmDao = db.alarmDao();
         // DAO를 통해 모든 알람 목록을 가져와 LiveData 멤버 변수에 할당합니다.
         this.allAlarms = alarmDao.getAllAlarms();
+        this.alarmGroupDao = db.alarmGroupDao();
+        this.allGroups = alarmGroupDao.getAllGroups();
     }
 
     /**
@@ -114,12 +125,74 @@ public class AlarmViewModel extends AndroidViewModel {
     }
 
     /**
-     * 이 ViewModel이 더 이상 사용되지 않아 소멸될 때 호출되는 콜백 메소드입니다.
+     * [추가] 알람 그룹(프로필) 목록을 이름 순으로 관찰합니다.
      */
-    @Override
-    protected void onCleared() {
-        super.onCleared();
-        // ExecutorService를 정상적으로 종료시킵니다.
-        databaseWriteExecutor.shutdown();
+    public LiveData<List<AlarmGroup>> getAllGroups() {
+        return allGroups;
     }
+
+    /**
+     * [추가] 프로필을 전환해 상태가 바뀐 알람 수를 관찰합니다. ({@link #switchProfile})
+     * [수정] 한 번만 알리는 값입니다. 처리한 뒤 {@link #onSwitchedAlarmCountShown()}을 부르고, null은 무시해야 합니다.
+     * 그렇지 않으면 화면을 회전해 다시 관찰할 때 마지막 값이 다시 전달되어 같은 알림이 또 뜹니다.
+     * [수정] 권한이 없어 전환하지 않았으면 {@link #SWITCH_DENIED}가 전달됩니다.
+     */
+    public LiveData<Integer> getSwitchedAlarmCount() {
+        return switchedAlarmCount;
+    }
+
+    /**
+     * [추가] 전환 결과를 화면에 보여 주었으므로 값을 비웁니다. 메인 스레드에서 부릅니다.
+     */
+    public void onSwitchedAlarmCountShown() {
+        switchedAlarmCount.setValue(null);
+    }
+
+    /**
+     * [추가] 선택한 알람들로 새 그룹을 만듭니다. 실제 작업은 백그라운드 스레드에서 실행됩니다.
+     */
+    public void createGroup(String name, List<Alarm> alarms) {
+        databaseWriteExecutor.execute(() -> alarmGroupDao.createGroup(name, alarms));
+    }
+
+    /**
+     * [추가] 그룹을 프로필로 켭니다. 알람마다 update()와 schedule()/cancel()을 부르지 않고,
+     * 한 트랜잭션으로 바뀐 알람만 고친 뒤 그 알람들만 한 번에 예약/취소합니다.
+     * [수정] 정확한 알람 권한이 없으면 DB를 바꾸지 않습니다. 바꾼 뒤에 예약이 실패하면(그사이 권한이 사라진 경우)
+     * 바꾼 알람을 되돌립니다. 켜졌다고 표시되지만 울리지 않는 알람이 남지 않게 하기 위해서입니다.
+     */
+    public void switchProfile(AlarmGroup group) {
+        databaseWriteExecutor.execute(() -> {
+            AlarmScheduler scheduler = new AlarmScheduler(getApplication());
+            if (!scheduler.canScheduleExactAlarms()) {
+                switchedAlarmCount.postValue(SWITCH_DENIED);
+                return;
+            }
+            ProfileSwitch result = alarmGroupDao.switchTo(group.getId());
+            if (!scheduler.applyBatch(result.getEnabled(), result.getDisabled())) {
+                revert(result);
+                switchedAlarmCount.postValue(SWITCH_DENIED);
+                return;
+            }
+            switchedAlarmCount.postValue(result.size());
+        });
+    }
+
+    /**
+     * [추가] 전환으로 바뀐 알람의 켜짐 상태를 되돌립니다. applyBatch()가 실패하면 아무것도 예약/취소하지 않았으므로,
+     * AlarmManager에 남아 있는 예약은 되돌린 상태와 같습니다.
+     */
+    private void revert(ProfileSwitch result) {
+        List<Alarm> reverted = new ArrayList<>(result.size());
+        for (Alarm alarm : result.getEnabled()) {
+            alarm.setEnabled(false);
+            reverted.add(alarm);
+        }
+        for (Alarm alarm : result.getDisabled()) {
+            alarm.setEnabled(true);
+            reverted.add(alarm);
+        }
+        alarmDao.updateAll(reverted);
+    }
+
 }
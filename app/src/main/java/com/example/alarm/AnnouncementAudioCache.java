@@ -0,0 +1,134 @@
+package com.example.alarm;
+
+import android.content.Context;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * [새로운 클래스] 미리 합성해 둔 날씨 안내 음성 파일을 보관하는 디스크 캐시입니다.
+ *
+ *  - 파일 이름은 안내 문장의 해시이므로, 같은 문장은 한 번만 합성합니다.
+ *  - 파일을 사용할 때마다 수정 시각을 갱신하고, 개수나 전체 크기가 한도를 넘으면
+ *    가장 오래 사용하지 않은 파일부터 지웁니다. (LRU)
+ *  - 합성은 임시 파일에 한 뒤 이름을 바꾸므로, 알람이 반쯤 쓰인 파일을 재생하는 일이 없습니다.
+ */
+public class AnnouncementAudioCache {
+
+    private static final String TAG = "AnnouncementAudioCache";
+
+    private static final String CACHE_DIR = "weather_tts";
+    private static final String EXTENSION = ".wav";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private static final int DEFAULT_MAX_ENTRIES = 8;
+    private static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    private static volatile AnnouncementAudioCache INSTANCE;
+
+    private final File directory;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Clock clock;
+
+    AnnouncementAudioCache(File directory, int maxEntries, long maxBytes, Clock clock) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * 앱 전체에서 공유하는 캐시 인스턴스를 가져옵니다. (싱글톤 패턴)
+     */
+    public static AnnouncementAudioCache getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (AnnouncementAudioCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AnnouncementAudioCache(new File(context.getApplicationContext().getCacheDir(), CACHE_DIR),
+                            DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES, Clock.SYSTEM);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 이 문장을 미리 합성한 파일을 찾습니다. 찾으면 최근 사용 시각을 갱신합니다.
+     * @return 재생할 수 있는 파일. 없으면 null
+     */
+    public synchronized File get(String text) {
+        File file = fileFor(text);
+        if (!file.isFile() || file.length() == 0) {
+            return null;
+        }
+        if (!file.setLastModified(clock.currentTimeMillis())) {
+            AlarmLog.w(TAG, "최근 사용 시각을 갱신하지 못했습니다: {}", file);
+        }
+        return file;
+    }
+
+    /**
+     * 합성 결과를 쓸 임시 파일을 만듭니다. 쓰기가 끝나면 {@link #commit}을 호출해야 합니다.
+     * @return 임시 파일. 캐시 폴더를 만들 수 없으면 null
+     */
+    public synchronized File newTempFile(String text) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            AlarmLog.w(TAG, "캐시 폴더를 만들 수 없습니다: {}", directory);
+            return null;
+        }
+        return new File(directory, WeatherAnnouncement.hashOf(text) + TEMP_EXTENSION);
+    }
+
+    /**
+     * 다 쓴 임시 파일을 캐시에 넣고, 한도를 넘었다면 오래된 파일을 지웁니다.
+     * @return 캐시에 들어간 파일. 실패하면 null
+     */
+    public synchronized File commit(String text, File tempFile) {
+        File target = fileFor(text);
+        if (tempFile.length() == 0 || !tempFile.renameTo(target)) {
+            AlarmLog.w(TAG, "합성 결과를 캐시에 넣지 못했습니다: {}", target);
+            tempFile.delete();
+            return null;
+        }
+        target.setLastModified(clock.currentTimeMillis());
+        evict(target);
+        return target;
+    }
+
+    /**
+     * 개수와 전체 크기가 한도 안에 들어올 때까지 가장 오래 사용하지 않은 파일부터 지웁니다.
+     * 방금 넣은 파일은 지우지 않습니다.
+     */
+    private void evict(File keep) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        int count = files.length;
+        long totalBytes = 0;
+        for (File file : files) {
+            totalBytes += file.length();
+        }
+        for (File file : files) {
+            if (count <= maxEntries && totalBytes <= maxBytes) {
+                break;
+            }
+            if (file.equals(keep)) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                count--;
+                totalBytes -= length;
+                AlarmLog.d(TAG, "오래된 안내 음성 삭제: {}", file.getName());
+            }
+        }
+    }
+
+    private File fileFor(String text) {
+        return new File(directory, WeatherAnnouncement.hashOf(text) + EXTENSION);
+    }
+}
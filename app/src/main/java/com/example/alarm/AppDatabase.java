@@ -3,27 +3,68 @@ package com.example.alarm;
 import android.content.Context;
 
 import androidx.room.Database;
+import androidx.room.InvalidationTracker;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * [기존 주석] Room 데이터베이스를 설정하고 관리하는 메인 클래스입니다.
  */
-// [핵심 수정] 데이터베이스 버전을 5에서 6으로 올립니다.
+// [핵심 수정] 데이터베이스 버전을 10에서 11로 올립니다.
 // version 2: isVibrationEnabled 필드 추가
 // version 3: 요일 반복(isMondayEnabled 등 7개) 필드 추가
 // version 4: 알람음(soundUri) 필드 추가
 // version 5: 알람 이름(name) 필드 추가
 // version 6: 날씨 TTS 기능(isWeatherTtsEnabled) 필드가 추가되어 스키마가 변경되었기 때문입니다.
-@Database(entities = {Alarm.class}, version = 6, exportSchema = false)
+// version 7: 날짜별 예외(alarm_exceptions) 테이블 추가
+// version 8: 공휴일 건너뛰기(skipHolidays) 필드 추가
+// version 9: 반복 규칙(recurrence) 필드 추가
+// version 10: 교대 패턴(shift_ 컬럼 4개) 추가
+// version 11: 알람 그룹(alarm_groups)과 연결(alarm_group_members) 테이블 추가
+@Database(entities = {Alarm.class, AlarmException.class, AlarmGroup.class, AlarmGroupMember.class}, version = 11,
+        exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
 
-    public abstract AlarmDao alarmDao();
+    // [수정] Room이 구현하는 DAO는 직접 내보내지 않고, 호출 시간을 기록하는 {@link MeteredAlarmDao}로 감싸서 내보냅니다.
+    protected abstract AlarmDao roomAlarmDao();
+
+    private volatile AlarmDao meteredAlarmDao;
+
+    /** [추가] 날짜별 예외 DAO. 다음 울림 계산은 {@link AlarmExceptionRepository}의 색인을 사용합니다. */
+    public abstract AlarmExceptionDao alarmExceptionDao();
+
+    /** [추가] 알람 그룹(프로필) DAO */
+    public abstract AlarmGroupDao alarmGroupDao();
+
+    // [추가] Room이 실행하는 SQL 문을 받아 느린 DAO 호출과 함께 기록합니다. getDatabase()에서 빌더에 등록한 뒤 넣습니다.
+    private SlowQueryLogger slowQueryLogger;
 
     private static volatile AppDatabase INSTANCE;
 
+    /** [추가] 실행 계획 검사에서 허용하는 전체 스캔 쿼리 (기준선) */
+    static final Set<String> ACCEPTED_FULL_SCANS = new HashSet<>(Arrays.asList(
+            AlarmDao.ENABLED_ALARMS_QUERY, AlarmDao.WEATHER_ALARMS_QUERY));
+
+    /**
+     * [추가] 알람 DAO를 가져옵니다. 호출마다 걸린 시간이 {@link MetricsRegistry}에 기록됩니다.
+     */
+    public AlarmDao alarmDao() {
+        if (meteredAlarmDao == null) {
+            synchronized (this) {
+                if (meteredAlarmDao == null) {
+                    meteredAlarmDao = new MeteredAlarmDao(roomAlarmDao(), MetricsRegistry.getInstance(), slowQueryLogger);
+                }
+            }
+        }
+        return meteredAlarmDao;
+    }
+
     // [기존 주석] 버전 3 -> 4 마이그레이션.
     static final Migration MIGRATION_3_4 = new Migration(3, 4) {
         @Override
@@ -55,6 +96,68 @@ public abstract class AppDatabase extends RoomDatabase {
     };
     // ------------------- //
 
+    /**
+     * [추가] 버전 6 -> 7: 날짜별 예외 테이블. 알람을 지우면 예외도 함께 지워지고, 지난 예외는 date 인덱스로 지웁니다.
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `alarm_exceptions` (`alarm_id` INTEGER NOT NULL, "
+                    + "`date` INTEGER NOT NULL, `override_minute` INTEGER NOT NULL, PRIMARY KEY(`alarm_id`, `date`), "
+                    + "FOREIGN KEY(`alarm_id`) REFERENCES `alarms`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_alarm_exceptions_date` ON `alarm_exceptions` (`date`)");
+        }
+    };
+
+    /**
+     * [추가] 버전 7 -> 8: 공휴일 건너뛰기. 기존 알람은 꺼진 상태(0)로 시작합니다.
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE alarms ADD COLUMN skip_holidays INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    /**
+     * [추가] 버전 8 -> 9: 반복 규칙({@link RecurrenceRule}). 기존 알람은 규칙 없음(0)으로 요일 반복을 그대로 씁니다.
+     */
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE alarms ADD COLUMN recurrence INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    /**
+     * [추가] 버전 9 -> 10: 교대 패턴({@link ShiftPattern}). cycle_length가 0이면 패턴이 없는 알람입니다.
+     */
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE alarms ADD COLUMN shift_anchor_day INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE alarms ADD COLUMN shift_cycle_length INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE alarms ADD COLUMN shift_cycle INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE alarms ADD COLUMN shift_minutes INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    /**
+     * [추가] 버전 10 -> 11: 알람 그룹과 연결 테이블. 그룹이나 알람을 지우면 연결도 함께 지워집니다.
+     */
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `alarm_groups` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`name` TEXT)");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `alarm_group_members` (`group_id` INTEGER NOT NULL, "
+                    + "`alarm_id` INTEGER NOT NULL, PRIMARY KEY(`group_id`, `alarm_id`), "
+                    + "FOREIGN KEY(`group_id`) REFERENCES `alarm_groups`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`alarm_id`) REFERENCES `alarms`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_alarm_group_members_alarm_id` "
+                    + "ON `alarm_group_members` (`alarm_id`)");
+        }
+    };
 
     /**
      * [기존 주석] 데이터베이스 인스턴스를 가져오는 정적 메소드입니다. (싱글톤 패턴)
@@ -63,15 +166,72 @@ public abstract class AppDatabase extends RoomDatabase {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
+                    // [추가] 디버그 빌드에서는 DAO 쿼리마다 실행 계획을 검사합니다. (쿼리는 INSTANCE가 정해진 뒤에만 실행됩니다.)
+                    QueryPlanChecker planChecker = BuildConfig.DEBUG
+                            ? new QueryPlanChecker(QueryPlanChecker.fromDatabase(() -> INSTANCE),
+                                    AppExecutors.getInstance().diskIO(), ACCEPTED_FULL_SCANS, false, MetricsRegistry.getInstance())
+                            : null;
+                    SlowQueryLogger slowQueryLogger = new SlowQueryLogger(MetricsRegistry.getInstance(),
+                            SlowQueryLogger.DEFAULT_THRESHOLD_MILLIS, planChecker);
                     INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
                                     AppDatabase.class, "alarm_database")
                             // [핵심 수정] 새로 만든 MIGRATION_5_6을 마이그레이션 경로에 추가합니다.
                             // Room은 버전에 맞는 마이그레이션을 순서대로 실행하여 데이터 손실 없이 DB 구조를 변경합니다.
-                            .addMigrations(MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6)
+                            .addMigrations(MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8,
+                                    MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11)
+                            // [추가] Room의 기본 실행기 대신 앱 공용 디스크 I/O 풀을 사용합니다. (쿼리/트랜잭션 모두)
+                            .setQueryExecutor(AppExecutors.getInstance().diskIO())
+                            .setTransactionExecutor(AppExecutors.getInstance().diskIO())
+                            // [추가] 콜백을 쿼리하는 스레드에서 바로 실행해야 DAO 호출과 문장을 짝지을 수 있습니다.
+                            .setQueryCallback(slowQueryLogger, Runnable::run)
                             .build();
+                    INSTANCE.slowQueryLogger = slowQueryLogger;
+                    registerDirectBootMirror(context.getApplicationContext(), INSTANCE);
+                    registerExceptionIndex(context.getApplicationContext(), INSTANCE);
                 }
             }
         }
         return INSTANCE;
     }
+
+    /**
+     * [추가] 'alarms' 테이블이 바뀔 때마다 Direct Boot 미러를 다시 쓰도록 관찰자를 등록합니다.
+     * DAO의 insert/update/delete가 어디서 호출되든 Room의 InvalidationTracker가 변경을 알려주므로,
+     * 호출하는 쪽(ViewModel, Receiver 등)에서 미러를 따로 신경 쓸 필요가 없습니다.
+     */
+    private static void registerDirectBootMirror(Context appContext, AppDatabase db) {
+        // [수정] DirectBootAlarmMirror.get()은 파일 경로를 만들며 디스크에 접근하므로, 메인 스레드에서 부르지 않고
+        // 아래처럼 Room의 백그라운드 스레드에서 필요할 때 가져옵니다. (StrictMode 디스크 읽기 위반)
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("alarms") {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                // [주석] 이 콜백은 Room의 백그라운드(쿼리) 스레드에서 호출되므로, 여기서 바로 DAO를 사용할 수 있습니다.
+                DirectBootAlarmMirror.get(appContext).rewriteFrom(db.alarmDao());
+                // [추가] 날씨 TTS 알람이 바뀌었을 수 있으므로 날씨 미리 받기 작업도 다시 예약합니다.
+                WeatherPrefetchScheduler.update(appContext, db.alarmDao().getWeatherAlarmsNonLive());
+            }
+        });
+        // [주석] 앱을 업데이트한 직후처럼 아직 미러 파일이 없을 수 있으므로, 처음 한 번은 바로 기록합니다.
+        // [수정] 미러에 날짜별 예외도 기록하므로 예외 색인을 먼저 읽습니다.
+        db.getQueryExecutor().execute(() -> {
+            AlarmExceptionRepository.ensureLoaded(appContext, db);
+            DirectBootAlarmMirror.get(appContext).rewriteFrom(db.alarmDao());
+        });
+    }
+
+    /**
+     * [추가] 'alarm_exceptions' 테이블이 바뀔 때마다 예외 색인을 다시 만들고 영향받는 알람을 다시 예약합니다.
+     * 데이터베이스를 열 때도 한 번 읽으며, 이때 지난 날짜의 예외를 지웁니다.
+     */
+    private static void registerExceptionIndex(Context appContext, AppDatabase db) {
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("alarm_exceptions") {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                AlarmExceptionRepository.refresh(appContext, db);
+                // [추가] Direct Boot 미러의 다음 울림 시각과 예외도 새 색인으로 다시 씁니다.
+                DirectBootAlarmMirror.get(appContext).rewriteFrom(db.alarmDao());
+            }
+        });
+        db.getQueryExecutor().execute(() -> AlarmExceptionRepository.ensureLoaded(appContext, db));
+    }
 }
@@ -0,0 +1,167 @@
+package com.example.alarm;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * [새로운 클래스] 앱 전체에서 공유하는 스레드 풀 모음입니다. 클래스마다 만들던 Executor를 용도별 풀 네 개로 모았습니다.
+ *
+ *  - diskIO: 데이터베이스(Room의 쿼리/트랜잭션 실행기)와 캐시 파일 읽기/쓰기. 스레드 3개, 백그라운드 우선순위
+ *  - network: OkHttp의 비동기 호출(Dispatcher)과 네트워크 응답을 기다리는 작업. OkHttp 기본값처럼 필요한 만큼 스레드를 만들어,
+ *    응답을 기다리는 작업이 비동기 호출이 실행될 스레드를 막지 않게 합니다. 백그라운드 우선순위
+ *  - compute: 비트맵 디코딩 같은 CPU 작업. 코어 수에 맞춘 스레드와 제한된 대기열을 쓰며, 가득 차면 거절합니다.
+ *  - wake: 알람이 울리는 경로(AlarmReceiver). 다른 풀의 작업에 밀리지 않도록 전용 스레드 하나를 높은 우선순위로 둡니다.
+ *
+ * 모든 풀은 {@link InstrumentedExecutor}로 감싸져 있어 {@link #getMetrics()}로 대기열 길이, 대기 시간, 거절 횟수를 볼 수 있습니다.
+ * 테스트에서는 {@link #direct()}로 모든 작업을 호출한 스레드에서 바로 실행하는 인스턴스로 바꿀 수 있습니다.
+ */
+public final class AppExecutors {
+
+    private static final int DISK_THREADS = 3;
+    private static final int COMPUTE_QUEUE_CAPACITY = 64;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static volatile AppExecutors INSTANCE;
+
+    private final InstrumentedExecutor diskIO;
+    private final InstrumentedExecutor network;
+    private final InstrumentedExecutor compute;
+    private final InstrumentedExecutor wake;
+    private final Executor mainThread;
+
+    @VisibleForTesting
+    AppExecutors(Executor diskIO, Executor network, Executor compute, Executor wake, Executor mainThread) {
+        this.diskIO = new InstrumentedExecutor("disk", diskIO);
+        this.network = new InstrumentedExecutor("network", network);
+        this.compute = new InstrumentedExecutor("compute", compute);
+        this.wake = new InstrumentedExecutor("wake", wake);
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * 앱 전체에서 공유하는 인스턴스를 가져옵니다. (싱글톤 패턴)
+     */
+    public static AppExecutors getInstance() {
+        if (INSTANCE == null) {
+            synchronized (AppExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = createDefault();
+                    INSTANCE.registerGauges(MetricsRegistry.getInstance());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * [테스트용] 공유 인스턴스를 바꿉니다. null을 넘기면 다음 getInstance()에서 기본 풀을 다시 만듭니다.
+     */
+    @VisibleForTesting
+    static void setInstance(AppExecutors executors) {
+        synchronized (AppExecutors.class) {
+            INSTANCE = executors;
+        }
+    }
+
+    /**
+     * [테스트용] 모든 작업을 호출한 스레드에서 바로 실행하는 인스턴스. 실행 순서가 항상 같으므로 결과를 결정적으로 검증할 수 있습니다.
+     */
+    @VisibleForTesting
+    static AppExecutors direct() {
+        Executor direct = Runnable::run;
+        return new AppExecutors(direct, direct, direct, direct, direct);
+    }
+
+    private static AppExecutors createDefault() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor disk = new ThreadPoolExecutor(DISK_THREADS, DISK_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("alarm-disk", Process.THREAD_PRIORITY_BACKGROUND));
+        disk.allowCoreThreadTimeOut(true);
+        ThreadPoolExecutor network = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory("alarm-net", Process.THREAD_PRIORITY_BACKGROUND));
+        int computeThreads = Math.max(2, cpus - 1);
+        ThreadPoolExecutor compute = new ThreadPoolExecutor(computeThreads, computeThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(COMPUTE_QUEUE_CAPACITY),
+                threadFactory("alarm-compute", Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_MORE_FAVORABLE));
+        compute.allowCoreThreadTimeOut(true);
+        ThreadPoolExecutor wake = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("alarm-wake", Process.THREAD_PRIORITY_FOREGROUND));
+        wake.allowCoreThreadTimeOut(true);
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        return new AppExecutors(disk, network, compute, wake, mainHandler::post);
+    }
+
+    /**
+     * 이름에 번호를 붙인 스레드를 만들고, 스레드 안에서 우선순위를 정합니다.
+     * (android.os.Process.setThreadPriority는 호출한 스레드의 우선순위를 바꾸므로 스레드 안에서 불러야 합니다.)
+     */
+    private static ThreadFactory threadFactory(String prefix, int priority) {
+        AtomicInteger number = new AtomicInteger();
+        return runnable -> new Thread(() -> {
+            Process.setThreadPriority(priority);
+            runnable.run();
+        }, prefix + "-" + number.incrementAndGet());
+    }
+
+    public ExecutorService diskIO() {
+        return diskIO;
+    }
+
+    public ExecutorService network() {
+        return network;
+    }
+
+    public ExecutorService compute() {
+        return compute;
+    }
+
+    public ExecutorService wake() {
+        return wake;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * [추가] 풀별 대기열 길이, 실행 중인 작업 수, 거절 횟수를 지표 레지스트리에 게이지로 등록합니다.
+     */
+    void registerGauges(MetricsRegistry registry) {
+        for (InstrumentedExecutor executor : Arrays.asList(diskIO, network, compute, wake)) {
+            String pool = executor.getName();
+            registry.gauge("executor_queue_depth", "풀 대기열에서 기다리는 작업 수",
+                    () -> executor.snapshot().queueDepth, "pool", pool);
+            registry.gauge("executor_active_tasks", "풀에서 실행 중인 작업 수",
+                    () -> executor.snapshot().activeCount, "pool", pool);
+            registry.gauge("executor_rejected_tasks", "풀이 거절한 작업의 누적 수",
+                    () -> executor.snapshot().rejectedCount, "pool", pool);
+        }
+    }
+
+    /**
+     * 풀별 측정값을 가져옵니다. (disk, network, compute, wake 순서)
+     */
+    public List<ExecutorMetrics> getMetrics() {
+        List<ExecutorMetrics> metrics = new ArrayList<>();
+        for (InstrumentedExecutor executor : Arrays.asList(diskIO, network, compute, wake)) {
+            metrics.add(executor.snapshot());
+        }
+        return metrics;
+    }
+}
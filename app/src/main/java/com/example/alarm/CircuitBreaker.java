@@ -0,0 +1,79 @@
+package com.example.alarm;
+
+/**
+ * [새로운 클래스] 연속된 실패가 기준을 넘으면 일정 시간 요청을 막는 서킷 브레이커입니다.
+ *
+ *  - CLOSED: 정상. 요청을 보냅니다.
+ *  - OPEN: 연속 실패가 기준을 넘은 상태. openMillis 동안 요청을 보내지 않습니다.
+ *  - HALF_OPEN: openMillis가 지난 뒤 시험 요청 하나만 보내 본 상태. 성공하면 CLOSED, 실패하면 다시 OPEN입니다.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int failureThreshold, long openMillis, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 요청을 보내도 되는지 확인합니다. HALF_OPEN에서는 시험 요청 하나만 허락합니다.
+     */
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.currentTimeMillis() - openedAtMillis >= openMillis) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMillis = clock.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 성공도 실패도 아닌 결과(예: 모든 호출자가 취소)로 시험 요청이 끝났을 때, 다음 시험 요청을 허락합니다.
+     */
+    synchronized void onAbandoned() {
+        probeInFlight = false;
+    }
+
+    synchronized State getState() {
+        if (state == State.OPEN && clock.currentTimeMillis() - openedAtMillis >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.alarm;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * [새로운 클래스] Room의 'alarm_database'는 자격 증명 암호화(CE) 저장소에 있어서, 재부팅 후 사용자가
+ * 잠금을 해제하기 전까지는 읽을 수 없습니다. 이 클래스는 활성화된 알람의 '다음 울림 시각'과
+ * 알람을 울리는 데 필요한 최소한의 정보(이름, 진동, 알람음 등)를 기기 보호(DE) 저장소에
+ * 고정 길이 레코드 파일로 복사해 둡니다.
+ *
+ * [수정] 파일 형식(헤더와 레코드)은 alarm-core 모듈의 {@link AlarmRecordCodec}이 읽고 씁니다.
+ *
+ * 읽을 때는 파일을 메모리 매핑(mmap)하여 SQLite를 열지 않고도 바로 레코드에 접근하고,
+ * 쓸 때는 임시 파일에 모두 기록한 뒤 rename 하여 항상 완전한 파일만 보이도록(원자적 교체) 합니다.
+ */
+public final class DirectBootAlarmMirror {
+
+    private static final String TAG = "DirectBootAlarmMirror";
+
+    static final String FILE_NAME = "alarm_mirror.bin";
+    private static final String TEMP_FILE_NAME = FILE_NAME + ".tmp";
+
+    private static volatile DirectBootAlarmMirror INSTANCE;
+
+    private final File file;
+    private final File tempFile;
+    // [추가] 다음 울림 시각을 계산할 기준 시각은 이 시계에서만 읽습니다. (AlarmScheduler와 같은 방식)
+    private final Clock clock;
+
+    // 마지막으로 매핑한 파일 내용. 파일이 다시 쓰이면 null로 초기화되어 다음 읽기 때 새로 매핑됩니다.
+    private MappedByteBuffer mapped;
+
+    /**
+     * [수정] 시계를 주입받습니다. 앱에서는 {@link #get}이 시스템 시계로 만들고, 테스트는 가짜 시계로 직접 만듭니다.
+     */
+    DirectBootAlarmMirror(File directory, Clock clock) {
+        this.file = new File(directory, FILE_NAME);
+        this.tempFile = new File(directory, TEMP_FILE_NAME);
+        this.clock = clock;
+    }
+
+    /**
+     * 미러 인스턴스를 가져옵니다. 잠금 해제 전에도 접근할 수 있도록 항상 기기 보호 저장소를 사용합니다.
+     */
+    public static DirectBootAlarmMirror get(Context context) {
+        if (INSTANCE == null) {
+            synchronized (DirectBootAlarmMirror.class) {
+                if (INSTANCE == null) {
+                    Context deviceContext = context.getApplicationContext().createDeviceProtectedStorageContext();
+                    INSTANCE = new DirectBootAlarmMirror(deviceContext.getFilesDir(), Clock.SYSTEM);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * DAO의 현재 활성 알람으로 미러 파일을 다시 씁니다. 반드시 백그라운드 스레드에서 호출해야 합니다.
+     */
+    public void rewriteFrom(AlarmDao alarmDao) {
+        // [수정] 날짜별 예외도 함께 기록합니다. 잠금 해제 전에는 DB를 열 수 없기 때문입니다.
+        rewrite(alarmDao.getEnabledAlarmsNonLive(), AlarmExceptionRepository.current());
+    }
+
+    /**
+     * 전달받은 알람 목록으로 미러 파일 전체를 원자적으로 교체합니다.
+     * [수정] 다음 울림 시각은 주입받은 시계의 지금 시각을 기준으로 계산합니다.
+     * @param alarms 미러에 기록할 (활성화된) 알람 목록
+     * @param exceptions [추가] 다음 울림 시각에 반영하고 함께 기록할 날짜별 예외
+     */
+    synchronized void rewrite(List<Alarm> alarms, AlarmExceptionIndex exceptions) {
+        ByteBuffer buffer = AlarmRecordCodec.encode(alarms, clock.currentTimeMillis(), TimeZone.getDefault(), exceptions);
+
+        try (FileOutputStream out = new FileOutputStream(tempFile)) {
+            FileChannel channel = out.getChannel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // rename 전에 디스크에 확실히 기록되도록 합니다. 그렇지 않으면 전원이 꺼졌을 때 빈 파일이 남을 수 있습니다.
+            out.getFD().sync();
+        } catch (IOException e) {
+            AlarmLog.e(TAG, "미러 임시 파일 기록 실패", e);
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            AlarmLog.e(TAG, "미러 파일 교체(rename) 실패");
+            return;
+        }
+        mapped = null;
+        AlarmLog.d(TAG, "Direct Boot 미러 갱신 완료: {}개의 알람", alarms.size());
+    }
+
+    /**
+     * 미러에 기록된 모든 알람을 읽어옵니다. 파일이 없거나 손상되었으면 빈 목록을 반환합니다.
+     */
+    public synchronized List<AlarmRecord> readAll() {
+        ByteBuffer buffer = map();
+        if (buffer == null) {
+            return Collections.emptyList();
+        }
+        return AlarmRecordCodec.readAll(buffer);
+    }
+
+    /**
+     * [추가] 미러에 기록된 날짜별 예외를 읽습니다. 파일이 없거나 손상되었으면 비어 있습니다.
+     */
+    public synchronized AlarmExceptionIndex readExceptions() {
+        ByteBuffer buffer = map();
+        if (buffer == null) {
+            return AlarmExceptionIndex.EMPTY;
+        }
+        return AlarmRecordCodec.readExceptions(buffer);
+    }
+
+    /**
+     * 특정 알람 ID의 레코드만 찾습니다.
+     * @return 해당 알람의 레코드. 없으면 null
+     */
+    public synchronized AlarmRecord find(int alarmId) {
+        ByteBuffer buffer = map();
+        if (buffer == null) {
+            return null;
+        }
+        return AlarmRecordCodec.find(buffer, alarmId);
+    }
+
+    private ByteBuffer map() {
+        if (mapped == null) {
+            if (!file.exists()) {
+                return null;
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                FileChannel channel = raf.getChannel();
+                // 채널을 닫아도 매핑된 버퍼는 유효합니다.
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                AlarmLog.e(TAG, "미러 파일 매핑 실패", e);
+                return null;
+            }
+        }
+        if (!AlarmRecordCodec.isValid(mapped)) {
+            AlarmLog.w(TAG, "미러 파일 형식이 올바르지 않습니다.");
+            return null;
+        }
+        return mapped;
+    }
+}
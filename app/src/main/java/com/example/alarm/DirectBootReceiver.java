@@ -0,0 +1,142 @@
+package com.example.alarm;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * [새로운 클래스] 기기 부팅을 감지하여 알람을 다시 예약하는 BroadcastReceiver 입니다.
+ * AlarmManager에 예약된 알람은 재부팅하면 모두 사라지므로, 부팅 직후 다시 등록해야 합니다.
+ *
+ *  - LOCKED_BOOT_COMPLETED: 잠금 해제 전(Direct Boot). 데이터베이스를 열 수 없으므로
+ *    {@link DirectBootAlarmMirror}의 레코드만으로 알람을 예약합니다.
+ *  - BOOT_COMPLETED: 잠금 해제 후. 잠금 상태에서 울린 단일 알람을 DB에 반영(비활성화)한 뒤,
+ *    원본인 데이터베이스 기준으로 다시 예약합니다.
+ *
+ * 매니페스트에 android:directBootAware="true"로 등록되어 있어야 잠금 해제 전에도 호출됩니다.
+ */
+public class DirectBootReceiver extends BroadcastReceiver {
+
+    private static final String TAG = "DirectBootReceiver";
+
+    // 기기 보호 저장소에 있는 SharedPreferences 이름과 키
+    private static final String PREFS_NAME = "direct_boot_state";
+    private static final String KEY_FIRED_ONE_SHOT_IDS = "fired_one_shot_ids";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        AlarmLog.d(TAG, "부팅 이벤트 수신: {}", action);
+
+        if (Intent.ACTION_LOCKED_BOOT_COMPLETED.equals(action)) {
+            // [수정] 미러 파일 읽기(mmap), SharedPreferences, AlarmManager 호출이 있으므로 메인 스레드에서 하지 않습니다.
+            // 부팅 직후 알람을 되살리는 일이라 다른 작업에 밀리지 않는 알람 전용(wake) 풀에서 실행합니다.
+            final PendingResult pendingResult = goAsync();
+            AppExecutors.getInstance().wake().execute(() -> {
+                try {
+                    rescheduleFromMirror(context);
+                } finally {
+                    pendingResult.finish();
+                }
+            });
+        } else if (Intent.ACTION_BOOT_COMPLETED.equals(action)) {
+            // [주석] DB 작업은 메인 스레드에서 할 수 없으므로, goAsync()로 수신을 연장한 뒤 별도의 스레드에서 처리합니다.
+            final PendingResult pendingResult = goAsync();
+            // [수정] 앱 공용 디스크 I/O 풀에서 실행합니다.
+            AppExecutors.getInstance().diskIO().execute(() -> {
+                try {
+                    rescheduleFromDatabase(context);
+                } finally {
+                    pendingResult.finish();
+                }
+            });
+        }
+    }
+
+    /**
+     * 잠금 해제 전: 미러 파일(메모리 매핑)만 읽어서 알람을 예약합니다. SQLite는 열지 않습니다.
+     */
+    private void rescheduleFromMirror(Context context) {
+        Context deviceContext = context.createDeviceProtectedStorageContext();
+        Set<String> firedIds = getFiredOneShotIds(deviceContext);
+        AlarmScheduler alarmScheduler = new AlarmScheduler(deviceContext);
+        DirectBootAlarmMirror mirror = DirectBootAlarmMirror.get(deviceContext);
+        // [추가] 다음 울림 계산에 날짜별 예외가 반영되도록 미러에 기록된 예외를 먼저 씁니다.
+        AlarmExceptionRepository.useMirrored(mirror.readExceptions());
+        List<AlarmRecord> entries = mirror.readAll();
+        for (AlarmRecord entry : entries) {
+            // 이미 잠금 상태에서 울린 단일 알람은 다시 예약하지 않습니다.
+            if (!entry.isRepeating() && firedIds.contains(String.valueOf(entry.alarmId))) {
+                continue;
+            }
+            alarmScheduler.reschedule(entry.toAlarm(false));
+        }
+        AlarmLog.d(TAG, "Direct Boot 미러로부터 {}개의 알람을 다시 예약했습니다.", entries.size());
+        // [추가] 다시 울림도 AlarmManager에서 사라졌으므로 기기 보호 저장소의 상태로 다시 예약합니다.
+        restoreSnoozes(deviceContext);
+    }
+
+    /**
+     * 잠금 해제 후: 잠금 상태에서 울린 단일 알람을 비활성화하고, DB의 활성 알람을 모두 다시 예약합니다.
+     */
+    private void rescheduleFromDatabase(Context context) {
+        AppDatabase db = AppDatabase.getDatabase(context.getApplicationContext());
+        AlarmDao alarmDao = db.alarmDao();
+        // [추가] 다음 울림 계산에 날짜별 예외가 반영되도록 색인을 먼저 읽습니다.
+        AlarmExceptionRepository.ensureLoaded(context.getApplicationContext(), db);
+
+        for (String id : consumeFiredOneShotIds(context.createDeviceProtectedStorageContext())) {
+            Alarm alarm = alarmDao.getAlarmByIdNonLive(Integer.parseInt(id));
+            if (alarm != null && !alarm.isRepeating() && alarm.isEnabled()) {
+                alarm.setEnabled(false);
+                alarmDao.update(alarm);
+            }
+        }
+
+        AlarmScheduler alarmScheduler = new AlarmScheduler(context);
+        List<Alarm> alarms = alarmDao.getEnabledAlarmsNonLive();
+        for (Alarm alarm : alarms) {
+            alarmScheduler.reschedule(alarm);
+        }
+        AlarmLog.d(TAG, "데이터베이스로부터 {}개의 알람을 다시 예약했습니다.", alarms.size());
+        // [추가] 잠금 해제 전 단계를 거치지 않는 기기도 있으므로 여기서도 복구합니다. (같은 예약을 덮어쓰므로 두 번 불려도 됩니다.)
+        restoreSnoozes(context);
+
+        // [추가] 날씨 미리 받기 작업도 알람 기준으로 다시 맞춥니다.
+        WeatherPrefetchScheduler.update(context);
+    }
+
+    private static void restoreSnoozes(Context context) {
+        int restored = SnoozeScheduler.engine(context).restore();
+        AlarmLog.d(TAG, "다시 울림 {}개를 다시 예약했습니다.", restored);
+    }
+
+    /**
+     * 잠금 해제 전에 울린 단일 알람의 ID를 기록합니다. DB를 수정할 수 없으므로, 잠금 해제 후
+     * {@link #rescheduleFromDatabase}에서 한꺼번에 비활성화합니다.
+     * @param deviceContext 기기 보호 저장소 Context
+     */
+    static void recordOneShotFiredWhileLocked(Context deviceContext, int alarmId) {
+        SharedPreferences prefs = deviceContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        Set<String> ids = new HashSet<>(prefs.getStringSet(KEY_FIRED_ONE_SHOT_IDS, new HashSet<>()));
+        ids.add(String.valueOf(alarmId));
+        prefs.edit().putStringSet(KEY_FIRED_ONE_SHOT_IDS, ids).commit();
+    }
+
+    private static Set<String> getFiredOneShotIds(Context deviceContext) {
+        SharedPreferences prefs = deviceContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return new HashSet<>(prefs.getStringSet(KEY_FIRED_ONE_SHOT_IDS, new HashSet<>()));
+    }
+
+    private static Set<String> consumeFiredOneShotIds(Context deviceContext) {
+        Set<String> ids = getFiredOneShotIds(deviceContext);
+        deviceContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                .edit().remove(KEY_FIRED_ONE_SHOT_IDS).commit();
+        return ids;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.alarm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * [새로운 클래스] 최근 로그 이벤트를 고정된 개수만큼 보관하는 링 버퍼입니다. {@link AlarmLog}가 사용합니다.
+ *
+ * 알람이 울리는 경로에서도 기록하므로 잠금을 쓰지 않습니다. 쓰는 쪽은 원자적으로 순번을 하나 받아
+ * 그 순번의 칸에 이벤트를 넣기만 하고, 가득 차면 가장 오래된 칸을 덮어씁니다.
+ * 읽는 쪽은 각 칸의 이벤트가 기대한 순번인지 확인하여, 아직 쓰이는 중이거나 이미 덮어쓴 칸은 건너뜁니다.
+ */
+final class EventRing {
+
+    private final AtomicReferenceArray<Event> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * @param capacity 보관할 이벤트 수. 2의 거듭제곱이어야 합니다.
+     */
+    EventRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("용량은 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    void record(long timeMillis, int level, String tag, String template, Object[] args, Throwable throwable) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Event(sequence, timeMillis, Thread.currentThread().getName(),
+                level, tag, template, args, throwable));
+    }
+
+    /**
+     * 지금 남아 있는 이벤트를 오래된 것부터 돌려줍니다.
+     */
+    List<Event> snapshot() {
+        long end = nextSequence.get();
+        long start = Math.max(0, end - capacity());
+        List<Event> events = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Event event = slots.get((int) (sequence & mask));
+            if (event != null && event.sequence == sequence) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /** 기록된 이벤트 하나. 메시지는 읽을 때({@link #message()}) 만듭니다. */
+    static final class Event {
+        final long sequence;
+        final long timeMillis;
+        final String threadName;
+        final int level;
+        final String tag;
+        final String template;
+        final Object[] args;
+        final Throwable throwable;
+
+        Event(long sequence, long timeMillis, String threadName, int level, String tag, String template,
+              Object[] args, Throwable throwable) {
+            this.sequence = sequence;
+            this.timeMillis = timeMillis;
+            this.threadName = threadName;
+            this.level = level;
+            this.tag = tag;
+            this.template = template;
+            this.args = args;
+            this.throwable = throwable;
+        }
+
+        String message() {
+            return AlarmLog.format(template, args);
+        }
+    }
+}
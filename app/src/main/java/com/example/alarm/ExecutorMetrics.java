@@ -0,0 +1,40 @@
+package com.example.alarm;
+
+import java.util.Locale;
+
+/**
+ * [새로운 클래스] {@link AppExecutors} 풀 하나의 측정값 (불변 스냅샷)
+ */
+public final class ExecutorMetrics {
+
+    /** 풀 이름 ("disk", "network", "compute", "wake") */
+    public final String name;
+    /** 실행을 기다리는 작업 수 */
+    public final int queueDepth;
+    /** 지금 실행 중인 작업 수 */
+    public final int activeCount;
+    /** 실행을 마친 작업 수 */
+    public final long completedCount;
+    /** 풀이 가득 차거나 종료되어 거절된 작업 수 */
+    public final long rejectedCount;
+    /** 제출부터 실행 시작까지의 평균/최대 대기 시간 (마이크로초) */
+    public final long averageWaitMicros;
+    public final long maxWaitMicros;
+
+    ExecutorMetrics(String name, int queueDepth, int activeCount, long completedCount, long rejectedCount,
+                    long averageWaitMicros, long maxWaitMicros) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.activeCount = activeCount;
+        this.completedCount = completedCount;
+        this.rejectedCount = rejectedCount;
+        this.averageWaitMicros = averageWaitMicros;
+        this.maxWaitMicros = maxWaitMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s: queued=%d active=%d completed=%d rejected=%d wait(avg=%dus max=%dus)",
+                name, queueDepth, activeCount, completedCount, rejectedCount, averageWaitMicros, maxWaitMicros);
+    }
+}
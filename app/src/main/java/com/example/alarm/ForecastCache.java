@@ -0,0 +1,202 @@
+package com.example.alarm;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import retrofit2.Response;
+
+/**
+ * [새로운 클래스] 위치 구역별 5일 예보({@link ForecastSlab})를 보관하는 캐시입니다.
+ *
+ * 현재 날씨(WeatherRepository)는 받은 순간의 날씨일 뿐이라 알람마다 울리기 직전에 다시 받아야 하지만,
+ * 예보는 한 번 받으면 앞으로 며칠 동안 울릴 모든 날씨 TTS 알람의 "그 시각의 날씨"를 알려 줍니다.
+ * 그래서 {@link #getRefreshIntervalMillis()} 간격으로 한 번만 받아 두고, 알람은 {@link #weatherAt}으로 꺼내 씁니다.
+ *
+ * 메모리에는 구역별로 하나씩, 디스크에는 압축된 이진 파일로 보관하여 프로세스가 새로 시작되어도 네트워크 없이 읽습니다.
+ */
+public class ForecastCache {
+
+    private static final String TAG = "ForecastCache";
+
+    /** 기본 갱신 주기: 6시간. 제공자는 3시간마다 예보를 갱신하지만, 알람 용도로는 이 정도면 충분합니다. */
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 6 * 60 * 60 * 1000L;
+
+    /** 알람 알림에 보여 줄 수 있는 예보의 최대 나이: 하루. 그보다 오래된 예보는 믿지 않습니다. */
+    public static final long MAX_USABLE_AGE_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private static final String CACHE_DIR = "forecast_cache";
+    private static final String EXTENSION = ".forecast";
+
+    private static volatile ForecastCache INSTANCE;
+
+    private final WeatherApiService apiService;
+    private final String apiKey;
+    private final File directory;
+    private final long refreshIntervalMillis;
+    private final Clock clock;
+
+    // 구역 키별 메모리 캐시. 예보 하나가 1KB 남짓이고 구역도 몇 개뿐이므로 크기를 제한하지 않습니다.
+    private final Map<String, CachedForecast> memoryCache = new HashMap<>();
+
+    ForecastCache(WeatherApiService apiService, String apiKey, File directory, long refreshIntervalMillis, Clock clock) {
+        this.apiService = apiService;
+        this.apiKey = apiKey;
+        this.directory = directory;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 앱 전체에서 공유하는 캐시 인스턴스를 가져옵니다. (싱글톤 패턴)
+     */
+    public static ForecastCache getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ForecastCache.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    INSTANCE = new ForecastCache(RetrofitClient.getApiService(appContext), BuildConfig.WEATHER_API_KEY,
+                            new File(appContext.getCacheDir(), CACHE_DIR), DEFAULT_REFRESH_INTERVAL_MILLIS, Clock.SYSTEM);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+    /**
+     * 네트워크에 접근하지 않고 해당 구역의 예보를 돌려줍니다. 갱신 주기는 따지지 않습니다.
+     * 디스크를 읽을 수 있으므로 백그라운드 스레드에서 호출해야 합니다.
+     * @return 캐시된 예보. 없으면 null
+     */
+    public CachedForecast get(LocationBucket bucket) {
+        synchronized (memoryCache) {
+            CachedForecast cached = memoryCache.get(bucket.getKey());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        CachedForecast fromDisk = readDisk(bucket);
+        if (fromDisk != null) {
+            synchronized (memoryCache) {
+                memoryCache.put(bucket.getKey(), fromDisk);
+            }
+        }
+        return fromDisk;
+    }
+
+    /**
+     * 해당 구역의 예보를 새로 받아야 하는지 여부. 예보가 없거나, 갱신 주기가 지났으면 true
+     */
+    public boolean needsRefresh(LocationBucket bucket) {
+        CachedForecast cached = get(bucket);
+        return cached == null || clock.currentTimeMillis() - cached.fetchedAtMillis >= refreshIntervalMillis;
+    }
+
+    /**
+     * 네트워크에 접근하지 않고, 예보에서 주어진 시각의 날씨를 찾습니다.
+     * 디스크를 읽을 수 있으므로 백그라운드 스레드에서 호출해야 합니다.
+     * @return 예보가 없거나 그 시각이 예보 범위 밖이면 null
+     */
+    public WeatherResponse weatherAt(LocationBucket bucket, long timeMillis) {
+        CachedForecast cached = get(bucket);
+        return cached != null ? cached.slab.weatherAt(timeMillis) : null;
+    }
+
+    /**
+     * 해당 구역의 예보를 네트워크에서 받아 저장할 때까지 기다립니다. 미리 받기 작업처럼 백그라운드 스레드에서 호출해야 합니다.
+     * 동시에 여러 번 불려도 하나씩 처리하며, 앞선 호출이 방금 받아 둔 예보가 있으면 다시 요청하지 않습니다.
+     * @return 성공 여부
+     */
+    public synchronized boolean refreshBlocking(LocationBucket bucket) {
+        if (!needsRefresh(bucket)) {
+            return true;
+        }
+        try {
+            Response<ForecastSlab> response = apiService.getForecast(
+                    bucket.getLatitude(), bucket.getLongitude(), apiKey, "metric", "kr").execute();
+            ForecastSlab slab = response.body();
+            if (!response.isSuccessful() || slab == null || slab.isEmpty()) {
+                AlarmLog.w(TAG, "예보를 가져오는 데 실패했습니다. (오류 코드: {})", response.code());
+                return false;
+            }
+            CachedForecast fresh = new CachedForecast(bucket, slab, clock.currentTimeMillis());
+            synchronized (memoryCache) {
+                memoryCache.put(bucket.getKey(), fresh);
+            }
+            writeDisk(fresh);
+            AlarmLog.d(TAG, "예보 갱신: {} ({}칸)", bucket, slab.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            AlarmLog.w(TAG, "예보 요청 실패: {}", bucket, e);
+            return false;
+        }
+    }
+
+    private File fileFor(LocationBucket bucket) {
+        return new File(directory, bucket.getKey() + EXTENSION);
+    }
+
+    /**
+     * 디스크 형식: 받아온 시각(long) 뒤에 {@link ForecastSlab#writeTo}의 내용
+     */
+    private CachedForecast readDisk(LocationBucket bucket) {
+        File file = fileFor(bucket);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            long fetchedAt = in.readLong();
+            return new CachedForecast(bucket, ForecastSlab.readFrom(in), fetchedAt);
+        } catch (IOException e) {
+            AlarmLog.w(TAG, "예보 캐시를 읽을 수 없습니다: {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeDisk(CachedForecast cached) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            AlarmLog.w(TAG, "예보 캐시 폴더를 만들 수 없습니다: {}", directory);
+            return;
+        }
+        File target = fileFor(cached.bucket);
+        File temp = new File(directory, cached.bucket.getKey() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeLong(cached.fetchedAtMillis);
+            cached.slab.writeTo(out);
+        } catch (IOException e) {
+            AlarmLog.w(TAG, "예보 캐시를 쓸 수 없습니다: {}", target, e);
+            return;
+        }
+        if (!temp.renameTo(target)) {
+            AlarmLog.w(TAG, "예보 캐시 파일 교체 실패: {}", target);
+        }
+    }
+
+    /** 위치 구역, 받아온 시각과 함께 보관되는 예보 */
+    public static final class CachedForecast {
+        public final LocationBucket bucket;
+        public final ForecastSlab slab;
+        public final long fetchedAtMillis;
+
+        CachedForecast(@NonNull LocationBucket bucket, @NonNull ForecastSlab slab, long fetchedAtMillis) {
+            this.bucket = bucket;
+            this.slab = slab;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+}
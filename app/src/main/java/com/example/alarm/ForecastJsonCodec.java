@@ -0,0 +1,186 @@
+package com.example.alarm;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [새로운 클래스] OpenWeatherMap 5일 예보(forecast) JSON을 스트리밍으로 읽어 바로 {@link ForecastSlab}을 만듭니다.
+ * {@link WeatherJsonCodec}과 같은 방식으로, 칸마다 시각(dt), 기온(main.temp), 첫 번째 날씨의 설명/아이콘만 꺼내고
+ * 나머지(wind, clouds, pop 등)는 객체를 만들지 않고 건너뜁니다.
+ */
+final class ForecastJsonCodec {
+
+    // 날씨 상태 번호를 byte 하나에 저장하므로, 서로 다른 상태는 최대 이만큼만 구분합니다.
+    private static final int MAX_CONDITIONS = 127;
+
+    private ForecastJsonCodec() {
+    }
+
+    static ForecastSlab read(JsonReader in) throws IOException {
+        String cityName = null;
+        long[] times = new long[0];
+        float[] temperatures = new float[0];
+        byte[] conditions = new byte[0];
+        List<String> descriptions = new ArrayList<>();
+        List<String> icons = new ArrayList<>();
+        Map<String, Byte> conditionIndex = new HashMap<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "city":
+                    cityName = readCityName(in);
+                    break;
+                case "list": {
+                    int size = 0;
+                    // 5일 예보는 보통 40칸이므로 그만큼 잡아 두고, 모자라면 늘립니다.
+                    times = new long[40];
+                    temperatures = new float[40];
+                    conditions = new byte[40];
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        if (size == times.length) {
+                            times = Arrays.copyOf(times, size * 2);
+                            temperatures = Arrays.copyOf(temperatures, size * 2);
+                            conditions = Arrays.copyOf(conditions, size * 2);
+                        }
+                        Slot slot = readSlot(in);
+                        String conditionKey = slot.description + '\u0000' + slot.icon;
+                        Byte condition = conditionIndex.get(conditionKey);
+                        if (condition == null) {
+                            if (descriptions.size() >= MAX_CONDITIONS) {
+                                throw new IOException("예보의 날씨 상태 종류가 너무 많습니다.");
+                            }
+                            condition = (byte) descriptions.size();
+                            conditionIndex.put(conditionKey, condition);
+                            descriptions.add(slot.description);
+                            icons.add(slot.icon);
+                        }
+                        times[size] = slot.timeMillis;
+                        temperatures[size] = slot.temperature;
+                        conditions[size] = condition;
+                        size++;
+                    }
+                    in.endArray();
+                    times = Arrays.copyOf(times, size);
+                    temperatures = Arrays.copyOf(temperatures, size);
+                    conditions = Arrays.copyOf(conditions, size);
+                    break;
+                }
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        for (int i = 1; i < times.length; i++) {
+            if (times[i] < times[i - 1]) {
+                throw new IOException("예보 시각이 정렬되어 있지 않습니다.");
+            }
+        }
+        return new ForecastSlab(cityName, times, temperatures, conditions,
+                descriptions.toArray(new String[0]), icons.toArray(new String[0]));
+    }
+
+    /** 예보 한 칸에서 꺼낸 값 (파싱하는 동안에만 사용) */
+    private static final class Slot {
+        long timeMillis;
+        float temperature;
+        String description;
+        String icon;
+    }
+
+    private static Slot readSlot(JsonReader in) throws IOException {
+        Slot slot = new Slot();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "dt":
+                    slot.timeMillis = in.nextLong() * 1000L;
+                    break;
+                case "main":
+                    slot.temperature = readTemperature(in);
+                    break;
+                case "weather":
+                    readFirstCondition(in, slot);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return slot;
+    }
+
+    private static float readTemperature(JsonReader in) throws IOException {
+        float temperature = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("temp".equals(in.nextName()) && in.peek() != JsonToken.NULL) {
+                temperature = (float) in.nextDouble();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return temperature;
+    }
+
+    private static void readFirstCondition(JsonReader in, Slot slot) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+        boolean first = true;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (!first) {
+                in.skipValue();
+                continue;
+            }
+            first = false;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "description":
+                        slot.description = WeatherJsonCodec.nextStringOrNull(in);
+                        break;
+                    case "icon":
+                        slot.icon = WeatherJsonCodec.nextStringOrNull(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+        }
+        in.endArray();
+    }
+
+    private static String readCityName(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String name = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("name".equals(in.nextName())) {
+                name = WeatherJsonCodec.nextStringOrNull(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return name;
+    }
+}
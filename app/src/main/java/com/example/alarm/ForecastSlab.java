@@ -0,0 +1,177 @@
+package com.example.alarm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * [새로운 클래스] 여러 날에 걸친 날씨 예보를 시간 순서의 배열로 압축해 보관하는 불변 객체입니다.
+ *
+ * OpenWeatherMap의 5일 예보(3시간 간격, 약 40칸)를 칸마다 객체로 두지 않고, 시각/기온/날씨 상태를
+ * 각각의 기본형 배열에 나란히 저장합니다. 날씨 설명과 아이콘은 종류가 몇 개뿐이므로 표(table)에 한 번만 두고
+ * 칸에는 그 번호만 저장합니다. "T 시각의 날씨"는 시각 배열에서 이진 탐색으로 찾습니다.
+ */
+public final class ForecastSlab {
+
+    // 디스크 형식 식별자와 버전
+    private static final int MAGIC = 0x46435354; // "FCST"
+    private static final int VERSION = 1;
+
+    private final String cityName;
+    private final long[] timesMillis;
+    private final float[] temperatures;
+    private final byte[] conditions;
+    private final String[] descriptions;
+    private final String[] icons;
+
+    /**
+     * @param timesMillis 각 칸의 예보 시각. 오름차순이어야 합니다.
+     * @param conditions 각 칸의 날씨 상태 번호 (descriptions/icons 표의 위치)
+     */
+    ForecastSlab(String cityName, long[] timesMillis, float[] temperatures, byte[] conditions,
+                 String[] descriptions, String[] icons) {
+        if (timesMillis.length != temperatures.length || timesMillis.length != conditions.length
+                || descriptions.length != icons.length) {
+            throw new IllegalArgumentException("배열 길이가 맞지 않습니다.");
+        }
+        this.cityName = cityName;
+        this.timesMillis = timesMillis;
+        this.temperatures = temperatures;
+        this.conditions = conditions;
+        this.descriptions = descriptions;
+        this.icons = icons;
+    }
+
+    public String getCityName() {
+        return cityName;
+    }
+
+    public int size() {
+        return timesMillis.length;
+    }
+
+    public boolean isEmpty() {
+        return timesMillis.length == 0;
+    }
+
+    /** 예보 칸 사이의 간격. 칸이 하나뿐이면 3시간으로 봅니다. */
+    long slotMillis() {
+        return timesMillis.length >= 2 ? timesMillis[1] - timesMillis[0] : 3 * 60 * 60 * 1000L;
+    }
+
+    /** 예보가 다루는 마지막 시각 (마지막 칸의 절반 간격 뒤까지) */
+    public long getHorizonEndMillis() {
+        return isEmpty() ? Long.MIN_VALUE : timesMillis[timesMillis.length - 1] + slotMillis() / 2;
+    }
+
+    /**
+     * 주어진 시각과 가장 가까운 예보 칸을 이진 탐색으로 찾습니다.
+     * @return 칸 번호. 예보 범위(첫 칸 한 간격 전 ~ 마지막 칸 반 간격 뒤) 밖이면 -1
+     */
+    public int indexAt(long timeMillis) {
+        if (isEmpty() || timeMillis < timesMillis[0] - slotMillis() || timeMillis >= getHorizonEndMillis()) {
+            return -1;
+        }
+        int insertion = Arrays.binarySearch(timesMillis, timeMillis);
+        if (insertion >= 0) {
+            return insertion;
+        }
+        int after = -insertion - 1;
+        if (after == 0) {
+            return 0;
+        }
+        if (after == timesMillis.length) {
+            return timesMillis.length - 1;
+        }
+        int before = after - 1;
+        return timeMillis - timesMillis[before] <= timesMillis[after] - timeMillis ? before : after;
+    }
+
+    /** 이 시각을 예보가 다루는지 여부 */
+    public boolean covers(long timeMillis) {
+        return indexAt(timeMillis) >= 0;
+    }
+
+    public long timeAt(int index) {
+        return timesMillis[index];
+    }
+
+    public float temperatureAt(int index) {
+        return temperatures[index];
+    }
+
+    public String descriptionAt(int index) {
+        return descriptions[conditions[index]];
+    }
+
+    public String iconAt(int index) {
+        return icons[conditions[index]];
+    }
+
+    /**
+     * 주어진 시각의 예보를 기존 화면/TTS 코드가 쓰는 WeatherResponse 형태로 돌려줍니다.
+     * @return 예보 범위 밖이면 null
+     */
+    public WeatherResponse weatherAt(long timeMillis) {
+        int index = indexAt(timeMillis);
+        if (index < 0) {
+            return null;
+        }
+        return new WeatherResponse(cityName,
+                Collections.singletonList(new Weather(null, descriptionAt(index), iconAt(index))),
+                new MainWeatherData(temperatureAt(index)));
+    }
+
+    /**
+     * 압축된 이진 형식으로 씁니다. 5일 예보 기준 1KB 남짓입니다.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(cityName != null ? cityName : "");
+        out.writeByte(descriptions.length);
+        for (int i = 0; i < descriptions.length; i++) {
+            out.writeUTF(descriptions[i] != null ? descriptions[i] : "");
+            out.writeUTF(icons[i] != null ? icons[i] : "");
+        }
+        out.writeShort(timesMillis.length);
+        for (int i = 0; i < timesMillis.length; i++) {
+            out.writeLong(timesMillis[i]);
+            out.writeFloat(temperatures[i]);
+            out.writeByte(conditions[i]);
+        }
+    }
+
+    /**
+     * {@link #writeTo}로 쓴 내용을 읽습니다.
+     * @throws IOException 형식이 맞지 않거나 파일이 잘린 경우
+     */
+    static ForecastSlab readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("예보 캐시 형식이 올바르지 않습니다.");
+        }
+        String cityName = in.readUTF();
+        int conditionCount = in.readUnsignedByte();
+        String[] descriptions = new String[conditionCount];
+        String[] icons = new String[conditionCount];
+        for (int i = 0; i < conditionCount; i++) {
+            descriptions[i] = in.readUTF();
+            icons[i] = in.readUTF();
+        }
+        int size = in.readUnsignedShort();
+        long[] times = new long[size];
+        float[] temperatures = new float[size];
+        byte[] conditions = new byte[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = in.readLong();
+            temperatures[i] = in.readFloat();
+            conditions[i] = in.readByte();
+            if ((conditions[i] & 0xFF) >= conditionCount) {
+                throw new IOException("예보 캐시의 날씨 상태 번호가 올바르지 않습니다.");
+            }
+        }
+        return new ForecastSlab(cityName.isEmpty() ? null : cityName, times, temperatures, conditions, descriptions, icons);
+    }
+}
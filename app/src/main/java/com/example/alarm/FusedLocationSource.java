@@ -0,0 +1,73 @@
+package com.example.alarm;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.location.Location;
+
+import com.google.android.gms.location.CurrentLocationRequest;
+import com.google.android.gms.location.FusedLocationProviderClient;
+import com.google.android.gms.location.LocationServices;
+import com.google.android.gms.location.Priority;
+
+/**
+ * [새로운 클래스] Google Play 서비스의 FusedLocationProviderClient로 위치를 얻는 {@link LocationSource} 구현입니다.
+ * 위치 권한은 호출하는 쪽에서 미리 확인해야 합니다. 권한이 없으면 null을 전달합니다.
+ */
+public class FusedLocationSource implements LocationSource {
+
+    private static final String TAG = "FusedLocationSource";
+
+    // 새 위치를 기다리는 최대 시간. 알람 전후로 오래 기다리지 않도록 짧게 잡습니다.
+    private static final long CURRENT_LOCATION_TIMEOUT_MILLIS = 10 * 1000L;
+
+    private final FusedLocationProviderClient client;
+
+    public FusedLocationSource(Context context) {
+        this.client = LocationServices.getFusedLocationProviderClient(context.getApplicationContext());
+    }
+
+    @SuppressLint("MissingPermission")
+    @Override
+    public void getLastKnownLocation(Callback callback) {
+        try {
+            client.getLastLocation()
+                    .addOnSuccessListener(location -> callback.onLocation(toFix(location)))
+                    .addOnFailureListener(e -> {
+                        AlarmLog.w(TAG, "마지막 위치를 가져오지 못했습니다.", e);
+                        callback.onLocation(null);
+                    });
+        } catch (SecurityException e) {
+            AlarmLog.w(TAG, "위치 권한이 없습니다.", e);
+            callback.onLocation(null);
+        }
+    }
+
+    @SuppressLint("MissingPermission")
+    @Override
+    public void requestLowPowerLocation(Callback callback) {
+        CurrentLocationRequest request = new CurrentLocationRequest.Builder()
+                // [주석] GPS를 켜지 않는 저전력(도시 블록 수준) 위치면 날씨를 고르기에 충분합니다.
+                .setPriority(Priority.PRIORITY_LOW_POWER)
+                .setDurationMillis(CURRENT_LOCATION_TIMEOUT_MILLIS)
+                .build();
+        try {
+            client.getCurrentLocation(request, null)
+                    .addOnSuccessListener(location -> callback.onLocation(toFix(location)))
+                    .addOnFailureListener(e -> {
+                        AlarmLog.w(TAG, "새 위치를 가져오지 못했습니다.", e);
+                        callback.onLocation(null);
+                    });
+        } catch (SecurityException e) {
+            AlarmLog.w(TAG, "위치 권한이 없습니다.", e);
+            callback.onLocation(null);
+        }
+    }
+
+    private static LocationFix toFix(Location location) {
+        if (location == null) {
+            return null;
+        }
+        float accuracy = location.hasAccuracy() ? location.getAccuracy() : Float.MAX_VALUE;
+        return new LocationFix(location.getLatitude(), location.getLongitude(), accuracy, location.getTime());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+/**
+ * [새로운 클래스] HTTP 호출 한 건의 단계별 소요 시간(밀리초)을 담는 값 객체입니다.
+ * {@link HttpMetricsEventListener}가 호출이 끝날 때 만들어 {@link HttpMetricsEventListener.Recorder}로 넘깁니다.
+ *
+ * 해당 단계가 일어나지 않은 경우(예: 풀에 있던 연결을 재사용해 DNS 조회와 연결이 없었던 경우) 값은 -1 입니다.
+ */
+public final class HttpCallMetrics {
+
+    public final String url;
+    public final long dnsMillis;
+    public final long connectMillis;
+    /** 호출 시작부터 응답 헤더를 받기 시작할 때까지 걸린 시간 (TTFB) */
+    public final long ttfbMillis;
+    public final long totalMillis;
+    public final boolean success;
+    /** HTTP 캐시에서 바로 응답했는지 여부 (네트워크를 전혀 사용하지 않음) */
+    public final boolean fromCache;
+
+    HttpCallMetrics(String url, long dnsMillis, long connectMillis, long ttfbMillis, long totalMillis,
+                    boolean success, boolean fromCache) {
+        this.url = url;
+        this.dnsMillis = dnsMillis;
+        this.connectMillis = connectMillis;
+        this.ttfbMillis = ttfbMillis;
+        this.totalMillis = totalMillis;
+        this.success = success;
+        this.fromCache = fromCache;
+    }
+
+    /** 새 연결을 맺지 않고 커넥션 풀의 연결을 재사용했는지 여부 */
+    public boolean isConnectionReused() {
+        return connectMillis < 0;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "HttpCallMetrics{" + url
+                + ", dns=" + dnsMillis + "ms"
+                + ", connect=" + connectMillis + "ms"
+                + ", ttfb=" + ttfbMillis + "ms"
+                + ", total=" + totalMillis + "ms"
+                + (fromCache ? ", cache" : "")
+                + (success ? "" : ", failed")
+                + '}';
+    }
+}
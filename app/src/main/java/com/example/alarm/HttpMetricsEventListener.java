@@ -0,0 +1,121 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * [새로운 클래스] OkHttp 호출마다 DNS 조회, 연결, 첫 바이트(TTFB), 전체 소요 시간을 기록하는 EventListener 입니다.
+ * EventListener는 호출 하나에 대해 한 스레드에서 순서대로 불리므로, 호출마다 새 인스턴스를 만들어
+ * 잠금 없이 타임스탬프를 필드에 저장합니다. ({@link #factory(Recorder)} 참고)
+ */
+public final class HttpMetricsEventListener extends EventListener {
+
+    /**
+     * 호출 한 건의 측정이 끝날 때마다 결과를 받는 쪽입니다. 여러 스레드에서 동시에 호출될 수 있습니다.
+     */
+    public interface Recorder {
+        void record(@NonNull HttpCallMetrics metrics);
+    }
+
+    private final Recorder recorder;
+
+    private long callStartNanos;
+    private long dnsStartNanos = -1;
+    private long dnsMillis = -1;
+    private long connectStartNanos = -1;
+    private long connectMillis = -1;
+    private long ttfbMillis = -1;
+    private boolean fromCache;
+
+    private HttpMetricsEventListener(Recorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * OkHttpClient.Builder#eventListenerFactory 에 넘길 팩토리를 만듭니다.
+     */
+    public static EventListener.Factory factory(Recorder recorder) {
+        return call -> new HttpMetricsEventListener(recorder);
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        if (dnsStartNanos >= 0) {
+            dnsMillis = elapsedMillis(dnsStartNanos);
+        }
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy,
+                           @Nullable Protocol protocol) {
+        if (connectStartNanos >= 0) {
+            connectMillis = elapsedMillis(connectStartNanos);
+        }
+    }
+
+    @Override
+    public void connectFailed(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy,
+                              @Nullable Protocol protocol, @NonNull IOException ioe) {
+        if (connectStartNanos >= 0) {
+            connectMillis = elapsedMillis(connectStartNanos);
+        }
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        ttfbMillis = elapsedMillis(callStartNanos);
+    }
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response response) {
+        fromCache = true;
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        finish(call, true);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        finish(call, false);
+    }
+
+    private void finish(Call call, boolean success) {
+        long totalMillis = elapsedMillis(callStartNanos);
+        // [주석] 캐시에서 응답하면 헤더 수신 이벤트가 없으므로, 첫 바이트까지의 시간을 전체 시간으로 봅니다.
+        long ttfb = ttfbMillis >= 0 ? ttfbMillis : (fromCache ? totalMillis : -1);
+        recorder.record(new HttpCallMetrics(call.request().url().encodedPath(), dnsMillis, connectMillis,
+                ttfb, totalMillis, success, fromCache));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.alarm;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [새로운 클래스] 다른 Executor를 감싸서 대기열 길이, 대기 시간, 거절 횟수를 측정하는 실행기입니다.
+ * {@link AppExecutors}의 모든 풀이 이 클래스로 감싸져 있습니다.
+ *
+ * OkHttp의 Dispatcher처럼 ExecutorService를 요구하는 곳에도 넘길 수 있도록 AbstractExecutorService를 상속합니다.
+ * 종료(shutdown) 관련 메소드는 감싼 실행기가 ExecutorService일 때만 전달하며, 앱 전체에서 공유하는 풀이므로
+ * 보통은 종료하지 않습니다.
+ */
+final class InstrumentedExecutor extends AbstractExecutorService {
+
+    private final String name;
+    private final Executor delegate;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    InstrumentedExecutor(String name, Executor delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long submittedAt = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                long waitNanos = System.nanoTime() - submittedAt;
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                totalWaitNanos.addAndGet(waitNanos);
+                maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+                try {
+                    command.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 현재 측정값의 스냅샷을 만듭니다.
+     */
+    ExecutorMetrics snapshot() {
+        long done = completed.get() + active.get();
+        long total = totalWaitNanos.get();
+        return new ExecutorMetrics(name, queued.get(), active.get(), completed.get(), rejected.get(),
+                done == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(total / done),
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()));
+    }
+
+    @Override
+    public void shutdown() {
+        if (delegate instanceof ExecutorService) {
+            ((ExecutorService) delegate).shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        if (delegate instanceof ExecutorService) {
+            return ((ExecutorService) delegate).shutdownNow();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate instanceof ExecutorService && ((ExecutorService) delegate).isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate instanceof ExecutorService && ((ExecutorService) delegate).isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return !(delegate instanceof ExecutorService) || ((ExecutorService) delegate).awaitTermination(timeout, unit);
+    }
+}
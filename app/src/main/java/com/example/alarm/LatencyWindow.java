@@ -0,0 +1,48 @@
+package com.example.alarm;
+
+import java.util.Arrays;
+
+/**
+ * [새로운 클래스] 최근 응답 시간 표본을 고정 크기의 원형 버퍼에 보관하고 분위수를 계산합니다.
+ * 헤지 요청의 지연 시간과 측정 지표에 사용합니다. 모든 메소드는 스레드에 안전합니다.
+ */
+final class LatencyWindow {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /**
+     * @param percentile 0~1 사이의 분위 (예: 0.9)
+     * @param minSamples 계산에 필요한 최소 표본 수
+     * @return 분위수(밀리초). 표본이 minSamples보다 적으면 -1
+     */
+    long percentile(double percentile, int minSamples) {
+        long[] sorted;
+        synchronized (this) {
+            if (count == 0 || count < minSamples) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.min(sorted.length - 1, Math.max(0, index))];
+    }
+}
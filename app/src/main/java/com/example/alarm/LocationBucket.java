@@ -0,0 +1,88 @@
+package com.example.alarm;
+
+import java.util.Locale;
+
+/**
+ * [새로운 클래스] 위도/경도를 일정한 격자(grid) 단위로 반올림한 '위치 구역'입니다.
+ * 몇 미터 차이로 위치가 바뀔 때마다 새로 날씨를 요청하지 않도록, 날씨 캐시의 키로 사용합니다.
+ * 기본 격자 크기(0.05도)는 위도 기준 약 5.5km로, 날씨가 달라지지 않는 범위입니다.
+ */
+public final class LocationBucket {
+
+    /** 기본 격자 크기 (도 단위) */
+    public static final double DEFAULT_GRID_DEGREES = 0.05;
+
+    private final double latitude;
+    private final double longitude;
+    private final String key;
+
+    private LocationBucket(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.key = String.format(Locale.US, "%.3f_%.3f", latitude, longitude);
+    }
+
+    /** 기본 격자 크기로 위치를 반올림합니다. */
+    public static LocationBucket of(double latitude, double longitude) {
+        return of(latitude, longitude, DEFAULT_GRID_DEGREES);
+    }
+
+    /**
+     * 주어진 격자 크기로 위치를 반올림합니다.
+     * @param gridDegrees 격자 한 칸의 크기 (도 단위)
+     */
+    public static LocationBucket of(double latitude, double longitude, double gridDegrees) {
+        return new LocationBucket(round(latitude, gridDegrees), round(longitude, gridDegrees));
+    }
+
+    /**
+     * {@link #getKey()}로 만든 문자열을 다시 LocationBucket으로 되돌립니다. (디스크 캐시 파일 이름 해석용)
+     * @return 형식이 올바르지 않으면 null
+     */
+    public static LocationBucket fromKey(String key) {
+        int separator = key.indexOf('_');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new LocationBucket(Double.parseDouble(key.substring(0, separator)),
+                    Double.parseDouble(key.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static double round(double value, double gridDegrees) {
+        return Math.round(value / gridDegrees) * gridDegrees;
+    }
+
+    /** 격자 중심의 위도. 날씨 API에는 원래 좌표 대신 이 값을 보냅니다. */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /** 격자 중심의 경도 */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /** 캐시 키 및 파일 이름으로 쓸 수 있는 문자열 (예: "37.550_126.950") */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LocationBucket && key.equals(((LocationBucket) o).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * [새로운 클래스] 위치 한 번의 측정 결과(fix)입니다. 좌표와 함께 정확도와 측정 시각을 담아,
+ * {@link LocationProvider}가 이 위치를 계속 써도 되는지(나이, 정확도) 판단할 수 있게 합니다.
+ */
+public final class LocationFix {
+
+    public final double latitude;
+    public final double longitude;
+    /** 정확도 반경(미터). 알 수 없으면 {@link Float#MAX_VALUE} */
+    public final float accuracyMeters;
+    /** 측정 시각 (System.currentTimeMillis 기준) */
+    public final long timeMillis;
+
+    public LocationFix(double latitude, double longitude, float accuracyMeters, long timeMillis) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.accuracyMeters = accuracyMeters;
+        this.timeMillis = timeMillis;
+    }
+
+    /** 측정된 지 얼마나 지났는지 (밀리초) */
+    public long ageMillis(long nowMillis) {
+        return nowMillis - timeMillis;
+    }
+
+    /**
+     * 좌표를 격자 중심으로 옮긴 위치를 돌려줍니다. 정확도와 측정 시각은 그대로 둡니다.
+     * 기기에 저장하거나 서버로 보낼 때는 정밀한 좌표 대신 이 값만 사용합니다.
+     */
+    LocationFix snappedTo(LocationBucket bucket) {
+        return new LocationFix(bucket.getLatitude(), bucket.getLongitude(), accuracyMeters, timeMillis);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "LocationFix{%.3f,%.3f ±%.0fm @%d}", latitude, longitude, accuracyMeters, timeMillis);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.alarm;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+/**
+ * [새로운 클래스] 날씨 조회에 사용할 위치를 제공하는 계층입니다.
+ *
+ *  - 마지막으로 얻은 좋은 위치(fix)를 나이, 정확도와 함께 기억합니다.
+ *  - 개인정보 보호를 위해 좌표는 {@link LocationBucket} 격자로 반올림한 값만 메모리와 기기에 저장합니다.
+ *    날씨 캐시도 같은 격자를 키로 사용하므로, 격자가 같으면 위치가 조금 바뀌어도 캐시를 그대로 씁니다.
+ *  - 저장된 위치가 정책의 나이 기준보다 오래된 경우에만 새 위치를 요청합니다.
+ *    먼저 시스템의 마지막 위치(비용 없음)를 확인하고, 그것도 오래되었을 때만 저전력 측정을 요청합니다.
+ *
+ * 실제 위치를 얻는 방법은 {@link LocationSource}로 분리되어 있어 테스트에서 가짜로 바꿀 수 있습니다.
+ */
+public class LocationProvider {
+
+    private static final String TAG = "LocationProvider";
+
+    public interface Callback {
+        /**
+         * @param bucket 사용할 위치 격자. 한 번도 위치를 얻지 못했다면 null
+         */
+        void onLocation(@Nullable LocationBucket bucket);
+    }
+
+    /**
+     * 저장된 위치를 기기에 보관하는 방법입니다. 앱에서는 SharedPreferences를 사용합니다.
+     */
+    interface Store {
+        @Nullable
+        LocationFix load();
+
+        void save(LocationFix fix);
+    }
+
+    /**
+     * 위치 재사용 정책.
+     *  - maxAgeMillis: 이보다 오래된 위치는 새로 요청합니다.
+     *  - maxAccuracyMeters: 정확도 반경이 이보다 크면 좋은 위치로 보지 않습니다.
+     *  - gridDegrees: 저장 및 캐시 키에 사용할 격자 크기
+     */
+    static final class Policy {
+        final long maxAgeMillis;
+        final float maxAccuracyMeters;
+        final double gridDegrees;
+
+        Policy(long maxAgeMillis, float maxAccuracyMeters, double gridDegrees) {
+            this.maxAgeMillis = maxAgeMillis;
+            this.maxAccuracyMeters = maxAccuracyMeters;
+            this.gridDegrees = gridDegrees;
+        }
+    }
+
+    /** 기본 정책: 30분까지 같은 위치를 쓰고, 반경 5km보다 부정확한 위치는 버립니다. */
+    static final Policy DEFAULT_POLICY = new Policy(30 * 60 * 1000L, 5000f, LocationBucket.DEFAULT_GRID_DEGREES);
+
+    private static final String PREFS_NAME = "location_cache";
+    private static final String KEY_LATITUDE = "latitude";
+    private static final String KEY_LONGITUDE = "longitude";
+    private static final String KEY_ACCURACY = "accuracy";
+    private static final String KEY_TIME = "time";
+
+    private static volatile LocationProvider INSTANCE;
+
+    private final LocationSource source;
+    private final Store store;
+    private final Clock clock;
+    private final Policy policy;
+
+    // 격자로 반올림된 마지막 좋은 위치. 처음 접근할 때 store에서 읽어 옵니다.
+    private LocationFix cachedFix;
+    private boolean loaded;
+
+    LocationProvider(LocationSource source, Store store, Clock clock, Policy policy) {
+        this.source = source;
+        this.store = store;
+        this.clock = clock;
+        this.policy = policy;
+    }
+
+    /**
+     * 앱 전체에서 공유하는 인스턴스를 가져옵니다. (싱글톤 패턴)
+     */
+    public static LocationProvider getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (LocationProvider.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    INSTANCE = new LocationProvider(new FusedLocationSource(appContext),
+                            new PreferencesStore(appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)),
+                            Clock.SYSTEM, DEFAULT_POLICY);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 날씨 조회에 사용할 위치를 가져옵니다. 저장된 위치가 충분히 새것이면 바로(호출한 스레드에서) 콜백을 호출하고,
+     * 그렇지 않으면 {@link LocationSource}가 결과를 주는 스레드에서 호출합니다.
+     * 새 위치를 얻지 못하면 오래된 위치라도 돌려줍니다. (날씨는 조금 먼 위치라도 없는 것보다 낫습니다.)
+     */
+    public void getLocation(Callback callback) {
+        LocationFix cached = getCachedFix();
+        if (cached != null && isFresh(cached)) {
+            callback.onLocation(toBucket(cached));
+            return;
+        }
+        source.getLastKnownLocation(lastKnown -> {
+            if (isUsable(lastKnown) && isFresh(lastKnown)) {
+                callback.onLocation(accept(lastKnown));
+                return;
+            }
+            AlarmLog.d(TAG, "저장된 위치가 오래되어 저전력 위치를 새로 요청합니다.");
+            source.requestLowPowerLocation(fresh -> {
+                if (isUsable(fresh)) {
+                    callback.onLocation(accept(fresh));
+                } else {
+                    LocationFix fallback = getCachedFix();
+                    callback.onLocation(fallback != null ? toBucket(fallback) : null);
+                }
+            });
+        });
+    }
+
+    /**
+     * 위치 서비스를 전혀 사용하지 않고, 저장된 위치의 격자만 돌려줍니다. 나이는 따지지 않습니다.
+     * 알람 전 날씨 미리 받기처럼 GPS를 깨우면 안 되는 경로에서 사용합니다.
+     * @return 저장된 위치가 없으면 null
+     */
+    @Nullable
+    public LocationBucket getCachedBucket() {
+        LocationFix cached = getCachedFix();
+        return cached != null ? toBucket(cached) : null;
+    }
+
+    /**
+     * 격자로 반올림되어 저장된 마지막 좋은 위치를 돌려줍니다.
+     */
+    @Nullable
+    public synchronized LocationFix getCachedFix() {
+        if (!loaded) {
+            cachedFix = store.load();
+            loaded = true;
+        }
+        return cachedFix;
+    }
+
+    private boolean isFresh(LocationFix fix) {
+        return fix.ageMillis(clock.currentTimeMillis()) <= policy.maxAgeMillis;
+    }
+
+    private boolean isUsable(@Nullable LocationFix fix) {
+        return fix != null && fix.accuracyMeters <= policy.maxAccuracyMeters;
+    }
+
+    /**
+     * 새로 얻은 위치를 격자로 반올림하여 저장합니다. 정밀한 원래 좌표는 어디에도 남기지 않습니다.
+     */
+    private LocationBucket accept(LocationFix fix) {
+        LocationBucket bucket = LocationBucket.of(fix.latitude, fix.longitude, policy.gridDegrees);
+        LocationFix snapped = fix.snappedTo(bucket);
+        synchronized (this) {
+            // 이미 더 최근 위치를 가지고 있다면 덮어쓰지 않습니다.
+            if (cachedFix == null || cachedFix.timeMillis <= snapped.timeMillis) {
+                cachedFix = snapped;
+                loaded = true;
+                store.save(snapped);
+            }
+        }
+        return bucket;
+    }
+
+    private LocationBucket toBucket(LocationFix fix) {
+        return LocationBucket.of(fix.latitude, fix.longitude, policy.gridDegrees);
+    }
+
+    /**
+     * SharedPreferences에 격자로 반올림된 위치를 저장합니다.
+     */
+    private static final class PreferencesStore implements Store {
+        private final SharedPreferences prefs;
+
+        PreferencesStore(SharedPreferences prefs) {
+            this.prefs = prefs;
+        }
+
+        @Nullable
+        @Override
+        public LocationFix load() {
+            if (!prefs.contains(KEY_TIME)) {
+                return null;
+            }
+            return new LocationFix(
+                    Double.longBitsToDouble(prefs.getLong(KEY_LATITUDE, 0)),
+                    Double.longBitsToDouble(prefs.getLong(KEY_LONGITUDE, 0)),
+                    prefs.getFloat(KEY_ACCURACY, Float.MAX_VALUE),
+                    prefs.getLong(KEY_TIME, 0));
+        }
+
+        @Override
+        public void save(LocationFix fix) {
+            prefs.edit()
+                    .putLong(KEY_LATITUDE, Double.doubleToRawLongBits(fix.latitude))
+                    .putLong(KEY_LONGITUDE, Double.doubleToRawLongBits(fix.longitude))
+                    .putFloat(KEY_ACCURACY, fix.accuracyMeters)
+                    .putLong(KEY_TIME, fix.timeMillis)
+                    .apply();
+        }
+    }
+}
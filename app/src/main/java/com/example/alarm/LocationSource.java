@@ -0,0 +1,25 @@
+package com.example.alarm;
+
+import androidx.annotation.Nullable;
+
+/**
+ * [새로운 인터페이스] 실제로 위치를 얻어 오는 방법을 추상화합니다.
+ * 앱에서는 {@link FusedLocationSource}를, 테스트에서는 가짜 구현을 사용합니다.
+ * 두 메소드 모두 결과를 콜백으로 정확히 한 번 전달해야 하며, 실패하면 null을 전달합니다.
+ */
+public interface LocationSource {
+
+    interface Callback {
+        void onLocation(@Nullable LocationFix fix);
+    }
+
+    /**
+     * 시스템이 이미 알고 있는 마지막 위치를 가져옵니다. GPS를 켜지 않으므로 비용이 거의 없습니다.
+     */
+    void getLastKnownLocation(Callback callback);
+
+    /**
+     * 저전력(셀/와이파이 수준) 위치를 새로 측정합니다. 정해진 시간 안에 얻지 못하면 null을 전달합니다.
+     */
+    void requestLowPowerLocation(Callback callback);
+}
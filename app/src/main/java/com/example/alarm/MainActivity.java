@@ -8,9 +8,9 @@ import android.content.pm.PackageManager;
 import android.os.Build;
 import android.os.Bundle;
 import android.provider.Settings;
-import android.util.Log;
 import android.view.View;
 import android.widget.Button;
+import android.widget.EditText;
 import android.widget.LinearLayout;
 import android.widget.Toast;
 
@@ -32,6 +32,7 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -58,6 +59,10 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
     private Button buttonTurnOff;
     /** 하단 메뉴의 '삭제' 버튼 */
     private Button buttonDelete;
+    /** [추가] 하단 메뉴의 '그룹' 버튼 (선택한 알람으로 그룹 만들기) */
+    private Button buttonGroup;
+    /** [추가] 알람 그룹(프로필)을 골라 한 번에 전환하는 버튼 */
+    private Button profileButton;
 
     // --- 비즈니스 로직 및 데이터 관련 --- //
     /** UI 관련 데이터를 관리하고 데이터베이스와 통신하는 ViewModel */
@@ -66,6 +71,8 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
     private AlarmAdapter alarmAdapter;
     /** [추가] 알람 예약/취소 로직을 담당하는 스케줄러 클래스 */
     private AlarmScheduler alarmScheduler;
+    /** [추가] 지금 있는 알람 그룹 목록 (이름 순) */
+    private List<AlarmGroup> alarmGroups = Collections.emptyList();
 
     // --- 권한 요청 관련 --- //
     /** 권한 요청 결과를 처리하는 ActivityResultLauncher (AndroidX의 새로운 방식) */
@@ -114,6 +121,8 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
         bottomActionMenu = findViewById(R.id.bottom_action_menu);
         buttonTurnOff = findViewById(R.id.button_turn_off);
         buttonDelete = findViewById(R.id.button_delete);
+        buttonGroup = findViewById(R.id.button_group);
+        profileButton = findViewById(R.id.profileButton);
     }
 
     /** ViewModel을 설정하고, 데이터베이스의 알람 목록이 변경될 때마다 UI를 자동으로 업데이트하도록 설정합니다. */
@@ -122,10 +131,25 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
         // `getAllAlarms()`가 반환하는 LiveData를 관찰(observe)합니다.
         // 데이터베이스의 `alarms` 테이블에 변경이 생기면, 이 람다 표현식이 자동으로 실행됩니다.
         alarmViewModel.getAllAlarms().observe(this, alarms -> {
-            Log.d(TAG, "LiveData가 변경됨. " + (alarms != null ? alarms.size() : 0) + "개의 알람을 어댑터에 전달합니다.");
+            AlarmLog.d(TAG, "LiveData가 변경됨. {}개의 알람을 어댑터에 전달합니다.", alarms != null ? alarms.size() : 0);
             // `submitList`는 ListAdapter의 메소드로, DiffUtil을 사용해 효율적으로 목록을 업데이트합니다.
             alarmAdapter.submitList(alarms);
         });
+        // [추가] 프로필 버튼에서 보여 줄 그룹 목록과, 전환 결과를 관찰합니다.
+        alarmViewModel.getAllGroups().observe(this, groups -> alarmGroups = groups);
+        // [수정] 한 번 보여 준 결과는 비워서, 화면을 회전해 다시 관찰할 때 같은 알림이 또 뜨지 않게 합니다.
+        alarmViewModel.getSwitchedAlarmCount().observe(this, count -> {
+            if (count == null) {
+                return;
+            }
+            if (count == AlarmViewModel.SWITCH_DENIED) {
+                Toast.makeText(this, "정확한 알람 권한이 없어 프로필을 바꾸지 않았습니다. 앱 설정에서 권한을 허용해주세요.",
+                        Toast.LENGTH_LONG).show();
+            } else {
+                Toast.makeText(this, "프로필을 바꿨습니다. (알람 " + count + "개 변경)", Toast.LENGTH_SHORT).show();
+            }
+            alarmViewModel.onSwitchedAlarmCountShown();
+        });
     }
 
     /** RecyclerView와 Adapter를 설정합니다. */
@@ -138,6 +162,12 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
 
     /** 각종 버튼의 클릭 이벤트를 처리하는 리스너를 설정합니다. */
     private void setupListeners() {
+        // [추가] 시계를 길게 누르면 숨겨진 성능 지표 디버그 화면을 엽니다.
+        findViewById(R.id.timeTextView).setOnLongClickListener(v -> {
+            startActivity(new Intent(MainActivity.this, MetricsDebugActivity.class));
+            return true;
+        });
+
         // '알람 추가' 버튼 클릭 시, SetAlarmActivity를 엽니다.
         addAlarmFab.setOnClickListener(v -> {
             Intent intent = new Intent(MainActivity.this, SetAlarmActivity.class);
@@ -155,6 +185,27 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
             exitSelectionMode(); // 선택 모드를 종료합니다.
         });
 
+        // [추가] '그룹' 버튼 클릭 시, 이름을 받아 선택한 알람들로 그룹을 만듭니다.
+        buttonGroup.setOnClickListener(v -> {
+            List<Alarm> selectedAlarms = alarmAdapter.getSelectedAlarms();
+            EditText nameInput = new EditText(this);
+            nameInput.setHint("그룹 이름 (예: 평일, 휴가)");
+            new AlertDialog.Builder(this)
+                .setTitle("그룹 만들기")
+                .setView(nameInput)
+                .setPositiveButton("만들기", (dialog, which) -> {
+                    String name = nameInput.getText().toString().trim();
+                    alarmViewModel.createGroup(name.isEmpty() ? "그룹" : name, selectedAlarms);
+                    Toast.makeText(this, selectedAlarms.size() + "개의 알람으로 그룹을 만들었습니다.", Toast.LENGTH_SHORT).show();
+                    exitSelectionMode();
+                })
+                .setNegativeButton("취소", null)
+                .show();
+        });
+
+        // [추가] '프로필' 버튼 클릭 시, 그룹을 골라 그 그룹의 알람만 켜지도록 한 번에 전환합니다.
+        profileButton.setOnClickListener(v -> showProfileDialog());
+
         // '끄기' 버튼 클릭 시
         buttonTurnOff.setOnClickListener(v -> {
             List<Alarm> selectedAlarms = alarmAdapter.getSelectedAlarms();
@@ -170,6 +221,31 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
         });
     }
 
+    /**
+     * [추가] 그룹(프로필)을 고르는 대화상자를 띄웁니다. 고른 그룹의 알람은 켜지고, 다른 그룹에만 속한 알람은 꺼집니다.
+     * 알람을 하나씩 토글하지 않고 {@link AlarmViewModel#switchProfile}이 한 번에 처리합니다.
+     */
+    private void showProfileDialog() {
+        if (alarmGroups.isEmpty()) {
+            Toast.makeText(this, "그룹이 없습니다. 알람을 길게 눌러 선택한 뒤 '그룹'으로 묶어 주세요.", Toast.LENGTH_LONG).show();
+            return;
+        }
+        AlarmManager alarmManager = (AlarmManager) getSystemService(Context.ALARM_SERVICE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+            Toast.makeText(this, "정확한 알람 권한이 필요합니다. 앱 설정에서 권한을 허용해주세요.", Toast.LENGTH_LONG).show();
+            return;
+        }
+        List<AlarmGroup> groups = alarmGroups;
+        String[] names = new String[groups.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = groups.get(i).getName();
+        }
+        new AlertDialog.Builder(this)
+            .setTitle("프로필 전환")
+            .setItems(names, (dialog, which) -> alarmViewModel.switchProfile(groups.get(which)))
+            .show();
+    }
+
     /** 뒤로가기 버튼의 기본 동작을 재정의합니다. */
     private void setupOnBackPressedCallback() {
         getOnBackPressedDispatcher().addCallback(this, new OnBackPressedCallback(true) {
@@ -213,6 +289,7 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
         alarmAdapter.setSelectionMode(true);
         bottomActionMenu.setVisibility(View.VISIBLE); // 하단 메뉴를 보여주고
         addAlarmFab.hide(); // '알람 추가' 버튼을 숨깁니다.
+        profileButton.setVisibility(View.GONE);
     }
 
     /** 다중 선택 모드에서 나가는 UI 처리 */
@@ -220,6 +297,7 @@ public class MainActivity extends AppCompatActivity implements AlarmAdapter.OnAl
         alarmAdapter.setSelectionMode(false);
         bottomActionMenu.setVisibility(View.GONE); // 하단 메뉴를 숨기고
         addAlarmFab.show(); // '알람 추가' 버튼을 다시 보여줍니다.
+        profileButton.setVisibility(View.VISIBLE);
     }
 
     // --- AlarmAdapter.OnAlarmInteractionListener 인터페이스 구현부 --- //
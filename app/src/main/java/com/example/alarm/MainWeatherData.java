@@ -32,6 +32,20 @@ public class MainWeatherData {
     @SerializedName("humidity")
     private int humidity;
 
+    /**
+     * [추가] Gson이 리플렉션으로 객체를 만들 때 사용하는 기본 생성자입니다.
+     */
+    public MainWeatherData() {
+    }
+
+    /**
+     * [추가] {@link WeatherJsonCodec}이 리플렉션 없이 객체를 만들 때 사용합니다.
+     * 앱에서 읽는 값은 현재 온도뿐이므로 나머지 수치는 0으로 둡니다.
+     */
+    MainWeatherData(double temperature) {
+        this.temperature = temperature;
+    }
+
     // --- Getter 메소드 --- //
 
     public double getTemperature() {
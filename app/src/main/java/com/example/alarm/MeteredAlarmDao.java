@@ -0,0 +1,169 @@
+package com.example.alarm;
+
+import androidx.lifecycle.LiveData;
+
+import java.util.List;
+
+/**
+ * [새로운 클래스] Room이 만든 AlarmDao 구현체를 감싸서, 호출마다 걸린 시간을 {@link MetricsRegistry}에 기록합니다.
+ * {@link AppDatabase#alarmDao()}가 이 클래스를 돌려주므로 호출하는 쪽은 바꿀 필요가 없습니다.
+ *
+ * LiveData를 돌려주는 메소드는 여기서는 LiveData 객체만 만들고 실제 쿼리는 나중에 Room의 실행기에서 돌기 때문에,
+ * 시간을 재지 않고 그대로 넘깁니다.
+ */
+final class MeteredAlarmDao implements AlarmDao {
+
+    static final String DURATION_METRIC = "alarm_dao_duration_milliseconds";
+    private static final String DURATION_HELP = "AlarmDao 호출 하나에 걸린 시간";
+
+    private final AlarmDao delegate;
+    // [추가] 느린 호출이면 그 동안 실행된 SQL 문을 기록합니다.
+    private final SlowQueryLogger slowQueryLogger;
+
+    private final MetricsRegistry.Histogram insert;
+    private final MetricsRegistry.Histogram update;
+    private final MetricsRegistry.Histogram insertAll;
+    private final MetricsRegistry.Histogram updateAll;
+    private final MetricsRegistry.Histogram getAll;
+    private final MetricsRegistry.Histogram delete;
+    private final MetricsRegistry.Histogram getById;
+    private final MetricsRegistry.Histogram getEnabled;
+    private final MetricsRegistry.Histogram getWeatherAlarms;
+    private final MetricsRegistry.Histogram deleteAll;
+
+    MeteredAlarmDao(AlarmDao delegate, MetricsRegistry registry, SlowQueryLogger slowQueryLogger) {
+        this.delegate = delegate;
+        this.slowQueryLogger = slowQueryLogger;
+        this.insert = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "insert");
+        this.update = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "update");
+        this.insertAll = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "insert_all");
+        this.updateAll = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "update_all");
+        this.getAll = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "get_all");
+        this.delete = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "delete");
+        this.getById = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "get_by_id");
+        this.getEnabled = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "get_enabled");
+        this.getWeatherAlarms = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "get_weather_alarms");
+        this.deleteAll = registry.histogram(DURATION_METRIC, DURATION_HELP, "op", "delete_all");
+    }
+
+    @Override
+    public long insert(Alarm alarm) {
+        long start = begin();
+        try {
+            return delegate.insert(alarm);
+        } finally {
+            end(insert, "insert", start);
+        }
+    }
+
+    @Override
+    public void update(Alarm alarm) {
+        long start = begin();
+        try {
+            delegate.update(alarm);
+        } finally {
+            end(update, "update", start);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Alarm> alarms) {
+        long start = begin();
+        try {
+            delegate.insertAll(alarms);
+        } finally {
+            end(insertAll, "insert_all", start);
+        }
+    }
+
+    @Override
+    public void updateAll(List<Alarm> alarms) {
+        long start = begin();
+        try {
+            delegate.updateAll(alarms);
+        } finally {
+            end(updateAll, "update_all", start);
+        }
+    }
+
+    @Override
+    public void delete(Alarm alarm) {
+        long start = begin();
+        try {
+            delegate.delete(alarm);
+        } finally {
+            end(delete, "delete", start);
+        }
+    }
+
+    @Override
+    public LiveData<List<Alarm>> getAllAlarms() {
+        return delegate.getAllAlarms();
+    }
+
+    @Override
+    public LiveData<Alarm> getAlarmById(int alarmId) {
+        return delegate.getAlarmById(alarmId);
+    }
+
+    @Override
+    public Alarm getAlarmByIdNonLive(int alarmId) {
+        long start = begin();
+        try {
+            return delegate.getAlarmByIdNonLive(alarmId);
+        } finally {
+            end(getById, "get_by_id", start);
+        }
+    }
+
+    @Override
+    public List<Alarm> getAllAlarmsNonLive() {
+        long start = begin();
+        try {
+            return delegate.getAllAlarmsNonLive();
+        } finally {
+            end(getAll, "get_all", start);
+        }
+    }
+
+    @Override
+    public List<Alarm> getEnabledAlarmsNonLive() {
+        long start = begin();
+        try {
+            return delegate.getEnabledAlarmsNonLive();
+        } finally {
+            end(getEnabled, "get_enabled", start);
+        }
+    }
+
+    @Override
+    public List<Alarm> getWeatherAlarmsNonLive() {
+        long start = begin();
+        try {
+            return delegate.getWeatherAlarmsNonLive();
+        } finally {
+            end(getWeatherAlarms, "get_weather_alarms", start);
+        }
+    }
+
+    @Override
+    public void deleteAllAlarms() {
+        long start = begin();
+        try {
+            delegate.deleteAllAlarms();
+        } finally {
+            end(deleteAll, "delete_all", start);
+        }
+    }
+
+    private long begin() {
+        slowQueryLogger.begin();
+        return System.nanoTime();
+    }
+
+    private void end(MetricsRegistry.Histogram histogram, String op, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        histogram.recordNanos(elapsed);
+        slowQueryLogger.end(op, elapsed);
+    }
+}
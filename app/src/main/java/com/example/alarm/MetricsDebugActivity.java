@@ -0,0 +1,84 @@
+package com.example.alarm;
+
+import android.os.Bundle;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * [새로운 클래스] 앱 안에서 모은 성능 지표({@link MetricsRegistry})를 보여 주는 숨겨진 디버그 화면입니다.
+ * 메인 화면의 시계를 길게 누르면 열립니다.
+ *
+ * "파일로 내보내기"는 지표를 OpenMetrics 텍스트 파일로 앱 전용 외부 저장소에 씁니다.
+ * 권한 없이 쓸 수 있고, 관리 중인 기기에서 adb pull 등으로 가져갈 수 있는 위치입니다.
+ * [추가] 지표 아래에 {@link AlarmLog}의 최근 로그 이벤트도 보여 주고, 내보낼 때 함께 씁니다. (알람이 울리지 않았을 때 직전 상황 확인용)
+ */
+public class MetricsDebugActivity extends AppCompatActivity {
+
+    private static final String TAG = "MetricsDebugActivity";
+
+    static final String EXPORT_DIR = "metrics";
+    static final String EXPORT_FILE_NAME = "alarm-metrics.txt";
+    static final String EVENTS_FILE_NAME = "alarm-events.log";
+
+    private TextView metricsText;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metrics_debug);
+
+        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.metricsDebugLayout), (v, insets) -> {
+            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+            v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
+            return insets;
+        });
+
+        metricsText = findViewById(R.id.metrics_text);
+        findViewById(R.id.metrics_refresh_button).setOnClickListener(v -> refresh());
+        findViewById(R.id.metrics_export_button).setOnClickListener(v -> export());
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refresh();
+    }
+
+    private void refresh() {
+        metricsText.setText(MetricsRegistry.getInstance().toOpenMetrics()
+                + "\n# 최근 로그 이벤트\n" + AlarmLog.dumpToString());
+    }
+
+    /**
+     * 파일 쓰기는 디스크 I/O 풀에서 하고, 결과만 메인 스레드에서 알려 줍니다.
+     */
+    private void export() {
+        File externalDir = getExternalFilesDir(EXPORT_DIR);
+        // 외부 저장소를 쓸 수 없으면 내부 저장소에 씁니다.
+        File dir = externalDir != null ? externalDir : new File(getFilesDir(), EXPORT_DIR);
+        File file = new File(dir, EXPORT_FILE_NAME);
+        File eventsFile = new File(dir, EVENTS_FILE_NAME);
+        AppExecutors executors = AppExecutors.getInstance();
+        executors.diskIO().execute(() -> {
+            String message;
+            try {
+                MetricsRegistry.getInstance().exportTo(file);
+                AlarmLog.dumpTo(eventsFile);
+                message = "지표를 내보냈습니다: " + dir.getPath();
+            } catch (IOException e) {
+                AlarmLog.w(TAG, "지표 내보내기 실패: {}", dir, e);
+                message = "지표를 내보내지 못했습니다: " + e.getMessage();
+            }
+            String result = message;
+            executors.mainThread().execute(() -> Toast.makeText(this, result, Toast.LENGTH_LONG).show());
+        });
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * [새로운 클래스] 앱 안에서 성능 지표(카운터, 게이지, 히스토그램)를 모으는 가벼운 레지스트리입니다.
+ *
+ * 알람 처리나 DAO 호출처럼 여러 스레드가 동시에 기록하는 경로에서 쓰이므로, 값은 잠금 없이
+ * 스레드별로 나뉘어 쌓이는 {@link LongAdder}에 기록합니다. 기록은 자주, 읽기는 드물게(디버그 화면, 내보내기) 일어나기 때문입니다.
+ * 읽을 때는 여러 LongAdder를 차례로 더하므로, 기록과 동시에 읽으면 히스토그램의 칸과 합계가 한두 건 어긋날 수 있습니다.
+ *
+ * 같은 이름과 라벨로 다시 요청하면 같은 지표를 돌려주므로, 호출하는 쪽에서 지표 객체를 필드로 들고 있어도 되고 매번 찾아도 됩니다.
+ * {@link #writeOpenMetrics}로 OpenMetrics 텍스트 형식으로 내보낼 수 있습니다.
+ */
+public final class MetricsRegistry {
+
+    /** 처리 시간 히스토그램의 기본 구간 경계 (밀리초) */
+    static final long[] DURATION_BUCKETS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final String UNIT_MILLISECONDS = "milliseconds";
+
+    private static volatile MetricsRegistry INSTANCE;
+
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), HISTOGRAM("histogram");
+
+        final String text;
+
+        Type(String text) {
+            this.text = text;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Family> families = new ConcurrentHashMap<>();
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * 앱 전체에서 공유하는 레지스트리를 가져옵니다. (싱글톤 패턴)
+     */
+    public static MetricsRegistry getInstance() {
+        if (INSTANCE == null) {
+            synchronized (MetricsRegistry.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new MetricsRegistry();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 계속 늘어나기만 하는 카운터를 가져옵니다. 내보낼 때 이름 뒤에 "_total"이 붙습니다.
+     * @param labels 라벨 이름과 값을 번갈아 나열합니다. 예: "op", "insert"
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, Type.COUNTER, help, null).children
+                .computeIfAbsent(renderLabels(labels), key -> new Counter());
+    }
+
+    /**
+     * 처리 시간 히스토그램(밀리초)을 가져옵니다. 이름은 "_milliseconds"로 끝나야 합니다.
+     * @param labels 라벨 이름과 값을 번갈아 나열합니다.
+     */
+    public Histogram histogram(String name, String help, String... labels) {
+        if (!name.endsWith("_" + UNIT_MILLISECONDS)) {
+            throw new IllegalArgumentException("히스토그램 이름은 단위(_milliseconds)로 끝나야 합니다: " + name);
+        }
+        return (Histogram) family(name, Type.HISTOGRAM, help, UNIT_MILLISECONDS).children
+                .computeIfAbsent(renderLabels(labels), key -> new Histogram(DURATION_BUCKETS_MILLIS));
+    }
+
+    /**
+     * 읽을 때마다 값을 계산하는 게이지를 등록합니다. 같은 이름과 라벨로 다시 등록하면 새 함수로 바뀝니다.
+     * @param value 내보낼 때 호출됩니다. 빠르고 잠금을 오래 잡지 않아야 합니다.
+     */
+    public void gauge(String name, String help, LongSupplier value, String... labels) {
+        family(name, Type.GAUGE, help, null).children.put(renderLabels(labels), value);
+    }
+
+    private Family family(String name, Type type, String help, String unit) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, help, unit));
+        if (family.type != type) {
+            throw new IllegalArgumentException("이미 " + family.type.text + "(으)로 등록된 이름입니다: " + name);
+        }
+        return family;
+    }
+
+    /**
+     * 모든 지표를 OpenMetrics 텍스트 형식으로 씁니다. 이름과 라벨 순으로 정렬하며 마지막에 "# EOF"를 씁니다.
+     */
+    public void writeOpenMetrics(Writer out) throws IOException {
+        for (Map.Entry<String, Family> entry : new TreeMap<>(families).entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            out.write("# TYPE " + name + " " + family.type.text + "\n");
+            if (family.unit != null) {
+                out.write("# UNIT " + name + " " + family.unit + "\n");
+            }
+            out.write("# HELP " + name + " " + escapeHelp(family.help) + "\n");
+            for (Map.Entry<String, Object> child : new TreeMap<>(family.children).entrySet()) {
+                String labels = child.getKey();
+                switch (family.type) {
+                    case COUNTER:
+                        writeSample(out, name + "_total", labels, Long.toString(((Counter) child.getValue()).get()));
+                        break;
+                    case GAUGE:
+                        writeSample(out, name, labels, Long.toString(((LongSupplier) child.getValue()).getAsLong()));
+                        break;
+                    case HISTOGRAM:
+                        writeHistogram(out, name, labels, (Histogram) child.getValue());
+                        break;
+                }
+            }
+        }
+        out.write("# EOF\n");
+    }
+
+    /**
+     * 모든 지표를 OpenMetrics 텍스트로 돌려줍니다. (디버그 화면용)
+     */
+    public String toOpenMetrics() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeOpenMetrics(writer);
+        } catch (IOException e) {
+            // StringWriter는 IOException을 던지지 않습니다.
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 모든 지표를 OpenMetrics 텍스트 파일로 내보냅니다. 임시 파일에 다 쓴 뒤 이름을 바꾸므로, 읽는 쪽이 반쯤 쓰인 파일을 보지 않습니다.
+     * 파일을 쓰므로 백그라운드 스레드에서 호출해야 합니다.
+     */
+    public void exportTo(File file) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("폴더를 만들 수 없습니다: " + dir);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+            writeOpenMetrics(out);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("파일을 교체할 수 없습니다: " + file);
+        }
+    }
+
+    private static void writeHistogram(Writer out, String name, String labels, Histogram histogram) throws IOException {
+        long[] counts = histogram.bucketCounts();
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            String le = i < histogram.upperBoundsMillis.length ? histogram.upperBoundsMillis[i] + ".0" : "+Inf";
+            writeSample(out, name + "_bucket", joinLabels(labels, "le=\"" + le + "\""), Long.toString(cumulative));
+        }
+        writeSample(out, name + "_count", labels, Long.toString(cumulative));
+        writeSample(out, name + "_sum", labels, formatMillis(histogram.sumMicros.sum()));
+    }
+
+    private static void writeSample(Writer out, String name, String labels, String value) throws IOException {
+        out.write(name);
+        if (!labels.isEmpty()) {
+            out.write("{" + labels + "}");
+        }
+        out.write(" " + value + "\n");
+    }
+
+    private static String joinLabels(String labels, String extra) {
+        return labels.isEmpty() ? extra : labels + "," + extra;
+    }
+
+    /** 마이크로초 합계를 밀리초 단위 소수로 바꿉니다. (예: 1500 -> "1.500") */
+    private static String formatMillis(long micros) {
+        return (micros / 1000) + "." + String.format(Locale.ROOT, "%03d", micros % 1000);
+    }
+
+    /**
+     * 라벨을 OpenMetrics 형식(이름="값",...)의 문자열로 만듭니다. 이 문자열이 지표를 구분하는 키가 됩니다.
+     */
+    private static String renderLabels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("라벨은 이름과 값의 쌍이어야 합니다.");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(labels[i]).append("=\"").append(escapeLabelValue(labels[i + 1])).append('"');
+        }
+        return sb.toString();
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /** 같은 이름을 공유하는 지표 묶음. 라벨 문자열별로 하나씩 들고 있습니다. */
+    private static final class Family {
+        final Type type;
+        final String help;
+        final String unit;
+        final ConcurrentHashMap<String, Object> children = new ConcurrentHashMap<>();
+
+        Family(Type type, String help, String unit) {
+            this.type = type;
+            this.help = help;
+            this.unit = unit;
+        }
+    }
+
+    /** 계속 늘어나기만 하는 값 */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void inc() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("카운터는 줄어들 수 없습니다: " + amount);
+            }
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * 처리 시간의 분포. 구간마다 따로 세고, 내보낼 때 누적합으로 바꿉니다.
+     * 시간은 System.nanoTime() 차이로 받아 마이크로초 단위로 합계를 냅니다.
+     */
+    public static final class Histogram {
+        private final long[] upperBoundsMillis;
+        private final long[] upperBoundsMicros;
+        // 마지막 칸은 가장 큰 경계를 넘는 값(+Inf)
+        private final LongAdder[] buckets;
+        private final LongAdder sumMicros = new LongAdder();
+
+        Histogram(long[] upperBoundsMillis) {
+            this.upperBoundsMillis = upperBoundsMillis;
+            this.upperBoundsMicros = new long[upperBoundsMillis.length];
+            for (int i = 0; i < upperBoundsMillis.length; i++) {
+                upperBoundsMicros[i] = TimeUnit.MILLISECONDS.toMicros(upperBoundsMillis[i]);
+            }
+            this.buckets = new LongAdder[upperBoundsMillis.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * {@code long start = System.nanoTime();}로 잰 시작 시각부터 지금까지 걸린 시간을 기록합니다.
+         */
+        public void recordSince(long startNanos) {
+            recordNanos(System.nanoTime() - startNanos);
+        }
+
+        public void recordNanos(long nanos) {
+            long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+            int index = 0;
+            // 구간이 십여 개뿐이므로 이진 탐색보다 순차 비교가 빠릅니다.
+            while (index < upperBoundsMicros.length && micros > upperBoundsMicros[index]) {
+                index++;
+            }
+            buckets[index].increment();
+            sumMicros.add(micros);
+        }
+
+        public long getCount() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        /** 구간별 개수 (누적 아님). 마지막 값은 +Inf 구간 */
+        @NonNull
+        long[] bucketCounts() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.alarm;
+
+import java.util.List;
+
+/**
+ * [새로운 클래스] 프로필(알람 그룹) 전환으로 실제로 상태가 바뀐 알람들입니다. ({@link AlarmGroupDao#switchTo})
+ * 이미 원하는 상태였던 알람은 들어 있지 않으므로, 이 목록만 예약하고 취소하면 됩니다.
+ */
+final class ProfileSwitch {
+
+    private final List<Alarm> enabled;
+    private final List<Alarm> disabled;
+
+    ProfileSwitch(List<Alarm> enabled, List<Alarm> disabled) {
+        this.enabled = enabled;
+        this.disabled = disabled;
+    }
+
+    /** 새로 켜진 알람 (isEnabled()가 true로 바뀌어 있습니다.) */
+    List<Alarm> getEnabled() {
+        return enabled;
+    }
+
+    /** 새로 꺼진 알람 */
+    List<Alarm> getDisabled() {
+        return disabled;
+    }
+
+    int size() {
+        return enabled.size() + disabled.size();
+    }
+}
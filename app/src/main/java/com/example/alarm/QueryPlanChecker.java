@@ -0,0 +1,150 @@
+package com.example.alarm;
+
+import android.database.Cursor;
+
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * [새로운 클래스] DAO 쿼리마다 한 번씩 "EXPLAIN QUERY PLAN"을 실행하여 테이블 전체 스캔을 찾아내는 디버그용 검사기입니다.
+ * 디버그 빌드에서만 {@link SlowQueryLogger}를 통해 쓰입니다.
+ *
+ * WHERE 절이 있는 쿼리가 인덱스 없이 테이블 전체를 읽으면 문제로 봅니다. (WHERE 절 없이 전체를 읽는 쿼리는 원래 의도이므로 제외합니다.)
+ * 테이블이 작아 전체 스캔이 문제 되지 않는 쿼리는 {@code acceptedFullScans}에 SQL 그대로 넣어 기준선으로 삼습니다.
+ * 기준선에 없는 전체 스캔이 새로 생기면 회귀입니다.
+ * [추가] Room과 SQLite의 내부 테이블(room_table_modification_log 등)은 앱이 인덱스를 정할 수 없으므로 제외합니다.
+ *  - 앱(디버그 빌드): 경고 로그와 지표를 남깁니다.
+ *  - 테스트(strict): 바로 {@link FullScanException}을 던져 테스트가 실패하게 합니다.
+ */
+final class QueryPlanChecker {
+
+    private static final String TAG = "QueryPlanChecker";
+
+    static final String FULL_SCAN_METRIC = "room_full_scan_queries";
+    private static final String FULL_SCAN_HELP = "기준선에 없는 테이블 전체 스캔이 발견된 쿼리 수";
+
+    // "SCAN alarms" (SQLite 3.36+) 또는 "SCAN TABLE alarms" (이전 버전). 인덱스를 쓰면 뒤에 "USING ... INDEX"가 붙습니다.
+    private static final Pattern SCAN = Pattern.compile("^SCAN (?:TABLE )?(\\w+)(.*)$");
+    private static final Pattern WHERE = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+
+    /** 쿼리의 실행 계획(detail 열)을 가져오는 방법. 테스트에서는 가짜 계획을 넘깁니다. */
+    interface PlanSource {
+        List<String> explain(String sql, Object[] bindArgs);
+    }
+
+    private final PlanSource planSource;
+    private final Executor executor;
+    private final Set<String> acceptedFullScans;
+    private final boolean strict;
+    private final MetricsRegistry registry;
+
+    // 같은 SQL은 한 번만 검사합니다.
+    private final Set<String> checked = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param executor EXPLAIN을 실행할 실행기. 앱에서는 쿼리 중인 연결을 막지 않도록 디스크 I/O 풀을 사용합니다.
+     * @param acceptedFullScans 전체 스캔을 허용하는 SQL 문(기준선)
+     * @param strict true이면 전체 스캔을 발견했을 때 예외를 던집니다. (테스트용)
+     */
+    QueryPlanChecker(PlanSource planSource, Executor executor, Set<String> acceptedFullScans, boolean strict,
+                     MetricsRegistry registry) {
+        this.planSource = planSource;
+        this.executor = executor;
+        this.acceptedFullScans = acceptedFullScans;
+        this.strict = strict;
+        this.registry = registry;
+    }
+
+    /**
+     * Room 데이터베이스에서 실행 계획을 읽는 PlanSource를 만듭니다.
+     */
+    static PlanSource fromDatabase(Supplier<? extends RoomDatabase> db) {
+        return (sql, bindArgs) -> {
+            SupportSQLiteDatabase database = db.get().getOpenHelper().getReadableDatabase();
+            List<String> details = new ArrayList<>();
+            try (Cursor cursor = database.query("EXPLAIN QUERY PLAN " + sql, bindArgs)) {
+                int detail = cursor.getColumnIndexOrThrow("detail");
+                while (cursor.moveToNext()) {
+                    details.add(cursor.getString(detail));
+                }
+            }
+            return details;
+        };
+    }
+
+    /**
+     * 처음 보는 SELECT/UPDATE/DELETE 문이면 실행 계획 검사를 예약합니다.
+     */
+    void check(String sql, List<?> bindArgs) {
+        if (!isCheckable(sql) || !checked.add(sql)) {
+            return;
+        }
+        Object[] args = bindArgs.toArray();
+        executor.execute(() -> inspect(sql, args));
+    }
+
+    private void inspect(String sql, Object[] args) {
+        List<String> plan;
+        try {
+            plan = planSource.explain(sql, args);
+        } catch (RuntimeException e) {
+            AlarmLog.w(TAG, "실행 계획을 읽지 못했습니다: {}", sql, e);
+            return;
+        }
+        List<String> scannedTables = findFullScans(sql, plan);
+        if (scannedTables.isEmpty() || acceptedFullScans.contains(sql)) {
+            return;
+        }
+        registry.counter(FULL_SCAN_METRIC, FULL_SCAN_HELP).inc();
+        AlarmLog.w(TAG, "테이블 전체 스캔 {}: {} (계획: {})", scannedTables, sql, plan);
+        if (strict) {
+            throw new FullScanException(sql, scannedTables, plan);
+        }
+    }
+
+    /**
+     * WHERE 절이 있는 쿼리에서, 실행 계획 중 인덱스 없이 테이블 전체를 읽는 단계의 테이블 이름을 찾습니다.
+     * @param planDetails EXPLAIN QUERY PLAN 결과의 detail 열
+     * @return 전체 스캔하는 테이블 이름. 없으면 빈 목록
+     */
+    static List<String> findFullScans(String sql, List<String> planDetails) {
+        if (!WHERE.matcher(sql).find()) {
+            return Collections.emptyList();
+        }
+        List<String> tables = new ArrayList<>();
+        for (String detail : planDetails) {
+            Matcher matcher = SCAN.matcher(detail.trim());
+            if (matcher.matches() && !matcher.group(2).contains("INDEX") && !isInternalTable(matcher.group(1))) {
+                tables.add(matcher.group(1));
+            }
+        }
+        return tables;
+    }
+
+    private static boolean isInternalTable(String table) {
+        return table.startsWith("room_") || table.startsWith("sqlite_");
+    }
+
+    private static boolean isCheckable(String sql) {
+        String head = sql.trim().toUpperCase(Locale.ROOT);
+        return head.startsWith("SELECT") || head.startsWith("UPDATE") || head.startsWith("DELETE");
+    }
+
+    /** strict 모드에서 기준선에 없는 전체 스캔을 발견했을 때 던지는 예외 */
+    static final class FullScanException extends IllegalStateException {
+        FullScanException(String sql, List<String> tables, List<String> plan) {
+            super("인덱스 없이 테이블 전체를 읽습니다 " + tables + ": " + sql + " (계획: " + plan + ")");
+        }
+    }
+}
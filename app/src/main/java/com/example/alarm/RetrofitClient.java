@@ -1,40 +1,156 @@
 package com.example.alarm;
 
+import android.content.Context;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * [새로운 클래스] Retrofit 라이브러리의 인스턴스를 생성하고 관리하는 클래스입니다.
  * 앱 전체에서 단 하나의 Retrofit 인스턴스를 사용하도록 하여(싱글톤 패턴), 효율적인 네트워크 통신을 돕습니다.
+ *
+ * [수정] Retrofit 기본 클라이언트 대신 직접 설정한 OkHttpClient 하나를 공유합니다.
+ *  - 디스크 HTTP 캐시: 서버가 허용하는 범위에서 같은 응답을 다시 내려받지 않습니다.
+ *  - 커넥션 풀: 알람 전후 짧은 간격의 요청이 TLS 연결을 재사용합니다.
+ *  - 타임아웃: 기기가 막 깨어난 직후 네트워크가 불안정해도 알람 처리가 오래 묶이지 않도록 짧게 잡습니다.
+ *  - EventListener: 호출마다 DNS/연결/TTFB/전체 시간을 기록합니다. ({@link HttpMetricsEventListener})
+ * WeatherApiService 구현체(동적 프록시)도 한 번만 만들어 재사용합니다.
  */
 public class RetrofitClient {
 
-    // [새로운 주석] Retrofit 인스턴스를 저장할 정적(static) 변수입니다. volatile 키워드는 멀티스레드 환경에서 안전하게 사용하기 위함입니다.
-    private static volatile Retrofit retrofit = null;
+    private static final String TAG = "RetrofitClient";
+
     // [새로운 주석] OpenWeatherMap API의 기본(Base) URL입니다. 모든 API 요청은 이 주소를 기준으로 시작됩니다.
     private static final String BASE_URL = "https://api.openweathermap.org/data/2.5/";
 
+    // [추가] HTTP 클라이언트 설정값
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE_BYTES = 5L * 1024 * 1024;
+    private static final int MAX_IDLE_CONNECTIONS = 2;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final long CONNECT_TIMEOUT_SECONDS = 5;
+    private static final long READ_TIMEOUT_SECONDS = 10;
+    private static final long WRITE_TIMEOUT_SECONDS = 10;
+    private static final long CALL_TIMEOUT_SECONDS = 15;
+
+    // [추가] 최근 호출 측정값을 몇 개까지 보관할지
+    private static final int MAX_RECENT_METRICS = 32;
+
+    // [수정] Retrofit 인스턴스 대신, 이미 만들어진 API 서비스 구현체를 저장합니다. volatile 키워드는 멀티스레드 환경에서 안전하게 사용하기 위함입니다.
+    private static volatile WeatherApiService apiService = null;
+
+    // [추가] 날씨 API와 아이콘 다운로드({@link WeatherIconStore})가 함께 쓰는 HTTP 클라이언트
+    private static volatile OkHttpClient httpClient = null;
+
+    private static final ArrayDeque<HttpCallMetrics> recentMetrics = new ArrayDeque<>();
+
+    /**
+     * [추가] 호출이 끝날 때마다 측정값을 로그로 남기고, 최근 측정값을 보관합니다.
+     */
+    private static final HttpMetricsEventListener.Recorder METRICS_RECORDER = metrics -> {
+        AlarmLog.d(TAG, "{}", metrics);
+        synchronized (recentMetrics) {
+            if (recentMetrics.size() == MAX_RECENT_METRICS) {
+                recentMetrics.removeFirst();
+            }
+            recentMetrics.addLast(metrics);
+        }
+    };
+
+    private RetrofitClient() {
+    }
+
+    /**
+     * [수정] WeatherApiService의 구현체를 제공하는 정적 메소드입니다.
+     * 처음 호출할 때 HTTP 캐시 디렉토리를 정하기 위해 Context가 필요하며, 이후에는 같은 인스턴스를 반환합니다.
+     * @return Retrofit이 자동으로 생성한 WeatherApiService 인터페이스의 구현체 (앱 전체에서 하나)
+     */
+    public static WeatherApiService getApiService(Context context) {
+        // [새로운 주석] 아직 생성되지 않았을 경우에만 새로 생성합니다. (더블 체크 락킹)
+        if (apiService == null) {
+            synchronized (RetrofitClient.class) {
+                if (apiService == null) {
+                    apiService = createApiService(BASE_URL, getHttpClient(context));
+                }
+            }
+        }
+        return apiService;
+    }
+
     /**
-     * [새로운 주석] WeatherApiService의 구현체를 제공하는 정적 메소드입니다.
-     * 이 메소드를 통해 API 통신을 시작할 수 있습니다.
-     * @return Retrofit이 자동으로 생성한 WeatherApiService 인터페이스의 구현체
+     * [추가] 앱 전체에서 공유하는 OkHttpClient를 제공합니다. 날씨 API가 아닌 요청(예: 날씨 아이콘)도
+     * 같은 커넥션 풀과 HTTP 캐시, 측정용 EventListener를 사용하게 하기 위함입니다.
      */
-    public static WeatherApiService getApiService() {
-        // [새로운 주석] Retrofit 인스턴스가 아직 생성되지 않았을 경우에만 새로 생성합니다. (더블 체크 락킹)
-        if (retrofit == null) {
+    static OkHttpClient getHttpClient(Context context) {
+        if (httpClient == null) {
             synchronized (RetrofitClient.class) {
-                if (retrofit == null) {
-                    // [새로운 주석] Retrofit.Builder를 사용하여 Retrofit 인스턴스를 설정하고 생성합니다.
-                    retrofit = new Retrofit.Builder()
-                            // 1. 베이스 URL을 설정합니다.
-                            .baseUrl(BASE_URL)
-                            // 2. JSON 데이터를 자바 객체로 변환해 줄 컨버터(Gson)를 추가합니다.
-                            .addConverterFactory(GsonConverterFactory.create())
-                            // 3. 설정이 완료된 Retrofit 인스턴스를 빌드합니다.
+                if (httpClient == null) {
+                    File cacheDir = new File(context.getApplicationContext().getCacheDir(), HTTP_CACHE_DIR);
+                    httpClient = createHttpClient(cacheDir, HttpMetricsEventListener.factory(METRICS_RECORDER))
+                            .newBuilder()
+                            // [추가] 비동기 호출은 OkHttp 자체 스레드 풀 대신 앱 공용 네트워크 풀에서 실행합니다.
+                            .dispatcher(new Dispatcher(AppExecutors.getInstance().network()))
                             .build();
                 }
             }
         }
+        return httpClient;
+    }
+
+    /**
+     * [추가] 최근 HTTP 호출의 측정값을 오래된 것부터 반환합니다. (디버깅용)
+     */
+    public static List<HttpCallMetrics> getRecentCallMetrics() {
+        synchronized (recentMetrics) {
+            return new ArrayList<>(recentMetrics);
+        }
+    }
+
+    /**
+     * [추가] 앱에서 사용하는 설정으로 OkHttpClient를 만듭니다. 테스트에서도 같은 설정을 검증할 수 있도록 분리했습니다.
+     * @param cacheDir HTTP 캐시를 저장할 디렉토리
+     * @param eventListenerFactory 호출마다 측정용 EventListener를 만드는 팩토리
+     */
+    static OkHttpClient createHttpClient(File cacheDir, EventListener.Factory eventListenerFactory) {
+        return new OkHttpClient.Builder()
+                .cache(new Cache(cacheDir, HTTP_CACHE_SIZE_BYTES))
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .eventListenerFactory(eventListenerFactory)
+                .build();
+    }
+
+    /**
+     * [추가] 주어진 클라이언트와 베이스 URL로 WeatherApiService 구현체를 만듭니다.
+     */
+    static WeatherApiService createApiService(String baseUrl, OkHttpClient client) {
+        // [새로운 주석] Retrofit.Builder를 사용하여 Retrofit 인스턴스를 설정하고 생성합니다.
+        Retrofit retrofit = new Retrofit.Builder()
+                // 1. 베이스 URL을 설정합니다.
+                .baseUrl(baseUrl)
+                // 2. [추가] 공유 OkHttpClient를 사용합니다.
+                .client(client)
+                // 3. [추가] 날씨 응답은 리플렉션 없이 필요한 값만 스트리밍으로 읽습니다. (Gson보다 먼저 등록해야 합니다.)
+                .addConverterFactory(WeatherResponseConverterFactory.create())
+                // 4. 그 밖의 JSON 데이터를 자바 객체로 변환해 줄 컨버터(Gson)를 추가합니다.
+                .addConverterFactory(GsonConverterFactory.create())
+                // 5. 설정이 완료된 Retrofit 인스턴스를 빌드합니다.
+                .build();
         // [새로운 주석] 생성된 Retrofit 인스턴스를 사용하여 WeatherApiService 인터페이스의 구현체를 만듭니다.
         return retrofit.create(WeatherApiService.class);
     }
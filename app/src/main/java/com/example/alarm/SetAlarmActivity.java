@@ -10,7 +10,6 @@ import android.os.VibrationEffect;
 import android.os.Vibrator;
 import android.provider.OpenableColumns;
 import android.text.TextUtils;
-import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
@@ -46,7 +45,11 @@ public class SetAlarmActivity extends AppCompatActivity {
     private TextView selectedSoundTextView;
     // [새로운 내용] 날씨 TTS 스위치를 위한 UI 변수 선언
     private SwitchMaterial weatherTtsSwitch;
+    // [추가] 공휴일에 알람 끄기 (반복 알람에만 적용됩니다.)
+    private SwitchMaterial holidayOffSwitch;
     private SwitchMaterial vibrationSwitch;
+    // [추가] 다시 울림 켜기/끄기. 알람별이 아니라 모든 알람에 함께 적용되는 설정({@link SnoozeStore})입니다.
+    private SwitchMaterial snoozeSwitch;
     private Button saveAlarmButton;
     private Button cancelButton;
 
@@ -64,6 +67,10 @@ public class SetAlarmActivity extends AppCompatActivity {
     // --- [기존 주석] 알람 수정 모드를 위한 변수 --- //
     private boolean isEditMode = false;
     private int editingAlarmId = -1;
+    // [추가] DB에서 읽어 온 수정 전 알람. 이 화면에서 고치지 않는 속성(반복 규칙, 교대 패턴)을 저장할 때 이어받습니다.
+    private Alarm loadedAlarm;
+    // [추가] 저장소에서 읽어 온 다시 울림 설정. 읽기 전에는 null이며, 그동안은 스위치를 잠가 둡니다.
+    private SnoozePolicy snoozePolicy;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -86,6 +93,7 @@ public class SetAlarmActivity extends AppCompatActivity {
         setupViews();
         setupListeners();
         handleIntent();
+        loadSnoozePolicy();
     }
 
     /**
@@ -99,7 +107,9 @@ public class SetAlarmActivity extends AppCompatActivity {
                     if (result.getResultCode() == RESULT_OK && result.getData() != null) {
                         Uri uri = result.getData().getData();
                         if (uri != null) {
-                            getContentResolver().takePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+                            // [수정] 권한 저장은 ContentResolver를 거치는 바인더/디스크 작업이므로 메인 스레드에서 하지 않습니다.
+                            AppExecutors.getInstance().diskIO().execute(() -> getContentResolver()
+                                    .takePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION));
                             this.selectedSoundUri = uri;
                             updateSelectedSoundUI(uri);
                         }
@@ -150,7 +160,10 @@ public class SetAlarmActivity extends AppCompatActivity {
         // [새로운 내용] 날씨 TTS 스위치 뷰를 코드와 연결합니다.
         weatherTtsSwitch = findViewById(R.id.weatherTtsSwitch);
 
+        holidayOffSwitch = findViewById(R.id.holidayOffSwitch);
         vibrationSwitch = findViewById(R.id.vibrationSwitch);
+        snoozeSwitch = findViewById(R.id.snoozeSwitch);
+        snoozeSwitch.setEnabled(false);
         saveAlarmButton = findViewById(R.id.saveButton);
         cancelButton = findViewById(R.id.cancelButton);
     }
@@ -219,6 +232,7 @@ public class SetAlarmActivity extends AppCompatActivity {
     private void loadAlarmData(int alarmId) {
         alarmViewModel.getAlarmById(alarmId).observe(this, alarm -> {
             if (alarm != null) {
+                loadedAlarm = alarm;
                 populateUiWithAlarmData(alarm);
                 alarmViewModel.getAlarmById(alarmId).removeObservers(this);
             }
@@ -243,6 +257,7 @@ public class SetAlarmActivity extends AppCompatActivity {
         fridayButton.setChecked(alarm.isFridayEnabled());
         saturdayButton.setChecked(alarm.isSaturdayEnabled());
         sundayButton.setChecked(alarm.isSundayEnabled());
+        holidayOffSwitch.setChecked(alarm.isSkipHolidays());
 
         if (alarm.getSoundUri() != null && !alarm.getSoundUri().isEmpty()) {
             selectedSoundUri = Uri.parse(alarm.getSoundUri());
@@ -275,9 +290,10 @@ public class SetAlarmActivity extends AppCompatActivity {
         String soundUriString = (selectedSoundUri != null) ? selectedSoundUri.toString() : null;
         // [새로운 내용] 날씨 TTS 스위치의 현재 상태를 변수에 저장합니다.
         boolean isWeatherTtsEnabled = weatherTtsSwitch.isChecked();
+        saveSnoozePolicy();
 
         if (isEditMode) {
-            Log.d(TAG, "수정 모드에서 저장 버튼 클릭됨. 알람 ID: " + editingAlarmId);
+            AlarmLog.d(TAG, "수정 모드에서 저장 버튼 클릭됨. 알람 ID: {}", editingAlarmId);
             // [새로운 내용] Alarm 객체 생성자에 isWeatherTtsEnabled 값을 추가하여 전달합니다.
             Alarm updatedAlarm = new Alarm(
                     editingAlarmId, alarmName, hour, minute, true, isVibrationEnabled, soundUriString,
@@ -285,6 +301,11 @@ public class SetAlarmActivity extends AppCompatActivity {
                     thursdayButton.isChecked(), fridayButton.isChecked(), saturdayButton.isChecked(), sundayButton.isChecked(),
                     isWeatherTtsEnabled // 날씨 TTS 설정값 추가
             );
+            updatedAlarm.setSkipHolidays(holidayOffSwitch.isChecked());
+            // [추가] 새 객체로 다시 만들므로, 이 화면에 없는 반복 규칙과 교대 패턴이 지워지지 않도록 수정 전 알람에서 이어받습니다.
+            if (loadedAlarm != null) {
+                updatedAlarm.copyRulesFrom(loadedAlarm);
+            }
 
             alarmViewModel.update(updatedAlarm);
             alarmScheduler.cancel(updatedAlarm);
@@ -294,7 +315,7 @@ public class SetAlarmActivity extends AppCompatActivity {
             finish();
 
         } else {
-            Log.d(TAG, "생성 모드에서 저장 버튼 클릭됨.");
+            AlarmLog.d(TAG, "생성 모드에서 저장 버튼 클릭됨.");
             // [새로운 내용] Alarm 객체 생성자에 isWeatherTtsEnabled 값을 추가하여 전달합니다.
             Alarm newAlarm = new Alarm(
                     alarmName, hour, minute, true, isVibrationEnabled, soundUriString,
@@ -302,10 +323,42 @@ public class SetAlarmActivity extends AppCompatActivity {
                     thursdayButton.isChecked(), fridayButton.isChecked(), saturdayButton.isChecked(), sundayButton.isChecked(),
                     isWeatherTtsEnabled // 날씨 TTS 설정값 추가
             );
+            newAlarm.setSkipHolidays(holidayOffSwitch.isChecked());
             alarmViewModel.insert(newAlarm);
         }
     }
 
+    /**
+     * [추가] 다시 울림 설정을 읽어 스위치에 표시합니다. SharedPreferences 첫 읽기는 디스크를 읽으므로 백그라운드에서 읽습니다.
+     */
+    private void loadSnoozePolicy() {
+        Context appContext = getApplicationContext();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            SnoozePolicy policy = new SnoozeStore(appContext).getPolicy();
+            runOnUiThread(() -> {
+                snoozePolicy = policy;
+                snoozeSwitch.setChecked(policy.maxCount > 0);
+                snoozeSwitch.setEnabled(true);
+            });
+        });
+    }
+
+    /**
+     * [추가] 스위치가 바뀌었으면 다시 울림 설정을 저장합니다. 미루는 시간은 그대로 두고, 끄면 횟수를 0으로,
+     * 다시 켜면 기본 횟수로 되돌립니다. 다음에 울리는 알람부터 적용됩니다.
+     */
+    private void saveSnoozePolicy() {
+        SnoozePolicy current = snoozePolicy;
+        boolean enabled = snoozeSwitch.isChecked();
+        if (current == null || enabled == (current.maxCount > 0)) {
+            return;
+        }
+        SnoozePolicy next = new SnoozePolicy(current.durationMinutes, enabled ? SnoozePolicy.DEFAULT.maxCount : 0);
+        Context appContext = getApplicationContext();
+        AppExecutors.getInstance().diskIO().execute(() -> new SnoozeStore(appContext).setPolicy(next));
+        AlarmLog.d(TAG, "다시 울림 설정 변경: {}분, 최대 {}번", next.durationMinutes, next.maxCount);
+    }
+
     /**
      * [기존 주석] 새 알람 ID를 관찰하여 시스템 알람을 예약합니다.
      */
@@ -333,6 +386,7 @@ public class SetAlarmActivity extends AppCompatActivity {
                         thursdayButton.isChecked(), fridayButton.isChecked(), saturdayButton.isChecked(), sundayButton.isChecked(),
                         isWeatherTtsEnabled // 날씨 TTS 설정값 추가
                 );
+                alarmToSchedule.setSkipHolidays(holidayOffSwitch.isChecked());
 
                 alarmScheduler.schedule(alarmToSchedule);
 
@@ -352,17 +406,30 @@ public class SetAlarmActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * [수정] 파일 이름을 찾는 ContentResolver 쿼리는 디스크 I/O 풀에서 실행하고, 결과만 메인 스레드에서 화면에 반영합니다.
+     * 그동안에는 URI의 마지막 경로를 보여 주고, 그 사이 다른 알람음을 고르면 늦게 온 결과는 버립니다.
+     */
     private void updateSelectedSoundUI(Uri uri) {
         if (uri != null) {
-            String fileName = getFileNameFromUri(uri);
-            selectedSoundTextView.setText(fileName);
+            selectedSoundTextView.setText(uri.getLastPathSegment());
             selectedSoundTextView.setVisibility(View.VISIBLE);
+            AppExecutors executors = AppExecutors.getInstance();
+            executors.diskIO().execute(() -> {
+                String fileName = getFileNameFromUri(uri);
+                executors.mainThread().execute(() -> {
+                    if (!isDestroyed() && uri.equals(selectedSoundUri)) {
+                        selectedSoundTextView.setText(fileName);
+                    }
+                });
+            });
         } else {
             selectedSoundTextView.setText(null);
             selectedSoundTextView.setVisibility(View.GONE);
         }
     }
 
+    // [주석] 백그라운드 스레드에서 호출합니다.
     private String getFileNameFromUri(Uri uri) {
         String fileName = null;
         try (Cursor cursor = getContentResolver().query(uri, null, null, null, null)) {
@@ -0,0 +1,108 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [새로운 클래스] Room의 QueryCallback으로 SQL 문과 바인딩 인자를 받아 두었다가, DAO 호출이 느리면 함께 기록합니다.
+ *
+ * Room의 QueryCallback은 문장을 실행하기 직전에 불릴 뿐 걸린 시간을 알려 주지 않습니다. 그래서 콜백을 호출한 스레드에서
+ * 바로 실행하도록 등록하고(스레드별로 받은 문장을 보관), 시간은 {@link MeteredAlarmDao}가 잽니다.
+ * DAO 호출이 끝날 때 {@link #end}가 기준 시간을 넘었는지 보고, 넘었으면 그 호출 동안 실행된 문장을
+ * 지표({@link MetricsRegistry})와 이벤트 로그({@link AlarmLog})에 남깁니다.
+ *
+ * 디버그 빌드에서는 받은 문장을 {@link QueryPlanChecker}에도 넘겨 실행 계획을 검사합니다.
+ */
+final class SlowQueryLogger implements RoomDatabase.QueryCallback {
+
+    private static final String TAG = "SlowQuery";
+
+    /** 이 시간을 넘긴 DAO 호출을 느린 쿼리로 기록합니다. 알람이 울리는 경로에서 한 프레임(16ms)을 넘기지 않는 것이 목표입니다. */
+    static final long DEFAULT_THRESHOLD_MILLIS = 16;
+
+    static final String SLOW_METRIC = "alarm_dao_slow_calls";
+    private static final String SLOW_HELP = "기준 시간을 넘긴 AlarmDao 호출 수";
+
+    // DAO를 거치지 않은 쿼리(예: LiveData)가 계속 쌓이지 않도록, 스레드별로 최근 문장 몇 개만 보관합니다.
+    private static final int MAX_STATEMENTS_PER_CALL = 8;
+
+    private final MetricsRegistry registry;
+    private final long thresholdNanos;
+    private final QueryPlanChecker planChecker;
+
+    private final ThreadLocal<ArrayDeque<Statement>> statements = new ThreadLocal<ArrayDeque<Statement>>() {
+        @Override
+        protected ArrayDeque<Statement> initialValue() {
+            return new ArrayDeque<>();
+        }
+    };
+
+    /**
+     * @param planChecker 실행 계획 검사기. 릴리스 빌드처럼 검사하지 않을 때는 null
+     */
+    SlowQueryLogger(MetricsRegistry registry, long thresholdMillis, QueryPlanChecker planChecker) {
+        this.registry = registry;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.planChecker = planChecker;
+    }
+
+    @Override
+    public void onQuery(@NonNull String sql, @NonNull List<?> bindArgs) {
+        ArrayDeque<Statement> pending = statements.get();
+        if (pending.size() == MAX_STATEMENTS_PER_CALL) {
+            pending.removeFirst();
+        }
+        pending.addLast(new Statement(sql, new ArrayList<Object>(bindArgs)));
+        if (planChecker != null) {
+            planChecker.check(sql, bindArgs);
+        }
+    }
+
+    /**
+     * DAO 호출을 시작할 때 부릅니다. 앞서 DAO 밖에서 실행된 문장은 버립니다.
+     */
+    void begin() {
+        statements.get().clear();
+    }
+
+    /**
+     * DAO 호출이 끝났을 때 부릅니다. 기준 시간을 넘었으면 이번 호출의 문장들을 기록합니다.
+     * @param op 지표 라벨로 쓸 DAO 메소드 이름
+     * @return 느린 호출로 기록했으면 true
+     */
+    boolean end(String op, long elapsedNanos) {
+        ArrayDeque<Statement> pending = statements.get();
+        try {
+            if (elapsedNanos < thresholdNanos) {
+                return false;
+            }
+            registry.counter(SLOW_METRIC, SLOW_HELP, "op", op).inc();
+            AlarmLog.w(TAG, "느린 DAO 호출 {} ({}ms): {}", op, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), pending);
+            return true;
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /** 실행된 SQL 문 하나와 바인딩 인자 */
+    static final class Statement {
+        final String sql;
+        final List<Object> bindArgs;
+
+        Statement(String sql, List<Object> bindArgs) {
+            this.sql = sql;
+            this.bindArgs = bindArgs;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return bindArgs.isEmpty() ? sql : sql + " " + bindArgs;
+        }
+    }
+}
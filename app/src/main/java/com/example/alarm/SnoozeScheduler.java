@@ -0,0 +1,79 @@
+package com.example.alarm;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+
+/**
+ * [새로운 클래스] 다시 울림(스누즈)을 AlarmManager에 예약합니다. 무엇을 언제 예약할지는 {@link SnoozeEngine}이 정합니다.
+ *
+ * 알람 예약(AlarmScheduler)은 PendingIntent 요청 코드로 알람 ID(1부터 자동 증가)를 쓰므로, 다시 울림은 그 음수를
+ * 요청 코드로 쓰고 액션도 따로 둡니다. 그래서 다시 울림을 예약하거나 취소해도 알람의 다음 회차 예약은 바뀌지 않습니다.
+ */
+class SnoozeScheduler implements AlarmLifecycle.Timer {
+
+    private static final String TAG = "SnoozeScheduler";
+
+    /** AlarmReceiver가 다시 울림 방송을 알아보는 액션 */
+    static final String ACTION_SNOOZE_FIRED = "com.example.alarm.ACTION_SNOOZE_FIRED";
+
+    private final Context context;
+    private final AlarmManager alarmManager;
+
+    private SnoozeScheduler(Context context) {
+        this.context = context;
+        this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    }
+
+    /**
+     * 저장소와 설정을 읽어 엔진을 만듭니다. SharedPreferences를 읽으므로 백그라운드 스레드에서 부릅니다.
+     * @param context 잠금 해제 전에는 기기 보호 저장소 Context도 됩니다.
+     */
+    static SnoozeEngine engine(Context context) {
+        return engine(context, Clock.SYSTEM);
+    }
+
+    /**
+     * [추가] 시계를 주입받아 엔진을 만듭니다. 다시 울림 시각은 System.currentTimeMillis() 대신 이 시계에서만 읽습니다.
+     * (AlarmScheduler, AlarmReceiver는 자신이 쓰는 시계를 그대로 넘깁니다.)
+     */
+    static SnoozeEngine engine(Context context, Clock clock) {
+        SnoozeStore store = new SnoozeStore(context);
+        return new SnoozeEngine(clock, store.getPolicy(), store, new SnoozeScheduler(context));
+    }
+
+    static int requestCode(int alarmId) {
+        return -alarmId;
+    }
+
+    @Override
+    public void setExact(int alarmId, long triggerAtMillis) {
+        if (alarmManager == null) {
+            AlarmLog.e(TAG, "AlarmManager를 가져올 수 없습니다. 다시 울림을 예약하지 못했습니다.");
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+            AlarmLog.e(TAG, "정확한 알람을 예약할 수 있는 권한이 없습니다.");
+            return;
+        }
+        alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, triggerAtMillis, createPendingIntent(alarmId));
+        AlarmLog.d(TAG, "알람 ID {}의 다시 울림이 {} 시간에 예약되었습니다.", alarmId, triggerAtMillis);
+    }
+
+    @Override
+    public void cancel(int alarmId) {
+        if (alarmManager != null) {
+            alarmManager.cancel(createPendingIntent(alarmId));
+        }
+    }
+
+    private PendingIntent createPendingIntent(int alarmId) {
+        Intent intent = new Intent(context, AlarmReceiver.class)
+                .setAction(ACTION_SNOOZE_FIRED)
+                .putExtra(MainActivity.ALARM_ID_EXTRA, alarmId);
+        return PendingIntent.getBroadcast(context, requestCode(alarmId), intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+}
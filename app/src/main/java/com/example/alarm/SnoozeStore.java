@@ -0,0 +1,87 @@
+package com.example.alarm;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [새로운 클래스] 다시 울림 상태와 설정을 기기 보호 저장소의 SharedPreferences에 저장합니다.
+ * alarms 테이블은 건드리지 않으며, 잠금 해제 전(Direct Boot)에도 읽고 쓸 수 있습니다.
+ *
+ * 키: "alarm_{ID}" → {@link SnoozeState#encode()}, 설정은 "duration_minutes", "max_count"
+ * 설정은 알람 추가/수정 화면의 '다시 울림' 스위치({@link SetAlarmActivity})가 바꿉니다.
+ * 첫 읽기에 디스크를 읽으므로 메인 스레드에서 만들지 않습니다.
+ */
+class SnoozeStore implements SnoozeEngine.Store {
+
+    private static final String PREFS_NAME = "snooze_state";
+    private static final String KEY_PREFIX = "alarm_";
+    private static final String KEY_DURATION_MINUTES = "duration_minutes";
+    private static final String KEY_MAX_COUNT = "max_count";
+
+    private final SharedPreferences prefs;
+
+    SnoozeStore(Context context) {
+        this.prefs = context.createDeviceProtectedStorageContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /** 저장된 설정. 없거나 잘못되었으면 {@link SnoozePolicy#DEFAULT} */
+    SnoozePolicy getPolicy() {
+        int duration = prefs.getInt(KEY_DURATION_MINUTES, SnoozePolicy.DEFAULT.durationMinutes);
+        int maxCount = prefs.getInt(KEY_MAX_COUNT, SnoozePolicy.DEFAULT.maxCount);
+        try {
+            return new SnoozePolicy(duration, maxCount);
+        } catch (IllegalArgumentException e) {
+            return SnoozePolicy.DEFAULT;
+        }
+    }
+
+    /** [추가] 설정을 바꿉니다. 이미 예약된 다시 울림에는 영향이 없고, 다음 울림부터 적용됩니다. */
+    void setPolicy(SnoozePolicy policy) {
+        prefs.edit()
+                .putInt(KEY_DURATION_MINUTES, policy.durationMinutes)
+                .putInt(KEY_MAX_COUNT, policy.maxCount)
+                .apply();
+    }
+
+    @Override
+    public SnoozeState get(int alarmId) {
+        return SnoozeState.decode(alarmId, prefs.getString(KEY_PREFIX + alarmId, null));
+    }
+
+    /**
+     * 울릴 때 상태를 찾을 수 있도록, 예약보다 먼저 디스크에 반영되게 commit()으로 씁니다.
+     */
+    @Override
+    public void put(SnoozeState state) {
+        prefs.edit().putString(KEY_PREFIX + state.alarmId, state.encode()).commit();
+    }
+
+    @Override
+    public void remove(int alarmId) {
+        prefs.edit().remove(KEY_PREFIX + alarmId).commit();
+    }
+
+    @Override
+    public List<SnoozeState> getAll() {
+        List<SnoozeState> states = new ArrayList<>();
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            if (!entry.getKey().startsWith(KEY_PREFIX) || !(entry.getValue() instanceof String)) {
+                continue;
+            }
+            try {
+                int alarmId = Integer.parseInt(entry.getKey().substring(KEY_PREFIX.length()));
+                SnoozeState state = SnoozeState.decode(alarmId, (String) entry.getValue());
+                if (state != null) {
+                    states.add(state);
+                }
+            } catch (NumberFormatException e) {
+                AlarmLog.w("SnoozeStore", "알 수 없는 다시 울림 키: {}", entry.getKey());
+            }
+        }
+        return states;
+    }
+}
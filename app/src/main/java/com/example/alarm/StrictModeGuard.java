@@ -0,0 +1,157 @@
+package com.example.alarm;
+
+import android.os.Build;
+import android.os.StrictMode;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * [새로운 클래스] 디버그 빌드와 테스트에서 StrictMode를 켜고, 위반을 기록하는 장치입니다.
+ *
+ *  - 스레드 정책: 메인 스레드의 디스크 읽기/쓰기, 네트워크, 느린 호출을 감지합니다.
+ *  - VM 정책: 닫지 않은 Closeable/SQLite 커서, Activity 누수, 등록 해제하지 않은 리시버, file:// URI 노출을 감지합니다.
+ *
+ * API 28 이상에서는 penaltyListener로 위반을 받아 {@link Recorder}가 스택 트레이스와 함께 이벤트 로그({@link AlarmLog})와
+ * 지표에 남깁니다. 그보다 낮은 버전은 리스너가 없으므로 logcat에만 남깁니다(penaltyLog).
+ *
+ * 테스트(Robolectric/계측 테스트)에서는 {@link #install}에 넘긴 Recorder의 {@link Recorder#assertNoViolations()}를
+ * 테스트 끝에 불러, 화면 흐름에 새로 생긴 메인 스레드 I/O가 있으면 실패하게 합니다.
+ */
+final class StrictModeGuard {
+
+    private static final String TAG = "StrictMode";
+
+    static final String VIOLATION_METRIC = "strictmode_violations";
+    private static final String VIOLATION_HELP = "StrictMode 위반 수";
+
+    private StrictModeGuard() {
+    }
+
+    /**
+     * 현재 스레드(메인 스레드에서 불러야 합니다)와 VM에 StrictMode 정책을 적용합니다.
+     * @param listenerExecutor 위반 리스너를 실행할 실행기. 메인 스레드를 막지 않도록 백그라운드 실행기를 넘깁니다.
+     */
+    static void install(Recorder recorder, Executor listenerExecutor) {
+        StrictMode.ThreadPolicy.Builder thread = new StrictMode.ThreadPolicy.Builder()
+                .detectDiskReads()
+                .detectDiskWrites()
+                .detectNetwork()
+                .detectCustomSlowCalls()
+                .detectResourceMismatches();
+        StrictMode.VmPolicy.Builder vm = new StrictMode.VmPolicy.Builder()
+                .detectLeakedClosableObjects()
+                .detectLeakedSqlLiteObjects()
+                .detectActivityLeaks()
+                .detectLeakedRegistrationObjects()
+                .detectFileUriExposure();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            vm.detectContentUriWithoutPermission();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            thread.penaltyListener(listenerExecutor, violation -> recorder.record("thread", violation));
+            vm.penaltyListener(listenerExecutor, violation -> recorder.record("vm", violation));
+        } else {
+            thread.penaltyLog();
+            vm.penaltyLog();
+        }
+        StrictMode.setThreadPolicy(thread.build());
+        StrictMode.setVmPolicy(vm.build());
+        AlarmLog.i(TAG, "StrictMode를 켰습니다. (API {})", Build.VERSION.SDK_INT);
+    }
+
+    /**
+     * 위반을 기록하는 쪽. 위반(android.os.strictmode.Violation)은 Throwable이므로 스택 트레이스가 위반이 일어난 위치를 가리킵니다.
+     *
+     * 이미 알고 있어 당장 고치지 않는 위반은 스택 프레임 일부("클래스.메소드")를 {@code knownFrames}에 넣어 기준선으로 삼습니다.
+     * 기준선에 걸린 위반도 로그와 지표에는 남지만, {@link #assertNoViolations()}를 실패시키지는 않습니다.
+     */
+    static final class Recorder {
+
+        // 테스트에서 확인할 수 있도록 기준선에 없는 위반을 보관합니다. 너무 많이 쌓이지 않게 제한합니다.
+        private static final int MAX_KEPT = 32;
+        private static final String APP_PACKAGE = "com.example.alarm.";
+
+        private final MetricsRegistry registry;
+        private final List<String> knownFrames;
+        private final List<Throwable> unexpected = new ArrayList<>();
+
+        Recorder(MetricsRegistry registry, String... knownFrames) {
+            this.registry = registry;
+            this.knownFrames = Arrays.asList(knownFrames);
+        }
+
+        /**
+         * @param policy "thread" 또는 "vm"
+         */
+        void record(String policy, @NonNull Throwable violation) {
+            String type = violation.getClass().getSimpleName();
+            registry.counter(VIOLATION_METRIC, VIOLATION_HELP, "policy", policy, "type", type).inc();
+            boolean known = isKnown(violation);
+            AlarmLog.w(TAG, "StrictMode {} 위반 {}{}", policy, type, known ? " (기준선)" : "", violation);
+            if (!known) {
+                synchronized (unexpected) {
+                    if (unexpected.size() < MAX_KEPT) {
+                        unexpected.add(violation);
+                    }
+                }
+            }
+        }
+
+        private boolean isKnown(Throwable violation) {
+            for (StackTraceElement frame : violation.getStackTrace()) {
+                String name = frame.getClassName() + "." + frame.getMethodName();
+                for (String known : knownFrames) {
+                    if (name.endsWith(known)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 위반을 일으킨 앱 코드의 위치. 스택의 위쪽은 프레임워크(BlockGuard 등)이므로 이 앱 패키지의 첫 프레임을 찾습니다.
+         */
+        private static StackTraceElement appFrame(Throwable violation) {
+            StackTraceElement[] stack = violation.getStackTrace();
+            for (StackTraceElement frame : stack) {
+                if (frame.getClassName().startsWith(APP_PACKAGE)) {
+                    return frame;
+                }
+            }
+            return stack.length > 0 ? stack[0] : null;
+        }
+
+        /** 기준선에 없는 위반 목록 */
+        List<Throwable> getUnexpectedViolations() {
+            synchronized (unexpected) {
+                return Collections.unmodifiableList(new ArrayList<>(unexpected));
+            }
+        }
+
+        /**
+         * 기준선에 없는 위반이 있었으면 첫 위반을 원인으로 하는 AssertionError를 던집니다. (테스트용)
+         */
+        void assertNoViolations() {
+            List<Throwable> violations = getUnexpectedViolations();
+            if (violations.isEmpty()) {
+                return;
+            }
+            StringBuilder message = new StringBuilder("StrictMode 위반 " + violations.size() + "건:");
+            for (Throwable violation : violations) {
+                StackTraceElement frame = appFrame(violation);
+                message.append("\n  ").append(violation.getClass().getSimpleName())
+                        .append(frame != null ? " at " + frame : "");
+            }
+            AssertionError error = new AssertionError(message.toString());
+            error.initCause(violations.get(0));
+            throw error;
+        }
+    }
+}
@@ -23,6 +23,21 @@ public class Weather {
     @SerializedName("icon")
     private String icon;
 
+    /**
+     * [추가] Gson이 리플렉션으로 객체를 만들 때 사용하는 기본 생성자입니다.
+     */
+    public Weather() {
+    }
+
+    /**
+     * [추가] {@link WeatherJsonCodec}이 리플렉션 없이 객체를 만들 때 사용합니다.
+     */
+    Weather(String main, String description, String icon) {
+        this.main = main;
+        this.description = description;
+        this.icon = icon;
+    }
+
     // --- Getter 메소드 --- //
 
     public String getMain() {
@@ -3,11 +3,10 @@ package com.example.alarm;
 import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.location.Location;
 import android.os.Bundle;
-import android.util.Log;
 import android.widget.Button;
 import android.widget.ImageButton;
+import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 import android.view.View;
@@ -21,20 +20,10 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-
-
-// [새로운 내용] 자동으로 생성된 BuildConfig 클래스를 명시적으로 import하여 IDE가 찾을 수 있도록 합니다.
-import com.example.alarm.BuildConfig;
-import com.google.android.gms.location.FusedLocationProviderClient;
-import com.google.android.gms.location.LocationServices;
 import com.google.android.material.switchmaterial.SwitchMaterial;
 
 import java.util.Locale;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * [기존 주석, 내용 확장] 날씨 정보를 표시하고, 날씨 연동 TTS 기능을 최종 설정하는 화면입니다.
  */
@@ -47,10 +36,14 @@ public class WeatherActivity extends AppCompatActivity implements View.OnClickLi
 
     // --- UI 요소 --- //
     private TextView weatherInfoTextView;
+    // [추가] 날씨 아이콘. WeatherIconLoader가 백그라운드에서 디코딩한 뒤 표시합니다.
+    private ImageView weatherIconImageView;
     private SwitchMaterial confirmWeatherTtsSwitch;
 
     // --- 위치 정보 관련 --- //
-    private FusedLocationProviderClient fusedLocationClient;
+    private LocationProvider locationProvider;
+    // [추가] 진행 중인 날씨 요청. 화면이 닫히면 취소하여 더 이상 콜백을 받지 않습니다.
+    private WeatherRepository.Cancellable weatherRequest;
     private ActivityResultLauncher<String[]> locationPermissionRequest;
 
     @Override
@@ -61,8 +54,8 @@ public class WeatherActivity extends AppCompatActivity implements View.OnClickLi
         // [새로운 내용] 권한 요청 결과를 처리할 런처를 초기화합니다.
         setupPermissionLauncher();
 
-        // [새로운 내용] 위치 서비스 클라이언트를 초기화합니다.
-        fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
+        // [수정] 위치 제공 계층을 초기화합니다. 저장된 위치가 충분히 새것이면 위치 서비스를 사용하지 않습니다.
+        locationProvider = LocationProvider.getInstance(this);
 
         // [기존 주석] 시스템 UI와 충돌하지 않도록 여백을 설정합니다.
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.weatherActivityLayout), (v, insets) -> {
@@ -73,6 +66,7 @@ public class WeatherActivity extends AppCompatActivity implements View.OnClickLi
 
         // [기존 주석] UI 뷰들을 찾아와 멤버 변수에 할당합니다.
         weatherInfoTextView = findViewById(R.id.weatherInfoTextView);
+        weatherIconImageView = findViewById(R.id.weatherIconImageView);
         confirmWeatherTtsSwitch = findViewById(R.id.confirmWeatherTtsSwitch);
         revertBtn = findViewById(R.id.weather_revertButton);
         revertBtn.setOnClickListener(this);
@@ -141,17 +135,21 @@ public class WeatherActivity extends AppCompatActivity implements View.OnClickLi
     }
 
     /**
-     * [새로운 메소드] 마지막으로 알려진 사용자의 위치를 가져옵니다.
+     * [수정] LocationProvider를 통해 날씨 조회에 사용할 위치(격자)를 가져옵니다.
+     * 시스템의 마지막 위치가 없으면(예: 기기 재부팅 직후) 저전력 위치를 새로 요청합니다.
      */
     private void getLastKnownLocation() {
         // [새로운 주석] 보안 검사를 통과하지 못하면(권한이 없으면) 메소드를 즉시 종료합니다.
         if (ActivityCompat.checkSelfPermission(this, Manifest.permission.ACCESS_FINE_LOCATION) != PackageManager.PERMISSION_GRANTED && ActivityCompat.checkSelfPermission(this, Manifest.permission.ACCESS_COARSE_LOCATION) != PackageManager.PERMISSION_GRANTED) {
             return; // 이 코드는 checkLocationPermissionAndGetWeather 에서 이미 확인했으므로 거의 실행되지 않습니다.
         }
-        fusedLocationClient.getLastLocation().addOnSuccessListener(this, location -> {
-            if (location != null) {
+        locationProvider.getLocation(bucket -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            if (bucket != null) {
                 // [새로운 주석] 위치 정보를 성공적으로 가져왔으면, 해당 위치로 날씨 정보를 요청합니다.
-                fetchWeatherInfo(location.getLatitude(), location.getLongitude());
+                fetchWeatherInfo(bucket);
             } else {
                 // [새로운 주석] 마지막 위치 정보가 없는 경우(예: 기기 재부팅 직후, GPS 비활성화 등)
                 weatherInfoTextView.setText("위치 정보를 가져올 수 없습니다. GPS를 활성화하고 잠시 후 다시 시도해주세요.");
@@ -160,39 +158,25 @@ public class WeatherActivity extends AppCompatActivity implements View.OnClickLi
     }
 
     /**
-     * [새로운 메소드] Retrofit을 사용하여 OpenWeatherMap API에 날씨 정보를 요청합니다.
-     * @param latitude 위도
-     * @param longitude 경도
+     * [수정] WeatherRepository를 통해 날씨 정보를 요청합니다.
+     * 캐시에 데이터가 있으면 네트워크 없이 바로 표시하고, 오래된 데이터라면 먼저 보여준 뒤 새 데이터로 갱신합니다.
+     * @param bucket 격자로 반올림된 위치
      */
-    private void fetchWeatherInfo(double latitude, double longitude) {
-        // [새로운 주석] Retrofit 클라이언트를 통해 API 서비스의 구현체를 가져옵니다.
-        WeatherApiService apiService = RetrofitClient.getApiService();
-
-        // [새로운 주석] API 키는 BuildConfig 클래스에서 안전하게 가져옵니다.
-        String apiKey = BuildConfig.WEATHER_API_KEY;
-
-        // [새로운 주석] API 요청을 생성합니다. 아직 실제 통신이 시작된 것은 아닙니다.
-        Call<WeatherResponse> call = apiService.getCurrentWeather(latitude, longitude, apiKey, "metric", "kr");
-
-        // [새로운 주석] 비동기 방식으로 네트워크 요청을 실행합니다.
-        call.enqueue(new Callback<WeatherResponse>() {
+    private void fetchWeatherInfo(LocationBucket bucket) {
+        if (weatherRequest != null) {
+            weatherRequest.cancel();
+        }
+        weatherRequest = WeatherRepository.getInstance(this).getWeather(bucket, new WeatherRepository.Callback() {
             @Override
-            public void onResponse(@NonNull Call<WeatherResponse> call, @NonNull Response<WeatherResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    // [새로운 주석] 서버로부터 성공적으로 응답을 받았을 때의 처리
-                    WeatherResponse weatherResponse = response.body();
-                    updateUiWithWeatherInfo(weatherResponse);
-                } else {
-                    // [새로운 주석] 서버로부터 오류 응답을 받았을 때 (예: 404 Not Found)
-                    weatherInfoTextView.setText("날씨 정보를 가져오는 데 실패했습니다. (오류 코드: " + response.code() + ")");
-                }
+            public void onWeather(@NonNull WeatherResponse weather, boolean isStale) {
+                // [새로운 주석] stale 데이터여도 일단 화면에 표시합니다. 새 데이터가 오면 이 메소드가 다시 호출됩니다.
+                updateUiWithWeatherInfo(weather);
             }
 
             @Override
-            public void onFailure(@NonNull Call<WeatherResponse> call, @NonNull Throwable t) {
-                // [새로운 주석] 네트워크 통신 자체에 실패했을 때 (예: 인터넷 연결 없음)
-                Log.e(TAG, "네트워크 오류", t);
-                weatherInfoTextView.setText("네트워크 오류가 발생했습니다. 인터넷 연결을 확인해주세요.");
+            public void onError(@NonNull String message) {
+                // [새로운 주석] 캐시도 없고 네트워크 요청도 실패한 경우에만 호출됩니다.
+                weatherInfoTextView.setText(message);
             }
         });
     }
@@ -213,12 +197,24 @@ public class WeatherActivity extends AppCompatActivity implements View.OnClickLi
                     cityName, weatherDescription, temperature);
 
             weatherInfoTextView.setText(weatherText);
+            // [추가] 아이콘은 메모리 캐시에 있으면 바로, 없으면 디스크/네트워크에서 불러온 뒤 표시됩니다.
+            WeatherIconLoader.getInstance(this).load(weatherResponse.getWeather().get(0).getIcon(), weatherIconImageView);
         } else {
             weatherInfoTextView.setText("날씨 정보 형식이 올바르지 않습니다.");
         }
     }
 
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // [추가] 같은 위치를 기다리는 다른 호출자(예: 미리 받기 작업)가 없다면 네트워크 요청도 함께 취소됩니다.
+        if (weatherRequest != null) {
+            weatherRequest.cancel();
+            weatherRequest = null;
+        }
+    }
+
     @Override
         public void onClick(View v) {
         if(v.getId()==R.id.weather_revertButton)
@@ -0,0 +1,50 @@
+package com.example.alarm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * [새로운 클래스] 날씨 TTS 알람에서 읽어 줄 안내 문장을 만듭니다.
+ * 같은 날씨면 항상 같은 문장이 나오므로, 문장의 해시를 미리 합성해 둔 음성 파일의 캐시 키로 사용합니다.
+ */
+final class WeatherAnnouncement {
+
+    private WeatherAnnouncement() {
+    }
+
+    /**
+     * 날씨 응답으로 안내 문장을 만듭니다. 온도는 정수로 반올림하여, 소수점 차이로 문장(캐시 키)이 바뀌지 않게 합니다.
+     * @return 안내 문장. 필요한 정보가 없으면 null
+     */
+    static String compose(WeatherResponse weather) {
+        if (weather == null || weather.getMainWeatherData() == null
+                || weather.getWeather() == null || weather.getWeather().isEmpty()) {
+            return null;
+        }
+        String description = weather.getWeather().get(0).getDescription();
+        long temperature = Math.round(weather.getMainWeatherData().getTemperature());
+        String place = weather.getCityName() != null ? weather.getCityName() + "의 " : "";
+        return String.format(Locale.KOREAN, "좋은 아침입니다. 현재 %s날씨는 %s, 기온은 %d도입니다.",
+                place, description, temperature);
+    }
+
+    /**
+     * 안내 문장의 SHA-256 해시(16진수 앞 32자리)를 구합니다. 파일 이름으로 사용합니다.
+     */
+    static String hashOf(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256은 모든 자바/안드로이드 플랫폼에서 제공되므로 발생하지 않습니다.
+            throw new IllegalStateException(e);
+        }
+    }
+}
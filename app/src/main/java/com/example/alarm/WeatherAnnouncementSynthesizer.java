@@ -0,0 +1,98 @@
+package com.example.alarm;
+
+import android.content.Context;
+import android.speech.tts.TextToSpeech;
+import android.speech.tts.UtteranceProgressListener;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * [새로운 클래스] 날씨 안내 문장을 TextToSpeech로 미리 음성 파일로 합성합니다.
+ *
+ * TTS 엔진 연결(바인딩)만으로도 저사양 기기에서는 몇 초가 걸리므로, 알람이 울리는 순간이 아니라
+ * 날씨 미리 받기 작업({@link WeatherPrefetchJobService})에서 합성해 {@link AnnouncementAudioCache}에 넣어 둡니다.
+ * 모든 메소드는 결과를 기다리며 스레드를 막으므로 백그라운드 스레드에서 호출해야 합니다.
+ */
+public final class WeatherAnnouncementSynthesizer {
+
+    private static final String TAG = "WeatherTtsSynthesizer";
+
+    private static final long INIT_TIMEOUT_SECONDS = 10;
+    private static final long SYNTHESIS_TIMEOUT_SECONDS = 20;
+
+    private WeatherAnnouncementSynthesizer() {
+    }
+
+    /**
+     * 안내 문장을 합성해 캐시에 넣습니다. 이미 같은 문장의 파일이 있으면 아무것도 하지 않습니다.
+     * @return 캐시에 파일이 준비되었는지 여부
+     */
+    public static boolean prerender(Context context, String text) {
+        AnnouncementAudioCache cache = AnnouncementAudioCache.getInstance(context);
+        if (cache.get(text) != null) {
+            AlarmLog.d(TAG, "이미 합성된 안내 음성이 있습니다.");
+            return true;
+        }
+        File tempFile = cache.newTempFile(text);
+        if (tempFile == null) {
+            return false;
+        }
+
+        CountDownLatch initLatch = new CountDownLatch(1);
+        AtomicBoolean initSuccess = new AtomicBoolean(false);
+        TextToSpeech tts = new TextToSpeech(context.getApplicationContext(), status -> {
+            initSuccess.set(status == TextToSpeech.SUCCESS);
+            initLatch.countDown();
+        });
+        try {
+            if (!initLatch.await(INIT_TIMEOUT_SECONDS, TimeUnit.SECONDS) || !initSuccess.get()) {
+                AlarmLog.w(TAG, "TTS 엔진을 초기화하지 못했습니다.");
+                return false;
+            }
+            tts.setLanguage(Locale.KOREAN);
+
+            CountDownLatch doneLatch = new CountDownLatch(1);
+            AtomicBoolean synthesisSuccess = new AtomicBoolean(false);
+            String utteranceId = WeatherAnnouncement.hashOf(text);
+            tts.setOnUtteranceProgressListener(new UtteranceProgressListener() {
+                @Override
+                public void onStart(String id) {
+                }
+
+                @Override
+                public void onDone(String id) {
+                    synthesisSuccess.set(true);
+                    doneLatch.countDown();
+                }
+
+                @Override
+                public void onError(String id) {
+                    doneLatch.countDown();
+                }
+            });
+            if (tts.synthesizeToFile(text, null, tempFile, utteranceId) != TextToSpeech.SUCCESS) {
+                AlarmLog.w(TAG, "음성 합성 요청이 거부되었습니다.");
+                return false;
+            }
+            if (!doneLatch.await(SYNTHESIS_TIMEOUT_SECONDS, TimeUnit.SECONDS) || !synthesisSuccess.get()) {
+                AlarmLog.w(TAG, "음성 합성에 실패했거나 시간이 초과되었습니다.");
+                return false;
+            }
+            boolean committed = cache.commit(text, tempFile) != null;
+            AlarmLog.d(TAG, "안내 음성 미리 합성 {}", committed ? "완료" : "실패");
+            return committed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            tts.shutdown();
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+        }
+    }
+}
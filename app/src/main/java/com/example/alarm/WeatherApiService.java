@@ -29,4 +29,19 @@ public interface WeatherApiService {
             @Query("units") String units,
             @Query("lang") String lang
     );
+
+    /**
+     * [추가] 5일 예보(3시간 간격) 요청입니다. (예: https://api.openweathermap.org/data/2.5/forecast)
+     * 한 번의 요청으로 앞으로 며칠 사이에 울릴 모든 날씨 TTS 알람의 날씨를 알 수 있습니다.
+     * 응답은 {@link ForecastJsonCodec}이 바로 압축 배열({@link ForecastSlab})로 변환합니다.
+     * 파라미터는 {@link #getCurrentWeather}와 같습니다.
+     */
+    @GET("forecast")
+    Call<ForecastSlab> getForecast(
+            @Query("lat") double latitude,
+            @Query("lon") double longitude,
+            @Query("appid") String apiKey,
+            @Query("units") String units,
+            @Query("lang") String lang
+    );
 }
@@ -0,0 +1,52 @@
+package com.example.alarm;
+
+import java.util.Locale;
+
+/**
+ * [새로운 클래스] 날씨 네트워크 요청의 지연 시간과 결과 통계 (불변 스냅샷). {@link WeatherRepository#getFetchMetrics()}로 얻습니다.
+ * 성공/실패 횟수는 single-flight 요청 단위이고, attempts/hedges/retries는 실제로 보낸 HTTP 요청 단위입니다.
+ */
+public final class WeatherFetchMetrics {
+
+    /** 실제로 보낸 HTTP 요청 수 (헤지와 재시도 포함) */
+    public final long attempts;
+    /** 첫 요청이 늦어 보낸 헤지 요청 수 */
+    public final long hedges;
+    /** 헤지 요청의 응답이 먼저 와서 사용된 횟수 */
+    public final long hedgeWins;
+    /** 실패 후 간격을 두고 다시 보낸 요청 수 */
+    public final long retries;
+    /** 전체 시간 예산을 넘겨 포기한 횟수 */
+    public final long deadlineExceeded;
+    /** 서킷 브레이커가 열려 있어 요청 없이 실패로 처리한 횟수 */
+    public final long shortCircuits;
+    /** 성공한 요청의 응답 시간 분위수(밀리초). 표본이 없으면 -1 */
+    public final long latencyP50Millis;
+    public final long latencyP90Millis;
+    public final long latencyP99Millis;
+    /** 서킷 브레이커의 현재 상태 ("CLOSED", "OPEN", "HALF_OPEN") */
+    public final String circuitState;
+
+    WeatherFetchMetrics(long attempts, long hedges, long hedgeWins, long retries, long deadlineExceeded,
+                        long shortCircuits, long latencyP50Millis, long latencyP90Millis, long latencyP99Millis,
+                        String circuitState) {
+        this.attempts = attempts;
+        this.hedges = hedges;
+        this.hedgeWins = hedgeWins;
+        this.retries = retries;
+        this.deadlineExceeded = deadlineExceeded;
+        this.shortCircuits = shortCircuits;
+        this.latencyP50Millis = latencyP50Millis;
+        this.latencyP90Millis = latencyP90Millis;
+        this.latencyP99Millis = latencyP99Millis;
+        this.circuitState = circuitState;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "attempts=%d hedges=%d(won %d) retries=%d deadlineExceeded=%d shortCircuits=%d p50=%dms p90=%dms p99=%dms circuit=%s",
+                attempts, hedges, hedgeWins, retries, deadlineExceeded, shortCircuits,
+                latencyP50Millis, latencyP90Millis, latencyP99Millis, circuitState);
+    }
+}
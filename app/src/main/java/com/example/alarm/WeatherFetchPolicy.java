@@ -0,0 +1,82 @@
+package com.example.alarm;
+
+import java.util.Random;
+
+/**
+ * [새로운 클래스] 날씨 네트워크 요청 하나(single-flight 단위)의 재시도 정책입니다.
+ *
+ *  - deadlineMillis: 첫 요청부터 포기할 때까지의 전체 시간 예산. 재시도와 헤지 요청도 모두 이 안에서 끝나야 합니다.
+ *  - 헤지(hedge): 첫 요청이 최근 응답 시간의 hedgePercentile 분위수만큼 지나도 오지 않으면, 끝나기를 기다리지 않고
+ *    같은 요청을 하나 더 보내 먼저 오는 응답을 씁니다. 막 깨어난 기기에서 DNS나 무선 연결 준비로 첫 요청만 멈춰 있는 경우를 위함입니다.
+ *  - 재시도: 진행 중인 요청이 모두 실패하면 지수적으로 늘어나는 간격(지터 포함)을 두고 maxAttempts까지 다시 보냅니다.
+ *  - 서킷 브레이커: 최종 실패가 연속으로 breakerFailureThreshold번 나면 breakerOpenMillis 동안 요청을 보내지 않고
+ *    바로 실패로 처리하여, 캐시가 있는 호출자는 캐시 데이터만 받게 합니다.
+ */
+final class WeatherFetchPolicy {
+
+    final long deadlineMillis;
+    final int maxAttempts;
+    final double hedgePercentile;
+    final long defaultHedgeDelayMillis;
+    final long minHedgeDelayMillis;
+    final long maxHedgeDelayMillis;
+    final long backoffBaseMillis;
+    final long backoffMaxMillis;
+    final int breakerFailureThreshold;
+    final long breakerOpenMillis;
+
+    /** 헤지 지연을 계산하기 전에 모아야 하는 최소 응답 시간 표본 수 */
+    static final int MIN_LATENCY_SAMPLES = 8;
+
+    /**
+     * 기본 정책: 전체 10초, 최대 3번 시도, 최근 응답 시간의 90분위수(0.3~3초)가 지나면 헤지,
+     * 0.4초부터 두 배씩(최대 3초) 늘어나는 재시도 간격, 연속 3번 실패하면 1분 동안 차단.
+     */
+    static final WeatherFetchPolicy DEFAULT = new WeatherFetchPolicy(10_000, 3, 0.9, 1_500, 300, 3_000, 400, 3_000, 3, 60_000);
+
+    WeatherFetchPolicy(long deadlineMillis, int maxAttempts, double hedgePercentile,
+                       long defaultHedgeDelayMillis, long minHedgeDelayMillis, long maxHedgeDelayMillis,
+                       long backoffBaseMillis, long backoffMaxMillis,
+                       int breakerFailureThreshold, long breakerOpenMillis) {
+        this.deadlineMillis = deadlineMillis;
+        this.maxAttempts = maxAttempts;
+        this.hedgePercentile = hedgePercentile;
+        this.defaultHedgeDelayMillis = defaultHedgeDelayMillis;
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+        this.maxHedgeDelayMillis = maxHedgeDelayMillis;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.breakerFailureThreshold = breakerFailureThreshold;
+        this.breakerOpenMillis = breakerOpenMillis;
+    }
+
+    /** 헤지 요청을 보내지 않는 정책. 요청 수를 정확히 세어야 하는 테스트 등에서 사용합니다. */
+    WeatherFetchPolicy withoutHedging() {
+        return new WeatherFetchPolicy(deadlineMillis, maxAttempts, hedgePercentile,
+                Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE,
+                backoffBaseMillis, backoffMaxMillis, breakerFailureThreshold, breakerOpenMillis);
+    }
+
+    /**
+     * 헤지 요청을 보내기까지 기다릴 시간. 표본이 모자라면 기본값을 사용합니다.
+     * @param latencyPercentileMillis 최근 응답 시간의 hedgePercentile 분위수. 표본이 모자라면 -1
+     */
+    long hedgeDelayMillis(long latencyPercentileMillis) {
+        if (latencyPercentileMillis < 0) {
+            return defaultHedgeDelayMillis;
+        }
+        return Math.min(maxHedgeDelayMillis, Math.max(minHedgeDelayMillis, latencyPercentileMillis));
+    }
+
+    /**
+     * n번째 재시도 전에 기다릴 시간. 간격은 base × 2^(n-1) (최대 backoffMax)이고, 여러 기기가 같은 순간에
+     * 몰리지 않도록 그 절반~전체 사이에서 무작위로 고릅니다. (equal jitter)
+     * @param retry 1부터 시작하는 재시도 번호
+     */
+    long backoffMillis(int retry, Random random) {
+        int shift = Math.min(Math.max(retry - 1, 0), 20);
+        long ceiling = Math.min(backoffMaxMillis, backoffBaseMillis << shift);
+        long half = ceiling / 2;
+        return half + (half > 0 ? (long) (random.nextDouble() * (ceiling - half + 1)) : 0);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.alarm;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LruCache;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * [새로운 클래스] 날씨 아이콘을 ImageView에 표시하는 2단계 캐시의 메모리 계층입니다.
+ *
+ *  - 메모리: 표시할 뷰 크기로 줄여 디코딩한 Bitmap을 바이트 수 기준의 LRU로 보관합니다. 키는 "아이콘 코드@픽셀 크기"입니다.
+ *  - 디스크: 인코딩된 아이콘 파일은 {@link WeatherIconStore}가 코드별로 한 번만 내려받아 보관합니다.
+ *
+ * 메모리에 있으면 바로 표시하고, 없으면 백그라운드 스레드에서 파일을 받아 디코딩한 뒤 메인 스레드에서 표시합니다.
+ * 메인 스레드에서는 디코딩하지 않습니다.
+ */
+public final class WeatherIconLoader {
+
+    private static final String TAG = "WeatherIconLoader";
+
+    // 아이콘은 96px 기준 36KB 정도이므로, 화면 몇 개에서 쓰는 아이콘을 모두 담기에 1MB면 충분합니다.
+    private static final int MEMORY_CACHE_BYTES = 1024 * 1024;
+    // 뷰 크기를 알 수 없을 때 사용할 크기
+    private static final int DEFAULT_SIZE_DP = 64;
+
+    private static volatile WeatherIconLoader INSTANCE;
+
+    private final WeatherIconStore store;
+    private final LruCache<String, Bitmap> memoryCache;
+    private final AppExecutors executors;
+
+    private WeatherIconLoader(WeatherIconStore store, AppExecutors executors) {
+        this.store = store;
+        this.executors = executors;
+        this.memoryCache = new LruCache<String, Bitmap>(MEMORY_CACHE_BYTES) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+    }
+
+    /**
+     * 앱 전체에서 공유하는 인스턴스를 가져옵니다. (싱글톤 패턴)
+     */
+    public static WeatherIconLoader getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (WeatherIconLoader.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    INSTANCE = new WeatherIconLoader(WeatherIconStore.getInstance(appContext), AppExecutors.getInstance());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 아이콘을 뷰에 표시합니다. 메인 스레드에서 호출해야 합니다.
+     * 같은 뷰에 다른 아이콘을 다시 요청하면, 앞선 요청의 결과는 표시하지 않습니다.
+     * @param iconCode "01d" 형식의 아이콘 코드. null이면 뷰를 숨깁니다.
+     */
+    public void load(String iconCode, ImageView target) {
+        if (iconCode == null) {
+            target.setTag(null);
+            target.setVisibility(View.GONE);
+            return;
+        }
+        int targetPx = targetSizeOf(target);
+        String key = iconCode + "@" + targetPx;
+        target.setTag(key);
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            target.setImageBitmap(cached);
+            target.setVisibility(View.VISIBLE);
+            return;
+        }
+        WeakReference<ImageView> targetRef = new WeakReference<>(target);
+        // [수정] 파일을 받는 일(디스크/네트워크 대기)은 네트워크 풀에서, 디코딩은 compute 풀에서 합니다.
+        executors.network().execute(() -> {
+            File file = store.getIconFile(iconCode);
+            if (file == null) {
+                bind(targetRef, key, null);
+                return;
+            }
+            try {
+                executors.compute().execute(() -> {
+                    Bitmap bitmap = decode(file, targetPx);
+                    if (bitmap != null) {
+                        memoryCache.put(key, bitmap);
+                    }
+                    bind(targetRef, key, bitmap);
+                });
+            } catch (RejectedExecutionException e) {
+                // compute 풀이 가득 찼습니다. 아이콘은 부가 정보이므로 이번에는 표시하지 않습니다.
+                AlarmLog.w(TAG, "디코딩 대기열이 가득 차 아이콘을 건너뜁니다: {}", iconCode);
+                bind(targetRef, key, null);
+            }
+        });
+    }
+
+    /**
+     * 메인 스레드에서 결과를 뷰에 연결합니다. 그 사이 뷰가 사라졌거나 다른 아이콘을 요청했다면 무시합니다.
+     */
+    private void bind(WeakReference<ImageView> targetRef, String key, Bitmap bitmap) {
+        executors.mainThread().execute(() -> {
+            ImageView view = targetRef.get();
+            if (view == null || !key.equals(view.getTag())) {
+                return;
+            }
+            if (bitmap != null) {
+                view.setImageBitmap(bitmap);
+                view.setVisibility(View.VISIBLE);
+            } else {
+                view.setVisibility(View.GONE);
+            }
+        });
+    }
+
+    /**
+     * 레이아웃에 지정된 크기를 우선 사용하고, 아직 측정 전이거나 wrap_content이면 기본 크기를 사용합니다.
+     */
+    private static int targetSizeOf(ImageView view) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        int size = Math.max(view.getWidth(), view.getHeight());
+        if (size <= 0 && params != null) {
+            size = Math.max(params.width, params.height);
+        }
+        if (size <= 0) {
+            size = Math.round(DEFAULT_SIZE_DP * view.getResources().getDisplayMetrics().density);
+        }
+        return size;
+    }
+
+    /**
+     * 파일의 크기만 먼저 읽어 필요한 만큼만 줄여 디코딩하고, 그래도 크면 정확히 목표 크기로 맞춥니다.
+     */
+    private static Bitmap decode(File file, int targetPx) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getPath(), bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            AlarmLog.w(TAG, "아이콘 파일을 디코딩할 수 없습니다: {}", file);
+            // 손상된 파일은 지워서 다음에 다시 받게 합니다.
+            file.delete();
+            return null;
+        }
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = calculateInSampleSize(bounds.outWidth, bounds.outHeight, targetPx);
+        Bitmap bitmap = BitmapFactory.decodeFile(file.getPath(), options);
+        if (bitmap == null) {
+            return null;
+        }
+        int largest = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (largest <= targetPx) {
+            return bitmap;
+        }
+        float scale = (float) targetPx / largest;
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap,
+                Math.max(1, Math.round(bitmap.getWidth() * scale)), Math.max(1, Math.round(bitmap.getHeight() * scale)), true);
+        if (scaled != bitmap) {
+            bitmap.recycle();
+        }
+        return scaled;
+    }
+
+    /**
+     * 디코딩 결과가 목표 크기보다 작아지지 않는 가장 큰 2의 거듭제곱 배율을 계산합니다.
+     * @return BitmapFactory.Options.inSampleSize에 넣을 값 (1 이상)
+     */
+    static int calculateInSampleSize(int width, int height, int targetPx) {
+        int sampleSize = 1;
+        int largest = Math.max(width, height);
+        while (targetPx > 0 && largest / (sampleSize * 2) >= targetPx) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+}
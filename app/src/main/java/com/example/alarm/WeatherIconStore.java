@@ -0,0 +1,136 @@
+package com.example.alarm;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * [새로운 클래스] 날씨 아이콘의 디스크 계층입니다. 인코딩된 PNG 파일을 아이콘 코드별로 한 번만 내려받아 보관합니다.
+ *
+ *  - OpenWeatherMap의 아이콘 코드는 "01d", "10n"처럼 18가지뿐이고 파일도 몇 KB이므로, 크기 제한 없이 계속 보관합니다.
+ *  - 같은 코드를 여러 스레드가 동시에 요청해도 다운로드는 한 번만 합니다. (코드별 잠금)
+ *  - 디코딩은 하지 않습니다. 화면 크기에 맞춘 디코딩과 메모리 계층은 {@link WeatherIconLoader}가 맡습니다.
+ *
+ * 네트워크와 디스크에 접근하므로 모든 메소드는 백그라운드 스레드에서 호출해야 합니다.
+ */
+public final class WeatherIconStore {
+
+    private static final String TAG = "WeatherIconStore";
+
+    // OpenWeatherMap 아이콘 주소. 코드 뒤에 "@2x.png"를 붙이면 100x100 크기의 아이콘을 받을 수 있습니다.
+    private static final String ICON_BASE_URL = "https://openweathermap.org/img/wn/";
+    private static final String CACHE_DIR = "weather_icons";
+    private static final String EXTENSION = ".png";
+
+    // 파일 이름으로 쓰이므로, 서버 응답에 이상한 값이 들어와도 경로가 되지 않도록 형식을 확인합니다.
+    private static final Pattern ICON_CODE = Pattern.compile("[0-9]{2}[dn]");
+
+    private static volatile WeatherIconStore INSTANCE;
+
+    private final OkHttpClient httpClient;
+    private final String baseUrl;
+    private final File directory;
+    private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+    private final AtomicLong downloads = new AtomicLong();
+
+    WeatherIconStore(OkHttpClient httpClient, String baseUrl, File directory) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.directory = directory;
+    }
+
+    /**
+     * 앱 전체에서 공유하는 인스턴스를 가져옵니다. (싱글톤 패턴)
+     */
+    public static WeatherIconStore getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (WeatherIconStore.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    INSTANCE = new WeatherIconStore(RetrofitClient.getHttpClient(appContext), ICON_BASE_URL,
+                            new File(appContext.getCacheDir(), CACHE_DIR));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 아이콘 파일을 돌려줍니다. 디스크에 없으면 내려받아 저장한 뒤 돌려줍니다.
+     * @param iconCode "01d" 형식의 아이콘 코드
+     * @return 인코딩된 아이콘 파일. 코드가 올바르지 않거나 내려받지 못했으면 null
+     */
+    public File getIconFile(String iconCode) {
+        if (iconCode == null || !ICON_CODE.matcher(iconCode).matches()) {
+            return null;
+        }
+        File file = fileFor(iconCode);
+        if (file.isFile()) {
+            return file;
+        }
+        synchronized (locks.computeIfAbsent(iconCode, code -> new Object())) {
+            // 잠금을 기다리는 동안 다른 스레드가 이미 받아 두었을 수 있습니다.
+            if (file.isFile()) {
+                return file;
+            }
+            return download(iconCode, file) ? file : null;
+        }
+    }
+
+    /**
+     * [테스트용] 지금까지 네트워크에서 아이콘을 내려받은 횟수
+     */
+    long getDownloadCount() {
+        return downloads.get();
+    }
+
+    private File fileFor(String iconCode) {
+        return new File(directory, iconCode + EXTENSION);
+    }
+
+    private boolean download(String iconCode, File target) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            AlarmLog.w(TAG, "아이콘 폴더를 만들 수 없습니다: {}", directory);
+            return false;
+        }
+        Request request = new Request.Builder().url(baseUrl + iconCode + "@2x.png").build();
+        File temp = new File(directory, iconCode + ".tmp");
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                AlarmLog.w(TAG, "아이콘을 받지 못했습니다: {} (오류 코드: {})", iconCode, response.code());
+                return false;
+            }
+            downloads.incrementAndGet();
+            try (InputStream in = body.byteStream(); OutputStream out = new FileOutputStream(temp)) {
+                byte[] buffer = new byte[8 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+        } catch (IOException e) {
+            AlarmLog.w(TAG, "아이콘 다운로드 실패: {}", iconCode, e);
+            temp.delete();
+            return false;
+        }
+        if (!temp.renameTo(target)) {
+            AlarmLog.w(TAG, "아이콘 파일 교체 실패: {}", target);
+            temp.delete();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.alarm;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * [새로운 클래스] OpenWeatherMap 현재 날씨 JSON을 리플렉션 없이 스트리밍으로 읽고 쓰는 코덱입니다.
+ *
+ * Gson의 리플렉션 기반 변환은 처음 사용할 때 클래스마다 어댑터를 만들고(콜드 스타트 비용),
+ * 응답 전체를 객체로 만듭니다. 앱이 실제로 읽는 값은 도시 이름, 날씨 설명/아이콘, 현재 온도뿐이므로
+ * 이 코덱은 그 값들만 꺼내고 나머지(coord, wind, sys 등)는 객체를 만들지 않고 건너뜁니다.
+ *
+ * 읽은 결과는 기존과 같은 {@link WeatherResponse} 이므로 화면과 캐시 코드는 바뀌지 않습니다.
+ *  - weather 배열은 첫 번째 항목만 유지합니다.
+ *  - main 객체는 temp만 유지합니다. (나머지 수치는 0)
+ */
+final class WeatherJsonCodec {
+
+    private WeatherJsonCodec() {
+    }
+
+    /**
+     * JSON 객체 하나를 읽어 WeatherResponse로 만듭니다. 값이 없는 항목은 Gson과 같이 null로 둡니다.
+     */
+    static WeatherResponse read(JsonReader in) throws IOException {
+        String cityName = null;
+        List<Weather> weather = null;
+        MainWeatherData mainWeatherData = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    cityName = nextStringOrNull(in);
+                    break;
+                case "weather":
+                    weather = readWeatherArray(in);
+                    break;
+                case "main":
+                    mainWeatherData = readMain(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return new WeatherResponse(cityName, weather, mainWeatherData);
+    }
+
+    /**
+     * {@link #read}가 다시 읽을 수 있는 최소한의 JSON으로 씁니다. (디스크 캐시용)
+     */
+    static void write(JsonWriter out, WeatherResponse response) throws IOException {
+        out.beginObject();
+        List<Weather> weather = response.getWeather();
+        if (weather != null) {
+            out.name("weather").beginArray();
+            if (!weather.isEmpty()) {
+                Weather first = weather.get(0);
+                out.beginObject();
+                out.name("main").value(first.getMain());
+                out.name("description").value(first.getDescription());
+                out.name("icon").value(first.getIcon());
+                out.endObject();
+            }
+            out.endArray();
+        }
+        MainWeatherData main = response.getMainWeatherData();
+        if (main != null) {
+            out.name("main").beginObject();
+            out.name("temp").value(main.getTemperature());
+            out.endObject();
+        }
+        if (response.getCityName() != null) {
+            out.name("name").value(response.getCityName());
+        }
+        out.endObject();
+    }
+
+    private static List<Weather> readWeatherArray(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Weather first = null;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (first == null) {
+                first = readWeather(in);
+            } else {
+                // 앱은 첫 번째 날씨만 사용하므로 나머지는 건너뜁니다.
+                in.skipValue();
+            }
+        }
+        in.endArray();
+        return first != null ? Collections.singletonList(first) : Collections.emptyList();
+    }
+
+    private static Weather readWeather(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String main = null;
+        String description = null;
+        String icon = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "main":
+                    main = nextStringOrNull(in);
+                    break;
+                case "description":
+                    description = nextStringOrNull(in);
+                    break;
+                case "icon":
+                    icon = nextStringOrNull(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return new Weather(main, description, icon);
+    }
+
+    private static MainWeatherData readMain(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        double temperature = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("temp".equals(in.nextName()) && in.peek() != JsonToken.NULL) {
+                temperature = in.nextDouble();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return new MainWeatherData(temperature);
+    }
+
+    static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
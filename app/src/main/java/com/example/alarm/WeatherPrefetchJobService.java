@@ -0,0 +1,90 @@
+package com.example.alarm;
+
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * [새로운 클래스] {@link WeatherPrefetchScheduler}가 예약한 시간 창 안에서 실행되어, 날씨를 미리 받아 캐시에 저장합니다.
+ * 알람이 울릴 때는 이 작업이 저장해 둔 로컬 데이터(날씨, 미리 합성한 안내 음성)만 읽습니다.
+ * [수정] 알람마다 현재 날씨를 받는 대신 예보를 한 번 받아 {@link ForecastCache}에 저장합니다.
+ */
+public class WeatherPrefetchJobService extends JobService {
+
+    private static final String TAG = "WeatherPrefetchJob";
+
+    // [추가] 지금 시각을 읽는 시계. 서비스는 시스템이 만들기 때문에 생성자 대신 이 필드로 바꿉니다.
+    @VisibleForTesting
+    static volatile Clock clock = Clock.SYSTEM;
+
+    // [수정] 공용 네트워크 풀에서 실행 중인 작업. 시스템이 작업을 중단하면 이 작업만 인터럽트합니다.
+    private Future<?> running;
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        AlarmLog.d(TAG, "날씨 미리 받기 작업 시작");
+        running = AppExecutors.getInstance().network().submit(() -> {
+            LocationBucket bucket = WeatherPrefetchScheduler.resolvePrefetchBucket(this);
+            // [수정] 예보 한 번으로 다음 갱신 전까지의 알람을 모두 처리합니다. 예보를 받지 못하면 현재 날씨라도 받아 둡니다.
+            boolean success = bucket != null && (ForecastCache.getInstance(this).refreshBlocking(bucket)
+                    || WeatherRepository.getInstance(this).refreshBlocking(bucket));
+            if (!success) {
+                // 실패하면 시스템의 백오프 정책에 따라 다시 시도하도록 합니다.
+                jobFinished(params, bucket != null);
+                return;
+            }
+            // [추가] 받아 온 날씨로 안내 음성을 미리 합성해 둡니다. 알람이 울릴 때 TTS 엔진을 기다리지 않기 위함입니다.
+            for (String announcement : upcomingAnnouncements(bucket)) {
+                WeatherAnnouncementSynthesizer.prerender(this, announcement);
+            }
+            jobFinished(params, false);
+            // 작업을 마친 뒤 다음 창을 예약합니다. (실행 중인 작업과 같은 ID를 예약하면 실행 중인 작업이 중단되므로 순서가 중요합니다.)
+            WeatherPrefetchScheduler.update(this, clock);
+        });
+        // 작업이 별도의 스레드에서 계속되므로 true를 반환합니다.
+        return true;
+    }
+
+    /**
+     * [추가] 다음 예보 갱신 전까지 울릴 날씨 TTS 알람마다, 그 시각의 예보로 만든 안내 문장을 모읍니다. (같은 문장은 한 번만)
+     * 예보가 없으면 캐시된 현재 날씨로 만든 문장 하나를 돌려줍니다.
+     */
+    private Set<String> upcomingAnnouncements(LocationBucket bucket) {
+        Set<String> announcements = new LinkedHashSet<>();
+        ForecastCache forecastCache = ForecastCache.getInstance(this);
+        if (forecastCache.get(bucket) != null) {
+            long now = clock.currentTimeMillis();
+            long until = now + forecastCache.getRefreshIntervalMillis();
+            for (Alarm alarm : AppDatabase.getDatabase(getApplicationContext()).alarmDao().getWeatherAlarmsNonLive()) {
+                long trigger = AlarmScheduler.calculateNextTriggerTime(alarm, now);
+                WeatherResponse weather = trigger <= until ? forecastCache.weatherAt(bucket, trigger) : null;
+                String announcement = weather != null ? WeatherAnnouncement.compose(weather) : null;
+                if (announcement != null) {
+                    announcements.add(announcement);
+                }
+            }
+            return announcements;
+        }
+        WeatherRepository.CachedWeather cached = WeatherRepository.getInstance(this).getCacheEntry(bucket);
+        String announcement = cached != null ? WeatherAnnouncement.compose(cached.response) : null;
+        if (announcement != null) {
+            announcements.add(announcement);
+        }
+        return announcements;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        AlarmLog.d(TAG, "날씨 미리 받기 작업이 시스템에 의해 중단됨");
+        if (running != null) {
+            running.cancel(true);
+        }
+        // 중단되었으므로 다시 시도하도록 합니다.
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.alarm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * [새로운 클래스] 날씨 TTS 알람이 울리기 전에 날씨를 미리 받아 둘 '시간 창(window)'을 계산합니다.
+ * 안드로이드 API에 의존하지 않는 순수 계산 클래스라서 가짜 시계로 하루치 알람을 시뮬레이션할 수 있습니다.
+ *
+ * 한 번 받아온 날씨는 {@link Policy#maxAgeMillis} 동안 알람에서 사용할 수 있으므로,
+ * 가까이 붙어 있는 알람들은 하나의 창으로 묶어 네트워크 요청을 한 번만 하게 합니다.
+ */
+final class WeatherPrefetchPlanner {
+
+    /**
+     * 미리 받기 정책.
+     *  - maxLeadMillis: 알람보다 최대 얼마나 먼저 받을 수 있는지 (창의 시작)
+     *  - minLeadMillis: 알람보다 최소 얼마나 먼저 받아 두어야 하는지 (창의 마감)
+     *  - maxAgeMillis: 알람이 울릴 때 사용해도 되는 날씨 데이터의 최대 나이
+     */
+    static final class Policy {
+        final long maxLeadMillis;
+        final long minLeadMillis;
+        final long maxAgeMillis;
+
+        Policy(long maxLeadMillis, long minLeadMillis, long maxAgeMillis) {
+            this.maxLeadMillis = maxLeadMillis;
+            this.minLeadMillis = minLeadMillis;
+            this.maxAgeMillis = maxAgeMillis;
+        }
+    }
+
+    /** 기본 정책: 알람 60분 전 ~ 10분 전 사이에 받고, 2시간까지는 같은 데이터를 사용합니다. */
+    static final Policy DEFAULT_POLICY = new Policy(60 * 60 * 1000L, 10 * 60 * 1000L, 2 * 60 * 60 * 1000L);
+
+    /**
+     * [추가] 예보({@link ForecastSlab})를 받아 두는 경우의 정책. 예보는 알람 시각의 날씨를 알려 주므로
+     * 현재 날씨처럼 2시간 안에 써야 할 이유가 없고, 갱신 주기 동안은 같은 예보로 모든 알람을 처리합니다.
+     * @param refreshIntervalMillis 예보 갱신 주기 ({@link ForecastCache#getRefreshIntervalMillis()})
+     */
+    static Policy forecastPolicy(long refreshIntervalMillis) {
+        return new Policy(DEFAULT_POLICY.maxLeadMillis, DEFAULT_POLICY.minLeadMillis, refreshIntervalMillis);
+    }
+
+    /**
+     * 미리 받기를 실행할 시간 창. startMillis ~ deadlineMillis 사이 어느 때 실행해도
+     * alarmCount 개의 알람 모두가 maxAge 안의 데이터로 울립니다.
+     */
+    static final class Window {
+        final long startMillis;
+        final long deadlineMillis;
+        final int alarmCount;
+
+        Window(long startMillis, long deadlineMillis, int alarmCount) {
+            this.startMillis = startMillis;
+            this.deadlineMillis = deadlineMillis;
+            this.alarmCount = alarmCount;
+        }
+    }
+
+    private WeatherPrefetchPlanner() {
+    }
+
+    /**
+     * @param triggerTimes 날씨 TTS 알람들의 다음 울림 시각 (정렬되어 있지 않아도 됩니다)
+     * @param lastFetchMillis 마지막으로 날씨를 받아온 시각. 받은 적이 없으면 Long.MIN_VALUE
+     * @param nowMillis 현재 시각
+     * @return 시간 순으로 정렬된 미리 받기 창 목록. 할 일이 없으면 빈 목록
+     */
+    static List<Window> plan(long[] triggerTimes, long lastFetchMillis, long nowMillis, Policy policy) {
+        if (triggerTimes.length == 0) {
+            return Collections.emptyList();
+        }
+        long[] triggers = triggerTimes.clone();
+        Arrays.sort(triggers);
+
+        int i = 0;
+        // 이미 지난 알람과, 마지막으로 받은 데이터로 충분한 알람은 건너뜁니다.
+        long coveredUntil = lastFetchMillis == Long.MIN_VALUE ? Long.MIN_VALUE : lastFetchMillis + policy.maxAgeMillis;
+        while (i < triggers.length && (triggers[i] <= nowMillis || triggers[i] <= coveredUntil)) {
+            i++;
+        }
+
+        List<Window> windows = new ArrayList<>();
+        while (i < triggers.length) {
+            long first = triggers[i];
+            long deadline = first - policy.minLeadMillis;
+            int j = i + 1;
+            // 마감 시각에 받아도 maxAge 안에 울리는 알람까지 같은 창으로 묶습니다.
+            while (j < triggers.length && triggers[j] - policy.maxAgeMillis <= deadline) {
+                j++;
+            }
+            long start = Math.max(first - policy.maxLeadMillis, triggers[j - 1] - policy.maxAgeMillis);
+            // 알람이 너무 임박했다면 지금 바로 받습니다.
+            start = Math.max(start, nowMillis);
+            deadline = Math.max(deadline, start);
+            windows.add(new Window(start, deadline, j - i));
+            i = j;
+        }
+        return windows;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.alarm;
+
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+
+import java.util.List;
+
+/**
+ * [새로운 클래스] 날씨 TTS 알람 전에 날씨를 미리 받아 두는 작업을 JobScheduler에 예약합니다.
+ * 알람이 울리는 순간(기기가 막 깨어나 네트워크가 느린 시점)에 날씨를 요청하지 않도록,
+ * {@link WeatherPrefetchPlanner}가 계산한 시간 창 안에서 시스템이 편한 때에 실행하게 합니다.
+ * [추가] 미리 받기 작업은 예보를 받으므로, 갱신 주기 안에 울리는 알람들은 한 번의 요청으로 모두 처리됩니다.
+ */
+public final class WeatherPrefetchScheduler {
+
+    private static final String TAG = "WeatherPrefetchScheduler";
+
+    static final int JOB_ID = 1001;
+
+    private WeatherPrefetchScheduler() {
+    }
+
+    /**
+     * 데이터베이스에서 날씨 TTS 알람을 읽어 다음 미리 받기 작업을 다시 예약합니다. 백그라운드 스레드에서 호출해야 합니다.
+     */
+    public static void update(Context context) {
+        update(context, Clock.SYSTEM);
+    }
+
+    /**
+     * [추가] 시계를 주입받습니다. 미리 받기 창은 System.currentTimeMillis() 대신 이 시계의 지금 시각으로 계산합니다.
+     */
+    static void update(Context context, Clock clock) {
+        AlarmDao alarmDao = AppDatabase.getDatabase(context.getApplicationContext()).alarmDao();
+        update(context, alarmDao.getWeatherAlarmsNonLive(), clock);
+    }
+
+    /**
+     * 전달받은 날씨 TTS 알람 목록을 기준으로 다음 미리 받기 작업을 다시 예약합니다. 백그라운드 스레드에서 호출해야 합니다.
+     * @param weatherAlarms 날씨 TTS가 켜진 활성 알람 목록
+     */
+    public static void update(Context context, List<Alarm> weatherAlarms) {
+        update(context, weatherAlarms, Clock.SYSTEM);
+    }
+
+    static void update(Context context, List<Alarm> weatherAlarms, Clock clock) {
+        JobScheduler jobScheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (jobScheduler == null) {
+            AlarmLog.e(TAG, "JobScheduler를 가져올 수 없습니다.");
+            return;
+        }
+
+        LocationBucket bucket = resolvePrefetchBucket(context);
+        if (weatherAlarms.isEmpty() || bucket == null) {
+            // 날씨 알람이 없거나, 한 번도 위치를 얻은 적이 없어 어디의 날씨를 받을지 모르는 경우입니다.
+            jobScheduler.cancel(JOB_ID);
+            return;
+        }
+        // [수정] 예보가 가장 최근 데이터이면 예보 갱신 주기 기준으로, 아니면(예보를 받지 못해 현재 날씨로 대신한 경우)
+        // 기존처럼 현재 날씨의 유효 시간 기준으로 다음 창을 계산합니다.
+        ForecastCache forecastCache = ForecastCache.getInstance(context);
+        ForecastCache.CachedForecast forecast = forecastCache.get(bucket);
+        WeatherRepository.CachedWeather cached = WeatherRepository.getInstance(context).getCacheEntry(bucket);
+        long lastFetchMillis;
+        WeatherPrefetchPlanner.Policy policy;
+        if (forecast != null && (cached == null || forecast.fetchedAtMillis >= cached.fetchedAtMillis)) {
+            lastFetchMillis = forecast.fetchedAtMillis;
+            policy = WeatherPrefetchPlanner.forecastPolicy(forecastCache.getRefreshIntervalMillis());
+        } else {
+            lastFetchMillis = cached != null ? cached.fetchedAtMillis : Long.MIN_VALUE;
+            policy = WeatherPrefetchPlanner.DEFAULT_POLICY;
+        }
+
+        long now = clock.currentTimeMillis();
+        List<WeatherPrefetchPlanner.Window> windows = planWindows(weatherAlarms, lastFetchMillis, policy, now);
+        if (windows.isEmpty()) {
+            jobScheduler.cancel(JOB_ID);
+            return;
+        }
+
+        // 가장 가까운 창 하나만 예약합니다. 작업이 끝나면 다시 이 메소드를 호출해 다음 창을 예약합니다.
+        WeatherPrefetchPlanner.Window next = windows.get(0);
+        JobInfo jobInfo = new JobInfo.Builder(JOB_ID, new ComponentName(context, WeatherPrefetchJobService.class))
+                .setMinimumLatency(Math.max(0, next.startMillis - now))
+                .setOverrideDeadline(Math.max(0, next.deadlineMillis - now))
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_ANY)
+                .setPersisted(true)
+                .build();
+        jobScheduler.schedule(jobInfo);
+        AlarmLog.d(TAG, "날씨 미리 받기 예약: {} ~ {} (알람 {}개)", next.startMillis, next.deadlineMillis, next.alarmCount);
+    }
+
+    /**
+     * [추가] 알람마다 nowMillis 이후의 다음 울림 시각을 구해 미리 받기 창을 계산합니다. JobScheduler와 DB에
+     * 접근하지 않으므로, 가짜 시계로 시각을 옮겨 가며 테스트할 수 있습니다.
+     */
+    static List<WeatherPrefetchPlanner.Window> planWindows(List<Alarm> weatherAlarms, long lastFetchMillis,
+                                                         WeatherPrefetchPlanner.Policy policy, long nowMillis) {
+        long[] triggers = new long[weatherAlarms.size()];
+        for (int i = 0; i < triggers.length; i++) {
+            triggers[i] = AlarmScheduler.calculateNextTriggerTime(weatherAlarms.get(i), nowMillis);
+        }
+        return WeatherPrefetchPlanner.plan(triggers, lastFetchMillis, nowMillis, policy);
+    }
+
+    /**
+     * [추가] 미리 받을 날씨의 위치 격자를 정합니다. GPS를 깨우지 않도록 {@link LocationProvider}에 저장된 위치만 사용하고,
+     * 저장된 위치가 없으면 마지막으로 날씨를 받은 위치를 사용합니다. 백그라운드 스레드에서 호출해야 합니다.
+     * @return 알 수 있는 위치가 없으면 null
+     */
+    static LocationBucket resolvePrefetchBucket(Context context) {
+        LocationBucket bucket = LocationProvider.getInstance(context).getCachedBucket();
+        if (bucket != null) {
+            return bucket;
+        }
+        WeatherRepository.CachedWeather latest = WeatherRepository.getInstance(context).getLatestCachedWeather();
+        return latest != null ? latest.bucket : null;
+    }
+}
@@ -0,0 +1,828 @@
+package com.example.alarm;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * [새로운 클래스] WeatherApiService 앞에 놓이는 날씨 데이터 저장소(Repository)입니다.
+ *
+ *  - 메모리 캐시(LRU)와 디스크 캐시에 WeatherResponse를 보관합니다.
+ *  - 캐시 키는 위치를 격자로 반올림한 {@link LocationBucket}입니다.
+ *  - TTL 안의 데이터는 네트워크 없이 바로 돌려줍니다.
+ *  - TTL이 지난(stale) 데이터는 먼저 화면에 보여주고, 백그라운드에서 새로 받아와 다시 알려줍니다.
+ *    (stale-while-revalidate) 그래서 오프라인이어도 마지막으로 받은 날씨는 볼 수 있습니다.
+ *  - [추가] 같은 위치 구역에 대한 네트워크 요청은 동시에 하나만 보냅니다. (single-flight)
+ *    요청이 진행 중일 때 들어온 호출은 새 요청을 만들지 않고 진행 중인 Call의 결과를 함께 받습니다.
+ *  - [추가] 네트워크 요청은 {@link WeatherFetchPolicy}를 따릅니다. 전체 시간 예산 안에서 늦은 요청은 헤지하고,
+ *    실패하면 간격을 두고 재시도하며, 계속 실패하면 서킷 브레이커가 요청을 막아 캐시 데이터만 사용하게 합니다.
+ */
+public class WeatherRepository {
+
+    private static final String TAG = "WeatherRepository";
+
+    /** 기본 캐시 유효 시간: 30분 */
+    public static final long DEFAULT_TTL_MILLIS = 30 * 60 * 1000L;
+
+    private static final int MEMORY_CACHE_SIZE = 16;
+    private static final String DISK_CACHE_DIR = "weather_cache";
+
+    /**
+     * 날씨 조회 결과를 전달받는 콜백. 항상 생성 시 지정한 callbackExecutor(앱에서는 메인 스레드)에서 호출됩니다.
+     */
+    public interface Callback {
+        /**
+         * @param weather 날씨 데이터
+         * @param isStale TTL이 지난 캐시 데이터이면 true. 이 경우 새 데이터를 받으면 한 번 더 호출됩니다.
+         */
+        void onWeather(@NonNull WeatherResponse weather, boolean isStale);
+
+        /** 캐시도 없고 네트워크 요청도 실패했을 때 호출됩니다. */
+        void onError(@NonNull String message);
+    }
+
+    /**
+     * [추가] {@link #getWeather}가 돌려주는 취소 핸들입니다. 취소하면 이후로 콜백이 호출되지 않습니다.
+     * 같은 요청을 기다리는 다른 호출자가 있으면 네트워크 요청은 계속되고, 마지막 호출자가 취소할 때만 Call을 취소합니다.
+     */
+    public interface Cancellable {
+        void cancel();
+    }
+
+    /** [추가] 진행 중인 네트워크 요청의 결과를 전달받는 내부 리스너 */
+    private interface FetchListener {
+        void onFetched(CachedWeather fresh);
+
+        void onFailed(String message);
+    }
+
+    /** [추가] refreshBlocking이 진행 중인 요청을 기다리는 최대 시간 */
+    private static final long REFRESH_TIMEOUT_SECONDS = 30;
+
+    // [추가] 최근 응답 시간을 몇 개까지 보관할지 (헤지 지연 계산용)
+    private static final int LATENCY_SAMPLES = 64;
+
+    // [추가] 헤지, 재시도 간격, 전체 시간 예산을 재는 타이머. 모든 저장소 인스턴스가 데몬 스레드 하나를 공유합니다.
+    private static final ScheduledExecutorService FETCH_TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "weather-fetch-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final String CIRCUIT_OPEN_MESSAGE = "날씨 서버에 연결할 수 없습니다. 잠시 후 다시 시도해주세요.";
+    private static final String DEADLINE_MESSAGE = "날씨 정보를 가져오는 데 시간이 너무 오래 걸립니다. 인터넷 연결을 확인해주세요.";
+    // [추가] HTTP 호출 타임아웃을 시간 예산보다 이만큼 길게 두어, 예산 초과는 항상 onDeadline이 먼저 처리하게 합니다.
+    private static final long DEADLINE_GRACE_MILLIS = 250;
+
+    private static volatile WeatherRepository INSTANCE;
+
+    private final WeatherApiService apiService;
+    private final String apiKey;
+    private final File cacheDir;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Executor ioExecutor;
+    private final Executor callbackExecutor;
+    private final WeatherFetchPolicy fetchPolicy;
+    private final ScheduledExecutorService fetchTimer;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyWindow latencies = new LatencyWindow(LATENCY_SAMPLES);
+
+    // 접근 순서(access-order)로 정렬되는 LinkedHashMap을 이용한 간단한 LRU 캐시
+    private final Map<String, CachedWeather> memoryCache = new LinkedHashMap<String, CachedWeather>(MEMORY_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedWeather> eldest) {
+            return size() > MEMORY_CACHE_SIZE;
+        }
+    };
+
+    // [추가] 이 프로세스에서 마지막으로 받아온 항목. LRU에서 밀려나도 남으므로 '가장 최근 캐시'는 이것으로 판단합니다.
+    // (memoryCache 잠금으로 보호합니다.)
+    private CachedWeather lastFetched;
+
+    // --- 캐시 적중률 측정용 카운터 --- //
+    private final AtomicLong freshHits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong networkSuccesses = new AtomicLong();
+    private final AtomicLong networkFailures = new AtomicLong();
+    private final AtomicLong sharedFetches = new AtomicLong();
+
+    // --- [추가] 앱 전체 지표 레지스트리로 내보내는 요청 결과/처리 시간 --- //
+    private static final String FETCH_METRIC = "weather_fetch";
+    private static final String FETCH_HELP = "날씨 네트워크 요청(재시도/헤지를 묶은 한 건)의 결과별 수";
+    private static final String FETCH_DURATION_METRIC = "weather_fetch_duration_milliseconds";
+    private static final String FETCH_DURATION_HELP = "날씨 네트워크 요청 한 건이 끝날 때까지 걸린 시간";
+
+    // --- [추가] 요청 정책 측정용 카운터 --- //
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong deadlineExceeded = new AtomicLong();
+    private final AtomicLong shortCircuits = new AtomicLong();
+
+    // [추가] 위치 구역별로 진행 중인 네트워크 요청. 이 맵 자체를 잠금 객체로도 사용합니다.
+    private final Map<LocationBucket, InFlightFetch> inFlight = new HashMap<>();
+
+    public WeatherRepository(WeatherApiService apiService, String apiKey, File cacheDir, long ttlMillis,
+                             Clock clock, Executor ioExecutor, Executor callbackExecutor) {
+        this(apiService, apiKey, cacheDir, ttlMillis, clock, ioExecutor, callbackExecutor, WeatherFetchPolicy.DEFAULT);
+    }
+
+    /**
+     * [추가] 네트워크 요청 정책을 직접 지정하는 생성자입니다. (테스트용)
+     */
+    WeatherRepository(WeatherApiService apiService, String apiKey, File cacheDir, long ttlMillis,
+                      Clock clock, Executor ioExecutor, Executor callbackExecutor, WeatherFetchPolicy fetchPolicy) {
+        this.apiService = apiService;
+        this.apiKey = apiKey;
+        this.cacheDir = cacheDir;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.ioExecutor = ioExecutor;
+        this.callbackExecutor = callbackExecutor;
+        this.fetchPolicy = fetchPolicy;
+        this.fetchTimer = FETCH_TIMER;
+        this.circuitBreaker = new CircuitBreaker(fetchPolicy.breakerFailureThreshold, fetchPolicy.breakerOpenMillis, clock);
+    }
+
+    /**
+     * 앱 전체에서 공유하는 저장소 인스턴스를 가져옵니다. (싱글톤 패턴)
+     */
+    public static WeatherRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (WeatherRepository.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    INSTANCE = new WeatherRepository(
+                            RetrofitClient.getApiService(appContext),
+                            BuildConfig.WEATHER_API_KEY,
+                            new File(appContext.getCacheDir(), DISK_CACHE_DIR),
+                            DEFAULT_TTL_MILLIS,
+                            Clock.SYSTEM,
+                            AppExecutors.getInstance().diskIO(),
+                            ContextCompat.getMainExecutor(appContext));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 날씨를 조회합니다. 캐시 상태에 따라 콜백이 한 번 또는 두 번(stale 후 fresh) 호출됩니다.
+     */
+    public Cancellable getWeather(double latitude, double longitude, Callback callback) {
+        return getWeather(LocationBucket.of(latitude, longitude), callback);
+    }
+
+    /**
+     * [추가] 이미 격자로 반올림된 위치({@link LocationProvider} 참고)의 날씨를 조회합니다.
+     */
+    public Cancellable getWeather(LocationBucket bucket, Callback callback) {
+        WeatherRequest request = new WeatherRequest(callback);
+        ioExecutor.execute(() -> {
+            if (request.isCancelled()) {
+                return;
+            }
+            CachedWeather cached = readCache(bucket);
+            if (cached != null && isFresh(cached)) {
+                freshHits.incrementAndGet();
+                request.deliver(cached.response, false);
+                return;
+            }
+            boolean hasStaleData = cached != null;
+            if (hasStaleData) {
+                // TTL이 지났지만 일단 보여주고, 새 데이터를 받으면 한 번 더 알려줍니다.
+                staleHits.incrementAndGet();
+                request.deliver(cached.response, true);
+            } else {
+                misses.incrementAndGet();
+            }
+            request.attach(joinFetch(bucket, new FetchListener() {
+                @Override
+                public void onFetched(CachedWeather fresh) {
+                    request.deliver(fresh.response, false);
+                }
+
+                @Override
+                public void onFailed(String message) {
+                    // 이미 stale 데이터를 보여줬다면 오류를 알리지 않습니다.
+                    if (!hasStaleData) {
+                        request.deliverError(message);
+                    }
+                }
+            }));
+        });
+        return request;
+    }
+
+    /**
+     * 네트워크에 접근하지 않고 캐시에 있는 날씨만 돌려줍니다. TTL은 따지지 않습니다.
+     * 디스크를 읽을 수 있으므로 백그라운드 스레드에서 호출해야 합니다.
+     * @return 캐시된 날씨. 없으면 null
+     */
+    public WeatherResponse getCachedWeather(double latitude, double longitude) {
+        CachedWeather cached = readCache(LocationBucket.of(latitude, longitude));
+        return cached != null ? cached.response : null;
+    }
+
+    /**
+     * [추가] 네트워크에 접근하지 않고, 해당 위치 격자의 캐시 항목(받아온 시각 포함)을 돌려줍니다. TTL은 따지지 않습니다.
+     * 디스크를 읽을 수 있으므로 백그라운드 스레드에서 호출해야 합니다.
+     * @return 캐시 항목. 없으면 null
+     */
+    public CachedWeather getCacheEntry(LocationBucket bucket) {
+        return readCache(bucket);
+    }
+
+    /**
+     * [추가] 네트워크에 접근하지 않고, 가장 최근에 받아온 날씨 캐시를 돌려줍니다. (위치와 무관)
+     * 알람이 울리는 순간처럼 네트워크를 기다릴 수 없는 경로와, 미리 받기 작업이 어느 위치를 갱신할지 정할 때 사용합니다.
+     * 디스크를 읽을 수 있으므로 백그라운드 스레드에서 호출해야 합니다.
+     * @return 가장 최근 캐시. 없으면 null
+     */
+    public CachedWeather getLatestCachedWeather() {
+        CachedWeather latest;
+        synchronized (memoryCache) {
+            // [수정] 이 프로세스에서 받아온 것이 있으면 그것이 가장 최근입니다. 디스크의 파일은 모두 그 전에 받은 것입니다.
+            // (메모리 캐시는 읽은 순서로 밀려나므로, 메모리에 남은 항목 중 최신값이 전체 최신값이라고 할 수 없습니다.)
+            if (lastFetched != null) {
+                return lastFetched;
+            }
+            latest = null;
+            for (CachedWeather cached : memoryCache.values()) {
+                if (latest == null || cached.fetchedAtMillis > latest.fetchedAtMillis) {
+                    latest = cached;
+                }
+            }
+        }
+        // [수정] 아직 받아온 적이 없으면(프로세스가 새로 시작된 경우) 디스크에서 가장 최근에 쓴 파일과 비교합니다.
+        CachedWeather fromDisk = newestDiskCache();
+        if (fromDisk != null && (latest == null || fromDisk.fetchedAtMillis > latest.fetchedAtMillis)) {
+            return fromDisk;
+        }
+        return latest;
+    }
+
+    // 디스크 캐시 중 가장 최근에 쓴 파일의 항목. 없으면 null
+    private CachedWeather newestDiskCache() {
+        File newest = null;
+        File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files != null) {
+            for (File file : files) {
+                if (newest == null || file.lastModified() > newest.lastModified()) {
+                    newest = file;
+                }
+            }
+        }
+        if (newest == null) {
+            return null;
+        }
+        String key = newest.getName().substring(0, newest.getName().length() - ".json".length());
+        LocationBucket bucket = LocationBucket.fromKey(key);
+        return bucket != null ? readCache(bucket) : null;
+    }
+
+    /**
+     * [추가] 해당 구역의 날씨를 네트워크에서 받아와 캐시에 저장할 때까지 기다립니다.
+     * 예약된 미리 받기 작업(JobService)처럼 이미 백그라운드 스레드에서 실행 중인 곳에서 사용합니다.
+     * [수정] 같은 구역의 요청이 이미 진행 중이면 새로 요청하지 않고 그 결과를 기다립니다.
+     * @return 성공 여부
+     */
+    public boolean refreshBlocking(LocationBucket bucket) {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean success = new AtomicBoolean(false);
+        Cancellable subscription = joinFetch(bucket, new FetchListener() {
+            @Override
+            public void onFetched(CachedWeather fresh) {
+                success.set(true);
+                done.countDown();
+            }
+
+            @Override
+            public void onFailed(String message) {
+                done.countDown();
+            }
+        });
+        try {
+            if (!done.await(REFRESH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                AlarmLog.w(TAG, "날씨 미리 받기 시간 초과: {}", bucket);
+                subscription.cancel();
+                return false;
+            }
+            return success.get();
+        } catch (InterruptedException e) {
+            subscription.cancel();
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * [추가] 해당 구역의 요청이 진행 중이면 그 요청에 리스너를 붙이고, 없으면 새 요청을 시작합니다.
+     * @return 리스너를 떼어 내는 핸들. 마지막 리스너가 떨어지면 Call도 취소됩니다.
+     */
+    private Cancellable joinFetch(LocationBucket bucket, FetchListener listener) {
+        InFlightFetch flight;
+        boolean isNew = false;
+        synchronized (inFlight) {
+            flight = inFlight.get(bucket);
+            if (flight == null) {
+                flight = new InFlightFetch(bucket);
+                inFlight.put(bucket, flight);
+                isNew = true;
+            } else {
+                sharedFetches.incrementAndGet();
+            }
+            flight.listeners.add(listener);
+        }
+        if (isNew) {
+            flight.start();
+        }
+        InFlightFetch joined = flight;
+        return () -> joined.remove(listener);
+    }
+
+    /**
+     * [테스트용] 해당 구역의 진행 중인 요청을 기다리는 리스너 수. 진행 중인 요청이 없으면 0
+     */
+    int inFlightListenerCount(LocationBucket bucket) {
+        synchronized (inFlight) {
+            InFlightFetch flight = inFlight.get(bucket);
+            return flight != null ? flight.listeners.size() : 0;
+        }
+    }
+
+    /**
+     * [추가] 구역 하나에 대해 진행 중인 네트워크 요청 하나. 응답은 한 번만 캐시에 저장하고, 기다리는 모든 리스너에게 나눠 줍니다.
+     * listeners와 finished는 inFlight 맵의 잠금 안에서만 접근합니다.
+     * [수정] 요청 하나가 {@link WeatherFetchPolicy}에 따라 여러 번의 HTTP 요청(헤지, 재시도)으로 이루어집니다.
+     * activeCalls, timers, attemptCount, done은 이 객체의 잠금 안에서만 접근합니다.
+     */
+    private final class InFlightFetch {
+        final LocationBucket bucket;
+        final List<FetchListener> listeners = new ArrayList<>();
+        boolean finished;
+
+        private final List<Call<WeatherResponse>> activeCalls = new ArrayList<>();
+        private final List<ScheduledFuture<?>> timers = new ArrayList<>();
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private int attemptCount;
+        private boolean done;
+
+        InFlightFetch(LocationBucket bucket) {
+            this.bucket = bucket;
+            this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(fetchPolicy.deadlineMillis);
+        }
+
+        void start() {
+            if (!circuitBreaker.allowRequest()) {
+                // 최근에 계속 실패했으므로 요청하지 않습니다. 캐시가 있는 호출자는 이미 캐시 데이터를 받았습니다.
+                shortCircuits.incrementAndGet();
+                complete(null, CIRCUIT_OPEN_MESSAGE, null);
+                return;
+            }
+            schedule(this::onDeadline, fetchPolicy.deadlineMillis);
+            launch(false);
+        }
+
+        void remove(FetchListener listener) {
+            synchronized (inFlight) {
+                if (finished || !listeners.remove(listener) || !listeners.isEmpty()) {
+                    return;
+                }
+                // 기다리는 쪽이 아무도 없으면 요청을 취소하고, 다음 호출자는 새 요청을 시작하게 합니다.
+                finished = true;
+                inFlight.remove(bucket);
+            }
+            if (stop()) {
+                circuitBreaker.onAbandoned();
+            }
+            AlarmLog.d(TAG, "기다리는 호출자가 없어 날씨 요청을 취소했습니다: {}", bucket);
+        }
+
+        /**
+         * HTTP 요청을 하나 보냅니다. 남은 시간 예산을 이 요청의 타임아웃으로 사용합니다.
+         * @param hedge 첫 요청이 늦어 추가로 보내는 헤지 요청인지 여부
+         */
+        private void launch(boolean hedge) {
+            Call<WeatherResponse> call;
+            long remainingMillis;
+            synchronized (this) {
+                remainingMillis = remainingMillis();
+                if (done || remainingMillis <= 0) {
+                    return;
+                }
+                attemptCount++;
+                call = apiService.getCurrentWeather(bucket.getLatitude(), bucket.getLongitude(), apiKey, "metric", "kr");
+                // [수정] 시간 예산이 끝났는지는 onDeadline 타이머가 판단합니다. 호출 타임아웃을 남은 시간과 똑같이 두면
+                // 두 쪽이 거의 동시에 끝나 어느 쪽이 먼저냐에 따라 '시간 초과'가 일반 실패로 기록되므로,
+                // 호출 타임아웃은 타이머가 늦을 때를 위한 안전장치로 조금 더 길게 둡니다.
+                call.timeout().timeout(remainingMillis + DEADLINE_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+                activeCalls.add(call);
+            }
+            attempts.incrementAndGet();
+            if (hedge) {
+                hedges.incrementAndGet();
+            }
+            long sentAtNanos = System.nanoTime();
+            call.enqueue(new retrofit2.Callback<WeatherResponse>() {
+                @Override
+                public void onResponse(@NonNull Call<WeatherResponse> call, @NonNull Response<WeatherResponse> response) {
+                    onAttemptResponse(call, response, sentAtNanos, hedge);
+                }
+
+                @Override
+                public void onFailure(@NonNull Call<WeatherResponse> call, @NonNull Throwable t) {
+                    onAttemptFailed(call, "네트워크 오류가 발생했습니다. 인터넷 연결을 확인해주세요.", t);
+                }
+            });
+            if (!hedge) {
+                long hedgeDelay = fetchPolicy.hedgeDelayMillis(
+                        latencies.percentile(fetchPolicy.hedgePercentile, WeatherFetchPolicy.MIN_LATENCY_SAMPLES));
+                if (hedgeDelay < remainingMillis) {
+                    schedule(() -> hedge(call), hedgeDelay);
+                }
+            }
+        }
+
+        /** 첫 요청이 아직 혼자 진행 중이면 헤지 요청을 보냅니다. */
+        private void hedge(Call<WeatherResponse> primary) {
+            synchronized (this) {
+                if (done || activeCalls.size() != 1 || !activeCalls.contains(primary)) {
+                    return;
+                }
+            }
+            AlarmLog.d(TAG, "첫 요청이 늦어 헤지 요청을 보냅니다: {}", bucket);
+            launch(true);
+        }
+
+        private void onAttemptResponse(Call<WeatherResponse> call, Response<WeatherResponse> response,
+                                       long sentAtNanos, boolean hedge) {
+            WeatherResponse body = response.body();
+            if (response.isSuccessful() && body != null) {
+                if (!stop()) {
+                    return;
+                }
+                latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentAtNanos));
+                circuitBreaker.onSuccess();
+                if (hedge) {
+                    hedgeWins.incrementAndGet();
+                }
+                complete(body, null, null);
+                return;
+            }
+            String message = "날씨 정보를 가져오는 데 실패했습니다. (오류 코드: " + response.code() + ")";
+            int code = response.code();
+            if (code >= 400 && code < 500 && code != 429) {
+                // 요청 자체가 잘못된 경우(예: API 키 오류)는 다시 보내도 같으므로 바로 실패로 처리합니다.
+                // 서버에는 닿았으므로 서킷 브레이커의 실패로 세지 않습니다.
+                if (stop()) {
+                    circuitBreaker.onAbandoned();
+                    complete(null, message, null);
+                }
+                return;
+            }
+            onAttemptFailed(call, message, null);
+        }
+
+        /**
+         * HTTP 요청 하나가 실패했을 때: 다른 요청이 아직 진행 중이면 기다리고, 아니면 재시도하거나 최종 실패로 처리합니다.
+         */
+        private void onAttemptFailed(Call<WeatherResponse> call, String message, Throwable t) {
+            long backoffMillis;
+            synchronized (this) {
+                if (done || !activeCalls.remove(call) || !activeCalls.isEmpty()) {
+                    // 이미 끝났거나, 우리가 취소한 요청이거나, 헤지 요청이 아직 진행 중인 경우입니다.
+                    return;
+                }
+                backoffMillis = attemptCount < fetchPolicy.maxAttempts
+                        ? fetchPolicy.backoffMillis(attemptCount, ThreadLocalRandom.current()) : Long.MAX_VALUE;
+                if (backoffMillis < remainingMillis()) {
+                    retries.incrementAndGet();
+                    timers.add(fetchTimer.schedule(() -> launch(false), backoffMillis, TimeUnit.MILLISECONDS));
+                    AlarmLog.d(TAG, "날씨 요청 실패, {}ms 뒤 다시 시도합니다: {}", backoffMillis, bucket);
+                    return;
+                }
+            }
+            if (stop()) {
+                circuitBreaker.onFailure();
+                complete(null, message, t);
+            }
+        }
+
+        private void onDeadline() {
+            if (stop()) {
+                deadlineExceeded.incrementAndGet();
+                circuitBreaker.onFailure();
+                complete(null, DEADLINE_MESSAGE, null);
+            }
+        }
+
+        private synchronized void schedule(Runnable task, long delayMillis) {
+            if (!done) {
+                timers.add(fetchTimer.schedule(task, delayMillis, TimeUnit.MILLISECONDS));
+            }
+        }
+
+        private long remainingMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        }
+
+        /**
+         * 남은 HTTP 요청과 타이머를 모두 취소합니다.
+         * @return 이 호출이 요청을 끝낸 경우 true. 이미 끝나 있었다면 false
+         */
+        private boolean stop() {
+            List<Call<WeatherResponse>> calls;
+            List<ScheduledFuture<?>> pendingTimers;
+            synchronized (this) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+                calls = new ArrayList<>(activeCalls);
+                pendingTimers = new ArrayList<>(timers);
+                activeCalls.clear();
+                timers.clear();
+            }
+            for (Call<WeatherResponse> call : calls) {
+                call.cancel();
+            }
+            for (ScheduledFuture<?> timer : pendingTimers) {
+                timer.cancel(false);
+            }
+            return true;
+        }
+
+        /**
+         * 최종 결과를 캐시에 반영하고 기다리던 리스너들에게 전달합니다.
+         * @param body 성공한 응답. 실패면 null
+         */
+        private void complete(WeatherResponse body, String message, Throwable t) {
+            List<FetchListener> waiting = finish();
+            if (waiting == null) {
+                // 모든 호출자가 취소하여 이미 정리된 요청입니다.
+                return;
+            }
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            String result = body != null ? "success" : CIRCUIT_OPEN_MESSAGE.equals(message) ? "short_circuit"
+                    : DEADLINE_MESSAGE.equals(message) ? "deadline" : "failure";
+            metrics.counter(FETCH_METRIC, FETCH_HELP, "result", result).inc();
+            metrics.histogram(FETCH_DURATION_METRIC, FETCH_DURATION_HELP, "result", result).recordSince(startNanos);
+            if (body == null) {
+                networkFailures.incrementAndGet();
+                AlarmLog.w(TAG, "날씨 요청 실패: {} ({})", bucket, message, t);
+                for (FetchListener listener : waiting) {
+                    listener.onFailed(message);
+                }
+                return;
+            }
+            networkSuccesses.incrementAndGet();
+            CachedWeather fresh = new CachedWeather(bucket, body, clock.currentTimeMillis());
+            synchronized (memoryCache) {
+                memoryCache.put(bucket.getKey(), fresh);
+                lastFetched = fresh;
+            }
+            ioExecutor.execute(() -> writeDiskCache(bucket, fresh));
+            for (FetchListener listener : waiting) {
+                listener.onFetched(fresh);
+            }
+        }
+
+        /**
+         * 요청을 맵에서 빼고 기다리던 리스너 목록을 넘겨받습니다. 이미 끝났거나 취소된 요청이면 null
+         */
+        private List<FetchListener> finish() {
+            synchronized (inFlight) {
+                if (finished) {
+                    return null;
+                }
+                finished = true;
+                inFlight.remove(bucket);
+                return new ArrayList<>(listeners);
+            }
+        }
+    }
+
+    /**
+     * [추가] getWeather 호출 하나. 취소되면 이후의 콜백을 모두 버리고, 붙어 있던 요청에서 리스너를 뗍니다.
+     */
+    private final class WeatherRequest implements Cancellable {
+        private final Callback callback;
+        private Cancellable subscription;
+        private boolean cancelled;
+
+        WeatherRequest(Callback callback) {
+            this.callback = callback;
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        void attach(Cancellable fetchSubscription) {
+            boolean cancelNow;
+            synchronized (this) {
+                subscription = fetchSubscription;
+                cancelNow = cancelled;
+            }
+            if (cancelNow) {
+                fetchSubscription.cancel();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            Cancellable toCancel;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                toCancel = subscription;
+            }
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+        }
+
+        void deliver(WeatherResponse weather, boolean isStale) {
+            callbackExecutor.execute(() -> {
+                if (!isCancelled()) {
+                    callback.onWeather(weather, isStale);
+                }
+            });
+        }
+
+        void deliverError(String message) {
+            callbackExecutor.execute(() -> {
+                if (!isCancelled()) {
+                    callback.onError(message);
+                }
+            });
+        }
+    }
+
+    private boolean isFresh(CachedWeather cached) {
+        return clock.currentTimeMillis() - cached.fetchedAtMillis < ttlMillis;
+    }
+
+    /**
+     * 메모리 캐시를 먼저 확인하고, 없으면 디스크 캐시를 읽어 메모리에 올립니다.
+     */
+    private CachedWeather readCache(LocationBucket bucket) {
+        synchronized (memoryCache) {
+            CachedWeather cached = memoryCache.get(bucket.getKey());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        CachedWeather fromDisk = readDiskCache(bucket);
+        if (fromDisk != null) {
+            synchronized (memoryCache) {
+                memoryCache.put(bucket.getKey(), fromDisk);
+            }
+        }
+        return fromDisk;
+    }
+
+    private File diskCacheFile(LocationBucket bucket) {
+        return new File(cacheDir, bucket.getKey() + ".json");
+    }
+
+    /**
+     * 디스크 캐시 형식: 첫 줄은 받아온 시각(밀리초), 나머지는 WeatherResponse의 JSON 입니다.
+     * [수정] JSON은 {@link WeatherJsonCodec}으로 리플렉션 없이 읽고 씁니다.
+     */
+    private CachedWeather readDiskCache(LocationBucket bucket) {
+        File file = diskCacheFile(bucket);
+        if (!file.exists()) {
+            return null;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            long fetchedAt = Long.parseLong(reader.readLine());
+            WeatherResponse response = WeatherJsonCodec.read(new JsonReader(reader));
+            return new CachedWeather(bucket, response, fetchedAt);
+        } catch (IOException | NumberFormatException | IllegalStateException e) {
+            AlarmLog.w(TAG, "디스크 캐시를 읽을 수 없습니다: {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeDiskCache(LocationBucket bucket, CachedWeather cached) {
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            AlarmLog.w(TAG, "디스크 캐시 폴더를 만들 수 없습니다: {}", cacheDir);
+            return;
+        }
+        File target = diskCacheFile(bucket);
+        File temp = new File(cacheDir, bucket.getKey() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            writer.write(Long.toString(cached.fetchedAtMillis));
+            writer.write('\n');
+            WeatherJsonCodec.write(new JsonWriter(writer), cached.response);
+        } catch (IOException e) {
+            AlarmLog.w(TAG, "디스크 캐시를 쓸 수 없습니다: {}", target, e);
+            return;
+        }
+        if (!temp.renameTo(target)) {
+            AlarmLog.w(TAG, "디스크 캐시 파일 교체 실패: {}", target);
+        }
+    }
+
+    /**
+     * 현재까지의 캐시 적중 통계를 가져옵니다.
+     */
+    public Stats getStats() {
+        return new Stats(freshHits.get(), staleHits.get(), misses.get(), networkSuccesses.get(), networkFailures.get(),
+                sharedFetches.get());
+    }
+
+    /**
+     * [추가] 네트워크 요청의 지연 시간과 헤지/재시도/서킷 브레이커 통계를 가져옵니다.
+     */
+    public WeatherFetchMetrics getFetchMetrics() {
+        return new WeatherFetchMetrics(attempts.get(), hedges.get(), hedgeWins.get(), retries.get(),
+                deadlineExceeded.get(), shortCircuits.get(),
+                latencies.percentile(0.5, 1), latencies.percentile(0.9, 1), latencies.percentile(0.99, 1),
+                circuitBreaker.getState().name());
+    }
+
+    /** 위치 구역, 받아온 시각과 함께 캐시에 보관되는 날씨 데이터 */
+    public static final class CachedWeather {
+        public final LocationBucket bucket;
+        public final WeatherResponse response;
+        public final long fetchedAtMillis;
+
+        CachedWeather(LocationBucket bucket, WeatherResponse response, long fetchedAtMillis) {
+            this.bucket = bucket;
+            this.response = response;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+
+    /**
+     * 캐시 적중률 통계 (불변 스냅샷)
+     */
+    public static final class Stats {
+        public final long freshHits;
+        public final long staleHits;
+        public final long misses;
+        public final long networkSuccesses;
+        public final long networkFailures;
+        /** [추가] 새 요청을 만들지 않고 진행 중인 요청에 합류한 횟수 */
+        public final long sharedFetches;
+
+        Stats(long freshHits, long staleHits, long misses, long networkSuccesses, long networkFailures, long sharedFetches) {
+            this.freshHits = freshHits;
+            this.staleHits = staleHits;
+            this.misses = misses;
+            this.networkSuccesses = networkSuccesses;
+            this.networkFailures = networkFailures;
+            this.sharedFetches = sharedFetches;
+        }
+
+        public long getRequestCount() {
+            return freshHits + staleHits + misses;
+        }
+
+        /** 캐시(신선 + stale)에서 바로 응답한 비율. 요청이 없으면 0 */
+        public double getHitRate() {
+            long requests = getRequestCount();
+            return requests == 0 ? 0 : (double) (freshHits + staleHits) / requests;
+        }
+    }
+}
@@ -27,6 +27,21 @@ public class WeatherResponse {
     @SerializedName("name")
     private String cityName;
 
+    /**
+     * [추가] Gson이 리플렉션으로 객체를 만들 때 사용하는 기본 생성자입니다.
+     */
+    public WeatherResponse() {
+    }
+
+    /**
+     * [추가] {@link WeatherJsonCodec}이 리플렉션 없이 필요한 값만 채워 만들 때 사용합니다.
+     */
+    WeatherResponse(String cityName, List<Weather> weather, MainWeatherData mainWeatherData) {
+        this.cityName = cityName;
+        this.weather = weather;
+        this.mainWeatherData = mainWeatherData;
+    }
+
     // --- Getter 메소드 --- //
 
     public List<Weather> getWeather() {
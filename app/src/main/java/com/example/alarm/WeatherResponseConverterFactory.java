@@ -0,0 +1,62 @@
+package com.example.alarm;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.StringReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * [새로운 클래스] WeatherResponse 응답 본문을 {@link WeatherJsonCodec}으로 스트리밍 변환하는 Retrofit 컨버터 팩토리입니다.
+ * [추가] 예보 응답(ForecastSlab)도 {@link ForecastJsonCodec}으로 같은 방식으로 변환합니다.
+ * 그 밖의 타입은 null을 반환하여, 뒤에 등록된 컨버터(Gson)가 처리하도록 넘깁니다.
+ * 그래서 RetrofitClient에서는 GsonConverterFactory보다 먼저 등록해야 합니다.
+ */
+final class WeatherResponseConverterFactory extends Converter.Factory {
+
+    private static final Converter<ResponseBody, WeatherResponse> CONVERTER = body -> {
+        try (ResponseBody responseBody = body) {
+            // [주석] 날씨 응답은 1KB 안팎이므로, 8KB 버퍼를 잡는 charStream() 대신 문자열로 한 번에 읽는 편이 할당이 적습니다.
+            JsonReader reader = new JsonReader(new StringReader(responseBody.string()));
+            WeatherResponse response = WeatherJsonCodec.read(reader);
+            // [주석] Gson 컨버터와 같이, 객체 뒤에 다른 내용이 남아 있으면 잘못된 응답으로 봅니다.
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonIOException("JSON document was not fully consumed.");
+            }
+            return response;
+        }
+    };
+
+    // [추가] 예보 응답은 10KB 이상이므로 문자열로 복사하지 않고 스트림에서 바로 읽습니다.
+    private static final Converter<ResponseBody, ForecastSlab> FORECAST_CONVERTER = body -> {
+        try (ResponseBody responseBody = body) {
+            JsonReader reader = new JsonReader(responseBody.charStream());
+            ForecastSlab slab = ForecastJsonCodec.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonIOException("JSON document was not fully consumed.");
+            }
+            return slab;
+        }
+    };
+
+    private WeatherResponseConverterFactory() {
+    }
+
+    static WeatherResponseConverterFactory create() {
+        return new WeatherResponseConverterFactory();
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (type == WeatherResponse.class) {
+            return CONVERTER;
+        }
+        return type == ForecastSlab.class ? FORECAST_CONVERTER : null;
+    }
+}
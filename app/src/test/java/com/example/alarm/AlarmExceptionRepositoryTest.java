@@ -0,0 +1,41 @@
+package com.example.alarm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 지난 예외를 가르는 '오늘'이 주입받은 시계를 따르는지 확인합니다.
+ */
+public class AlarmExceptionRepositoryTest {
+
+    // 2024-03-03 15:30 UTC = 2024-03-04 00:30 KST
+    private static final long START = 1_709_479_800_000L;
+
+    private TimeZone previousZone;
+
+    @Before
+    public void setUp() {
+        previousZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Seoul"));
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(previousZone);
+    }
+
+    @Test
+    public void today_followsTheInjectedClock() {
+        FakeClock clock = new FakeClock(START);
+        assertEquals(20240304, AlarmExceptionRepository.today(clock));
+
+        clock.advance(TimeUnit.DAYS.toMillis(1));
+        assertEquals(20240305, AlarmExceptionRepository.today(clock));
+    }
+}
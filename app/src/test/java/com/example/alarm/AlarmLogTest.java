@@ -0,0 +1,156 @@
+package com.example.alarm;
+
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * AlarmLog의 메시지 형식, 태그별 레벨과 최근 이벤트 링 버퍼(EventRing)를 검증합니다.
+ */
+public class AlarmLogTest {
+
+    @After
+    public void tearDown() {
+        AlarmLog.clearLevel("Quiet");
+        AlarmLog.clearLevel("Verbose");
+        AlarmLog.setDefaultLevel(Log.DEBUG);
+        AlarmLog.setRingLevel(Log.DEBUG);
+    }
+
+    @Test
+    public void format_replacesPlaceholdersInOrder() {
+        assertEquals("알람 ID 7이(가) 1000 시간에 예약되었습니다.",
+                AlarmLog.format("알람 ID {}이(가) {} 시간에 예약되었습니다.", new Object[]{7, 1000L}));
+        assertEquals("값 없음 {}", AlarmLog.format("값 없음 {}", null));
+        assertEquals("a=1 b={}", AlarmLog.format("a={} b={}", new Object[]{1}));
+        assertEquals("null", AlarmLog.format("{}", new Object[]{null}));
+    }
+
+    @Test
+    public void isLoggable_usesTagLevelBeforeDefault() {
+        AlarmLog.setDefaultLevel(Log.INFO);
+        AlarmLog.setLevel("Verbose", Log.DEBUG);
+        AlarmLog.setLevel("Quiet", Log.ERROR);
+
+        assertFalse(AlarmLog.isLoggable("Other", Log.DEBUG));
+        assertTrue(AlarmLog.isLoggable("Other", Log.INFO));
+        assertTrue(AlarmLog.isLoggable("Verbose", Log.DEBUG));
+        assertFalse(AlarmLog.isLoggable("Quiet", Log.WARN));
+
+        AlarmLog.clearLevel("Quiet");
+        assertTrue(AlarmLog.isLoggable("Quiet", Log.WARN));
+    }
+
+    @Test
+    public void filteredDebugEvent_isStillKeptInRing() throws Exception {
+        AlarmLog.setLevel("Quiet", Log.ERROR);
+        String marker = "marker-" + System.nanoTime();
+
+        AlarmLog.d("Quiet", "걸러진 이벤트 {}", marker);
+
+        StringWriter out = new StringWriter();
+        AlarmLog.dump(out);
+        assertTrue(out.toString(), out.toString().contains("D/Quiet ["));
+        assertTrue(out.toString(), out.toString().contains("걸러진 이벤트 " + marker));
+    }
+
+    @Test
+    public void releaseRingLevel_skipsFilteredDebugEventWithoutCapturingArguments() throws Exception {
+        // 릴리스 빌드의 기본값과 같이 링 버퍼는 INFO 이상만, logcat도 INFO 이상만 남깁니다.
+        AlarmLog.setRingLevel(Log.INFO);
+        AlarmLog.setDefaultLevel(Log.INFO);
+        String marker = "release-" + System.nanoTime();
+        Object expensive = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("걸러진 d() 호출의 인자를 문자열로 바꾸면 안 됩니다.");
+            }
+        };
+
+        AlarmLog.d("Quiet", "걸러진 이벤트 {} {}", marker, expensive);
+        AlarmLog.d("Quiet", "걸러진 이벤트 {} {} {}", marker, expensive, expensive);
+        AlarmLog.i("Quiet", "남는 이벤트 {}", marker);
+
+        StringWriter out = new StringWriter();
+        AlarmLog.dump(out);
+        assertFalse(out.toString(), out.toString().contains("걸러진 이벤트 " + marker));
+        assertTrue(out.toString(), out.toString().contains("남는 이벤트 " + marker));
+    }
+
+    @Test
+    public void mutableArguments_areCapturedWhenLogged() throws Exception {
+        StringBuilder state = new StringBuilder("울림 전");
+        String marker = "capture-" + System.nanoTime();
+
+        AlarmLog.i("Verbose", "{} 상태: {}", marker, state);
+        state.setLength(0);
+        state.append("울림 후");
+
+        StringWriter out = new StringWriter();
+        AlarmLog.dump(out);
+        assertTrue(out.toString(), out.toString().contains(marker + " 상태: 울림 전"));
+    }
+
+    @Test
+    public void ring_keepsNewestEventsInOrderAfterWrapping() throws Exception {
+        EventRing ring = new EventRing(4);
+        for (int i = 0; i < 10; i++) {
+            ring.record(i, Log.INFO, "T", "event {}", new Object[]{i}, null);
+        }
+
+        List<EventRing.Event> events = ring.snapshot();
+        assertEquals(4, events.size());
+        assertEquals("event 6", events.get(0).message());
+        assertEquals("event 9", events.get(3).message());
+
+        StringWriter out = new StringWriter();
+        AlarmLog.dump(events, out);
+        assertEquals(4, out.toString().split("\n").length);
+    }
+
+    @Test
+    public void ring_concurrentWriters_neverReturnTornOrDuplicateEvents() throws Exception {
+        EventRing ring = new EventRing(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    ring.record(i, Log.DEBUG, "T", "{}", new Object[]{i}, null);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (int i = 0; i < 200; i++) {
+            assertStrictlyIncreasing(ring.snapshot());
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<EventRing.Event> events = ring.snapshot();
+        assertEquals(64, events.size());
+        assertStrictlyIncreasing(events);
+        assertEquals(4 * 5_000 - 1, events.get(63).sequence);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ring_rejectsCapacityThatIsNotPowerOfTwo() {
+        new EventRing(100);
+    }
+
+    private static void assertStrictlyIncreasing(List<EventRing.Event> events) {
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).sequence < events.get(i).sequence);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.alarm;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * AnnouncementAudioCache의 해시 키, 원자적 교체, LRU 삭제 동작을 검증합니다.
+ */
+public class AnnouncementAudioCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FakeClock clock;
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        clock = new FakeClock(1_760_000_000_000L);
+        directory = temporaryFolder.newFolder("weather_tts");
+    }
+
+    private AnnouncementAudioCache newCache(int maxEntries, long maxBytes) {
+        return new AnnouncementAudioCache(directory, maxEntries, maxBytes, clock);
+    }
+
+    private static File render(AnnouncementAudioCache cache, String text, int bytes) throws IOException {
+        File temp = cache.newTempFile(text);
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(new byte[bytes]);
+        }
+        return cache.commit(text, temp);
+    }
+
+    private static WeatherResponse weather(double temperature) {
+        return new WeatherResponse("Seoul", Collections.singletonList(new Weather("Clear", "맑음", "01d")),
+                new MainWeatherData(temperature));
+    }
+
+    @Test
+    public void sameText_hitsSameFile() throws Exception {
+        AnnouncementAudioCache cache = newCache(8, 1024 * 1024);
+        assertNull(cache.get("맑음"));
+
+        File committed = render(cache, "맑음", 100);
+
+        assertEquals(committed, cache.get("맑음"));
+        assertNull(cache.get("흐림"));
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void emptySynthesis_isNotCached() throws Exception {
+        AnnouncementAudioCache cache = newCache(8, 1024 * 1024);
+
+        assertNull(render(cache, "맑음", 0));
+        assertNull(cache.get("맑음"));
+    }
+
+    @Test
+    public void overEntryLimit_evictsLeastRecentlyUsed() throws Exception {
+        AnnouncementAudioCache cache = newCache(2, 1024 * 1024);
+        render(cache, "a", 10);
+        clock.advance(1000);
+        render(cache, "b", 10);
+        clock.advance(1000);
+        // a를 다시 사용했으므로 b가 가장 오래 사용하지 않은 항목이 됩니다.
+        assertNotNull(cache.get("a"));
+        clock.advance(1000);
+
+        render(cache, "c", 10);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void overByteLimit_evictsOldestButKeepsNewest() throws Exception {
+        AnnouncementAudioCache cache = newCache(8, 250);
+        render(cache, "a", 100);
+        clock.advance(1000);
+        render(cache, "b", 100);
+        clock.advance(1000);
+
+        render(cache, "c", 200);
+
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void announcement_roundsTemperatureSoKeyIsStable() {
+        WeatherResponse warm = weather(21.4);
+        WeatherResponse slightlyWarmer = weather(20.6);
+
+        String text = WeatherAnnouncement.compose(warm);
+
+        assertEquals("좋은 아침입니다. 현재 Seoul의 날씨는 맑음, 기온은 21도입니다.", text);
+        assertEquals(text, WeatherAnnouncement.compose(slightlyWarmer));
+        assertEquals(WeatherAnnouncement.hashOf(text), WeatherAnnouncement.hashOf(WeatherAnnouncement.compose(slightlyWarmer)));
+        assertNull(WeatherAnnouncement.compose(new WeatherResponse()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.alarm;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * AppExecutors와 InstrumentedExecutor의 측정값을 검증합니다.
+ */
+public class AppExecutorsTest {
+
+    private ExecutorService pool;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        AppExecutors.setInstance(null);
+        if (pool != null) {
+            pool.shutdownNow();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void direct_runsEveryTaskOnCallingThread() {
+        AppExecutors.setInstance(AppExecutors.direct());
+        AppExecutors executors = AppExecutors.getInstance();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executors.diskIO().execute(() -> ranOn.set(Thread.currentThread()));
+        assertSame(Thread.currentThread(), ranOn.get());
+        executors.wake().execute(() -> ranOn.set(null));
+        assertEquals(null, ranOn.get());
+
+        List<ExecutorMetrics> metrics = executors.getMetrics();
+        assertEquals(4, metrics.size());
+        assertEquals("disk", metrics.get(0).name);
+        assertEquals(1, metrics.get(0).completedCount);
+        assertEquals(1, metrics.get(3).completedCount);
+        assertEquals(0, metrics.get(1).completedCount);
+    }
+
+    @Test
+    public void queueDepthAndWaitTime_areMeasured() throws Exception {
+        pool = Executors.newSingleThreadExecutor();
+        InstrumentedExecutor executor = new InstrumentedExecutor("test", pool);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(gate);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+
+        ExecutorMetrics blocked = executor.snapshot();
+        assertEquals(2, blocked.queueDepth);
+        assertEquals(1, blocked.activeCount);
+
+        Thread.sleep(20);
+        gate.countDown();
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        // Future는 작업 본문이 끝나면 완료되므로, 집계(finally)까지 끝나도록 풀이 멈출 때까지 기다립니다.
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        ExecutorMetrics done = executor.snapshot();
+        assertEquals(0, done.queueDepth);
+        assertEquals(0, done.activeCount);
+        assertEquals(4, done.completedCount);
+        // 뒤의 작업들은 첫 작업이 끝날 때까지 최소 20ms를 기다렸습니다.
+        assertTrue("max wait " + done.maxWaitMicros, done.maxWaitMicros >= 20_000);
+    }
+
+    @Test
+    public void rejection_isCountedAndRethrown() throws Exception {
+        ThreadPoolExecutor bounded = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        pool = bounded;
+        InstrumentedExecutor executor = new InstrumentedExecutor("bounded", bounded);
+        CountDownLatch gate = new CountDownLatch(1);
+
+        executor.execute(() -> awaitQuietly(gate));
+        executor.execute(() -> { });
+        try {
+            executor.execute(() -> { });
+            fail("대기열이 가득 찼으므로 거절되어야 합니다.");
+        } catch (RejectedExecutionException expected) {
+            // 예상된 예외
+        }
+
+        ExecutorMetrics metrics = executor.snapshot();
+        assertEquals(1, metrics.rejectedCount);
+        assertTrue(metrics.queueDepth <= 2);
+        gate.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
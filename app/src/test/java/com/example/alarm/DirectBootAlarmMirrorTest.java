@@ -0,0 +1,41 @@
+package com.example.alarm;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Direct Boot 미러가 주입받은 시계를 기준으로 다음 울림 시각을 기록하는지 확인합니다.
+ */
+public class DirectBootAlarmMirrorTest {
+
+    private static final long START = 1_709_500_000_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void rewrite_computesTriggerFromInjectedClock() throws Exception {
+        FakeClock clock = new FakeClock(START);
+        DirectBootAlarmMirror mirror = new DirectBootAlarmMirror(temporaryFolder.newFolder("mirror"), clock);
+        Alarm daily = new Alarm(7, "매일", 6, 30, true, false, null,
+                true, true, true, true, true, true, true, false);
+
+        mirror.rewrite(Arrays.asList(daily), AlarmExceptionIndex.EMPTY);
+        assertEquals(TriggerCalculator.nextTriggerMillis(daily, START, TimeZone.getDefault()),
+                mirror.find(7).triggerAtMillis);
+
+        // 시계를 사흘 뒤로 옮기면 다음 울림 시각도 그 기준으로 다시 계산되어야 합니다.
+        long later = START + TimeUnit.DAYS.toMillis(3);
+        clock.set(later);
+        mirror.rewrite(Arrays.asList(daily), AlarmExceptionIndex.EMPTY);
+        assertEquals(TriggerCalculator.nextTriggerMillis(daily, later, TimeZone.getDefault()),
+                mirror.readAll().get(0).triggerAtMillis);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.alarm;
+
+/**
+ * 테스트에서 시간을 직접 움직일 수 있는 가짜 시계입니다.
+ */
+public class FakeClock implements Clock {
+
+    private long nowMillis;
+
+    public FakeClock(long startMillis) {
+        this.nowMillis = startMillis;
+    }
+
+    @Override
+    public synchronized long currentTimeMillis() {
+        return nowMillis;
+    }
+
+    public synchronized void advance(long millis) {
+        nowMillis += millis;
+    }
+
+    public synchronized void set(long millis) {
+        nowMillis = millis;
+    }
+}
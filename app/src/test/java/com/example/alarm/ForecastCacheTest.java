@@ -0,0 +1,135 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import okhttp3.EventListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 예보를 한 번 받아 여러 날의 알람에 나눠 쓰고, 갱신 주기가 지나야만 다시 받는지 검증합니다.
+ */
+public class ForecastCacheTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long START_SECONDS = 1_760_745_600L;
+    private static final long START = START_SECONDS * 1000L;
+    private static final LocationBucket BUCKET = LocationBucket.of(37.5665, 126.9780);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private FakeClock clock;
+    private WeatherApiService apiService;
+    private File cacheDir;
+    private ForecastCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                return new MockResponse().setBody(WeatherPayloads.forecast("Seoul", START_SECONDS, 40));
+            }
+        });
+        server.start();
+        apiService = RetrofitClient.createApiService(server.url("/").toString(),
+                RetrofitClient.createHttpClient(temporaryFolder.newFolder("http_cache"), call -> EventListener.NONE));
+        clock = new FakeClock(START - HOUR);
+        cacheDir = temporaryFolder.newFolder("forecast_cache");
+        cache = new ForecastCache(apiService, "test-key", cacheDir, ForecastCache.DEFAULT_REFRESH_INTERVAL_MILLIS, clock);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void oneFetchServesEveryAlarmWithinHorizon() throws Exception {
+        assertTrue(cache.refreshBlocking(BUCKET));
+
+        // 나흘 동안 하루 세 번씩 울리는 알람 모두가 같은 예보에서 날씨를 얻습니다.
+        for (int day = 0; day < 4; day++) {
+            for (long hourOfDay : new long[]{6, 7, 21}) {
+                long trigger = START + day * 24 * HOUR + hourOfDay * HOUR;
+                WeatherResponse weather = cache.weatherAt(BUCKET, trigger);
+                assertNotNull("예보가 알람을 다루지 못했습니다: day " + day + ", " + hourOfDay + "시", weather);
+                assertEquals("Seoul", weather.getCityName());
+            }
+        }
+        assertEquals(1, server.getRequestCount());
+        assertTrue(server.takeRequest().getPath().startsWith("/forecast?"));
+    }
+
+    @Test
+    public void refreshBlocking_skipsNetworkUntilIntervalPasses() {
+        assertTrue(cache.refreshBlocking(BUCKET));
+        clock.advance(ForecastCache.DEFAULT_REFRESH_INTERVAL_MILLIS - 1);
+        assertFalse(cache.needsRefresh(BUCKET));
+        assertTrue(cache.refreshBlocking(BUCKET));
+        assertEquals(1, server.getRequestCount());
+
+        clock.advance(1);
+        assertTrue(cache.needsRefresh(BUCKET));
+        assertTrue(cache.refreshBlocking(BUCKET));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void refreshInterval_isConfigurable() {
+        ForecastCache hourly = new ForecastCache(apiService, "test-key", cacheDir, HOUR, clock);
+        assertTrue(hourly.refreshBlocking(BUCKET));
+        clock.advance(HOUR);
+        assertTrue(hourly.needsRefresh(BUCKET));
+        assertEquals(HOUR, WeatherPrefetchPlanner.forecastPolicy(hourly.getRefreshIntervalMillis()).maxAgeMillis);
+    }
+
+    @Test
+    public void diskCache_survivesProcessRestart() {
+        assertTrue(cache.refreshBlocking(BUCKET));
+
+        ForecastCache restarted = new ForecastCache(apiService, "test-key", cacheDir,
+                ForecastCache.DEFAULT_REFRESH_INTERVAL_MILLIS, clock);
+        ForecastCache.CachedForecast cached = restarted.get(BUCKET);
+
+        assertNotNull(cached);
+        assertEquals(START - HOUR, cached.fetchedAtMillis);
+        assertEquals(40, cached.slab.size());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void failedFetch_keepsNothing() {
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                return new MockResponse().setResponseCode(500);
+            }
+        });
+
+        assertFalse(cache.refreshBlocking(BUCKET));
+        assertNull(cache.get(BUCKET));
+        assertNull(cache.weatherAt(BUCKET, START));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.alarm;
+
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 예보 JSON을 압축 배열로 읽고, 이진 탐색으로 "T 시각의 날씨"를 찾는지 검증합니다.
+ */
+public class ForecastSlabTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long START_SECONDS = 1_760_745_600L;
+    private static final long START = START_SECONDS * 1000L;
+
+    private static ForecastSlab parse(String json) throws IOException {
+        return ForecastJsonCodec.read(new JsonReader(new StringReader(json)));
+    }
+
+    @Test
+    public void read_keepsEverySlotAndSharesConditions() throws IOException {
+        ForecastSlab slab = parse(WeatherPayloads.forecast("Seoul", START_SECONDS, 40));
+
+        assertEquals("Seoul", slab.getCityName());
+        assertEquals(40, slab.size());
+        assertEquals(START, slab.timeAt(0));
+        assertEquals(START + 39 * 3 * HOUR, slab.timeAt(39));
+        assertEquals(10.0f, slab.temperatureAt(0), 0.001f);
+        assertEquals(29.5f, slab.temperatureAt(39), 0.001f);
+        assertEquals("맑음", slab.descriptionAt(0));
+        assertEquals("약한 비", slab.descriptionAt(2));
+        assertEquals("10d", slab.iconAt(2));
+        // 같은 날씨 상태는 표의 같은 문자열을 가리킵니다.
+        assertTrue(slab.descriptionAt(0) == slab.descriptionAt(3));
+    }
+
+    @Test
+    public void indexAt_picksNearestSlot() throws IOException {
+        ForecastSlab slab = parse(WeatherPayloads.forecast("Seoul", START_SECONDS, 40));
+
+        assertEquals(0, slab.indexAt(START));
+        assertEquals(0, slab.indexAt(START + HOUR));
+        // 두 칸의 정가운데는 앞 칸을 씁니다.
+        assertEquals(0, slab.indexAt(START + 90 * 60 * 1000L));
+        assertEquals(1, slab.indexAt(START + 2 * HOUR));
+        assertEquals(5, slab.indexAt(START + 15 * HOUR));
+        // 첫 칸보다 조금 이른 시각(예보가 막 갱신된 직후)은 첫 칸을 씁니다.
+        assertEquals(0, slab.indexAt(START - 2 * HOUR));
+        assertEquals(39, slab.indexAt(START + 39 * 3 * HOUR + HOUR));
+    }
+
+    @Test
+    public void indexAt_outsideHorizonIsMissing() throws IOException {
+        ForecastSlab slab = parse(WeatherPayloads.forecast("Seoul", START_SECONDS, 40));
+
+        assertEquals(-1, slab.indexAt(START - 4 * HOUR));
+        assertEquals(-1, slab.indexAt(slab.getHorizonEndMillis()));
+        assertFalse(slab.covers(START + 6 * 24 * HOUR));
+        assertNull(slab.weatherAt(START + 6 * 24 * HOUR));
+    }
+
+    @Test
+    public void weatherAt_returnsResponseForAnnouncement() throws IOException {
+        ForecastSlab slab = parse(WeatherPayloads.forecast("Seoul", START_SECONDS, 40));
+
+        WeatherResponse weather = slab.weatherAt(START + 24 * HOUR);
+        assertNotNull(weather);
+        assertEquals("Seoul", weather.getCityName());
+        assertEquals("약한 비", weather.getWeather().get(0).getDescription());
+        assertEquals(14.0, weather.getMainWeatherData().getTemperature(), 0.001);
+        assertEquals("좋은 아침입니다. 현재 Seoul의 날씨는 약한 비, 기온은 14도입니다.", WeatherAnnouncement.compose(weather));
+    }
+
+    @Test
+    public void writeTo_roundTripsThroughCompactFormat() throws IOException {
+        ForecastSlab slab = parse(WeatherPayloads.forecast("Seoul", START_SECONDS, 40));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        slab.writeTo(new DataOutputStream(bytes));
+
+        ForecastSlab copy = ForecastSlab.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // 40칸 × (시각 8 + 기온 4 + 상태 1바이트) + 상태 표 + 머리말
+        assertTrue("압축 형식이 너무 큽니다: " + bytes.size(), bytes.size() < 700);
+        assertEquals(slab.size(), copy.size());
+        for (int i = 0; i < slab.size(); i++) {
+            assertEquals(slab.timeAt(i), copy.timeAt(i));
+            assertEquals(slab.temperatureAt(i), copy.temperatureAt(i), 0f);
+            assertEquals(slab.descriptionAt(i), copy.descriptionAt(i));
+            assertEquals(slab.iconAt(i), copy.iconAt(i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsUnsortedSlots() throws IOException {
+        parse("{\"list\":[{\"dt\":200,\"main\":{\"temp\":1}},{\"dt\":100,\"main\":{\"temp\":2}}]}");
+    }
+}
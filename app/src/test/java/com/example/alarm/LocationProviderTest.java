@@ -0,0 +1,164 @@
+package com.example.alarm;
+
+import androidx.annotation.Nullable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * LocationProvider의 위치 재사용 정책(나이, 정확도)과 격자 반올림을 가짜 위치 소스로 검증합니다.
+ */
+public class LocationProviderTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long START = 1_760_000_000_000L;
+
+    private FakeClock clock;
+    private FakeLocationSource source;
+    private MemoryStore store;
+
+    @Before
+    public void setUp() {
+        clock = new FakeClock(START);
+        source = new FakeLocationSource();
+        store = new MemoryStore();
+    }
+
+    private LocationProvider newProvider() {
+        return new LocationProvider(source, store, clock, LocationProvider.DEFAULT_POLICY);
+    }
+
+    private static LocationBucket getLocation(LocationProvider provider) {
+        AtomicReference<LocationBucket> result = new AtomicReference<>();
+        provider.getLocation(result::set);
+        return result.get();
+    }
+
+    @Test
+    public void freshCachedFix_doesNotTouchLocationSource() {
+        store.saved = new LocationFix(37.55, 126.95, 100f, START - 5 * MINUTE);
+
+        LocationBucket bucket = getLocation(newProvider());
+
+        assertEquals(LocationBucket.of(37.55, 126.95), bucket);
+        assertEquals(0, source.lastKnownCalls);
+        assertEquals(0, source.lowPowerCalls);
+    }
+
+    @Test
+    public void staleCachedFix_usesFreshLastKnownWithoutNewRequest() {
+        store.saved = new LocationFix(37.55, 126.95, 100f, START - 60 * MINUTE);
+        source.lastKnown = new LocationFix(35.1796, 129.0756, 50f, START - MINUTE);
+
+        LocationBucket bucket = getLocation(newProvider());
+
+        assertEquals(LocationBucket.of(35.1796, 129.0756), bucket);
+        assertEquals(1, source.lastKnownCalls);
+        assertEquals(0, source.lowPowerCalls);
+    }
+
+    @Test
+    public void staleLastKnown_requestsLowPowerFix() {
+        source.lastKnown = new LocationFix(37.55, 126.95, 30f, START - 3 * 60 * MINUTE);
+        source.lowPower = new LocationFix(37.4563, 126.7052, 800f, START);
+
+        LocationBucket bucket = getLocation(newProvider());
+
+        assertEquals(LocationBucket.of(37.4563, 126.7052), bucket);
+        assertEquals(1, source.lowPowerCalls);
+    }
+
+    @Test
+    public void storedFix_isRoundedToGrid() {
+        source.lastKnown = new LocationFix(37.566535, 126.977969, 12f, START);
+
+        getLocation(newProvider());
+
+        assertNotNull(store.saved);
+        LocationBucket bucket = LocationBucket.of(37.566535, 126.977969);
+        assertEquals(bucket.getLatitude(), store.saved.latitude, 0);
+        assertEquals(bucket.getLongitude(), store.saved.longitude, 0);
+        assertEquals(12f, store.saved.accuracyMeters, 0);
+    }
+
+    @Test
+    public void inaccurateFix_isRejected() {
+        source.lastKnown = new LocationFix(37.55, 126.95, 20_000f, START);
+        source.lowPower = new LocationFix(37.55, 126.95, 20_000f, START);
+
+        assertNull(getLocation(newProvider()));
+        assertNull(store.saved);
+    }
+
+    @Test
+    public void lowPowerFailure_fallsBackToStaleCachedFix() {
+        store.saved = new LocationFix(37.55, 126.95, 100f, START - 6 * 60 * MINUTE);
+
+        LocationProvider provider = newProvider();
+
+        assertEquals(LocationBucket.of(37.55, 126.95), getLocation(provider));
+        assertEquals(1, source.lowPowerCalls);
+    }
+
+    @Test
+    public void cachedBucket_neverTouchesLocationSource() {
+        LocationProvider provider = newProvider();
+        assertNull(provider.getCachedBucket());
+
+        store.saved = new LocationFix(37.55, 126.95, 100f, START - 24 * 60 * MINUTE);
+        assertEquals(LocationBucket.of(37.55, 126.95), newProvider().getCachedBucket());
+        assertEquals(0, source.lastKnownCalls + source.lowPowerCalls);
+    }
+
+    @Test
+    public void newerFixIsNotOverwrittenByOlderOne() {
+        store.saved = new LocationFix(37.55, 126.95, 100f, START - 40 * MINUTE);
+        // 시스템의 마지막 위치가 저장된 것보다 더 오래된 경우
+        source.lastKnown = null;
+        source.lowPower = new LocationFix(35.10, 129.04, 100f, START - 50 * MINUTE);
+
+        getLocation(newProvider());
+
+        assertEquals(START - 40 * MINUTE, store.saved.timeMillis);
+    }
+
+    private static final class FakeLocationSource implements LocationSource {
+        LocationFix lastKnown;
+        LocationFix lowPower;
+        int lastKnownCalls;
+        int lowPowerCalls;
+
+        @Override
+        public void getLastKnownLocation(Callback callback) {
+            lastKnownCalls++;
+            callback.onLocation(lastKnown);
+        }
+
+        @Override
+        public void requestLowPowerLocation(Callback callback) {
+            lowPowerCalls++;
+            callback.onLocation(lowPower);
+        }
+    }
+
+    private static final class MemoryStore implements LocationProvider.Store {
+        LocationFix saved;
+
+        @Nullable
+        @Override
+        public LocationFix load() {
+            return saved;
+        }
+
+        @Override
+        public void save(LocationFix fix) {
+            saved = fix;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.alarm;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * MetricsRegistry의 기록과 OpenMetrics 내보내기를 검증합니다.
+ */
+public class MetricsRegistryTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void counter_sameNameAndLabels_returnsSameInstance() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter first = registry.counter("alarms", "help", "path", "database");
+
+        assertSame(first, registry.counter("alarms", "help", "path", "database"));
+        assertTrue(first != registry.counter("alarms", "help", "path", "direct_boot"));
+    }
+
+    @Test
+    public void counter_concurrentIncrements_areNotLost() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter counter = registry.counter("events", "help");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.inc();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, counter.get());
+    }
+
+    @Test
+    public void sameNameWithDifferentType_isRejected() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("calls", "help");
+        try {
+            registry.gauge("calls", "help", () -> 1);
+            fail("이미 카운터로 등록된 이름입니다.");
+        } catch (IllegalArgumentException expected) {
+            // 예상된 예외
+        }
+    }
+
+    @Test
+    public void histogram_isBucketedAtInclusiveUpperBounds() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Histogram histogram = registry.histogram("op_duration_milliseconds", "help");
+
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(500));   // 0.5ms -> le=1
+        histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(1));     // 1ms   -> le=1
+        histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(7));     // 7ms   -> le=10
+        histogram.recordNanos(TimeUnit.SECONDS.toNanos(60));         // 60s   -> +Inf
+
+        long[] counts = histogram.bucketCounts();
+        assertEquals(MetricsRegistry.DURATION_BUCKETS_MILLIS.length + 1, counts.length);
+        assertEquals(2, counts[0]);
+        assertEquals(1, counts[3]);
+        assertEquals(1, counts[counts.length - 1]);
+        assertEquals(4, histogram.getCount());
+    }
+
+    @Test
+    public void writeOpenMetrics_producesSortedFamiliesAndCumulativeBuckets() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("alarm_receiver_received", "받은 알람 수", "path", "database").add(3);
+        registry.gauge("executor_queue_depth", "대기 작업 수", () -> 2, "pool", "disk");
+        MetricsRegistry.Histogram histogram = registry.histogram("dao_duration_milliseconds", "DAO \"시간\"", "op", "insert");
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(1500));
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(250));
+
+        String text = registry.toOpenMetrics();
+
+        assertTrue(text, text.startsWith("# TYPE alarm_receiver_received counter\n"
+                + "# HELP alarm_receiver_received 받은 알람 수\n"
+                + "alarm_receiver_received_total{path=\"database\"} 3\n"
+                + "# TYPE dao_duration_milliseconds histogram\n"
+                + "# UNIT dao_duration_milliseconds milliseconds\n"
+                + "# HELP dao_duration_milliseconds DAO \"시간\"\n"
+                + "dao_duration_milliseconds_bucket{op=\"insert\",le=\"1.0\"} 1\n"
+                + "dao_duration_milliseconds_bucket{op=\"insert\",le=\"2.0\"} 2\n"));
+        assertTrue(text, text.contains("dao_duration_milliseconds_bucket{op=\"insert\",le=\"+Inf\"} 2\n"
+                + "dao_duration_milliseconds_count{op=\"insert\"} 2\n"
+                + "dao_duration_milliseconds_sum{op=\"insert\"} 1.750\n"
+                + "# TYPE executor_queue_depth gauge\n"
+                + "# HELP executor_queue_depth 대기 작업 수\n"
+                + "executor_queue_depth{pool=\"disk\"} 2\n"
+                + "# EOF\n"));
+        assertTrue(text, text.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void labelValues_areEscaped() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("weird", "help", "value", "a\"b\\c\nd").inc();
+
+        assertTrue(registry.toOpenMetrics().contains("weird_total{value=\"a\\\"b\\\\c\\nd\"} 1\n"));
+    }
+
+    @Test
+    public void exportTo_writesWholeFileAndLeavesNoTempFile() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("exports", "help").inc();
+        File file = new File(tempFolder.getRoot(), "metrics/alarm-metrics.txt");
+
+        registry.exportTo(file);
+
+        assertEquals(registry.toOpenMetrics(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, file.getParentFile().list().length);
+    }
+}
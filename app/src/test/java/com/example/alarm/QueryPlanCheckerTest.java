@@ -0,0 +1,100 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * QueryPlanChecker가 EXPLAIN QUERY PLAN 결과에서 전체 스캔을 찾아내는지 검증합니다.
+ * 실제 SQLite 대신, 쿼리별로 정해 둔 실행 계획을 돌려주는 가짜 PlanSource를 사용합니다.
+ */
+public class QueryPlanCheckerTest {
+
+    private static final String BY_ID = "SELECT * FROM alarms WHERE id = ?";
+    private static final String BY_NAME = "SELECT * FROM alarms WHERE name = ?";
+    private static final String ALL = "SELECT * FROM alarms ORDER BY hour ASC, minute ASC";
+
+    private final Map<String, List<String>> plans = new HashMap<>();
+    private int explainCount;
+
+    private QueryPlanChecker strictChecker(String... accepted) {
+        plans.put(BY_ID, Collections.singletonList("SEARCH alarms USING INTEGER PRIMARY KEY (rowid=?)"));
+        plans.put(BY_NAME, Collections.singletonList("SCAN alarms"));
+        plans.put(ALL, Arrays.asList("SCAN alarms", "USE TEMP B-TREE FOR ORDER BY"));
+        plans.put(AlarmDao.ENABLED_ALARMS_QUERY, Collections.singletonList("SCAN TABLE alarms"));
+        return new QueryPlanChecker((sql, args) -> {
+            explainCount++;
+            return plans.get(sql);
+        }, Runnable::run, new HashSet<>(Arrays.asList(accepted)), true, new MetricsRegistry());
+    }
+
+    @Test
+    public void findFullScans_recognisesOldAndNewSqliteWording() {
+        assertEquals(Collections.singletonList("alarms"),
+                QueryPlanChecker.findFullScans(BY_NAME, Collections.singletonList("SCAN alarms")));
+        assertEquals(Collections.singletonList("alarms"),
+                QueryPlanChecker.findFullScans(BY_NAME, Collections.singletonList("SCAN TABLE alarms")));
+        assertTrue(QueryPlanChecker.findFullScans(BY_NAME,
+                Collections.singletonList("SCAN alarms USING COVERING INDEX index_alarms_name")).isEmpty());
+        assertTrue(QueryPlanChecker.findFullScans(BY_ID,
+                Collections.singletonList("SEARCH alarms USING INTEGER PRIMARY KEY (rowid=?)")).isEmpty());
+    }
+
+    @Test
+    public void roomInternalTables_areNotFlagged() {
+        // InvalidationTracker가 변경을 확인하는 쿼리입니다. 앱의 DAO 쿼리가 아니므로 인덱스를 더할 수 없습니다.
+        assertTrue(QueryPlanChecker.findFullScans("SELECT * FROM room_table_modification_log WHERE invalidated = 1",
+                Collections.singletonList("SCAN room_table_modification_log")).isEmpty());
+    }
+
+    @Test
+    public void queryWithoutWhere_isNotFlagged() {
+        strictChecker().check(ALL, Collections.emptyList());
+    }
+
+    @Test
+    public void indexedLookup_isNotFlagged() {
+        strictChecker().check(BY_ID, Collections.singletonList(1));
+    }
+
+    @Test
+    public void newFullScan_failsInStrictMode() {
+        try {
+            strictChecker().check(BY_NAME, Collections.singletonList("기상"));
+            fail("인덱스 없이 name으로 찾는 쿼리는 전체 스캔으로 보고되어야 합니다.");
+        } catch (QueryPlanChecker.FullScanException expected) {
+            assertTrue(expected.getMessage().contains(BY_NAME));
+        }
+    }
+
+    @Test
+    public void baselineFullScan_isAccepted() {
+        strictChecker(AlarmDao.ENABLED_ALARMS_QUERY).check(AlarmDao.ENABLED_ALARMS_QUERY, Collections.emptyList());
+    }
+
+    @Test
+    public void appBaseline_coversKnownAlarmDaoScans() {
+        assertTrue(AppDatabase.ACCEPTED_FULL_SCANS.contains(AlarmDao.ENABLED_ALARMS_QUERY));
+        assertTrue(AppDatabase.ACCEPTED_FULL_SCANS.contains(AlarmDao.WEATHER_ALARMS_QUERY));
+    }
+
+    @Test
+    public void sameSql_isExplainedOnce_andNonQueriesAreSkipped() {
+        QueryPlanChecker checker = strictChecker();
+        checker.check(BY_ID, Collections.singletonList(1));
+        checker.check(BY_ID, Collections.singletonList(2));
+        checker.check("BEGIN TRANSACTION", Collections.emptyList());
+        checker.check("INSERT OR REPLACE INTO `alarms` VALUES (?)", Collections.singletonList(1));
+
+        assertEquals(1, explainCount);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.alarm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RetrofitClient가 만드는 공유 OkHttpClient의 HTTP 캐시, 연결 재사용, 호출 측정 동작을 검증합니다.
+ */
+public class RetrofitClientTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<HttpCallMetrics> recorded = new CopyOnWriteArrayList<>();
+    private MockWebServer server;
+    private OkHttpClient client;
+    private WeatherApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = RetrofitClient.createHttpClient(temporaryFolder.newFolder("http_cache"),
+                HttpMetricsEventListener.factory(recorded::add));
+        apiService = RetrofitClient.createApiService(server.url("/").toString(), client);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.cache().close();
+        server.shutdown();
+    }
+
+    private Response<WeatherResponse> fetch() throws Exception {
+        return apiService.getCurrentWeather(37.55, 126.95, "test-key", "metric", "kr").execute();
+    }
+
+    @Test
+    public void eachCall_recordsPhaseTimings() throws Exception {
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+
+        assertTrue(fetch().isSuccessful());
+
+        assertEquals(1, recorded.size());
+        HttpCallMetrics metrics = recorded.get(0);
+        assertTrue(metrics.success);
+        assertFalse(metrics.fromCache);
+        assertEquals("/weather", metrics.url);
+        assertTrue(metrics.connectMillis >= 0);
+        assertTrue(metrics.ttfbMillis >= 0);
+        assertTrue(metrics.ttfbMillis <= metrics.totalMillis);
+    }
+
+    @Test
+    public void secondCall_reusesPooledConnection() throws Exception {
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "흐림", 18.0)));
+
+        fetch();
+        fetch();
+
+        assertEquals(2, server.getRequestCount());
+        assertFalse(recorded.get(0).isConnectionReused());
+        assertTrue(recorded.get(1).isConnectionReused());
+    }
+
+    @Test
+    public void cacheableResponse_isServedFromHttpCache() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Cache-Control", "max-age=600")
+                .setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+
+        fetch();
+        Response<WeatherResponse> second = fetch();
+
+        assertEquals("Seoul", second.body().getCityName());
+        assertEquals(1, server.getRequestCount());
+        assertTrue(recorded.get(1).fromCache);
+    }
+
+    @Test
+    public void failedCall_isRecordedAsFailure() throws Exception {
+        server.shutdown();
+
+        try {
+            fetch();
+        } catch (IOException expected) {
+            // 서버가 내려가 있으므로 연결에 실패해야 합니다.
+        }
+
+        assertEquals(1, recorded.size());
+        assertFalse(recorded.get(0).success);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SlowQueryLogger가 기준 시간을 넘긴 DAO 호출만 지표와 이벤트 로그에 남기는지 검증합니다.
+ */
+public class SlowQueryLoggerTest {
+
+    @Test
+    public void fastCall_isNotRecorded() {
+        MetricsRegistry registry = new MetricsRegistry();
+        SlowQueryLogger logger = new SlowQueryLogger(registry, 16, null);
+
+        logger.begin();
+        logger.onQuery("SELECT * FROM alarms WHERE id = ?", Collections.singletonList(3));
+
+        assertFalse(logger.end("get_by_id", TimeUnit.MILLISECONDS.toNanos(2)));
+        assertEquals(0, registry.counter(SlowQueryLogger.SLOW_METRIC, "", "op", "get_by_id").get());
+    }
+
+    @Test
+    public void slowCall_recordsMetricAndStatementsWithBindArgs() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        SlowQueryLogger logger = new SlowQueryLogger(registry, 16, null);
+        String marker = "slow-" + System.nanoTime();
+
+        logger.begin();
+        logger.onQuery("UPDATE alarms SET name = ? WHERE id = ?", Arrays.asList(marker, 7));
+
+        assertTrue(logger.end("update", TimeUnit.MILLISECONDS.toNanos(40)));
+        assertEquals(1, registry.counter(SlowQueryLogger.SLOW_METRIC, "", "op", "update").get());
+        String events = AlarmLog.dumpToString();
+        assertTrue(events, events.contains("느린 DAO 호출 update (40ms): [UPDATE alarms SET name = ? WHERE id = ? [" + marker + ", 7]]"));
+    }
+
+    @Test
+    public void statementsFromBeforeTheCall_areDiscarded() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        SlowQueryLogger logger = new SlowQueryLogger(registry, 16, null);
+        String stale = "stale-" + System.nanoTime();
+
+        logger.onQuery("SELECT * FROM alarms WHERE name = ?", Collections.singletonList(stale));
+        logger.begin();
+        logger.onQuery("DELETE FROM alarms", Collections.emptyList());
+        logger.end("delete_all", TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertFalse(AlarmLog.dumpToString().contains(stale));
+    }
+
+    @Test
+    public void statements_arePassedToPlanChecker() {
+        int[] explained = new int[1];
+        QueryPlanChecker checker = new QueryPlanChecker((sql, args) -> {
+            explained[0]++;
+            return Collections.emptyList();
+        }, Runnable::run, Collections.emptySet(), true, new MetricsRegistry());
+        SlowQueryLogger logger = new SlowQueryLogger(new MetricsRegistry(), 16, checker);
+
+        logger.onQuery("SELECT * FROM alarms WHERE id = ?", Collections.singletonList(1));
+
+        assertEquals(1, explained[0]);
+    }
+}
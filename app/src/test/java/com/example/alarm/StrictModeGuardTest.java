@@ -0,0 +1,78 @@
+package com.example.alarm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * StrictModeGuard.Recorder가 위반을 지표와 이벤트 로그에 남기고, 기준선에 없는 위반에서만 테스트를 실패시키는지 검증합니다.
+ * (android.os.strictmode.Violation 대신 같은 역할을 하는 Throwable을 만들어 넘깁니다.)
+ */
+public class StrictModeGuardTest {
+
+    @Test
+    public void record_countsViolationByPolicyAndType() {
+        MetricsRegistry registry = new MetricsRegistry();
+        StrictModeGuard.Recorder recorder = new StrictModeGuard.Recorder(registry);
+
+        recorder.record("thread", new DiskReadViolation());
+        recorder.record("thread", new DiskReadViolation());
+
+        assertEquals(2, registry.counter(StrictModeGuard.VIOLATION_METRIC, "",
+                "policy", "thread", "type", "DiskReadViolation").get());
+    }
+
+    @Test
+    public void record_writesEventWithStackTrace() {
+        StrictModeGuard.Recorder recorder = new StrictModeGuard.Recorder(new MetricsRegistry());
+
+        recorder.record("vm", new LeakedClosableViolation());
+
+        String events = AlarmLog.dumpToString();
+        assertTrue(events, events.contains("StrictMode vm 위반 LeakedClosableViolation"));
+        assertTrue(events, events.contains(StrictModeGuardTest.class.getName()));
+    }
+
+    @Test
+    public void assertNoViolations_failsWithFirstViolationAsCause() {
+        StrictModeGuard.Recorder recorder = new StrictModeGuard.Recorder(new MetricsRegistry());
+        DiskReadViolation violation = new DiskReadViolation();
+        recorder.record("thread", violation);
+
+        try {
+            recorder.assertNoViolations();
+            fail("위반이 있으면 실패해야 합니다.");
+        } catch (AssertionError e) {
+            assertSame(violation, e.getCause());
+            assertTrue(e.getMessage(), e.getMessage().contains("DiskReadViolation at " + getClass().getName()));
+        }
+    }
+
+    @Test
+    public void knownFrames_areLoggedButDoNotFail() {
+        MetricsRegistry registry = new MetricsRegistry();
+        StrictModeGuard.Recorder recorder = new StrictModeGuard.Recorder(registry,
+                "StrictModeGuardTest.knownFrames_areLoggedButDoNotFail");
+
+        recorder.record("thread", new DiskReadViolation());
+
+        recorder.assertNoViolations();
+        assertTrue(recorder.getUnexpectedViolations().isEmpty());
+        assertEquals(1, registry.counter(StrictModeGuard.VIOLATION_METRIC, "",
+                "policy", "thread", "type", "DiskReadViolation").get());
+    }
+
+    @Test
+    public void assertNoViolations_passesWithoutViolations() {
+        new StrictModeGuard.Recorder(new MetricsRegistry()).assertNoViolations();
+    }
+
+    private static final class DiskReadViolation extends RuntimeException {
+    }
+
+    private static final class LeakedClosableViolation extends RuntimeException {
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.EventListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 날씨 요청 정책(헤지, 지터가 있는 지수 재시도, 전체 시간 예산, 서킷 브레이커)을 로컬 MockWebServer로 검증합니다.
+ */
+public class WeatherFetchPolicyTest {
+
+    private static final LocationBucket BUCKET = LocationBucket.of(37.5665, 126.9780);
+    private static final String BODY = WeatherPayloads.currentWeather("Seoul", "맑음", 21.5);
+
+    // 테스트가 빨리 끝나도록 시간을 줄인 정책: 전체 2초, 헤지 200ms, 재시도 50ms부터, 연속 2번 실패하면 1시간 차단
+    private static final WeatherFetchPolicy FAST = new WeatherFetchPolicy(2_000, 3, 0.9, 200, 100, 500, 50, 200, 2, 60 * 60_000);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private FakeClock clock;
+    private WeatherRepository repository;
+    private final AtomicInteger requestNumber = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        clock = new FakeClock(1_760_000_000_000L);
+        repository = new WeatherRepository(
+                RetrofitClient.createApiService(server.url("/").toString(),
+                        RetrofitClient.createHttpClient(temporaryFolder.newFolder("http_cache"), call -> EventListener.NONE)),
+                "test-key", temporaryFolder.newFolder("weather_cache"), WeatherRepository.DEFAULT_TTL_MILLIS,
+                clock, Runnable::run, Runnable::run, FAST);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private void respond(Responder responder) {
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                return responder.respond(requestNumber.incrementAndGet());
+            }
+        });
+    }
+
+    private interface Responder {
+        MockResponse respond(int requestNumber);
+    }
+
+    @Test
+    public void stalledFirstRequest_isHedgedAndSecondResponseWins() {
+        // 첫 요청은 막 깨어난 기기처럼 응답이 멈춰 있고, 헤지 요청은 바로 응답합니다.
+        respond(n -> n == 1
+                ? new MockResponse().setBody(BODY).setHeadersDelay(5, TimeUnit.SECONDS)
+                : new MockResponse().setBody(BODY));
+
+        long started = System.nanoTime();
+        assertTrue(repository.refreshBlocking(BUCKET));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue("헤지 요청이 첫 요청을 기다렸습니다: " + elapsedMillis + "ms", elapsedMillis < 1_500);
+        WeatherFetchMetrics metrics = repository.getFetchMetrics();
+        assertEquals(2, metrics.attempts);
+        assertEquals(1, metrics.hedges);
+        assertEquals(1, metrics.hedgeWins);
+        assertEquals(0, metrics.retries);
+        assertTrue(metrics.latencyP50Millis >= 0);
+    }
+
+    @Test
+    public void fastResponse_doesNotSendHedge() {
+        respond(n -> new MockResponse().setBody(BODY));
+
+        assertTrue(repository.refreshBlocking(BUCKET));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, repository.getFetchMetrics().hedges);
+    }
+
+    @Test
+    public void serverErrors_areRetriedWithBackoffUntilSuccess() {
+        respond(n -> n < 3 ? new MockResponse().setResponseCode(503) : new MockResponse().setBody(BODY));
+
+        assertTrue(repository.refreshBlocking(BUCKET));
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(2, repository.getFetchMetrics().retries);
+        assertEquals(1, repository.getStats().networkSuccesses);
+    }
+
+    @Test
+    public void clientError_isNotRetried() {
+        respond(n -> new MockResponse().setResponseCode(401));
+
+        assertFalse(repository.refreshBlocking(BUCKET));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals("CLOSED", repository.getFetchMetrics().circuitState);
+    }
+
+    @Test
+    public void deadline_boundsTheWholeFetch() {
+        // 모든 요청이 예산보다 오래 걸립니다.
+        respond(n -> new MockResponse().setBody(BODY).setHeadersDelay(3, TimeUnit.SECONDS));
+
+        long started = System.nanoTime();
+        assertFalse(repository.refreshBlocking(BUCKET));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue("시간 예산을 넘겼습니다: " + elapsedMillis + "ms", elapsedMillis < FAST.deadlineMillis + 1_000);
+        assertEquals(1, repository.getFetchMetrics().deadlineExceeded);
+    }
+
+    @Test
+    public void repeatedFailures_openCircuitAndShortCircuitToCache() throws Exception {
+        respond(n -> n == 1 ? new MockResponse().setBody(BODY) : new MockResponse().setResponseCode(503));
+        assertTrue(repository.refreshBlocking(BUCKET));
+
+        // 연속 두 번의 최종 실패로 서킷이 열립니다.
+        assertFalse(repository.refreshBlocking(BUCKET));
+        assertFalse(repository.refreshBlocking(BUCKET));
+        assertEquals("OPEN", repository.getFetchMetrics().circuitState);
+        int requestsWhenOpened = server.getRequestCount();
+
+        // 열려 있는 동안에는 요청하지 않고, 캐시가 있으면 stale 데이터만 받습니다.
+        clock.advance(WeatherRepository.DEFAULT_TTL_MILLIS + 1);
+        RecordingCallback callback = new RecordingCallback();
+        repository.getWeather(BUCKET, callback);
+        assertTrue(callback.isStale);
+        assertEquals(0, callback.errors);
+        assertEquals(requestsWhenOpened, server.getRequestCount());
+        assertEquals(1, repository.getFetchMetrics().shortCircuits);
+
+        // 차단 시간이 지나면 시험 요청 하나를 보내고, 성공하면 다시 닫힙니다.
+        respond(n -> new MockResponse().setBody(BODY));
+        clock.advance(FAST.breakerOpenMillis - WeatherRepository.DEFAULT_TTL_MILLIS);
+        assertEquals("HALF_OPEN", repository.getFetchMetrics().circuitState);
+        assertTrue(repository.refreshBlocking(BUCKET));
+        assertEquals("CLOSED", repository.getFetchMetrics().circuitState);
+    }
+
+    @Test
+    public void backoff_growsExponentiallyWithJitterAndCap() {
+        WeatherFetchPolicy policy = WeatherFetchPolicy.DEFAULT;
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            long first = policy.backoffMillis(1, random);
+            long second = policy.backoffMillis(2, random);
+            long capped = policy.backoffMillis(10, random);
+            assertTrue(first >= 200 && first <= 400);
+            assertTrue(second >= 400 && second <= 800);
+            assertTrue(capped >= 1_500 && capped <= 3_000);
+        }
+    }
+
+    @Test
+    public void hedgeDelay_followsLatencyPercentileWithinBounds() {
+        LatencyWindow window = new LatencyWindow(64);
+        WeatherFetchPolicy policy = WeatherFetchPolicy.DEFAULT;
+        assertEquals(policy.defaultHedgeDelayMillis,
+                policy.hedgeDelayMillis(window.percentile(0.9, WeatherFetchPolicy.MIN_LATENCY_SAMPLES)));
+
+        for (int i = 1; i <= 10; i++) {
+            window.record(i * 100);
+        }
+        assertEquals(900, window.percentile(0.9, WeatherFetchPolicy.MIN_LATENCY_SAMPLES));
+        assertEquals(900, policy.hedgeDelayMillis(900));
+        assertEquals(policy.minHedgeDelayMillis, policy.hedgeDelayMillis(10));
+        assertEquals(policy.maxHedgeDelayMillis, policy.hedgeDelayMillis(60_000));
+    }
+
+    /** 콜백 실행기가 호출 스레드에서 바로 실행되므로 결과를 필드에 모아 둡니다. */
+    private static final class RecordingCallback implements WeatherRepository.Callback {
+        boolean isStale;
+        int errors;
+
+        @Override
+        public void onWeather(@NonNull WeatherResponse weather, boolean isStale) {
+            this.isStale = isStale;
+        }
+
+        @Override
+        public void onError(@NonNull String message) {
+            errors++;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 날씨 아이콘 디스크 계층이 코드별로 한 번만 내려받고, 내려받은 파일을 다시 사용하는지 검증합니다.
+ */
+public class WeatherIconStoreTest {
+
+    // PNG 파일 머리말과 임의의 내용. 디스크 계층은 디코딩하지 않으므로 실제 이미지일 필요는 없습니다.
+    private static final byte[] ICON_BYTES = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3, 4};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+    private File iconDir;
+    private WeatherIconStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                // 동시에 들어온 요청이 잠금에서 기다리도록 응답을 조금 늦춥니다.
+                Thread.sleep(50);
+                if (!request.getPath().matches("/img/wn/[0-9]{2}[dn]@2x\\.png")) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                return new MockResponse().setBody(new Buffer().write(ICON_BYTES));
+            }
+        });
+        server.start();
+        httpClient = RetrofitClient.createHttpClient(temporaryFolder.newFolder("http_cache"), call -> EventListener.NONE);
+        iconDir = temporaryFolder.newFolder("weather_icons");
+        store = new WeatherIconStore(httpClient, server.url("/img/wn/").toString(), iconDir);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void getIconFile_downloadsOnceAndKeepsEncodedBytes() throws Exception {
+        File first = store.getIconFile("01d");
+        File second = store.getIconFile("01d");
+
+        assertNotNull(first);
+        assertEquals(first, second);
+        assertArrayEquals(ICON_BYTES, Files.readAllBytes(first.toPath()));
+        assertEquals(1, server.getRequestCount());
+        assertEquals("/img/wn/01d@2x.png", server.takeRequest().getPath());
+    }
+
+    @Test
+    public void getIconFile_concurrentRequestsShareOneDownload() throws Exception {
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<File>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return store.getIconFile("10n");
+                }));
+            }
+            startGate.countDown();
+            for (Future<File> result : results) {
+                assertNotNull(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, store.getDownloadCount());
+    }
+
+    @Test
+    public void diskTier_survivesProcessRestart() {
+        assertNotNull(store.getIconFile("02d"));
+
+        WeatherIconStore restarted = new WeatherIconStore(httpClient, server.url("/img/wn/").toString(), iconDir);
+        assertNotNull(restarted.getIconFile("02d"));
+        assertEquals(0, restarted.getDownloadCount());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void getIconFile_rejectsMalformedCodesWithoutNetwork() {
+        assertNull(store.getIconFile(null));
+        assertNull(store.getIconFile("../../secret"));
+        assertNull(store.getIconFile("01x"));
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void getIconFile_failedDownloadLeavesNothingOnDisk() {
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                return new MockResponse().setResponseCode(503);
+            }
+        });
+
+        assertNull(store.getIconFile("04d"));
+        assertEquals(0, iconDir.listFiles().length);
+    }
+
+    @Test
+    public void calculateInSampleSize_keepsDecodedIconAtLeastTargetSize() {
+        assertEquals(1, WeatherIconLoader.calculateInSampleSize(100, 100, 96));
+        assertEquals(1, WeatherIconLoader.calculateInSampleSize(100, 100, 64));
+        assertEquals(2, WeatherIconLoader.calculateInSampleSize(100, 100, 48));
+        assertEquals(4, WeatherIconLoader.calculateInSampleSize(200, 100, 48));
+        assertEquals(1, WeatherIconLoader.calculateInSampleSize(100, 100, 0));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.alarm;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.annotation.Annotation;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * WeatherJsonCodec이 Gson(리플렉션)과 같은 값을 읽는지, 디스크 캐시용으로 쓴 JSON을 다시 읽을 수 있는지 검증합니다.
+ */
+public class WeatherJsonCodecTest {
+
+    private static WeatherResponse decode(String json) throws IOException {
+        return WeatherJsonCodec.read(new JsonReader(new StringReader(json)));
+    }
+
+    private static void assertSameUsedFields(WeatherResponse expected, WeatherResponse actual) {
+        assertEquals(expected.getCityName(), actual.getCityName());
+        assertEquals(expected.getWeather().get(0).getMain(), actual.getWeather().get(0).getMain());
+        assertEquals(expected.getWeather().get(0).getDescription(), actual.getWeather().get(0).getDescription());
+        assertEquals(expected.getWeather().get(0).getIcon(), actual.getWeather().get(0).getIcon());
+        assertEquals(expected.getMainWeatherData().getTemperature(), actual.getMainWeatherData().getTemperature(), 1e-9);
+    }
+
+    @Test
+    public void decode_matchesGsonForUsedFields() throws Exception {
+        Gson gson = new Gson();
+        for (String json : new String[]{
+                WeatherPayloads.currentWeather("Seoul", "맑음", 21.5),
+                WeatherPayloads.rainWithTwoConditions()}) {
+            assertSameUsedFields(gson.fromJson(json, WeatherResponse.class), decode(json));
+        }
+    }
+
+    @Test
+    public void decode_keepsOnlyFirstCondition() throws Exception {
+        WeatherResponse response = decode(WeatherPayloads.rainWithTwoConditions());
+
+        assertEquals(1, response.getWeather().size());
+        assertEquals("보통 비", response.getWeather().get(0).getDescription());
+    }
+
+    @Test
+    public void decode_missingAndNullFields_areNull() throws Exception {
+        WeatherResponse response = decode("{\"weather\":null,\"name\":null,\"cod\":200}");
+
+        assertNull(response.getWeather());
+        assertNull(response.getMainWeatherData());
+        assertNull(response.getCityName());
+    }
+
+    @Test
+    public void writeThenRead_roundTrips() throws Exception {
+        WeatherResponse original = decode(WeatherPayloads.currentWeather("Seoul", "구름 조금", -3.25));
+
+        StringWriter out = new StringWriter();
+        WeatherJsonCodec.write(new JsonWriter(out), original);
+
+        assertSameUsedFields(original, decode(out.toString()));
+    }
+
+    @Test
+    public void converter_decodesResponseBody() throws Exception {
+        Converter<ResponseBody, ?> converter = WeatherResponseConverterFactory.create()
+                .responseBodyConverter(WeatherResponse.class, new Annotation[0], null);
+        assertNotNull(converter);
+
+        WeatherResponse response = (WeatherResponse) converter.convert(ResponseBody.create(
+                WeatherPayloads.rainWithTwoConditions(), MediaType.get("application/json")));
+
+        assertEquals("Busan", response.getCityName());
+        assertEquals(14.3, response.getMainWeatherData().getTemperature(), 1e-9);
+    }
+
+    @Test
+    public void converter_ignoresOtherTypes() {
+        assertNull(WeatherResponseConverterFactory.create()
+                .responseBodyConverter(String.class, new Annotation[0], null));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.alarm;
+
+import java.util.Locale;
+
+/**
+ * 테스트에서 MockWebServer가 돌려줄 OpenWeatherMap 응답 예시입니다.
+ */
+final class WeatherPayloads {
+
+    private WeatherPayloads() {
+    }
+
+    static String currentWeather(String cityName, String description, double temperature) {
+        return String.format(Locale.US,
+                "{\"coord\":{\"lon\":126.98,\"lat\":37.57},"
+                        + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"description\":\"%s\",\"icon\":\"01d\"}],"
+                        + "\"base\":\"stations\","
+                        + "\"main\":{\"temp\":%.2f,\"feels_like\":%.2f,\"temp_min\":%.2f,\"temp_max\":%.2f,\"pressure\":1012,\"humidity\":40},"
+                        + "\"visibility\":10000,\"wind\":{\"speed\":2.1,\"deg\":250},\"clouds\":{\"all\":0},"
+                        + "\"dt\":1760745600,\"sys\":{\"country\":\"KR\",\"sunrise\":1760735000,\"sunset\":1760775000},"
+                        + "\"timezone\":32400,\"id\":1835848,\"name\":\"%s\",\"cod\":200}",
+                description, temperature, temperature - 0.5, temperature - 2, temperature + 2, cityName);
+    }
+
+    /**
+     * 날씨 항목이 두 개이고 rain 같은 선택 필드가 들어 있는 응답 예시입니다.
+     */
+    static String rainWithTwoConditions() {
+        return "{\"coord\":{\"lon\":129.04,\"lat\":35.1},"
+                + "\"weather\":[{\"id\":501,\"main\":\"Rain\",\"description\":\"보통 비\",\"icon\":\"10n\"},"
+                + "{\"id\":701,\"main\":\"Mist\",\"description\":\"박무\",\"icon\":\"50n\"}],"
+                + "\"base\":\"stations\","
+                + "\"main\":{\"temp\":14.3,\"feels_like\":13.9,\"temp_min\":13.1,\"temp_max\":15.0,\"pressure\":1008,"
+                + "\"humidity\":93,\"sea_level\":1008,\"grnd_level\":1004},"
+                + "\"visibility\":4000,\"wind\":{\"speed\":6.7,\"deg\":40,\"gust\":11.2},"
+                + "\"rain\":{\"1h\":2.54},\"clouds\":{\"all\":100},"
+                + "\"dt\":1760790000,\"sys\":{\"type\":1,\"id\":8086,\"country\":\"KR\",\"sunrise\":1760735800,\"sunset\":1760776200},"
+                + "\"timezone\":32400,\"id\":1838524,\"name\":\"Busan\",\"cod\":200}";
+    }
+
+    /**
+     * 5일 예보(forecast) 응답 예시입니다. startEpochSeconds부터 3시간 간격으로 count칸을 만들며,
+     * 기온은 칸마다 0.5도씩 오르고 날씨는 맑음/구름조금/비가 번갈아 나옵니다.
+     */
+    static String forecast(String cityName, long startEpochSeconds, int count) {
+        String[][] conditions = {{"Clear", "맑음", "01d"}, {"Clouds", "구름조금", "02d"}, {"Rain", "약한 비", "10d"}};
+        StringBuilder json = new StringBuilder("{\"cod\":\"200\",\"message\":0,\"cnt\":").append(count).append(",\"list\":[");
+        for (int i = 0; i < count; i++) {
+            String[] condition = conditions[i % conditions.length];
+            double temperature = 10 + i * 0.5;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(String.format(Locale.US,
+                    "{\"dt\":%d,\"main\":{\"temp\":%.2f,\"feels_like\":%.2f,\"temp_min\":%.2f,\"temp_max\":%.2f,"
+                            + "\"pressure\":1015,\"humidity\":60},"
+                            + "\"weather\":[{\"id\":800,\"main\":\"%s\",\"description\":\"%s\",\"icon\":\"%s\"}],"
+                            + "\"clouds\":{\"all\":20},\"wind\":{\"speed\":3.1,\"deg\":200,\"gust\":4.0},"
+                            + "\"visibility\":10000,\"pop\":0.2,\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"-\"}",
+                    startEpochSeconds + i * 3 * 60 * 60L, temperature, temperature - 1, temperature - 1, temperature + 1,
+                    condition[0], condition[1], condition[2]));
+        }
+        json.append("],\"city\":{\"id\":1835848,\"name\":\"").append(cityName)
+                .append("\",\"coord\":{\"lat\":37.5665,\"lon\":126.978},\"country\":\"KR\",\"timezone\":32400}}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.alarm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 하루치 날씨 TTS 알람을 가짜 시계로 시뮬레이션하여, 미리 받기 계획대로만 네트워크를 사용하고
+ * 알람이 울리는 순간에는 항상 로컬 캐시의 신선한 데이터로 응답할 수 있는지 검증합니다.
+ */
+public class WeatherPrefetchSimulationTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+    // 하루의 시작(자정)으로 사용할 임의의 시각
+    private static final long MIDNIGHT = 1_760_000_000_000L - 1_760_000_000_000L % (24 * HOUR);
+    private static final LocationBucket BUCKET = LocationBucket.of(37.5665, 126.9780);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Executor direct = Runnable::run;
+    private MockWebServer server;
+    private FakeClock clock;
+    private WeatherRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5));
+            }
+        });
+        server.start();
+        WeatherApiService apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(WeatherApiService.class);
+        clock = new FakeClock(MIDNIGHT);
+        repository = new WeatherRepository(apiService, "test-key", temporaryFolder.newFolder("weather_cache"),
+                WeatherRepository.DEFAULT_TTL_MILLIS, clock, direct, direct);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void dayOfAlarms_jobRunsAtWindowStart_alarmsReadFreshLocalData() {
+        int batches = simulateDay(false);
+        assertEquals(4, batches);
+    }
+
+    @Test
+    public void dayOfAlarms_jobRunsAtDeadline_alarmsReadFreshLocalData() {
+        int batches = simulateDay(true);
+        assertEquals(4, batches);
+    }
+
+    @Test
+    public void imminentAlarm_windowStartsNow() {
+        long now = MIDNIGHT + 6 * HOUR;
+        List<WeatherPrefetchPlanner.Window> windows = WeatherPrefetchPlanner.plan(
+                new long[]{now + 5 * MINUTE}, Long.MIN_VALUE, now, WeatherPrefetchPlanner.DEFAULT_POLICY);
+        assertEquals(1, windows.size());
+        assertEquals(now, windows.get(0).startMillis);
+        assertEquals(now, windows.get(0).deadlineMillis);
+    }
+
+    @Test
+    public void freshCache_coversUpcomingAlarms() {
+        long now = MIDNIGHT + 6 * HOUR;
+        List<WeatherPrefetchPlanner.Window> windows = WeatherPrefetchPlanner.plan(
+                new long[]{now + 30 * MINUTE, now + HOUR}, now - 10 * MINUTE, now, WeatherPrefetchPlanner.DEFAULT_POLICY);
+        assertTrue(windows.isEmpty());
+    }
+
+    @Test
+    public void planWindows_followsTheInjectedClock() {
+        Alarm daily = new Alarm(1, null, 6, 30, true, false, null,
+                true, true, true, true, true, true, true, true);
+        List<Alarm> alarms = new ArrayList<>();
+        alarms.add(daily);
+
+        for (long offset : new long[]{5 * HOUR, 6 * HOUR + 25 * MINUTE, 20 * HOUR}) {
+            clock.set(MIDNIGHT + offset);
+            long now = clock.currentTimeMillis();
+            long trigger = AlarmScheduler.calculateNextTriggerTime(daily, now);
+            List<WeatherPrefetchPlanner.Window> windows = WeatherPrefetchScheduler.planWindows(
+                    alarms, Long.MIN_VALUE, WeatherPrefetchPlanner.DEFAULT_POLICY, now);
+
+            assertEquals(1, windows.size());
+            // 창은 언제나 지금 이후에 열리고, 다음 울림 전에 닫힙니다.
+            assertTrue(windows.get(0).startMillis >= now);
+            assertTrue(windows.get(0).deadlineMillis <= trigger);
+        }
+    }
+
+    /**
+     * 알람과 미리 받기 작업을 시간 순서대로 진행합니다. 작업이 끝날 때마다 실제 앱처럼 계획을 다시 세웁니다.
+     * @param runAtDeadline true면 시스템이 작업을 창의 마감 직전에 실행한 경우, false면 창이 열리자마자 실행한 경우
+     * @return 네트워크 요청 횟수(= 미리 받기 묶음 수)
+     */
+    private int simulateDay(boolean runAtDeadline) {
+        WeatherPrefetchPlanner.Policy policy = WeatherPrefetchPlanner.DEFAULT_POLICY;
+        List<Long> pending = new ArrayList<>();
+        for (long offset : new long[]{
+                6 * HOUR, 6 * HOUR + 10 * MINUTE, 6 * HOUR + 30 * MINUTE, 7 * HOUR,
+                12 * HOUR, 18 * HOUR, 18 * HOUR + 30 * MINUTE, 22 * HOUR}) {
+            pending.add(MIDNIGHT + offset);
+        }
+        int alarmCount = pending.size();
+
+        while (!pending.isEmpty()) {
+            long now = clock.currentTimeMillis();
+            WeatherRepository.CachedWeather latest = repository.getLatestCachedWeather();
+            long lastFetch = latest == null ? Long.MIN_VALUE : latest.fetchedAtMillis;
+            List<WeatherPrefetchPlanner.Window> windows =
+                    WeatherPrefetchPlanner.plan(toArray(pending), lastFetch, now, policy);
+            long nextAlarm = pending.get(0);
+
+            if (!windows.isEmpty()) {
+                WeatherPrefetchPlanner.Window window = windows.get(0);
+                long runAt = runAtDeadline ? window.deadlineMillis : window.startMillis;
+                if (runAt < nextAlarm) {
+                    clock.set(runAt);
+                    assertTrue(repository.refreshBlocking(BUCKET));
+                    continue;
+                }
+            }
+
+            // 알람이 울리는 순간: 네트워크 없이 로컬 캐시만으로 응답할 수 있어야 합니다.
+            clock.set(nextAlarm);
+            int requestsBefore = server.getRequestCount();
+            WeatherRepository.CachedWeather cached = repository.getLatestCachedWeather();
+            assertNotNull("알람 시각에 캐시된 날씨가 없습니다.", cached);
+            long age = nextAlarm - cached.fetchedAtMillis;
+            assertTrue("캐시된 날씨가 너무 오래되었습니다: " + age, age <= policy.maxAgeMillis);
+            assertEquals(requestsBefore, server.getRequestCount());
+            pending.remove(0);
+        }
+
+        int batches = server.getRequestCount();
+        assertTrue(batches < alarmCount);
+        return batches;
+    }
+
+    private static long[] toArray(List<Long> values) {
+        long[] array = new long[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
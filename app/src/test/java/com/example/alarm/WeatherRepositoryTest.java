@@ -0,0 +1,262 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WeatherRepository의 캐시(TTL, stale-while-revalidate, 디스크 캐시) 동작을 로컬 MockWebServer로 검증합니다.
+ */
+public class WeatherRepositoryTest {
+
+    private static final long TTL = 30 * 60 * 1000L;
+    private static final double LAT = 37.5665;
+    private static final double LON = 126.9780;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Executor direct = Runnable::run;
+    private MockWebServer server;
+    private WeatherApiService apiService;
+    private FakeClock clock;
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(WeatherApiService.class);
+        clock = new FakeClock(1_760_000_000_000L);
+        cacheDir = temporaryFolder.newFolder("weather_cache");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private WeatherRepository newRepository() {
+        return new WeatherRepository(apiService, "test-key", cacheDir, TTL, clock, direct, direct);
+    }
+
+    @Test
+    public void miss_fetchesFromNetworkThenServesFromMemory() throws Exception {
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+        WeatherRepository repository = newRepository();
+
+        RecordingCallback first = new RecordingCallback();
+        repository.getWeather(LAT, LON, first);
+        Result result = first.next();
+        assertFalse(result.isStale);
+        assertEquals("Seoul", result.weather.getCityName());
+
+        RecordingCallback second = new RecordingCallback();
+        repository.getWeather(LAT, LON, second);
+        assertFalse(second.next().isStale);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, repository.getStats().freshHits);
+        assertEquals(1, repository.getStats().misses);
+        assertEquals(0.5, repository.getStats().getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void nearbyLocations_shareOneBucket() throws Exception {
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+        WeatherRepository repository = newRepository();
+
+        RecordingCallback first = new RecordingCallback();
+        repository.getWeather(LAT, LON, first);
+        first.next();
+        RecordingCallback second = new RecordingCallback();
+        repository.getWeather(LAT + 0.001, LON - 0.001, second);
+        second.next();
+
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void stale_isServedImmediatelyThenRevalidated() throws Exception {
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "흐림", 18.0)));
+        WeatherRepository repository = newRepository();
+        RecordingCallback first = new RecordingCallback();
+        repository.getWeather(LAT, LON, first);
+        first.next();
+
+        clock.advance(TTL + 1);
+        RecordingCallback second = new RecordingCallback();
+        repository.getWeather(LAT, LON, second);
+
+        Result stale = second.next();
+        assertTrue(stale.isStale);
+        assertEquals("맑음", stale.weather.getWeather().get(0).getDescription());
+        Result fresh = second.next();
+        assertFalse(fresh.isStale);
+        assertEquals("흐림", fresh.weather.getWeather().get(0).getDescription());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, repository.getStats().staleHits);
+    }
+
+    @Test
+    public void offline_withStaleData_doesNotReportError() throws Exception {
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+        // 정책에 따라 재시도하므로, 시도할 때마다 실패하도록 응답을 넣어 둡니다.
+        for (int i = 0; i < WeatherFetchPolicy.DEFAULT.maxAttempts; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        WeatherRepository repository = newRepository();
+        RecordingCallback first = new RecordingCallback();
+        repository.getWeather(LAT, LON, first);
+        first.next();
+
+        clock.advance(TTL + 1);
+        RecordingCallback second = new RecordingCallback();
+        repository.getWeather(LAT, LON, second);
+
+        assertTrue(second.next().isStale);
+        // 재시도가 모두 끝날 때까지 기다립니다.
+        long deadline = System.currentTimeMillis() + WeatherFetchPolicy.DEFAULT.deadlineMillis;
+        while (repository.getStats().networkFailures == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(second.poll());
+        assertEquals(1, repository.getStats().networkFailures);
+        assertEquals(1 + WeatherFetchPolicy.DEFAULT.maxAttempts, server.getRequestCount());
+        assertEquals(WeatherFetchPolicy.DEFAULT.maxAttempts - 1, repository.getFetchMetrics().retries);
+    }
+
+    @Test
+    public void diskCache_survivesNewRepositoryInstance() throws Exception {
+        server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5)));
+        RecordingCallback first = new RecordingCallback();
+        newRepository().getWeather(LAT, LON, first);
+        first.next();
+
+        // 프로세스가 다시 시작된 것처럼 새 인스턴스를 만들어도 디스크 캐시로 응답해야 합니다.
+        WeatherRepository restarted = newRepository();
+        assertNotNull(restarted.getCachedWeather(LAT, LON));
+        RecordingCallback second = new RecordingCallback();
+        restarted.getWeather(LAT, LON, second);
+        Result result = second.next();
+        assertFalse(result.isStale);
+        assertEquals(21.5, result.weather.getMainWeatherData().getTemperature(), 1e-9);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void latestCachedWeather_survivesLruEvictionOfTheLastFetch() throws Exception {
+        // 17개 구역을 차례로 받으면 메모리 캐시(16개)에는 2~17번이 남습니다.
+        WeatherRepository repository = newRepository();
+        int buckets = 17;
+        for (int i = 0; i < buckets; i++) {
+            server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("City" + i, "맑음", i)));
+            RecordingCallback callback = new RecordingCallback();
+            repository.getWeather(LAT + i, LON, callback);
+            callback.next();
+            clock.advance(1_000);
+        }
+        // 2~16번을 읽어 마지막으로 받은 17번을 가장 오래 안 쓴 항목으로 만든 뒤, 디스크의 1번을 읽어 17번을 밀어냅니다.
+        for (int i = 1; i < buckets - 1; i++) {
+            assertNotNull(repository.getCacheEntry(LocationBucket.of(LAT + i, LON)));
+        }
+        assertNotNull(repository.getCacheEntry(LocationBucket.of(LAT, LON)));
+
+        WeatherRepository.CachedWeather latest = repository.getLatestCachedWeather();
+        assertEquals("City" + (buckets - 1), latest.response.getCityName());
+    }
+
+    @Test
+    public void latestCachedWeather_afterRestart_prefersNewerDiskEntryOverOlderMemoryEntry() throws Exception {
+        WeatherRepository repository = newRepository();
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse().setBody(WeatherPayloads.currentWeather("City" + i, "맑음", i)));
+            RecordingCallback callback = new RecordingCallback();
+            repository.getWeather(LAT + i, LON, callback);
+            callback.next();
+            clock.advance(1_000);
+        }
+        // 파일 시각이 같은 밀리초로 겹치지 않도록 나중에 받은 쪽을 더 늦게 둡니다.
+        new File(cacheDir, LocationBucket.of(LAT + 1, LON).getKey() + ".json").setLastModified(System.currentTimeMillis() + 10_000);
+
+        // 새 프로세스에서 오래된 구역을 먼저 읽으면 메모리에는 그것만 있지만, 가장 최근은 디스크의 다른 구역입니다.
+        WeatherRepository restarted = newRepository();
+        assertNotNull(restarted.getCacheEntry(LocationBucket.of(LAT, LON)));
+        assertEquals("City1", restarted.getLatestCachedWeather().response.getCityName());
+    }
+
+    @Test
+    public void miss_whileOffline_reportsError() throws Exception {
+        for (int i = 0; i < WeatherFetchPolicy.DEFAULT.maxAttempts; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+        WeatherRepository repository = newRepository();
+
+        RecordingCallback callback = new RecordingCallback();
+        repository.getWeather(LAT, LON, callback);
+
+        assertNotNull(callback.next().error);
+    }
+
+    private static final class Result {
+        final WeatherResponse weather;
+        final boolean isStale;
+        final String error;
+
+        Result(WeatherResponse weather, boolean isStale, String error) {
+            this.weather = weather;
+            this.isStale = isStale;
+            this.error = error;
+        }
+    }
+
+    private static final class RecordingCallback implements WeatherRepository.Callback {
+        private final BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onWeather(@NonNull WeatherResponse weather, boolean isStale) {
+            results.add(new Result(weather, isStale, null));
+        }
+
+        @Override
+        public void onError(@NonNull String message) {
+            results.add(new Result(null, false, message));
+        }
+
+        Result next() throws InterruptedException {
+            Result result = results.poll(5, TimeUnit.SECONDS);
+            assertNotNull("콜백이 호출되지 않았습니다.", result);
+            return result;
+        }
+
+        Result poll() throws InterruptedException {
+            return results.poll(500, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.alarm;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.EventListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WeatherRepository가 같은 위치 구역의 동시 요청을 하나의 네트워크 요청으로 합치는지(single-flight),
+ * 그리고 취소가 다른 호출자에게 영향을 주지 않는지 검증합니다.
+ */
+public class WeatherSingleFlightTest {
+
+    private static final int CALLERS = 100;
+    private static final LocationBucket BUCKET = LocationBucket.of(37.5665, 126.9780);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private ExecutorService ioExecutor;
+    // 서버가 응답을 보내기 전에 기다리는 관문. 모든 호출자가 요청에 합류한 뒤에 연다.
+    private final CountDownLatch releaseResponse = new CountDownLatch(1);
+    private WeatherRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                releaseResponse.await(10, TimeUnit.SECONDS);
+                return new MockResponse().setBody(WeatherPayloads.currentWeather("Seoul", "맑음", 21.5));
+            }
+        });
+        server.start();
+        ioExecutor = Executors.newFixedThreadPool(16);
+        repository = new WeatherRepository(
+                RetrofitClient.createApiService(server.url("/").toString(),
+                        RetrofitClient.createHttpClient(temporaryFolder.newFolder("http_cache"), call -> EventListener.NONE)),
+                "test-key", temporaryFolder.newFolder("weather_cache"), WeatherRepository.DEFAULT_TTL_MILLIS,
+                new FakeClock(1_760_000_000_000L), ioExecutor, Runnable::run,
+                // 응답을 일부러 붙잡아 두므로, 헤지 요청이 나가지 않게 하여 HTTP 요청 수를 정확히 셉니다.
+                WeatherFetchPolicy.DEFAULT.withoutHedging());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        releaseResponse.countDown();
+        ioExecutor.shutdownNow();
+        server.shutdown();
+    }
+
+    private void awaitListeners(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (repository.inFlightListenerCount(BUCKET) < expected) {
+            assertTrue("호출자가 요청에 합류하지 않았습니다: " + repository.inFlightListenerCount(BUCKET),
+                    System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    // getWeather는 요청에 합류한 뒤 IO 스레드에서 취소 핸들을 연결하므로, 그 사이에 취소하면 리스너가 조금 늦게 떨어집니다.
+    private void awaitNoListeners() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (repository.inFlightListenerCount(BUCKET) > 0) {
+            assertTrue("취소한 호출자가 요청에서 떨어지지 않았습니다.", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void concurrentCallers_shareOneUpstreamRequest() throws Exception {
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(CALLERS);
+        List<WeatherResponse> results = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                callers.execute(() -> {
+                    try {
+                        startGate.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    repository.getWeather(BUCKET, new WeatherRepository.Callback() {
+                        @Override
+                        public void onWeather(@NonNull WeatherResponse weather, boolean isStale) {
+                            results.add(weather);
+                            delivered.countDown();
+                        }
+
+                        @Override
+                        public void onError(@NonNull String message) {
+                            delivered.countDown();
+                        }
+                    });
+                });
+            }
+            startGate.countDown();
+            awaitListeners(CALLERS);
+            releaseResponse.countDown();
+
+            assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CALLERS, results.size());
+        // 모두 같은 응답 객체를 나눠 받아야 합니다.
+        for (WeatherResponse result : results) {
+            assertTrue(result == results.get(0));
+        }
+        assertEquals(1, repository.getStats().networkSuccesses);
+        assertEquals(CALLERS - 1, repository.getStats().sharedFetches);
+    }
+
+    @Test
+    public void blockingRefresh_joinsInFlightRequest() throws Exception {
+        ExecutorService refreshers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(refreshers.submit(() -> repository.refreshBlocking(BUCKET)));
+            }
+            awaitListeners(3);
+            releaseResponse.countDown();
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            refreshers.shutdownNow();
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingOneCaller_doesNotAffectOthers() throws Exception {
+        AtomicInteger cancelledCallbacks = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        WeatherRepository.Cancellable cancelled = repository.getWeather(BUCKET, new WeatherRepository.Callback() {
+            @Override
+            public void onWeather(@NonNull WeatherResponse weather, boolean isStale) {
+                cancelledCallbacks.incrementAndGet();
+            }
+
+            @Override
+            public void onError(@NonNull String message) {
+                cancelledCallbacks.incrementAndGet();
+            }
+        });
+        repository.getWeather(BUCKET, new WeatherRepository.Callback() {
+            @Override
+            public void onWeather(@NonNull WeatherResponse weather, boolean isStale) {
+                delivered.countDown();
+            }
+
+            @Override
+            public void onError(@NonNull String message) {
+            }
+        });
+        awaitListeners(2);
+
+        cancelled.cancel();
+        assertEquals(1, repository.inFlightListenerCount(BUCKET));
+        releaseResponse.countDown();
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        assertEquals(0, cancelledCallbacks.get());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingLastCaller_cancelsCallAndNextCallerStartsFresh() throws Exception {
+        WeatherRepository.Cancellable only = repository.getWeather(BUCKET, new WeatherRepository.Callback() {
+            @Override
+            public void onWeather(@NonNull WeatherResponse weather, boolean isStale) {
+            }
+
+            @Override
+            public void onError(@NonNull String message) {
+            }
+        });
+        awaitListeners(1);
+
+        only.cancel();
+
+        awaitNoListeners();
+        assertEquals(0, repository.getStats().networkFailures);
+
+        releaseResponse.countDown();
+        assertTrue(repository.refreshBlocking(BUCKET));
+        // 취소된 요청과 별개로 새 요청이 나가야 합니다.
+        assertTrue(server.getRequestCount() >= 1);
+        assertEquals(1, repository.getStats().networkSuccesses);
+    }
+}
@@ -0,0 +1,42 @@
+// [새로운 모듈] JVM에서 실행하는 JMH 마이크로벤치마크 모음입니다.
+// 안드로이드 프레임워크에 의존하지 않는 app 모듈의 소스만 골라 그대로 컴파일하므로,
+// 벤치마크가 앱과 같은 코드를 측정합니다.
+// [추가] 알람 모델과 다음 울림 시각 계산, 미러 레코드 형식은 :alarm-core 모듈을 그대로 사용합니다.
+// 실행: ./gradlew :benchmark:jmh  (결과: benchmark/build/results/jmh/results.txt)
+plugins {
+    `java-library`
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            // 안드로이드 API를 사용하지 않는 파일만 포함합니다.
+            include(
+                "com/example/alarm/WeatherResponse.java",
+                "com/example/alarm/Weather.java",
+                "com/example/alarm/MainWeatherData.java",
+                "com/example/alarm/WeatherJsonCodec.java",
+                "com/example/alarm/WeatherResponseConverterFactory.java",
+            )
+        }
+    }
+}
+
+dependencies {
+    implementation(project(":alarm-core"))
+    implementation("com.squareup.retrofit2:retrofit:2.9.0")
+    implementation("com.squareup.retrofit2:converter-gson:2.9.0")
+    implementation("com.squareup.okhttp3:okhttp:4.12.0")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("TEXT")
+}
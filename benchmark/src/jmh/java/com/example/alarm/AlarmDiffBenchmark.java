@@ -0,0 +1,55 @@
+package com.example.alarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 화면의 DiffUtil이 알람 하나를 켜고 끌 때마다 하는 비교 작업을 잽니다.
+ * DiffUtil은 안드로이드 라이브러리라 JVM에서 쓸 수 없으므로, 순서가 그대로인 목록에서 DiffUtil이 부르는 것과 같은
+ * 호출(같은 항목인지 ID로 비교한 뒤 Alarm.hasSameContent)을 목록 전체에 대해 수행합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AlarmDiffBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int alarmCount;
+
+    private List<Alarm> oldList;
+    private List<Alarm> newList;
+
+    @Setup
+    public void setUp() {
+        oldList = SyntheticAlarms.generate(alarmCount, 42);
+        newList = SampleAlarms.withToggled(oldList, alarmCount / 2);
+    }
+
+    @Benchmark
+    public int changedItems() {
+        int changed = 0;
+        for (int i = 0; i < oldList.size(); i++) {
+            Alarm oldItem = oldList.get(i);
+            Alarm newItem = newList.get(i);
+            if (oldItem.getId() != newItem.getId() || !oldItem.hasSameContent(newItem)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
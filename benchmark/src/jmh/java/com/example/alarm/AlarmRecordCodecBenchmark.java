@@ -0,0 +1,63 @@
+package com.example.alarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct Boot 미러 파일 형식(AlarmRecordCodec)의 쓰기와 읽기 비용을 잽니다. 파일 입출력은 제외하고 버퍼 작업만 측정합니다.
+ *  - encode: 알람이 바뀔 때마다 미러 전체를 다시 쓰는 경로 (다음 울림 시각 계산 포함)
+ *  - readAll: 잠금 해제 전 부팅 직후 모든 알람을 다시 예약하는 경로
+ *  - find: 알람이 울릴 때 ID 하나를 찾는 경로 (마지막 레코드를 찾는 최악의 경우)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AlarmRecordCodecBenchmark {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Asia/Seoul");
+    private static final long NOW = 1_709_503_200_000L;
+
+    @Param({"10", "100", "1000"})
+    public int alarmCount;
+
+    private List<Alarm> alarms;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setUp() {
+        alarms = SyntheticAlarms.generate(alarmCount, 42);
+        encoded = AlarmRecordCodec.encode(alarms, NOW, ZONE);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return AlarmRecordCodec.encode(alarms, NOW, ZONE);
+    }
+
+    @Benchmark
+    public List<AlarmRecord> readAll() {
+        return AlarmRecordCodec.readAll(encoded);
+    }
+
+    @Benchmark
+    public AlarmRecord find() {
+        return AlarmRecordCodec.find(encoded, alarmCount);
+    }
+}
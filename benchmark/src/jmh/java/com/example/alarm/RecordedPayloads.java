@@ -0,0 +1,32 @@
+package com.example.alarm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 벤치마크에서 사용하는, 실제 OpenWeatherMap 응답을 기록해 둔 JSON 파일(resources/payloads)을 읽습니다.
+ */
+final class RecordedPayloads {
+
+    private RecordedPayloads() {
+    }
+
+    static byte[] load(String name) {
+        try (InputStream in = RecordedPayloads.class.getResourceAsStream("/payloads/" + name + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException("기록된 응답이 없습니다: " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.alarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 반복 규칙의 다음 날짜를 산술로 구하는 경우(RecurrenceRule.nextOnOrAfter)와 하루씩 넘기며 찾는 경우를 비교합니다.
+ * 기준 날짜 1,000개를 한 번에 계산하며, 간격이 길수록 하루씩 넘기는 쪽만 느려집니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RecurrenceBenchmark {
+
+    private static final int DAYS = 1000;
+
+    @Param({"every_90_days", "every_4_weeks", "fifth_friday", "last_business_day"})
+    public String rule;
+
+    private RecurrenceRule recurrence;
+    private int[] from;
+
+    @Setup
+    public void setUp() {
+        int start = 20_000; // 2024-10-04
+        switch (rule) {
+            case "every_90_days":
+                recurrence = RecurrenceRule.everyNDays(90, start);
+                break;
+            case "every_4_weeks":
+                recurrence = RecurrenceRule.weekly(4, DayMask.bit(Calendar.MONDAY), start);
+                break;
+            case "fifth_friday":
+                recurrence = RecurrenceRule.nthWeekdayOfMonth(5, Calendar.FRIDAY);
+                break;
+            default:
+                recurrence = RecurrenceRule.lastBusinessDayOfMonth();
+                break;
+        }
+        from = new int[DAYS];
+        for (int i = 0; i < DAYS; i++) {
+            from[i] = start + i;
+        }
+    }
+
+    @Benchmark
+    public int arithmetic() {
+        int sum = 0;
+        for (int day : from) {
+            sum += recurrence.nextOnOrAfter(day);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int dayByDay() {
+        int sum = 0;
+        for (int day : from) {
+            while (!recurrence.matches(day)) {
+                day++;
+            }
+            sum += day;
+        }
+        return sum;
+    }
+}
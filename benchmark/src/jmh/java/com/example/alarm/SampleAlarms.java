@@ -0,0 +1,39 @@
+package com.example.alarm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크에서 사용하는 알람 목록 도우미입니다. 목록 자체는 alarm-core의 {@link SyntheticAlarms}로 만듭니다.
+ */
+final class SampleAlarms {
+
+    private SampleAlarms() {
+    }
+
+    /**
+     * 목록에서 알람 하나의 켜짐 상태만 바꾼 새 목록을 만듭니다. (목록 화면에서 스위치를 한 번 누른 경우)
+     */
+    static List<Alarm> withToggled(List<Alarm> alarms, int index) {
+        List<Alarm> changed = new ArrayList<>(alarms.size());
+        for (int i = 0; i < alarms.size(); i++) {
+            Alarm alarm = copy(alarms.get(i));
+            if (i == index) {
+                alarm.setEnabled(!alarm.isEnabled());
+            }
+            changed.add(alarm);
+        }
+        return changed;
+    }
+
+    private static Alarm copy(Alarm a) {
+        Alarm copy = new Alarm(a.getId(), a.getName(), a.getHour(), a.getMinute(), a.isEnabled(), a.isVibrationEnabled(),
+                a.getSoundUri(), a.isMondayEnabled(), a.isTuesdayEnabled(), a.isWednesdayEnabled(),
+                a.isThursdayEnabled(), a.isFridayEnabled(), a.isSaturdayEnabled(), a.isSundayEnabled(),
+                a.isWeatherTtsEnabled());
+        copy.setSkipHolidays(a.isSkipHolidays());
+        copy.setRecurrence(a.getRecurrence());
+        copy.setShiftPattern(a.getShiftPattern());
+        return copy;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.alarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알람 목록 전체의 다음 울림 시각을 계산하는 비용을 잽니다.
+ * 미러를 다시 쓰거나(DirectBootAlarmMirror) 날씨 미리 받기를 예약할 때(WeatherPrefetchScheduler) 이 계산을 목록 전체에 대해 합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TriggerComputationBenchmark {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Asia/Seoul");
+    // 2024-03-04(월) 07:00 KST 부근. 평일 아침 알람 일부는 이미 지난 시각입니다.
+    private static final long NOW = 1_709_503_200_000L;
+
+    @Param({"10", "100", "1000"})
+    public int alarmCount;
+
+    private List<Alarm> alarms;
+    private long[] triggers;
+
+    @Setup
+    public void setUp() {
+        alarms = SyntheticAlarms.generate(alarmCount, 42);
+        triggers = new long[alarmCount];
+    }
+
+    @Benchmark
+    public long[] nextTriggers() {
+        for (int i = 0; i < alarms.size(); i++) {
+            triggers[i] = TriggerCalculator.nextTriggerMillis(alarms.get(i), NOW, ZONE);
+        }
+        return triggers;
+    }
+
+    @Benchmark
+    public int dayMasks() {
+        int combined = 0;
+        for (int i = 0; i < alarms.size(); i++) {
+            combined |= DayMask.of(alarms.get(i));
+        }
+        return combined;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.alarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * 예열된 상태(warm)에서 날씨 응답 본문 하나를 변환하는 데 걸리는 시간과 할당량을 비교합니다.
+ *  - gson: 기존 GsonConverterFactory (리플렉션, 전체 응답을 객체로 만듦)
+ *  - streaming: WeatherResponseConverterFactory (필요한 필드만 스트리밍으로 읽음)
+ *
+ * 할당량은 "-prof gc" 옵션으로 함께 볼 수 있습니다. (gc.alloc.rate.norm)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class WeatherDecodeBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+    @Param({"seoul_clear", "busan_rain", "jeju_snow"})
+    public String payload;
+
+    private byte[] body;
+    private Converter<ResponseBody, ?> gsonConverter;
+    private Converter<ResponseBody, ?> streamingConverter;
+
+    @Setup
+    public void setUp() {
+        body = RecordedPayloads.load(payload);
+        Annotation[] noAnnotations = new Annotation[0];
+        gsonConverter = GsonConverterFactory.create().responseBodyConverter(WeatherResponse.class, noAnnotations, null);
+        streamingConverter = WeatherResponseConverterFactory.create().responseBodyConverter(WeatherResponse.class, noAnnotations, null);
+    }
+
+    @Benchmark
+    public Object gson() throws IOException {
+        return gsonConverter.convert(ResponseBody.create(body, JSON));
+    }
+
+    @Benchmark
+    public Object streaming() throws IOException {
+        return streamingConverter.convert(ResponseBody.create(body, JSON));
+    }
+}
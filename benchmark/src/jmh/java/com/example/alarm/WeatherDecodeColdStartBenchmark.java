@@ -0,0 +1,57 @@
+package com.example.alarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * 새 프로세스에서 처음으로 날씨 응답을 변환할 때의 비용(클래스 로딩, Gson 어댑터 생성 포함)을 비교합니다.
+ * 알람이 울리며 프로세스가 새로 시작되는 상황을 흉내 내기 위해, 매번 새 JVM(fork)에서 단 한 번만 실행합니다.
+ * JVM 옵션 "-verbose:class"를 함께 주면 각 경로에서 로딩되는 클래스 수도 확인할 수 있습니다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(30)
+@State(Scope.Benchmark)
+public class WeatherDecodeColdStartBenchmark {
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        // 파일 읽기는 측정에서 제외합니다. OkHttp의 ResponseBody 클래스 로딩도 두 경로 공통이므로 미리 해 둡니다.
+        body = RecordedPayloads.load("seoul_clear");
+        ResponseBody.create(new byte[0], null).close();
+    }
+
+    @Benchmark
+    public Object gsonFirstDecode() throws IOException {
+        return GsonConverterFactory.create()
+                .responseBodyConverter(WeatherResponse.class, new Annotation[0], null)
+                .convert(ResponseBody.create(body, MediaType.get("application/json; charset=UTF-8")));
+    }
+
+    @Benchmark
+    public Object streamingFirstDecode() throws IOException {
+        return WeatherResponseConverterFactory.create()
+                .responseBodyConverter(WeatherResponse.class, new Annotation[0], null)
+                .convert(ResponseBody.create(body, MediaType.get("application/json; charset=UTF-8")));
+    }
+}
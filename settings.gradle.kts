@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "Alarm"
 include(":app")
+include(":alarm-core")
+include(":benchmark")
  
\ No newline at end of file